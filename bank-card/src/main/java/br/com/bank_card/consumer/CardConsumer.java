@@ -10,7 +10,11 @@ import br.com.bank_card.enums.Status;
 import br.com.bank_card.enums.TypeCard;
 import br.com.bank_card.model.Card;
 import br.com.bank_card.repository.CardRepository;
+import br.com.bank_card.service.CardNumberService;
+import br.com.bank_card.service.CardStatusFilter;
+import br.com.bank_card.service.vault.CardVaultService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.Acknowledgment;
@@ -19,7 +23,6 @@ import org.springframework.stereotype.Service;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.Optional;
-import java.util.Random;
 
 /**
  * Consumidor Kafka para processamento de eventos relacionados a cartões bancários
@@ -32,20 +35,34 @@ import java.util.Random;
 @Service
 public class CardConsumer {
 
+    private static final int MAX_ISSUE_ATTEMPTS = 3;
+
     private final CardRepository cardRepository;
+    private final CardNumberService cardNumberService;
+    private final CardStatusFilter cardStatusFilter;
+    private final CardVaultService cardVaultService;
     private final KafkaTemplate<String, Object> kafkaTemplate;
 
     /**
      * Construtor para injeção de dependências do consumidor de cartões
      *
      * @param cardRepository Repositório para operações de banco de dados de cartões
+     * @param cardNumberService Serviço de emissão de números de cartão
+     * @param cardStatusFilter Filtro em memória de cartões bloqueados ou cancelados
+     * @param cardVaultService Cofre de tokenização dos dados sensíveis do cartão
      * @param kafkaTemplate Template para comunicação assíncrona via Kafka
      */
     @Autowired
     public CardConsumer(
             CardRepository cardRepository,
+            CardNumberService cardNumberService,
+            CardStatusFilter cardStatusFilter,
+            CardVaultService cardVaultService,
             KafkaTemplate<String, Object> kafkaTemplate) {
         this.cardRepository = cardRepository;
+        this.cardNumberService = cardNumberService;
+        this.cardStatusFilter = cardStatusFilter;
+        this.cardVaultService = cardVaultService;
         this.kafkaTemplate = kafkaTemplate;
     }
 
@@ -57,7 +74,8 @@ public class CardConsumer {
      * @param ack Objeto para confirmação manual do offset Kafka
      *
      * @implSpec Fluxo de criação:
-     * 1. Gera número do cartão, data de expiração e CVV aleatórios
+     * 1. Retira um número válido (Luhn) do pool de emissão e gera expiração e CVV
+     *    (número e CVV são gravados cifrados pelo cofre de tokenização)
      * 2. Define expiração para 7 anos no futuro
      * 3. Cartão criado como tipo DÉBITO inicialmente
      * 4. Envia notificação de aprovação via Kafka
@@ -78,22 +96,17 @@ public class CardConsumer {
             newCard.setFullName(event.fullName());
             newCard.setRg(event.rg());
             newCard.setCpf(event.cpf());
-            newCard.setCardNumber(String.format("%04d %04d %04d %04d",
-                    new Random().nextInt(10000),
-                    new Random().nextInt(10000),
-                    new Random().nextInt(10000),
-                    new Random().nextInt(10000)));
             newCard.setExpirationDate(YearMonth.now().plusYears(7).format(DateTimeFormatter.ofPattern("MM/yy")));
-            newCard.setCardCvv(String.format("%03d", new Random().nextInt(1000)));
             newCard.setStatus(Status.APPROVED);
             newCard.setTypeOfCard(TypeCard.DEBIT);
 
-            cardRepository.save(newCard);
+            saveWithUniqueCardNumber(newCard);
 
             this.kafkaTemplate.send("notification-card-approved-topic",
                     new NotificationEvent(event.userId()));
 
             ack.acknowledge();
+            return;
         }
 
         if (cardAlreadyExists.get().getStatus().equals(Status.APPROVED)) {
@@ -105,6 +118,7 @@ public class CardConsumer {
 
             cardAlreadyExists.get().setStatus(Status.APPROVED);
             cardRepository.save(cardAlreadyExists.get());
+            this.cardStatusFilter.update(event.userId(), Status.APPROVED);
 
             this.kafkaTemplate.send("notification-card-approved-topic",
                     new NotificationEvent(event.userId()));
@@ -113,6 +127,34 @@ public class CardConsumer {
         }
     }
 
+    /**
+     * Persiste um novo cartão com número retirado do pool de emissão, já tokenizado
+     * Em caso raro de colisão no índice único (ex.: outra instância emitiu o
+     * mesmo número), tenta novamente com outro número
+     *
+     * @param newCard Cartão a ser persistido
+     * @implNote O save que falhou já atribuiu o UUID ao cartão; o ID é limpo a cada
+     *           tentativa para que a nova tentativa seja um insert, e não um merge de
+     *           uma linha inexistente (OptimisticLockException no Hibernate 6.6)
+     */
+    private void saveWithUniqueCardNumber(Card newCard) {
+
+        for (int attempt = 1; ; attempt++) {
+            newCard.setCardId(null);
+            this.cardVaultService.protect(newCard,
+                    this.cardNumberService.nextCardNumber(),
+                    this.cardNumberService.nextCvv());
+            try {
+                cardRepository.save(newCard);
+                return;
+            } catch (DataIntegrityViolationException e) {
+                if (attempt >= MAX_ISSUE_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
     /**
      * Listener para eventos de aprovação de limite de crédito
      * Adiciona limite baseado em 30% do salário e atualiza cartão para tipo MÚLTIPLO
@@ -199,6 +241,7 @@ public class CardConsumer {
 
             cardAlreadyExists.get().setStatus(Status.CANCELED);
             cardRepository.save(cardAlreadyExists.get());
+            this.cardStatusFilter.update(event.userId(), Status.CANCELED);
 
             this.kafkaTemplate.send("notification-card-canceled-topic",
                     new NotificationEvent(event.userId()));
@@ -220,13 +263,17 @@ public class CardConsumer {
             containerFactory = "kafkaListenerConsumerDeleteUser")
     public void deleteUserId(ConsumerDeleteUser consumer, Acknowledgment ack){
 
+        this.cardRepository.findByUserId(consumer.userId())
+                .ifPresent(card -> this.cardVaultService.invalidate(card.getCardToken()));
+
         this.cardRepository.deleteAllByUserId(consumer.userId());
+        this.cardStatusFilter.remove(consumer.userId());
         ack.acknowledge();
     }
 
     /**
      * Listener para eventos de pagamento de limite de cartão
-     * Adiciona valor ao limite de crédito do cartão do usuário
+     * Adiciona valor ao limite de crédito do cartão do usuário e abate do saldo devedor
      *
      * @param consumer DTO contendo ID do usuário e valor a ser adicionado ao limite
      * @param ack Objeto para confirmação manual do offset Kafka
@@ -236,10 +283,8 @@ public class CardConsumer {
             containerFactory = "kafkaListenerCreditPayment")
     public void paymentCard(ConsumerCreditPayment consumer, Acknowledgment ack){
 
-        Optional<Card> card = this.cardRepository.findByUserId(consumer.userId());
-
-        card.get().setLimitCredit(card.get().getLimitCredit() + consumer.money());
-        this.cardRepository.save(card.get());
+        // UPDATE relativo: não sobrescreve um encargo gravado em paralelo pela cobrança diária
+        this.cardRepository.creditPayment(consumer.userId(), consumer.money());
         ack.acknowledge();
     }
 }
\ No newline at end of file
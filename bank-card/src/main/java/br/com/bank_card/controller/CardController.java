@@ -1,5 +1,6 @@
 package br.com.bank_card.controller;
 
+import br.com.bank_card.dtos.card.ResponseCardSecret;
 import br.com.bank_card.dtos.card.ResponseUserCard;
 import br.com.bank_card.service.CardService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -46,8 +47,8 @@ public class CardController {
     }
 
     /**
-     * Endpoint para consulta dos dados completos do cartão do usuário
-     * Retorna informações sensíveis como número do cartão, CVV e limite
+     * Endpoint para consulta dos dados do cartão do usuário
+     * Retorna o token do cartão, o número mascarado e o limite
      *
      * @param token Token JWT de autenticação contendo ID do usuário
      * @return ResponseEntity com DTO contendo dados completos do cartão
@@ -57,6 +58,20 @@ public class CardController {
         return cardService.getUserCard(token);
     }
 
+    /**
+     * Endpoint para revelar o número e o CVV do cartão
+     * Recebe o token opaco retornado por /get-user-card
+     *
+     * @param token Token JWT de autenticação contendo ID do usuário
+     * @param cardToken Token opaco do cartão
+     * @return ResponseEntity com número e CVV do cartão
+     */
+    @GetMapping("/reveal-user-card")
+    public ResponseEntity<ResponseCardSecret> revealUserCard(JwtAuthenticationToken token,
+                                                             @RequestParam String cardToken) {
+        return cardService.revealUserCard(token, cardToken);
+    }
+
     /**
      * Endpoint para alternar o status de bloqueio do cartão
      * Se estiver aprovado, bloqueia; se estiver bloqueado, aprova
@@ -0,0 +1,7 @@
+package br.com.bank_card.dtos.card;
+
+public record ResponseCardSecret(
+        String cardNumber,
+        String cardCvv
+) {
+}
@@ -3,9 +3,9 @@ import br.com.bank_card.enums.TypeCard;
 
 public record ResponseUserCard(
         String fullName,
+        String cardToken,
         String cardNumber,
         String expirationDate,
-        String cardCvv,
         Double limitCredit,
         TypeCard typeOfCard
 ) {
@@ -1,8 +1,11 @@
 package br.com.bank_card.microservice;
 
+import br.com.bank_card.enums.Status;
 import br.com.bank_card.model.Card;
 import br.com.bank_card.repository.CardRepository;
+import br.com.bank_card.service.CardStatusFilter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -24,44 +27,65 @@ import java.util.Optional;
 public class CardClient {
 
     private final CardRepository cardRepository;
+    private final CardStatusFilter cardStatusFilter;
+    private final double authorizationFeeRate;
 
     /**
      * Construtor para injeção de dependências do repositório de cartões
      *
      * @param cardRepository Repositório para operações de banco de dados de cartões
+     * @param cardStatusFilter Filtro em memória de cartões bloqueados ou cancelados
+     * @param authorizationFeeRate Taxa cobrada sobre o valor de cada compra no crédito
      */
     @Autowired
-    public  CardClient(CardRepository cardRepository) {
+    public  CardClient(CardRepository cardRepository,
+                       CardStatusFilter cardStatusFilter,
+                       @Value("${card.credit.authorization-fee-rate:0.05}") double authorizationFeeRate) {
         this.cardRepository = cardRepository;
+        this.cardStatusFilter = cardStatusFilter;
+        this.authorizationFeeRate = authorizationFeeRate;
     }
 
     /**
      * Endpoint para processamento de pagamentos com cartão de crédito
-     * Realiza débito no limite do cartão incluindo taxa de 5% sobre o valor
+     * Realiza débito no limite do cartão incluindo a taxa configurada sobre o valor
      *
      * @param userId ID do usuário para identificação do cartão
      * @param money Valor base da transação a ser processada
      * @return String com resultado da operação:
      *         "OK" - Pagamento processado com sucesso
      *         "INSUFICIENTE" - Limite de crédito insuficiente
+     *         "BLOQUEADO" - Cartão bloqueado ou cancelado
      *         null - Cartão não encontrado para o usuário
      *
-     * @implNote O valor total debitado inclui uma taxa de 5% sobre o valor original:
-     *           valor_total = valor + (valor * 0.05)
+     * @implNote O valor total debitado inclui a taxa configurada (padrão 5%) sobre o valor original:
+     *           valor_total = valor + (valor * taxa), somado também ao saldo devedor
+     * @implNote Um cartão no filtro em memória é recusado sem leitura do banco. Os demais
+     *           são debitados em um UPDATE relativo que também confere status e limite;
+     *           o cartão só é lido quando o débito não acontece, para informar o motivo
      */
     @PutMapping("/payment-with-credit")
     public String paymentWithCredit(@RequestParam String userId, @RequestParam Double money) {
 
+        if (this.cardStatusFilter.isDeclined(userId)) {
+            return "BLOQUEADO";
+        }
+
+        double total = (this.authorizationFeeRate * money) + money;
+
+        if (this.cardRepository.debitCredit(userId, total, Status.APPROVED) == 1) {
+            return "OK";
+        }
+
         Optional<Card> card = this.cardRepository.findByUserId(userId);
 
         if (card.isEmpty()) {
             return null;
-        } else if (card.get().getLimitCredit() < ((0.05 * money) + money)) {
-            return "INSUFICIENTE";
         }
 
-        card.get().setLimitCredit(card.get().getLimitCredit() - ((0.05 * money) + money));
-        this.cardRepository.save(card.get());
-        return "OK";
+        if (!card.get().getStatus().equals(Status.APPROVED)) {
+            return "BLOQUEADO";
+        }
+        return "INSUFICIENTE";
     }
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+package br.com.bank_card.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * Entidade que registra o progresso de uma execução diária de cobrança de juros
+ * Permite retomar uma execução interrompida a partir do último lote gravado
+ *
+ * @entity Indica que esta classe é uma entidade JPA
+ * @table Especifica o nome da tabela no banco de dados
+ * @data Lombok - gera getters, setters, equals, hashCode e toString
+ *
+ * @author Pablo R.
+ */
+@Entity
+@Table(name = "tb_accrual_checkpoints")
+@Data
+public class AccrualCheckpoint {
+
+    /**
+     * Data de referência da execução (chave primária)
+     * Existe no máximo uma execução por dia
+     */
+    @Id
+    @Column(name = "run_date")
+    private LocalDate runDate;
+
+    /**
+     * ID do último cartão processado
+     * Os cartões são percorridos em ordem de ID; a retomada continua a partir dele
+     */
+    @Column(name = "last_card_id")
+    private String lastCardId;
+
+    /**
+     * Quantidade de cartões processados até o momento nesta execução
+     */
+    @Column(name = "processed_cards")
+    private long processedCards;
+
+    /**
+     * Indica se a execução percorreu todos os cartões
+     */
+    private boolean completed;
+}
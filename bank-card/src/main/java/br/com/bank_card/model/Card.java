@@ -5,6 +5,7 @@ import br.com.bank_card.enums.TypeCard;
 import jakarta.persistence.*;
 import lombok.Data;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDate;
 
@@ -15,11 +16,14 @@ import java.time.LocalDate;
  * @entity Indica que esta classe é uma entidade JPA
  * @table Especifica o nome da tabela no banco de dados
  * @data Lombok - gera getters, setters, equals, hashCode e toString
+ * @dynamicUpdate O save grava apenas as colunas alteradas, então mudar o status
+ *                não regrava o saldo devedor lido antes de uma cobrança em paralelo
  *
  * @author Pablo R.
  */
 @Entity
 @Table(name = "tb_cards")
+@DynamicUpdate
 @Data
 public class Card {
 
@@ -59,18 +63,51 @@ public class Card {
     private String cpf;
 
     /**
-     * Número do cartão de crédito/débito
-     * Sequência numérica única que identifica o cartão
+     * Número do cartão de crédito/débito, cifrado pelo cofre de tokenização
+     * Sequência numérica única que identifica o cartão, válida pelo algoritmo de Luhn
      */
     @Column(name = "card_number")
     private String cardNumber;
 
+    /**
+     * Hash HMAC do número do cartão
+     * Índice único usado para buscas sem decifrar o número
+     */
+    @Column(name = "card_number_hash", unique = true)
+    private String cardNumberHash;
+
+    /**
+     * Token opaco que representa o cartão entre os serviços
+     */
+    @Column(name = "card_token", unique = true)
+    private String cardToken;
+
+    /**
+     * Últimos 4 dígitos do número do cartão, usados para exibição mascarada
+     */
+    @Column(name = "last_digits", length = 4)
+    private String lastDigits;
+
     /**
      * Limite de crédito disponível no cartão
      * Valor máximo que pode ser utilizado em compras a crédito
      */
     private Double limitCredit = null;
 
+    /**
+     * Saldo devedor do cartão de crédito
+     * Soma das compras, tarifas e juros ainda não pagos
+     */
+    @Column(name = "outstanding_balance")
+    private Double outstandingBalance = 0.0;
+
+    /**
+     * Data da última cobrança diária de juros
+     * Impede que o mesmo dia seja cobrado duas vezes
+     */
+    @Column(name = "last_accrual_date")
+    private LocalDate lastAccrualDate;
+
     /**
      * Data de expiração do cartão
      * Período de validade do cartão no formato MM/AA
@@ -78,7 +115,7 @@ public class Card {
     private String expirationDate;
 
     /**
-     * Código de segurança do cartão
+     * Código de segurança do cartão, cifrado pelo cofre de tokenização
      * Número de verificação de 3 dígitos para transações
      */
     private String cardCvv;
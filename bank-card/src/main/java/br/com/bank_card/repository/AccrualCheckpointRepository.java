@@ -0,0 +1,37 @@
+package br.com.bank_card.repository;
+
+import br.com.bank_card.model.AccrualCheckpoint;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositório para operações de banco de dados da entidade AccrualCheckpoint
+ * Guarda o progresso das execuções diárias de cobrança de juros
+ *
+ * @repository Interface de repositório Spring Data JPA
+ * @author Pablo R.
+ */
+public interface AccrualCheckpointRepository extends JpaRepository<AccrualCheckpoint, LocalDate> {
+
+    /**
+     * Busca o checkpoint de uma execução com bloqueio de escrita
+     * Impede que duas instâncias processem o mesmo lote ao mesmo tempo
+     *
+     * @param runDate Data de referência da execução
+     * @return Optional contendo o checkpoint se a execução já foi iniciada
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<AccrualCheckpoint> findWithLockByRunDate(LocalDate runDate);
+
+    /**
+     * Lista as execuções iniciadas e não concluídas (ex.: interrompidas por queda do serviço)
+     *
+     * @return Lista de checkpoints pendentes, da mais antiga para a mais recente
+     */
+    List<AccrualCheckpoint> findAllByCompletedFalseOrderByRunDate();
+}
@@ -1,8 +1,19 @@
 package br.com.bank_card.repository;
 
+import br.com.bank_card.enums.Status;
 import br.com.bank_card.model.Card;
+import jakarta.persistence.QueryHint;
+import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repositório para operações de banco de dados da entidade Card
@@ -29,4 +40,88 @@ public interface CardRepository extends JpaRepository<Card, String> {
      * @param userId ID do usuário para exclusão dos cartões
      */
     void deleteAllByUserId(String userId);
-}
\ No newline at end of file
+
+    /**
+     * Verifica se um número de cartão já foi emitido, pelo seu hash de busca
+     *
+     * @param cardNumberHash Hash do número do cartão a ser verificado
+     * @return true se já existir cartão com este número
+     */
+    boolean existsByCardNumberHash(String cardNumberHash);
+
+    /**
+     * Retorna, dentre os hashes informados, aqueles que já foram emitidos
+     * Permite verificar um lote inteiro de candidatos em uma única consulta
+     *
+     * @param cardNumberHashes Hashes dos números de cartão candidatos
+     * @return Lista com os hashes que já existem no banco de dados
+     */
+    @Query("SELECT c.cardNumberHash FROM Card c WHERE c.cardNumberHash IN :cardNumberHashes")
+    List<String> findExistingCardNumberHashes(@Param("cardNumberHashes") Collection<String> cardNumberHashes);
+
+    /**
+     * Busca um cartão pelo seu token opaco
+     *
+     * @param cardToken Token do cartão gerado pelo cofre de tokenização
+     * @return Optional contendo o cartão se encontrado
+     */
+    Optional<Card> findByCardToken(String cardToken);
+
+    /**
+     * Lista os cartões gravados antes do cofre de tokenização (PAN ainda em claro)
+     *
+     * @return Lista de cartões sem hash de busca
+     */
+    List<Card> findAllByCardNumberHashIsNull();
+
+    /**
+     * Percorre em streaming os IDs de usuários cujo cartão não está no status informado
+     * Projeta apenas o ID do usuário, sem carregar a entidade completa
+     *
+     * @param status Status a ser excluído da consulta (normalmente APPROVED)
+     * @return Stream de IDs de usuário; deve ser consumido dentro de uma transação e fechado
+     */
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT c.userId FROM Card c WHERE c.status <> :status")
+    Stream<String> streamUserIdsWithStatusNot(@Param("status") Status status);
+
+    /**
+     * Debita uma compra no crédito, relativo ao limite e ao saldo atuais da linha
+     * Só debita se o cartão estiver no status informado e o limite cobrir o valor
+     *
+     * @param userId ID do usuário dono do cartão
+     * @param total Valor da compra com a taxa
+     * @param status Status exigido (APPROVED)
+     * @return 1 se debitou, 0 se o cartão não existe, não está no status ou não tem limite
+     *
+     * @implNote Um único UPDATE: não sobrescreve o encargo gravado em paralelo pela
+     *           cobrança diária, como faria a leitura seguida de save da entidade
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            update Card c
+            set c.limitCredit = c.limitCredit - :total,
+                c.outstandingBalance = coalesce(c.outstandingBalance, 0) + :total
+            where c.userId = :userId and c.status = :status and c.limitCredit >= :total
+            """)
+    int debitCredit(@Param("userId") String userId, @Param("total") double total, @Param("status") Status status);
+
+    /**
+     * Credita um pagamento da fatura, relativo ao limite e ao saldo atuais da linha
+     * O saldo devedor nunca fica negativo
+     *
+     * @param userId ID do usuário dono do cartão
+     * @param money Valor pago
+     * @return 1 se creditou, 0 se o cartão não existe
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            update Card c
+            set c.limitCredit = c.limitCredit + :money,
+                c.outstandingBalance = greatest(coalesce(c.outstandingBalance, 0) - :money, 0)
+            where c.userId = :userId
+            """)
+    int creditPayment(@Param("userId") String userId, @Param("money") double money);
+}
@@ -0,0 +1,73 @@
+package br.com.bank_card.scheduler;
+
+import br.com.bank_card.model.AccrualCheckpoint;
+import br.com.bank_card.repository.AccrualCheckpointRepository;
+import br.com.bank_card.service.accrual.InterestAccrualService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+
+/**
+ * Agendamento da cobrança diária de juros e tarifas dos cartões de crédito
+ * Executa a cobrança do dia e retoma execuções interrompidas a partir do checkpoint
+ *
+ * @service Indica que esta classe é um serviço Spring gerenciado pelo container
+ *
+ * @author Pablo R.
+ */
+@Slf4j
+@Service
+public class InterestAccrualJob {
+
+    private final InterestAccrualService accrualService;
+    private final AccrualCheckpointRepository checkpointRepository;
+
+    /**
+     * Construtor para injeção de dependências do serviço de cobrança
+     *
+     * @param accrualService Serviço que processa cada lote de cartões
+     * @param checkpointRepository Repositório dos checkpoints de execução
+     */
+    public InterestAccrualJob(InterestAccrualService accrualService,
+                              AccrualCheckpointRepository checkpointRepository) {
+        this.accrualService = accrualService;
+        this.checkpointRepository = checkpointRepository;
+    }
+
+    /**
+     * Executa a cobrança diária
+     * Antes de iniciar o dia corrente, conclui execuções anteriores interrompidas
+     *
+     * @scheduled Executa diariamente conforme a expressão cron configurada
+     */
+    @Scheduled(cron = "${card.accrual.cron:0 0 3 * * *}")
+    public void accrueDailyInterest() {
+
+        resumeIncompleteRuns();
+        run(LocalDate.now());
+    }
+
+    /**
+     * Retoma, logo após a inicialização, execuções interrompidas por queda do serviço
+     *
+     * @scheduled Executa uma única vez após o atraso configurado
+     */
+    @Scheduled(initialDelayString = "${card.accrual.resume-delay-ms:60000}")
+    public void resumeIncompleteRuns() {
+
+        for (AccrualCheckpoint checkpoint : this.checkpointRepository.findAllByCompletedFalseOrderByRunDate()) {
+            run(checkpoint.getRunDate());
+        }
+    }
+
+    private void run(LocalDate runDate) {
+
+        while (this.accrualService.processNextChunk(runDate)) {
+            // Cada chamada grava um lote e avança o checkpoint
+        }
+
+        log.info("Interest accrual completed for {}", runDate);
+    }
+}
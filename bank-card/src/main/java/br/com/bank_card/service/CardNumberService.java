@@ -0,0 +1,203 @@
+package br.com.bank_card.service;
+
+import br.com.bank_card.repository.CardRepository;
+import br.com.bank_card.service.vault.CardVaultService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Serviço de emissão de números de cartão (PAN)
+ * Gera números válidos pelo algoritmo de Luhn sob o prefixo BIN do banco e
+ * mantém um pool de números pré-gerados e pré-verificados contra o banco de dados
+ *
+ * @service Indica que esta classe é um serviço Spring gerenciado pelo container
+ *
+ * @implNote O pool é reabastecido em segundo plano, então aprovações em massa
+ *           retiram números em O(1) sem consultas de colisão no caminho crítico.
+ *           O índice único em card_number continua sendo a garantia final.
+ *
+ * @author Pablo R.
+ */
+@Service
+public class CardNumberService {
+
+    private static final int PAN_LENGTH = 16;
+    private static final int MAX_ATTEMPTS = 10;
+
+    private final CardRepository cardRepository;
+    private final CardVaultService cardVaultService;
+    private final SecureRandom random = new SecureRandom();
+    private final BlockingQueue<String> pool;
+    private final String bin;
+    private final int poolSize;
+
+    /**
+     * Construtor para injeção de dependências e configuração do pool
+     *
+     * @param cardRepository Repositório usado para verificar números já emitidos
+     * @param cardVaultService Cofre de tokenização, usado para calcular o hash de busca
+     * @param bin Prefixo BIN (Bank Identification Number) dos cartões emitidos
+     * @param poolSize Quantidade máxima de números mantidos pré-gerados
+     */
+    public CardNumberService(
+            CardRepository cardRepository,
+            CardVaultService cardVaultService,
+            @Value("${card.number.bin:539012}") String bin,
+            @Value("${card.number.pool-size:1000}") int poolSize) {
+
+        if (!bin.chars().allMatch(Character::isDigit) || bin.length() >= PAN_LENGTH) {
+            throw new IllegalArgumentException("Invalid card BIN: " + bin);
+        }
+
+        this.cardRepository = cardRepository;
+        this.cardVaultService = cardVaultService;
+        this.bin = bin;
+        this.poolSize = poolSize;
+        this.pool = new ArrayBlockingQueue<>(poolSize);
+    }
+
+    /**
+     * Retira um número de cartão do pool pré-gerado
+     * Se o pool estiver vazio, gera um número na hora verificando colisões
+     *
+     * @return Número do cartão formatado em grupos de 4 dígitos
+     */
+    public String nextCardNumber() {
+
+        String cardNumber = this.pool.poll();
+
+        if (cardNumber != null) {
+            return cardNumber;
+        }
+
+        // Pool esgotado: gera e verifica individualmente
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            String candidate = generate();
+            if (!this.cardRepository.existsByCardNumberHash(this.cardVaultService.hash(candidate))) {
+                return candidate;
+            }
+        }
+
+        throw new IllegalStateException("Could not generate a unique card number");
+    }
+
+    /**
+     * Gera um novo código de segurança (CVV) de 3 dígitos
+     *
+     * @return CVV formatado com zeros à esquerda
+     */
+    public String nextCvv() {
+        return String.format("%03d", this.random.nextInt(1000));
+    }
+
+    /**
+     * Reabastece o pool de números pré-gerados
+     * Gera os números faltantes e descarta, em uma única consulta, os que já existem
+     *
+     * @scheduled Executa na inicialização e depois periodicamente
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${card.number.pool-refill-ms:30000}")
+    public void refillPool() {
+
+        int missing = this.poolSize - this.pool.size();
+
+        if (missing <= 0) {
+            return;
+        }
+
+        // Candidatos indexados pelo hash de busca, que é o que fica no banco
+        Map<String, String> candidates = new HashMap<>(missing * 2);
+        while (candidates.size() < missing) {
+            String candidate = generate();
+            candidates.put(this.cardVaultService.hash(candidate), candidate);
+        }
+
+        List<String> alreadyIssued = this.cardRepository.findExistingCardNumberHashes(candidates.keySet());
+        alreadyIssued.forEach(candidates::remove);
+
+        for (String candidate : candidates.values()) {
+            if (!this.pool.offer(candidate)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Gera um número de cartão com o prefixo BIN e dígito verificador de Luhn
+     *
+     * @return Número do cartão formatado em grupos de 4 dígitos
+     */
+    private String generate() {
+
+        StringBuilder digits = new StringBuilder(PAN_LENGTH).append(this.bin);
+
+        while (digits.length() < PAN_LENGTH - 1) {
+            digits.append((char) ('0' + this.random.nextInt(10)));
+        }
+        digits.append((char) ('0' + luhnCheckDigit(digits)));
+
+        StringBuilder formatted = new StringBuilder(PAN_LENGTH + 3);
+        for (int i = 0; i < PAN_LENGTH; i++) {
+            if (i > 0 && i % 4 == 0) {
+                formatted.append(' ');
+            }
+            formatted.append(digits.charAt(i));
+        }
+        return formatted.toString();
+    }
+
+    /**
+     * Calcula o dígito verificador de Luhn para a sequência informada
+     *
+     * @param payload Dígitos do número do cartão sem o dígito verificador
+     * @return Dígito verificador (0-9)
+     */
+    static int luhnCheckDigit(CharSequence payload) {
+
+        int sum = 0;
+        boolean doubled = true;
+
+        for (int i = payload.length() - 1; i >= 0; i--) {
+            int digit = payload.charAt(i) - '0';
+            if (doubled) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubled = !doubled;
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    /**
+     * Valida um número de cartão pelo algoritmo de Luhn
+     * Espaços de formatação são ignorados
+     *
+     * @param cardNumber Número do cartão a ser validado
+     * @return true se o número for válido
+     */
+    public static boolean isValid(String cardNumber) {
+
+        if (cardNumber == null) {
+            return false;
+        }
+
+        String digits = cardNumber.replace(" ", "");
+
+        if (digits.length() != PAN_LENGTH || !digits.chars().allMatch(Character::isDigit)) {
+            return false;
+        }
+
+        return luhnCheckDigit(digits.substring(0, PAN_LENGTH - 1)) == digits.charAt(PAN_LENGTH - 1) - '0';
+    }
+}
@@ -1,9 +1,11 @@
 package br.com.bank_card.service;
 
+import br.com.bank_card.dtos.card.ResponseCardSecret;
 import br.com.bank_card.dtos.card.ResponseUserCard;
 import br.com.bank_card.enums.Status;
 import br.com.bank_card.model.Card;
 import br.com.bank_card.repository.CardRepository;
+import br.com.bank_card.service.vault.CardVaultService;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -25,15 +27,23 @@ import java.util.Optional;
 public class CardService {
 
     private final CardRepository cardRepository;
+    private final CardStatusFilter cardStatusFilter;
+    private final CardVaultService cardVaultService;
 
     /**
      * Construtor para injeção de dependências do repositório de cartões
      *
      * @param cardRepository Repositório para operações de banco de dados de cartões
+     * @param cardStatusFilter Filtro em memória de cartões bloqueados ou cancelados
+     * @param cardVaultService Cofre de tokenização dos dados sensíveis do cartão
      */
     @Autowired
-    public CardService(CardRepository cardRepository) {
+    public CardService(CardRepository cardRepository,
+                       CardStatusFilter cardStatusFilter,
+                       CardVaultService cardVaultService) {
         this.cardRepository = cardRepository;
+        this.cardStatusFilter = cardStatusFilter;
+        this.cardVaultService = cardVaultService;
     }
 
     /**
@@ -61,11 +71,11 @@ public class CardService {
     }
 
     /**
-     * Recupera os dados completos do cartão do usuário autenticado
-     * Retorna informações sensíveis como número do cartão e CVV
+     * Recupera os dados do cartão do usuário autenticado
+     * Retorna o token do cartão e o número mascarado, sem decifrar PAN ou CVV
      *
      * @param token Token JWT de autenticação contendo ID do usuário
-     * @return ResponseEntity com DTO contendo dados completos do cartão
+     * @return ResponseEntity com DTO contendo os dados do cartão
      */
     public ResponseEntity<ResponseUserCard> getUserCard(JwtAuthenticationToken token) {
 
@@ -77,15 +87,31 @@ public class CardService {
 
         return card.map(value -> ResponseEntity.ok().body(new ResponseUserCard(
                 value.getFullName(),
-                value.getCardNumber(),
+                value.getCardToken(),
+                "**** **** **** " + value.getLastDigits(),
                 value.getExpirationDate(),
-                value.getCardCvv(),
                 value.getLimitCredit(),
                 value.getTypeOfCard()
         ))).orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
 
     }
 
+    /**
+     * Revela o número e o CVV do cartão a partir do seu token
+     * Servido pelo cache de destokenização; só decifra em caso de ausência
+     *
+     * @param token Token JWT de autenticação contendo ID do usuário
+     * @param cardToken Token opaco do cartão
+     * @return ResponseEntity com número e CVV ou 404 se o token não pertencer ao usuário
+     */
+    public ResponseEntity<ResponseCardSecret> revealUserCard(JwtAuthenticationToken token, String cardToken) {
+
+        return this.cardVaultService.detokenize(cardToken)
+                .filter(secret -> secret.userId().equals(token.getName()))
+                .map(secret -> ResponseEntity.ok(new ResponseCardSecret(secret.cardNumber(), secret.cardCvv())))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+    }
+
     /**
      * Alterna o status de bloqueio do cartão do usuário
      * Se estiver aprovado, bloqueia; se estiver bloqueado, aprova
@@ -105,10 +131,12 @@ public class CardService {
         if (card.get().getStatus().equals(Status.APPROVED)) {
             card.get().setStatus(Status.BLOCKED);
             this.cardRepository.save(card.get());
+            this.cardStatusFilter.update(token.getName(), Status.BLOCKED);
 
         } else if (card.get().getStatus().equals(Status.BLOCKED)) {
             card.get().setStatus(Status.APPROVED);
             this.cardRepository.save(card.get());
+            this.cardStatusFilter.update(token.getName(), Status.APPROVED);
         }
     }
 
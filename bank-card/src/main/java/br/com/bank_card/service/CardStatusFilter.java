@@ -0,0 +1,150 @@
+package br.com.bank_card.service;
+
+import br.com.bank_card.enums.Status;
+import br.com.bank_card.repository.CardRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Filtro em memória dos cartões que não estão APROVADOS (bloqueados ou cancelados)
+ * Permite recusar autorizações de crédito sem consultar o banco de dados
+ *
+ * @service Indica que esta classe é um serviço Spring gerenciado pelo container
+ *
+ * @implNote O conjunto é indexado pelo ID do usuário, que é a chave usada na autorização.
+ *           É reconstruído na inicialização em uma única consulta em streaming e
+ *           reconciliado periodicamente; entre reconstruções é atualizado pelo
+ *           CardConsumer e pelo CardService. Enquanto não estiver carregado, nenhum
+ *           cartão é recusado pelo filtro e a verificação fica a cargo do banco.
+ *           As alterações são aplicadas após o commit da transação que mudou o status,
+ *           e as feitas durante uma reconstrução são reaplicadas ao novo conjunto.
+ *           O filtro é local a cada instância e a recusa por ele é definitiva, sem
+ *           leitura do banco; uma entrada defasada é corrigida na próxima reconstrução
+ *
+ * @author Pablo R.
+ */
+@Service
+public class CardStatusFilter {
+
+    private final CardRepository cardRepository;
+
+    private volatile Set<String> declinedUsers = ConcurrentHashMap.newKeySet();
+    private volatile boolean loaded = false;
+    private Map<String, Status> updatesDuringRebuild;
+
+    /**
+     * Construtor para injeção de dependências do repositório de cartões
+     *
+     * @param cardRepository Repositório usado para carregar os cartões não aprovados
+     */
+    public CardStatusFilter(CardRepository cardRepository) {
+        this.cardRepository = cardRepository;
+    }
+
+    /**
+     * Indica se o cartão do usuário está bloqueado ou cancelado
+     *
+     * @param userId ID do usuário dono do cartão
+     * @return true se a autorização deve ser recusada sem consultar o banco
+     */
+    public boolean isDeclined(String userId) {
+        return this.loaded && this.declinedUsers.contains(userId);
+    }
+
+    /**
+     * Atualiza o filtro após uma mudança de status do cartão
+     * Dentro de uma transação, a alteração só é aplicada após o commit
+     *
+     * @param userId ID do usuário dono do cartão
+     * @param status Novo status do cartão
+     */
+    public void update(String userId, Status status) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(userId, status);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(userId, status);
+            }
+        });
+    }
+
+    /**
+     * Remove o usuário do filtro (ex.: exclusão de conta)
+     *
+     * @param userId ID do usuário removido
+     */
+    public void remove(String userId) {
+        apply(userId, Status.APPROVED);
+    }
+
+    /**
+     * Reconstrói o filtro a partir do banco em uma única consulta em streaming
+     * O novo conjunto só substitui o atual quando estiver completo, com as alterações
+     * recebidas durante a consulta já reaplicadas
+     *
+     * @transactional Mantém o cursor da consulta aberto durante o streaming
+     * @scheduled Reconcilia periodicamente com o banco de dados
+     */
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${card.status-filter.rebuild-ms:600000}",
+            fixedDelayString = "${card.status-filter.rebuild-ms:600000}")
+    public void rebuild() {
+
+        Set<String> rebuilt = ConcurrentHashMap.newKeySet();
+
+        synchronized (this) {
+            this.updatesDuringRebuild = new ConcurrentHashMap<>();
+        }
+
+        try (Stream<String> userIds = this.cardRepository.streamUserIdsWithStatusNot(Status.APPROVED)) {
+            userIds.forEach(rebuilt::add);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                this.updatesDuringRebuild = null;
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            // A consulta pode ter lido a linha antes da alteração: o status mais recente vence
+            this.updatesDuringRebuild.forEach((userId, status) -> toggle(rebuilt, userId, status));
+            this.updatesDuringRebuild = null;
+            this.declinedUsers = rebuilt;
+            this.loaded = true;
+        }
+    }
+
+    private synchronized void apply(String userId, Status status) {
+
+        toggle(this.declinedUsers, userId, status);
+
+        if (this.updatesDuringRebuild != null) {
+            this.updatesDuringRebuild.put(userId, status);
+        }
+    }
+
+    private static void toggle(Set<String> declined, String userId, Status status) {
+
+        if (status == Status.APPROVED) {
+            declined.remove(userId);
+        } else {
+            declined.add(userId);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package br.com.bank_card.service.accrual;
+
+import br.com.bank_card.model.AccrualCheckpoint;
+import br.com.bank_card.repository.AccrualCheckpointRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+/**
+ * Serviço de cobrança diária de juros e tarifas sobre o saldo devedor dos cartões
+ * Processa os cartões em lotes ordenados por ID, gravando cada lote e o seu
+ * checkpoint na mesma transação
+ *
+ * @service Indica que esta classe é um serviço Spring gerenciado pelo container
+ *
+ * @implNote Cada cartão guarda a data da última cobrança, então um lote nunca é
+ *           cobrado duas vezes no mesmo dia, mesmo após uma retomada. O cálculo do lote
+ *           é um laço sobre arrays de long em centavos, com a taxa em milionésimos, sem
+ *           objetos por cartão; a gravação é relativa ao saldo atual da linha
+ *
+ * @author Pablo R.
+ */
+@Service
+public class InterestAccrualService {
+
+    private static final String SELECT_CHUNK = """
+            SELECT card_id, outstanding_balance
+            FROM tb_cards
+            WHERE outstanding_balance > 0
+              AND card_id > ?
+              AND (last_accrual_date IS NULL OR last_accrual_date < ?)
+            ORDER BY card_id
+            LIMIT ?
+            """;
+
+    private static final String UPDATE_CARD = """
+            UPDATE tb_cards
+            SET outstanding_balance = outstanding_balance + ?,
+                limit_credit = limit_credit - ?,
+                last_accrual_date = ?
+            WHERE card_id = ?
+              AND (last_accrual_date IS NULL OR last_accrual_date < ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    /**
+     * Escala da taxa de juros: a taxa é guardada em milionésimos
+     */
+    static final long RATE_SCALE = 1_000_000L;
+
+    private final AccrualCheckpointRepository checkpointRepository;
+    private final long dailyInterestRate;
+    private final long dailyFeeCents;
+    private final int chunkSize;
+
+    /**
+     * Construtor para injeção de dependências e parâmetros da cobrança
+     *
+     * @param jdbcTemplate Template JDBC para leitura e gravação em lote
+     * @param checkpointRepository Repositório dos checkpoints de execução
+     * @param dailyInterestRate Taxa de juros diária sobre o saldo devedor (ex.: 0.0005, até 6 casas)
+     * @param dailyFee Tarifa fixa diária cobrada de cartões com saldo devedor
+     * @param chunkSize Quantidade de cartões por lote
+     */
+    public InterestAccrualService(
+            JdbcTemplate jdbcTemplate,
+            AccrualCheckpointRepository checkpointRepository,
+            @Value("${card.accrual.daily-interest-rate:0.0005}") double dailyInterestRate,
+            @Value("${card.accrual.daily-fee:0.0}") double dailyFee,
+            @Value("${card.accrual.chunk-size:1000}") int chunkSize) {
+
+        this.jdbcTemplate = jdbcTemplate;
+        this.checkpointRepository = checkpointRepository;
+        this.dailyInterestRate = Math.round(dailyInterestRate * RATE_SCALE);
+        this.dailyFeeCents = Math.round(dailyFee * 100);
+        this.chunkSize = chunkSize;
+
+        if (Math.abs(dailyInterestRate * RATE_SCALE - this.dailyInterestRate) > 1e-6) {
+            throw new IllegalStateException("card.accrual.daily-interest-rate must have at most 6 decimal places");
+        }
+    }
+
+    /**
+     * Processa o próximo lote de cartões da execução informada
+     *
+     * @param runDate Data de referência da execução
+     * @return true se ainda houver lotes a processar
+     *
+     * @transactional O lote e o checkpoint são gravados juntos; uma queda no meio
+     *                descarta ambos e a retomada reprocessa apenas este lote
+     */
+    @Transactional
+    public boolean processNextChunk(LocalDate runDate) {
+
+        AccrualCheckpoint checkpoint = this.checkpointRepository.findWithLockByRunDate(runDate)
+                .orElseGet(() -> {
+                    AccrualCheckpoint created = new AccrualCheckpoint();
+                    created.setRunDate(runDate);
+                    return created;
+                });
+
+        if (checkpoint.isCompleted()) {
+            return false;
+        }
+
+        // 1. Lê o lote em arrays primitivos, com os saldos em centavos
+        String[] cardIds = new String[this.chunkSize];
+        long[] balances = new long[this.chunkSize];
+        int[] size = {0};
+
+        this.jdbcTemplate.query(SELECT_CHUNK, (RowCallbackHandler) rs -> {
+                    int i = size[0]++;
+                    cardIds[i] = rs.getString(1);
+                    balances[i] = Math.round(rs.getDouble(2) * 100);
+                },
+                checkpoint.getLastCardId() == null ? "" : checkpoint.getLastCardId(),
+                Date.valueOf(runDate),
+                this.chunkSize);
+
+        int n = size[0];
+
+        // 2. Calcula os encargos em centavos, em um laço primitivo sem alocação
+        long[] charges = new long[n];
+        for (int i = 0; i < n; i++) {
+            charges[i] = charge(balances[i], this.dailyInterestRate, this.dailyFeeCents);
+        }
+
+        // 3. Grava o lote em uma única ida ao banco
+        if (n > 0) {
+            this.jdbcTemplate.batchUpdate(UPDATE_CARD, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    BigDecimal charge = BigDecimal.valueOf(charges[i], 2);
+                    ps.setBigDecimal(1, charge);
+                    ps.setBigDecimal(2, charge);
+                    ps.setDate(3, Date.valueOf(runDate));
+                    ps.setString(4, cardIds[i]);
+                    ps.setDate(5, Date.valueOf(runDate));
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return n;
+                }
+            });
+
+            checkpoint.setLastCardId(cardIds[n - 1]);
+        }
+
+        // 4. Avança o checkpoint
+        checkpoint.setProcessedCards(checkpoint.getProcessedCards() + n);
+        checkpoint.setCompleted(n < this.chunkSize);
+        this.checkpointRepository.save(checkpoint);
+
+        return !checkpoint.isCompleted();
+    }
+
+    /**
+     * Calcula o encargo diário de um saldo devedor, em centavos
+     * Os juros são arredondados para centavos pela regra do banqueiro (metade para o par)
+     * em aritmética inteira exata
+     *
+     * @param balanceCents Saldo devedor do cartão em centavos
+     * @param dailyInterestRate Taxa de juros diária em milionésimos (ver RATE_SCALE)
+     * @param dailyFeeCents Tarifa fixa diária em centavos
+     * @return Encargo em centavos
+     */
+    static long charge(long balanceCents, long dailyInterestRate, long dailyFeeCents) {
+
+        long product = balanceCents * dailyInterestRate;
+        long cents = product / RATE_SCALE;
+        long twiceRemainder = 2 * (product - cents * RATE_SCALE);
+
+        boolean roundUp = twiceRemainder > RATE_SCALE || (twiceRemainder == RATE_SCALE && (cents & 1) == 1);
+        return cents + (roundUp ? 1 : 0) + dailyFeeCents;
+    }
+}
@@ -0,0 +1,14 @@
+package br.com.bank_card.service.vault;
+
+/**
+ * Dados sensíveis de um cartão após a destokenização
+ *
+ * @param userId ID do usuário dono do cartão, usado para validar o acesso
+ * @param cardNumber Número do cartão em claro
+ * @param cardCvv Código de segurança em claro
+ */
+public record CardSecret(
+        String userId,
+        String cardNumber,
+        String cardCvv) {
+}
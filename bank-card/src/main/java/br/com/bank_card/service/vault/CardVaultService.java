@@ -0,0 +1,199 @@
+package br.com.bank_card.service.vault;
+
+import br.com.bank_card.model.Card;
+import br.com.bank_card.repository.CardRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Cofre de tokenização dos dados sensíveis do cartão (PAN e CVV)
+ * Os dados são cifrados com AES-GCM, as buscas usam um hash HMAC-SHA256 do PAN
+ * e os demais serviços trabalham apenas com um token opaco
+ *
+ * @service Indica que esta classe é um serviço Spring gerenciado pelo container
+ *
+ * @implNote A decifragem só acontece na destokenização explícita, servida
+ *           preferencialmente pelo {@link DetokenizationCache}
+ *
+ * @author Pablo R.
+ */
+@Service
+public class CardVaultService {
+
+    private static final String CIPHER = "AES/GCM/NoPadding";
+    private static final String MAC = "HmacSHA256";
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_LENGTH_BITS = 128;
+
+    private final CardRepository cardRepository;
+    private final DetokenizationCache detokenizationCache;
+    private final SecretKeySpec encryptionKey;
+    private final SecretKeySpec hashKey;
+    private final SecureRandom random = new SecureRandom();
+    private final ThreadLocal<Mac> mac;
+
+    /**
+     * Construtor para injeção de dependências e das chaves do cofre
+     *
+     * @param cardRepository Repositório para operações de banco de dados de cartões
+     * @param detokenizationCache Cache de dados já destokenizados
+     * @param encryptionKey Chave AES (Base64, 16/24/32 bytes) para cifrar PAN e CVV
+     * @param hashKey Chave (Base64) do HMAC usado no índice de busca do PAN
+     */
+    public CardVaultService(
+            CardRepository cardRepository,
+            DetokenizationCache detokenizationCache,
+            @Value("${card.vault.encryption-key}") String encryptionKey,
+            @Value("${card.vault.hash-key}") String hashKey) {
+
+        this.cardRepository = cardRepository;
+        this.detokenizationCache = detokenizationCache;
+        byte[] aesKey = Base64.getDecoder().decode(encryptionKey);
+        byte[] macKey = Base64.getDecoder().decode(hashKey);
+
+        if (aesKey.length != 16 && aesKey.length != 24 && aesKey.length != 32) {
+            throw new IllegalStateException("card.vault.encryption-key must be a Base64 AES key of 16, 24 or 32 bytes");
+        } else if (macKey.length < 32) {
+            throw new IllegalStateException("card.vault.hash-key must be a Base64 key of at least 32 bytes");
+        }
+
+        this.encryptionKey = new SecretKeySpec(aesKey, "AES");
+        this.hashKey = new SecretKeySpec(macKey, MAC);
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance(MAC);
+                instance.init(this.hashKey);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HMAC unavailable", e);
+            }
+        });
+    }
+
+    /**
+     * Protege os dados sensíveis de um cartão antes de persisti-lo
+     * Cifra PAN e CVV, calcula o hash de busca e gera um novo token opaco
+     *
+     * @param card Cartão a ser atualizado
+     * @param cardNumber Número do cartão em claro
+     * @param cardCvv Código de segurança em claro
+     */
+    public void protect(Card card, String cardNumber, String cardCvv) {
+
+        card.setCardNumber(encrypt(cardNumber));
+        card.setCardNumberHash(hash(cardNumber));
+        card.setLastDigits(cardNumber.substring(cardNumber.length() - 4));
+        card.setCardCvv(encrypt(cardCvv));
+        card.setCardToken(UUID.randomUUID().toString());
+    }
+
+    /**
+     * Calcula o hash de busca de um número de cartão
+     * Espaços de formatação são ignorados
+     *
+     * @param cardNumber Número do cartão em claro
+     * @return HMAC-SHA256 em hexadecimal
+     */
+    public String hash(String cardNumber) {
+
+        byte[] digest = this.mac.get().doFinal(
+                cardNumber.replace(" ", "").getBytes(StandardCharsets.US_ASCII));
+        return HexFormat.of().formatHex(digest);
+    }
+
+    /**
+     * Recupera os dados em claro de um cartão a partir do seu token
+     * Consulta primeiro o cache; só decifra em caso de ausência
+     *
+     * @param token Token opaco do cartão
+     * @return Optional com os dados do cartão se o token existir
+     */
+    public Optional<CardSecret> detokenize(String token) {
+
+        CardSecret cached = this.detokenizationCache.get(token);
+
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<CardSecret> secret = this.cardRepository.findByCardToken(token)
+                .map(card -> new CardSecret(
+                        card.getUserId(),
+                        decrypt(card.getCardNumber()),
+                        decrypt(card.getCardCvv())));
+
+        secret.ifPresent(value -> this.detokenizationCache.put(token, value));
+        return secret;
+    }
+
+    /**
+     * Remove um token do cache de destokenização
+     *
+     * @param token Token opaco do cartão
+     */
+    public void invalidate(String token) {
+        this.detokenizationCache.invalidate(token);
+    }
+
+    /**
+     * Migra cartões gravados antes do cofre, que ainda possuem PAN e CVV em claro
+     *
+     * @transactional Garante que todos os cartões migrados sejam gravados juntos
+     */
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void protectLegacyCards() {
+
+        for (Card card : this.cardRepository.findAllByCardNumberHashIsNull()) {
+            protect(card, card.getCardNumber(), card.getCardCvv());
+        }
+    }
+
+    private String encrypt(String plain) {
+
+        try {
+            byte[] iv = new byte[IV_LENGTH];
+            this.random.nextBytes(iv);
+
+            Cipher cipher = Cipher.getInstance(CIPHER);
+            cipher.init(Cipher.ENCRYPT_MODE, this.encryptionKey, new GCMParameterSpec(TAG_LENGTH_BITS, iv));
+            byte[] encrypted = cipher.doFinal(plain.getBytes(StandardCharsets.UTF_8));
+
+            return Base64.getEncoder().encodeToString(
+                    ByteBuffer.allocate(IV_LENGTH + encrypted.length).put(iv).put(encrypted).array());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not encrypt card data", e);
+        }
+    }
+
+    private String decrypt(String encoded) {
+
+        try {
+            byte[] data = Base64.getDecoder().decode(encoded);
+
+            Cipher cipher = Cipher.getInstance(CIPHER);
+            cipher.init(Cipher.DECRYPT_MODE, this.encryptionKey,
+                    new GCMParameterSpec(TAG_LENGTH_BITS, data, 0, IV_LENGTH));
+
+            return new String(cipher.doFinal(data, IV_LENGTH, data.length - IV_LENGTH), StandardCharsets.UTF_8);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not decrypt card data", e);
+        }
+    }
+}
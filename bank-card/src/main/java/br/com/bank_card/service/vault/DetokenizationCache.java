@@ -0,0 +1,85 @@
+package br.com.bank_card.service.vault;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache limitado e com expiração estrita para dados de cartão já destokenizados
+ * Evita repetir a decifragem do PAN/CVV em acessos próximos ao mesmo token
+ *
+ * @component Indica que esta classe é um componente Spring gerenciado pelo container
+ *
+ * @implNote LRU por ordem de acesso; entradas expiradas nunca são devolvidas,
+ *           mesmo que ainda não tenham sido removidas do mapa
+ *
+ * @author Pablo R.
+ */
+@Component
+public class DetokenizationCache {
+
+    private final long ttlMillis;
+    private final Map<String, Entry> entries;
+
+    /**
+     * Construtor com os limites do cache
+     *
+     * @param maxSize Número máximo de tokens mantidos em memória
+     * @param ttlMillis Tempo de vida de cada entrada em milissegundos
+     */
+    public DetokenizationCache(
+            @Value("${card.vault.cache-size:10000}") int maxSize,
+            @Value("${card.vault.cache-ttl-ms:60000}") long ttlMillis) {
+
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Busca os dados destokenizados de um token
+     *
+     * @param token Token opaco do cartão
+     * @return Dados do cartão ou null se ausente ou expirado
+     */
+    public synchronized CardSecret get(String token) {
+
+        Entry entry = this.entries.get(token);
+
+        if (entry == null) {
+            return null;
+        } else if (entry.expiresAt() <= System.currentTimeMillis()) {
+            this.entries.remove(token);
+            return null;
+        }
+        return entry.secret();
+    }
+
+    /**
+     * Armazena os dados destokenizados de um token
+     *
+     * @param token Token opaco do cartão
+     * @param secret Dados do cartão em claro
+     */
+    public synchronized void put(String token, CardSecret secret) {
+        this.entries.put(token, new Entry(secret, System.currentTimeMillis() + this.ttlMillis));
+    }
+
+    /**
+     * Remove um token do cache (ex.: exclusão do cartão)
+     *
+     * @param token Token opaco do cartão
+     */
+    public synchronized void invalidate(String token) {
+        this.entries.remove(token);
+    }
+
+    private record Entry(CardSecret secret, long expiresAt) {
+    }
+}
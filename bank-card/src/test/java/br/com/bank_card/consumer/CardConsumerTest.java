@@ -0,0 +1,82 @@
+package br.com.bank_card.consumer;
+
+import br.com.bank_card.dtos.card.ConsumerCardEvent;
+import br.com.bank_card.model.Card;
+import br.com.bank_card.repository.CardRepository;
+import br.com.bank_card.service.CardNumberService;
+import br.com.bank_card.service.CardStatusFilter;
+import br.com.bank_card.service.vault.CardVaultService;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CardConsumerTest {
+
+    private final CardRepository cardRepository = mock(CardRepository.class);
+    private final CardNumberService cardNumberService = mock(CardNumberService.class);
+    private final CardVaultService cardVaultService = mock(CardVaultService.class);
+    private final Acknowledgment ack = mock(Acknowledgment.class);
+
+    @SuppressWarnings("unchecked")
+    private final CardConsumer cardConsumer = new CardConsumer(
+            this.cardRepository,
+            this.cardNumberService,
+            mock(CardStatusFilter.class),
+            this.cardVaultService,
+            mock(KafkaTemplate.class));
+
+    private final ConsumerCardEvent event = new ConsumerCardEvent("user-1", "Fulano", "12.345.678-9", "123.456.789-00");
+
+    @Test
+    void retriesCardNumberCollisionAsFreshInsert() {
+
+        List<String> idsOnSave = new ArrayList<>();
+        when(this.cardRepository.findByUserId("user-1")).thenReturn(Optional.empty());
+        when(this.cardNumberService.nextCardNumber()).thenReturn("5390 1200 0000 0001", "5390 1200 0000 0002");
+        when(this.cardRepository.save(any(Card.class))).thenAnswer(invocation -> {
+            Card card = invocation.getArgument(0);
+            idsOnSave.add(card.getCardId());
+            // Como o persist do Hibernate: o UUID é atribuído antes da violação do índice único
+            card.setCardId("generated-" + idsOnSave.size());
+            if (idsOnSave.size() == 1) {
+                throw new DataIntegrityViolationException("duplicate card_number_hash");
+            }
+            return card;
+        });
+
+        this.cardConsumer.createCard(this.event, this.ack);
+
+        assertEquals(2, idsOnSave.size());
+        assertNull(idsOnSave.get(1), "retry must insert a new row, not merge the failed one");
+        verify(this.cardVaultService, times(2)).protect(any(Card.class), any(), any());
+        verify(this.ack).acknowledge();
+    }
+
+    @Test
+    void givesUpAfterRepeatedCollisions() {
+
+        when(this.cardRepository.findByUserId("user-1")).thenReturn(Optional.empty());
+        when(this.cardRepository.save(any(Card.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate card_number_hash"));
+
+        assertThrows(DataIntegrityViolationException.class, () -> this.cardConsumer.createCard(this.event, this.ack));
+
+        verify(this.cardRepository, times(3)).save(any(Card.class));
+        verify(this.ack, never()).acknowledge();
+    }
+}
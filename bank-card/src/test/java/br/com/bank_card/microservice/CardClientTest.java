@@ -0,0 +1,52 @@
+package br.com.bank_card.microservice;
+
+import br.com.bank_card.enums.Status;
+import br.com.bank_card.model.Card;
+import br.com.bank_card.repository.CardRepository;
+import br.com.bank_card.service.CardStatusFilter;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+class CardClientTest {
+
+    private final CardRepository cardRepository = mock(CardRepository.class);
+    private final CardStatusFilter cardStatusFilter = mock(CardStatusFilter.class);
+    private final CardClient cardClient = new CardClient(this.cardRepository, this.cardStatusFilter, 0.05);
+
+    @Test
+    void declinedByFilterSkipsDatabase() {
+
+        when(this.cardStatusFilter.isDeclined("user-1")).thenReturn(true);
+
+        assertEquals("BLOQUEADO", this.cardClient.paymentWithCredit("user-1", 100.0));
+        verifyNoInteractions(this.cardRepository);
+    }
+
+    @Test
+    void debitsWithRelativeUpdateWithoutLoadingCard() {
+
+        when(this.cardRepository.debitCredit("user-1", 105.0, Status.APPROVED)).thenReturn(1);
+
+        assertEquals("OK", this.cardClient.paymentWithCredit("user-1", 100.0));
+        verify(this.cardRepository, never()).findByUserId(any());
+        verify(this.cardRepository, never()).save(any());
+    }
+
+    @Test
+    void reportsReasonWhenDebitIsRefused() {
+
+        var card = new Card();
+        card.setStatus(Status.APPROVED);
+        card.setLimitCredit(50.0);
+        when(this.cardRepository.findByUserId("user-1")).thenReturn(Optional.of(card));
+
+        assertEquals("INSUFICIENTE", this.cardClient.paymentWithCredit("user-1", 100.0));
+
+        card.setStatus(Status.BLOCKED);
+        assertEquals("BLOQUEADO", this.cardClient.paymentWithCredit("user-1", 100.0));
+    }
+}
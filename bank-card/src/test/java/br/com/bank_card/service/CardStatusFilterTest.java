@@ -0,0 +1,66 @@
+package br.com.bank_card.service;
+
+import br.com.bank_card.enums.Status;
+import br.com.bank_card.repository.CardRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CardStatusFilterTest {
+
+    private final CardRepository cardRepository = mock(CardRepository.class);
+    private final CardStatusFilter filter = new CardStatusFilter(this.cardRepository);
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void keepsUpdatesMadeWhileRebuilding() {
+
+        // O cartão é desbloqueado e outro é bloqueado enquanto a consulta ainda lê as linhas antigas
+        when(this.cardRepository.streamUserIdsWithStatusNot(Status.APPROVED)).thenReturn(
+                Stream.of("unblocked-user").peek(userId -> {
+                    this.filter.update("unblocked-user", Status.APPROVED);
+                    this.filter.update("blocked-user", Status.BLOCKED);
+                }));
+
+        this.filter.rebuild();
+
+        assertFalse(this.filter.isDeclined("unblocked-user"));
+        assertTrue(this.filter.isDeclined("blocked-user"));
+    }
+
+    @Test
+    void appliesUpdatesOnlyAfterCommit() {
+
+        when(this.cardRepository.streamUserIdsWithStatusNot(Status.APPROVED)).thenReturn(Stream.empty());
+        this.filter.rebuild();
+
+        TransactionSynchronizationManager.initSynchronization();
+        this.filter.update("user-1", Status.BLOCKED);
+        assertFalse(this.filter.isDeclined("user-1"));
+
+        // Rollback: o status do banco não mudou
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        assertFalse(this.filter.isDeclined("user-1"));
+
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.initSynchronization();
+        this.filter.update("user-1", Status.BLOCKED);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertTrue(this.filter.isDeclined("user-1"));
+    }
+}
@@ -0,0 +1,31 @@
+package br.com.bank_card.service.accrual;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class InterestAccrualServiceTest {
+
+    // 0.0005 ao dia, em milionésimos
+    private static final long RATE = 500;
+
+    @Test
+    void roundsChargeToExactCents() {
+        // 1234.57 * 0.0005 = 0.617285
+        assertEquals(62, InterestAccrualService.charge(123457, RATE, 0));
+        assertEquals(35, InterestAccrualService.charge(70000, RATE, 0));
+        assertEquals(107, InterestAccrualService.charge(14000, RATE, 100));
+    }
+
+    @Test
+    void roundsHalfToEven() {
+        // 250 * 0.0005 = 0.125 e 350 * 0.0005 = 0.175
+        assertEquals(12, InterestAccrualService.charge(25000, RATE, 0));
+        assertEquals(18, InterestAccrualService.charge(35000, RATE, 0));
+    }
+
+    @Test
+    void zeroBalanceOnlyPaysTheFee() {
+        assertEquals(50, InterestAccrualService.charge(0, RATE, 50));
+    }
+}
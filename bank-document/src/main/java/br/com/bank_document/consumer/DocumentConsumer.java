@@ -8,6 +8,8 @@ import br.com.bank_document.models.CreditDocument;
 import br.com.bank_document.models.Document;
 import br.com.bank_document.repositories.CreditDocumentRepository;
 import br.com.bank_document.repositories.DocumentRepository;
+import br.com.bank_document.services.identity.IdentityIndexService;
+import br.com.bank_document.services.preview.DocumentPreviewService;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.kafka.annotation.KafkaListener;
@@ -25,23 +27,32 @@ public class DocumentConsumer {
 
     private final DocumentRepository documentRepository;
     private final CreditDocumentRepository creditDocumentRepository;
+    private final DocumentPreviewService documentPreviewService;
+    private final IdentityIndexService identityIndexService;
 
     /**
      * Construtor para injeção de dependências dos repositórios.
      * @param repository Repositório de documentos cadastrais
      * @param repository1 Repositório de documentos de crédito
+     * @param documentPreviewService Serviço de pré-processamento dos comprovantes
+     * @param identityIndexService Índice de identidades para detecção de duplicidade
      */
     @Autowired
     public DocumentConsumer(
             DocumentRepository repository,
-            CreditDocumentRepository repository1){
+            CreditDocumentRepository repository1,
+            DocumentPreviewService documentPreviewService,
+            IdentityIndexService identityIndexService){
         this.documentRepository = repository;
         this.creditDocumentRepository = repository1;
+        this.documentPreviewService = documentPreviewService;
+        this.identityIndexService = identityIndexService;
     }
 
     /**
      * Consumidor para o tópico de análise de documentos cadastrais.
      * Registra um novo documento cadastral com status PENDING, se não existir para o usuário.
+     * CPF, RG e comprovantes entram no índice de identidades; colisões com outros usuários sinalizam o documento.
      *
      * @param consumer DTO contendo os dados do documento cadastral
      * @param ack Objeto para confirmação manual do offset da mensagem
@@ -70,8 +81,14 @@ public class DocumentConsumer {
             document.setAddressFile(consumer.proofOfAddress());
             document.setIncomeFile(consumer.proofOfIncome());
             document.setStatus(Status.PENDING);
+            document.setIdentityConflict(this.identityIndexService.register(
+                    consumer.userId(), consumer.cpf(), consumer.rg(),
+                    consumer.proofOfAddress(), consumer.proofOfIncome()));
             this.documentRepository.save(document);
             ack.acknowledge();
+
+            // Gera miniaturas e metadados para a triagem
+            this.documentPreviewService.submit(document.getAddressFile(), document.getIncomeFile());
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -80,6 +97,7 @@ public class DocumentConsumer {
     /**
      * Consumidor para o tópico de análise de documentos de crédito.
      * Registra um novo documento de crédito com status PENDING, se não existir para o usuário.
+     * CPF e comprovante entram no índice de identidades; colisões com outros usuários sinalizam o documento.
      *
      * @param consumer DTO contendo os dados do documento de crédito
      * @param ack Objeto para confirmação manual do offset da mensagem
@@ -108,8 +126,13 @@ public class DocumentConsumer {
             document.setSalary(consumer.salary());
             document.setIncomeFile(consumer.proofOfIncome());
             document.setStatus(Status.PENDING);
+            document.setIdentityConflict(this.identityIndexService.register(
+                    consumer.userId(), consumer.cpf(), null, consumer.proofOfIncome()));
             this.creditDocumentRepository.save(document);
             ack.acknowledge();
+
+            // Gera miniatura e metadados para a triagem
+            this.documentPreviewService.submit(document.getIncomeFile());
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -117,7 +140,7 @@ public class DocumentConsumer {
 
     /**
      * Consumidor para o tópico de exclusão de usuários.
-     * Remove todos os documentos cadastrais e de crédito associados ao usuário.
+     * Remove todos os documentos cadastrais e de crédito associados ao usuário e suas identidades do índice.
      *
      * @param consumer DTO contendo o ID do usuário a ser excluído
      * @param ack Objeto para confirmação manual do offset da mensagem
@@ -132,6 +155,7 @@ public class DocumentConsumer {
 
         this.documentRepository.deleteAllByUserId(consumer.userId());
         this.creditDocumentRepository.deleteAllByUserId(consumer.userId());
+        this.identityIndexService.remove(consumer.userId());
         ack.acknowledge();
     }
 }
\ No newline at end of file
@@ -1,10 +1,18 @@
 package br.com.bank_document.controller;
 
 import br.com.bank_document.dtos.creditDocument.RequestApproveCreditDocument;
+import br.com.bank_document.dtos.creditDocument.RequestCreditDocumentKeys;
 import br.com.bank_document.dtos.creditDocument.RequestCreditDocuments;
 import br.com.bank_document.dtos.creditDocument.RequestRejectCreditDocument;
 import br.com.bank_document.dtos.creditDocument.ResponseCreditDocuments;
+import br.com.bank_document.dtos.identity.ResponseIdentityCollision;
+import br.com.bank_document.dtos.review.RequestBulkDecision;
+import br.com.bank_document.dtos.review.ResponseBulkDecision;
+import br.com.bank_document.dtos.review.ResponseClaim;
+import br.com.bank_document.dtos.review.ResponseReviewPage;
+import br.com.bank_document.enums.Status;
 import br.com.bank_document.services.creditService.CreditDocumentService;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -57,6 +65,21 @@ public class CreditDocumentController {
         return this.creditDocumentService.creditDocumentsForAnalysis(token, request);
     }
 
+    /**
+     * Endpoint para envio de documentos de crédito usando um arquivo já enviado em partes
+     *
+     * @param token Token JWT de autenticação
+     * @param request DTO com informações profissionais e a chave retornada em /uploads/{uploadId}/complete
+     * @return ResponseEntity com confirmação do envio para análise
+     */
+    @PostMapping("/credit-document/submit")
+    public ResponseEntity<Map<String, String>> creditDocumentsFromUploadsAnalysis(
+            JwtAuthenticationToken token,
+            @Valid @RequestBody RequestCreditDocumentKeys request
+    ) {
+        return this.creditDocumentService.creditDocumentsFromUploadsForAnalysis(token, request);
+    }
+
 
     /**
      * Endpoint para verificar o status dos documentos de crédito do usuário autenticado
@@ -95,32 +118,139 @@ public class CreditDocumentController {
         return this.creditDocumentService.findAllDocuments();
     }
 
+    /**
+     * Endpoint da fila de revisão de documentos de crédito, paginada por cursor
+     *
+     * @param status Status dos documentos na fila (padrão PENDING)
+     * @param flagged Se true, apenas documentos com colisão de identidade (padrão false)
+     * @param cursor Cursor retornado em nextCursor na página anterior
+     * @param size Tamanho da página (padrão 50, máximo 100)
+     * @return ResponseEntity com uma página da fila e o cursor da próxima
+     * @preAuthorize Restringe acesso apenas a usuários com escopo ADMIN
+     * @security Requer token JWT com autoridade SCOPE_ADMIN
+     */
+    @GetMapping("/credit-documents/review")
+    @PreAuthorize("hasAuthority('SCOPE_ADMIN')")
+    public ResponseEntity<ResponseReviewPage<ResponseCreditDocuments>> reviewQueue(
+            @RequestParam(defaultValue = "PENDING") Status status,
+            @RequestParam(defaultValue = "false") boolean flagged,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        return this.creditDocumentService.reviewQueue(status, flagged, cursor, size);
+    }
+
+    /**
+     * Endpoint com as colisões de identidade do dono de um documento de crédito
+     * Indica quais identidades (CPF, RG ou comprovante) também foram enviadas por outros usuários
+     *
+     * @param id ID do documento
+     * @return ResponseEntity com as colisões; lista vazia se não houver
+     * @preAuthorize Restringe acesso apenas a usuários com escopo ADMIN
+     * @security Requer token JWT com autoridade SCOPE_ADMIN
+     */
+    @GetMapping("/credit-documents/{id}/identity-collisions")
+    @PreAuthorize("hasAuthority('SCOPE_ADMIN')")
+    public ResponseEntity<List<ResponseIdentityCollision>> identityCollisions(@PathVariable Long id) {
+        return this.creditDocumentService.identityCollisions(id);
+    }
+
+    /**
+     * Endpoint com o total de documentos de crédito por status
+     *
+     * @return ResponseEntity com o total de cada status
+     * @preAuthorize Restringe acesso apenas a usuários com escopo ADMIN
+     * @security Requer token JWT com autoridade SCOPE_ADMIN
+     */
+    @GetMapping("/credit-documents/review/counts")
+    @PreAuthorize("hasAuthority('SCOPE_ADMIN')")
+    public ResponseEntity<Map<Status, Long>> reviewCounts() {
+        return this.creditDocumentService.countByStatus();
+    }
+
+    /**
+     * Endpoint para o administrador reservar os próximos documentos de crédito pendentes
+     * Os documentos reservados não são entregues a outro administrador até a reserva expirar
+     *
+     * @param token Token JWT de autenticação contendo ID do administrador
+     * @param size Quantidade de documentos (padrão 10, máximo 100)
+     * @return ResponseEntity com os documentos reservados e a expiração da reserva
+     * @preAuthorize Restringe acesso apenas a usuários com escopo ADMIN
+     * @security Requer token JWT com autoridade SCOPE_ADMIN
+     */
+    @PostMapping("/credit-documents/claims")
+    @PreAuthorize("hasAuthority('SCOPE_ADMIN')")
+    public ResponseEntity<ResponseClaim<ResponseCreditDocuments>> claimCreditDocuments(
+            JwtAuthenticationToken token,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        return this.creditDocumentService.claimCreditDocuments(token, size);
+    }
+
     /**
      * Endpoint para aprovar um documento de crédito
      *
+     * @param token Token JWT de autenticação contendo ID do administrador
      * @param request DTO contendo ID do documento de crédito a ser aprovado
-     * @return ResponseEntity vazio com status 200 em caso de sucesso
+     * @return ResponseEntity vazio com status 200 em caso de sucesso; 409 sem reserva válida
      * @preAuthorize Restringe acesso apenas a usuários com escopo ADMIN
      * @security Requer token JWT com autoridade SCOPE_ADMIN
      */
     @PutMapping("/approve-credit-document")
     @PreAuthorize("hasAuthority('SCOPE_ADMIN')")
-    public ResponseEntity<Void> approveCreditDocument(@RequestBody RequestApproveCreditDocument request){
-        return this.creditDocumentService.approveCreditDocument(request);
+    public ResponseEntity<Void> approveCreditDocument(JwtAuthenticationToken token, @RequestBody RequestApproveCreditDocument request){
+        return this.creditDocumentService.approveCreditDocument(token, request);
     }
 
     /**
      * Endpoint para rejeitar um documento de crédito
      *
+     * @param token Token JWT de autenticação contendo ID do administrador
      * @param request DTO contendo ID do documento de crédito a ser rejeitado
-     * @return ResponseEntity vazio com status 200 em caso de sucesso
+     * @return ResponseEntity vazio com status 200 em caso de sucesso; 409 sem reserva válida
      * @preAuthorize Restringe acesso apenas a usuários com escopo ADMIN
      * @security Requer token JWT com autoridade SCOPE_ADMIN
      * @note O nome do método no controlador está como "rejectRejectedDocument" mas delega para "rejectCreditDocument" no serviço
      */
     @PutMapping("/reject-credit-document")
     @PreAuthorize("hasAuthority('SCOPE_ADMIN')")
-    public ResponseEntity<Void> rejectRejectedDocument(@RequestBody RequestRejectCreditDocument request){
-        return this.creditDocumentService.rejectCreditDocument(request);
+    public ResponseEntity<Void> rejectRejectedDocument(JwtAuthenticationToken token, @RequestBody RequestRejectCreditDocument request){
+        return this.creditDocumentService.rejectCreditDocument(token, request);
+    }
+
+    /**
+     * Endpoint para aprovar vários documentos de crédito de uma vez
+     *
+     * @param token Token JWT de autenticação contendo ID do administrador
+     * @param request DTO com os IDs dos documentos (máximo 1000)
+     * @return ResponseEntity com a quantidade aprovada e os IDs ignorados
+     * @preAuthorize Restringe acesso apenas a usuários com escopo ADMIN
+     * @security Requer token JWT com autoridade SCOPE_ADMIN
+     */
+    @PutMapping("/approve-credit-documents")
+    @PreAuthorize("hasAuthority('SCOPE_ADMIN')")
+    public ResponseEntity<ResponseBulkDecision> approveCreditDocuments(
+            JwtAuthenticationToken token,
+            @Valid @RequestBody RequestBulkDecision request
+    ) {
+        return this.creditDocumentService.approveCreditDocuments(token, request);
+    }
+
+    /**
+     * Endpoint para rejeitar vários documentos de crédito de uma vez
+     *
+     * @param token Token JWT de autenticação contendo ID do administrador
+     * @param request DTO com os IDs dos documentos (máximo 1000)
+     * @return ResponseEntity com a quantidade rejeitada e os IDs ignorados
+     * @preAuthorize Restringe acesso apenas a usuários com escopo ADMIN
+     * @security Requer token JWT com autoridade SCOPE_ADMIN
+     */
+    @PutMapping("/reject-credit-documents")
+    @PreAuthorize("hasAuthority('SCOPE_ADMIN')")
+    public ResponseEntity<ResponseBulkDecision> rejectCreditDocuments(
+            JwtAuthenticationToken token,
+            @Valid @RequestBody RequestBulkDecision request
+    ) {
+        return this.creditDocumentService.rejectCreditDocuments(token, request);
     }
 }
\ No newline at end of file
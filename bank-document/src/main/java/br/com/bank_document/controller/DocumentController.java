@@ -1,10 +1,18 @@
 package br.com.bank_document.controller;
 
 import br.com.bank_document.dtos.document.RequestApproveDocument;
+import br.com.bank_document.dtos.document.RequestDocumentKeys;
 import br.com.bank_document.dtos.document.RequestDocuments;
 import br.com.bank_document.dtos.document.RequestRejectDocument;
 import br.com.bank_document.dtos.document.ResponseDocuments;
+import br.com.bank_document.dtos.identity.ResponseIdentityCollision;
+import br.com.bank_document.dtos.review.RequestBulkDecision;
+import br.com.bank_document.dtos.review.ResponseBulkDecision;
+import br.com.bank_document.dtos.review.ResponseClaim;
+import br.com.bank_document.dtos.review.ResponseReviewPage;
+import br.com.bank_document.enums.Status;
 import br.com.bank_document.services.DocumentService;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -57,6 +65,21 @@ public class DocumentController {
         return this.documentService.documentsForAnalysis(token, request);
     }
 
+    /**
+     * Endpoint para envio de documentos para análise usando arquivos já enviados em partes
+     *
+     * @param token Token JWT de autenticação
+     * @param request DTO com informações pessoais e as chaves retornadas em /uploads/{uploadId}/complete
+     * @return ResponseEntity com confirmação do envio para análise
+     */
+    @PostMapping("/document/submit")
+    public ResponseEntity<Map<String, String>> documentsFromUploadsAnalysis(
+            JwtAuthenticationToken token,
+            @Valid @RequestBody RequestDocumentKeys request
+    ) {
+        return this.documentService.documentsFromUploadsForAnalysis(token, request);
+    }
+
     /**
      * Endpoint para listar todos os documentos cadastrais do sistema
      *
@@ -70,6 +93,75 @@ public class DocumentController {
         return this.documentService.findAllDocuments();
     }
 
+    /**
+     * Endpoint da fila de revisão de documentos cadastrais, paginada por cursor
+     *
+     * @param status Status dos documentos na fila (padrão PENDING)
+     * @param flagged Se true, apenas documentos com colisão de identidade (padrão false)
+     * @param cursor Cursor retornado em nextCursor na página anterior
+     * @param size Tamanho da página (padrão 50, máximo 100)
+     * @return ResponseEntity com uma página da fila e o cursor da próxima
+     * @preAuthorize Restringe acesso apenas a usuários com escopo ADMIN
+     * @security Requer token JWT com autoridade SCOPE_ADMIN
+     */
+    @GetMapping("/documents/review")
+    @PreAuthorize("hasAuthority('SCOPE_ADMIN')")
+    public ResponseEntity<ResponseReviewPage<ResponseDocuments>> reviewQueue(
+            @RequestParam(defaultValue = "PENDING") Status status,
+            @RequestParam(defaultValue = "false") boolean flagged,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        return this.documentService.reviewQueue(status, flagged, cursor, size);
+    }
+
+    /**
+     * Endpoint com as colisões de identidade do dono de um documento cadastral
+     * Indica quais identidades (CPF, RG ou comprovante) também foram enviadas por outros usuários
+     *
+     * @param id ID do documento
+     * @return ResponseEntity com as colisões; lista vazia se não houver
+     * @preAuthorize Restringe acesso apenas a usuários com escopo ADMIN
+     * @security Requer token JWT com autoridade SCOPE_ADMIN
+     */
+    @GetMapping("/documents/{id}/identity-collisions")
+    @PreAuthorize("hasAuthority('SCOPE_ADMIN')")
+    public ResponseEntity<List<ResponseIdentityCollision>> identityCollisions(@PathVariable Long id) {
+        return this.documentService.identityCollisions(id);
+    }
+
+    /**
+     * Endpoint com o total de documentos cadastrais por status
+     *
+     * @return ResponseEntity com o total de cada status
+     * @preAuthorize Restringe acesso apenas a usuários com escopo ADMIN
+     * @security Requer token JWT com autoridade SCOPE_ADMIN
+     */
+    @GetMapping("/documents/review/counts")
+    @PreAuthorize("hasAuthority('SCOPE_ADMIN')")
+    public ResponseEntity<Map<Status, Long>> reviewCounts() {
+        return this.documentService.countByStatus();
+    }
+
+    /**
+     * Endpoint para o administrador reservar os próximos documentos cadastrais pendentes
+     * Os documentos reservados não são entregues a outro administrador até a reserva expirar
+     *
+     * @param token Token JWT de autenticação contendo ID do administrador
+     * @param size Quantidade de documentos (padrão 10, máximo 100)
+     * @return ResponseEntity com os documentos reservados e a expiração da reserva
+     * @preAuthorize Restringe acesso apenas a usuários com escopo ADMIN
+     * @security Requer token JWT com autoridade SCOPE_ADMIN
+     */
+    @PostMapping("/documents/claims")
+    @PreAuthorize("hasAuthority('SCOPE_ADMIN')")
+    public ResponseEntity<ResponseClaim<ResponseDocuments>> claimDocuments(
+            JwtAuthenticationToken token,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        return this.documentService.claimDocuments(token, size);
+    }
+
     /**
      * Endpoint para verificar o status dos documentos cadastrais do usuário autenticado
      *
@@ -85,28 +177,66 @@ public class DocumentController {
     /**
      * Endpoint para aprovar um documento cadastral
      *
+     * @param token Token JWT de autenticação contendo ID do administrador
      * @param request DTO contendo ID do documento a ser aprovado
-     * @return ResponseEntity vazio com status 200 em caso de sucesso
+     * @return ResponseEntity vazio com status 200 em caso de sucesso; 409 sem reserva válida
      * @preAuthorize Restringe acesso apenas a usuários com escopo ADMIN
      * @security Requer token JWT com autoridade SCOPE_ADMIN
      */
     @PutMapping("/approve-document")
     @PreAuthorize("hasAuthority('SCOPE_ADMIN')")
-    public ResponseEntity<Void> approveDocument(@RequestBody RequestApproveDocument request){
-        return this.documentService.approveDocument(request);
+    public ResponseEntity<Void> approveDocument(JwtAuthenticationToken token, @RequestBody RequestApproveDocument request){
+        return this.documentService.approveDocument(token, request);
     }
 
     /**
      * Endpoint para rejeitar um documento cadastral
      *
+     * @param token Token JWT de autenticação contendo ID do administrador
      * @param request DTO contendo ID do documento a ser rejeitado
-     * @return ResponseEntity vazio com status 200 em caso de sucesso
+     * @return ResponseEntity vazio com status 200 em caso de sucesso; 409 sem reserva válida
      * @preAuthorize Restringe acesso apenas a usuários com escopo ADMIN
      * @security Requer token JWT com autoridade SCOPE_ADMIN
      */
     @PutMapping("/reject-document")
     @PreAuthorize("hasAuthority('SCOPE_ADMIN')")
-    public ResponseEntity<Void> rejectDocument(@RequestBody RequestRejectDocument request){
-        return this.documentService.rejectDocument(request);
+    public ResponseEntity<Void> rejectDocument(JwtAuthenticationToken token, @RequestBody RequestRejectDocument request){
+        return this.documentService.rejectDocument(token, request);
+    }
+
+    /**
+     * Endpoint para aprovar vários documentos cadastrais de uma vez
+     *
+     * @param token Token JWT de autenticação contendo ID do administrador
+     * @param request DTO com os IDs dos documentos (máximo 1000)
+     * @return ResponseEntity com a quantidade aprovada e os IDs ignorados
+     * @preAuthorize Restringe acesso apenas a usuários com escopo ADMIN
+     * @security Requer token JWT com autoridade SCOPE_ADMIN
+     */
+    @PutMapping("/approve-documents")
+    @PreAuthorize("hasAuthority('SCOPE_ADMIN')")
+    public ResponseEntity<ResponseBulkDecision> approveDocuments(
+            JwtAuthenticationToken token,
+            @Valid @RequestBody RequestBulkDecision request
+    ) {
+        return this.documentService.approveDocuments(token, request);
+    }
+
+    /**
+     * Endpoint para rejeitar vários documentos cadastrais de uma vez
+     *
+     * @param token Token JWT de autenticação contendo ID do administrador
+     * @param request DTO com os IDs dos documentos (máximo 1000)
+     * @return ResponseEntity com a quantidade rejeitada e os IDs ignorados
+     * @preAuthorize Restringe acesso apenas a usuários com escopo ADMIN
+     * @security Requer token JWT com autoridade SCOPE_ADMIN
+     */
+    @PutMapping("/reject-documents")
+    @PreAuthorize("hasAuthority('SCOPE_ADMIN')")
+    public ResponseEntity<ResponseBulkDecision> rejectDocuments(
+            JwtAuthenticationToken token,
+            @Valid @RequestBody RequestBulkDecision request
+    ) {
+        return this.documentService.rejectDocuments(token, request);
     }
 }
\ No newline at end of file
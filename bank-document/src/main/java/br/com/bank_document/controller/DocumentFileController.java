@@ -0,0 +1,78 @@
+package br.com.bank_document.controller;
+
+import br.com.bank_document.dtos.preview.ResponseDocumentPreview;
+import br.com.bank_document.services.preview.DocumentPreviewService;
+import br.com.bank_document.services.storage.DocumentFileService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+/**
+ * Controlador REST para download dos comprovantes armazenados
+ * Utilizado pelos administradores na revisão de documentos cadastrais e de crédito
+ *
+ * @restController Indica que esta classe é um controlador REST
+ * @requestMapping Define o caminho base "/api" para todos os endpoints
+ * @author Pablo R.
+ */
+@RestController
+@RequestMapping("/api")
+public class DocumentFileController {
+
+    private final DocumentFileService documentFileService;
+    private final DocumentPreviewService documentPreviewService;
+
+    /**
+     * Construtor para injeção de dependência do DocumentFileService
+     * @param service Serviço de download dos comprovantes
+     * @param documentPreviewService Serviço de pré-processamento dos comprovantes
+     */
+    @Autowired
+    public DocumentFileController(DocumentFileService service, DocumentPreviewService documentPreviewService){
+        this.documentFileService = service;
+        this.documentPreviewService = documentPreviewService;
+    }
+
+    /**
+     * Endpoint para download de um comprovante pela sua chave de conteúdo
+     * A chave é a retornada em addressFile/incomeFile na listagem de documentos
+     *
+     * @param key Chave de conteúdo (SHA-256) do arquivo
+     * @param request Requisição HTTP (suporta Range, If-Range, If-None-Match e If-Modified-Since)
+     * @param response Resposta HTTP onde o arquivo é escrito
+     * @throws IOException Em caso de erro na leitura do arquivo
+     * @preAuthorize Restringe acesso apenas a usuários com escopo ADMIN
+     * @security Requer token JWT com autoridade SCOPE_ADMIN
+     */
+    @GetMapping("/document-files/{key}")
+    @PreAuthorize("hasAuthority('SCOPE_ADMIN')")
+    public void downloadFile(@PathVariable String key,
+                             HttpServletRequest request,
+                             HttpServletResponse response) throws IOException {
+        this.documentFileService.serve(key, request, response);
+    }
+
+    /**
+     * Endpoint com os dados de triagem de um comprovante
+     * A miniatura é baixada em /document-files/{previewKey}
+     *
+     * @param key Chave de conteúdo (SHA-256) do arquivo original
+     * @return ResponseEntity com tipo, tamanho, páginas e chave da miniatura;
+     *         404 enquanto o arquivo não tiver sido processado
+     * @preAuthorize Restringe acesso apenas a usuários com escopo ADMIN
+     * @security Requer token JWT com autoridade SCOPE_ADMIN
+     */
+    @GetMapping("/document-previews/{key}")
+    @PreAuthorize("hasAuthority('SCOPE_ADMIN')")
+    public ResponseEntity<ResponseDocumentPreview> findPreview(@PathVariable String key) {
+        return this.documentPreviewService.findPreview(key);
+    }
+}
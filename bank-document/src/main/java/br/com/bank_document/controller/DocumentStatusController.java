@@ -0,0 +1,50 @@
+package br.com.bank_document.controller;
+
+import br.com.bank_document.services.status.DocumentStatusStream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Controlador REST para acompanhamento em tempo real do status dos documentos
+ * Substitui as consultas periódicas em /check-document-status e /check-credit-document-status
+ *
+ * @restController Indica que esta classe é um controlador REST
+ * @requestMapping Define o caminho base "/api" para todos os endpoints
+ * @author Pablo R.
+ */
+@RestController
+@RequestMapping("/api")
+public class DocumentStatusController {
+
+    private final DocumentStatusStream documentStatusStream;
+
+    /**
+     * Construtor para injeção de dependência do DocumentStatusStream
+     * @param stream Serviço de transmissão das mudanças de status
+     */
+    @Autowired
+    public DocumentStatusController(DocumentStatusStream stream){
+        this.documentStatusStream = stream;
+    }
+
+    /**
+     * Endpoint SSE com o status dos documentos do usuário autenticado
+     * Ao conectar, envia os eventos "document" e "credit-document" com o status atual
+     * ({"STATUS": "SEND" | "PENDING" | "APPROVED" | "REJECTED"}) e depois um novo
+     * evento a cada aprovação ou rejeição, além de um comentário periódico de heartbeat
+     *
+     * @param token Token JWT de autenticação contendo ID do usuário
+     * @return Conexão SSE do usuário
+     * @produces TEXT_EVENT_STREAM Para transmissão contínua dos eventos
+     * @security Acesso restrito a usuários autenticados
+     */
+    @GetMapping(value = "/document-status/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamDocumentStatus(JwtAuthenticationToken token){
+        return this.documentStatusStream.subscribe(token.getName());
+    }
+}
@@ -0,0 +1,111 @@
+package br.com.bank_document.controller;
+
+import br.com.bank_document.dtos.upload.RequestCompleteUpload;
+import br.com.bank_document.dtos.upload.RequestInitiateUpload;
+import br.com.bank_document.dtos.upload.ResponseUploadSession;
+import br.com.bank_document.dtos.upload.ResponseUploadedFile;
+import br.com.bank_document.services.storage.ChunkedUploadService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Controlador REST para upload de comprovantes em partes, com retomada
+ * A chave retornada ao concluir é usada no envio dos documentos cadastrais e de crédito
+ *
+ * @restController Indica que esta classe é um controlador REST
+ * @requestMapping Define o caminho base "/api" para todos os endpoints
+ * @author Pablo R.
+ */
+@RestController
+@RequestMapping("/api")
+public class UploadController {
+
+    private final ChunkedUploadService chunkedUploadService;
+
+    /**
+     * Construtor para injeção de dependência do ChunkedUploadService
+     * @param service Serviço de upload em partes
+     */
+    @Autowired
+    public UploadController(ChunkedUploadService service){
+        this.chunkedUploadService = service;
+    }
+
+    /**
+     * Endpoint para iniciar um upload
+     *
+     * @param token Token JWT de autenticação contendo ID do usuário
+     * @param request DTO com o tamanho total do arquivo
+     * @return ResponseEntity 201 com o ID do upload; 413 se o arquivo for grande demais
+     * @throws IOException Em caso de erro ao criar o arquivo parcial
+     */
+    @PostMapping("/uploads")
+    public ResponseEntity<ResponseUploadSession> initiateUpload(
+            JwtAuthenticationToken token,
+            @Valid @RequestBody RequestInitiateUpload request
+    ) throws IOException {
+        return this.chunkedUploadService.initiate(token, request);
+    }
+
+    /**
+     * Endpoint para consultar o offset atual de um upload (retomada após falha)
+     *
+     * @param token Token JWT de autenticação contendo ID do usuário
+     * @param uploadId ID do upload
+     * @return ResponseEntity com o offset atual
+     * @throws IOException Em caso de erro ao ler o arquivo parcial
+     */
+    @GetMapping("/uploads/{uploadId}")
+    public ResponseEntity<ResponseUploadSession> uploadStatus(
+            JwtAuthenticationToken token,
+            @PathVariable String uploadId
+    ) throws IOException {
+        return this.chunkedUploadService.status(token, uploadId);
+    }
+
+    /**
+     * Endpoint para envio de uma parte do arquivo
+     *
+     * @param token Token JWT de autenticação contendo ID do usuário
+     * @param uploadId ID do upload
+     * @param offset Posição do primeiro byte da parte no arquivo
+     * @param body Conteúdo binário da parte
+     * @return ResponseEntity com o novo offset; 409 com o offset atual se não corresponder
+     * @throws IOException Em caso de erro na gravação da parte
+     * @consumes APPLICATION_OCTET_STREAM Corpo binário lido diretamente, sem multipart
+     */
+    @PutMapping(value = "/uploads/{uploadId}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<ResponseUploadSession> uploadChunk(
+            JwtAuthenticationToken token,
+            @PathVariable String uploadId,
+            @RequestParam long offset,
+            InputStream body
+    ) throws IOException {
+        return this.chunkedUploadService.appendChunk(token, uploadId, offset, body);
+    }
+
+    /**
+     * Endpoint para concluir um upload
+     *
+     * @param token Token JWT de autenticação contendo ID do usuário
+     * @param uploadId ID do upload
+     * @param request DTO com o SHA-256 esperado do arquivo
+     * @return ResponseEntity com a chave de conteúdo; 422 se o SHA-256 não conferir
+     * @throws IOException Em caso de erro ao armazenar o arquivo
+     */
+    @PostMapping("/uploads/{uploadId}/complete")
+    public ResponseEntity<ResponseUploadedFile> completeUpload(
+            JwtAuthenticationToken token,
+            @PathVariable String uploadId,
+            @Valid @RequestBody RequestCompleteUpload request
+    ) throws IOException {
+        return this.chunkedUploadService.complete(token, uploadId, request);
+    }
+}
@@ -22,6 +22,8 @@ public record ResponseCreditDocuments(
 
 
         @Enumerated(EnumType.STRING)
-        Status status
+        Status status,
+
+        boolean identityConflict
 ) {
 }
@@ -0,0 +1,24 @@
+package br.com.bank_document.dtos.document;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import org.hibernate.validator.constraints.br.CPF;
+
+public record RequestDocumentKeys(
+        String fullName,
+
+        @NotBlank()
+        @Pattern(regexp = "^\\d{2}\\.\\d{3}\\.\\d{3}-[\\dXx]$", message = "RG must be in the format 12.345.678-9")
+        String rg,
+
+        @NotBlank(message = "The cpf field cannot be blank")
+        @CPF(message = "This cpf is incorrect")
+        String cpf,
+
+        @NotBlank(message = "Proof of address cannot be blank")
+        String proofOfAddressKey,
+
+        @NotBlank(message = "Proof of income cannot be blank")
+        String proofOfIncomeKey
+) {
+}
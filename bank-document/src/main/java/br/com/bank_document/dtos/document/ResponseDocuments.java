@@ -12,7 +12,9 @@ public record ResponseDocuments(
         String incomeFile,
 
         @Enumerated(EnumType.STRING)
-        Status status
+        Status status,
+
+        boolean identityConflict
 ) {
 
 }
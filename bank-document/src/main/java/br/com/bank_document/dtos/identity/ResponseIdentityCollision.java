@@ -0,0 +1,9 @@
+package br.com.bank_document.dtos.identity;
+
+import br.com.bank_document.enums.IdentityKind;
+
+public record ResponseIdentityCollision(
+        IdentityKind kind,
+        String userId
+) {
+}
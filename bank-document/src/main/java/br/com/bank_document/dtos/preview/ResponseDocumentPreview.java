@@ -0,0 +1,10 @@
+package br.com.bank_document.dtos.preview;
+
+public record ResponseDocumentPreview(
+        String contentKey,
+        String mimeType,
+        Long size,
+        Integer pageCount,
+        String previewKey
+) {
+}
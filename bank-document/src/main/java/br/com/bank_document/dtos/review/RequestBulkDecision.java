@@ -0,0 +1,13 @@
+package br.com.bank_document.dtos.review;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record RequestBulkDecision(
+        @NotEmpty(message = "At least one id is required")
+        @Size(max = 1000, message = "At most 1000 ids per request")
+        List<Long> ids
+) {
+}
@@ -0,0 +1,10 @@
+package br.com.bank_document.dtos.review;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record ResponseClaim<T>(
+        List<T> items,
+        LocalDateTime leaseExpiresAt
+) {
+}
@@ -0,0 +1,9 @@
+package br.com.bank_document.dtos.review;
+
+import java.util.List;
+
+public record ResponseReviewPage<T>(
+        List<T> items,
+        String nextCursor
+) {
+}
@@ -0,0 +1,44 @@
+package br.com.bank_document.dtos.review;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Posição na fila de revisão: data de envio e ID do último documento retornado
+ * Trafega para o cliente como uma string opaca em Base64 (URL safe)
+ *
+ * @author Pablo R.
+ */
+public record ReviewCursor(
+        LocalDate timeStamp,
+        Long id
+) {
+
+    /**
+     * Codifica o cursor para envio ao cliente
+     *
+     * @return Cursor opaco
+     */
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((this.timeStamp + "_" + this.id).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Decodifica um cursor recebido do cliente
+     *
+     * @param cursor Cursor opaco retornado na página anterior
+     * @return Cursor decodificado
+     * @throws IllegalArgumentException Se o cursor for inválido
+     */
+    public static ReviewCursor decode(String cursor) {
+
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII).split("_");
+            return new ReviewCursor(LocalDate.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package br.com.bank_document.dtos.review;
+
+import br.com.bank_document.enums.Status;
+
+public record StatusCount(
+        Status status,
+        long total
+) {
+}
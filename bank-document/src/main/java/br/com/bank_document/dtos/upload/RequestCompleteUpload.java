@@ -0,0 +1,11 @@
+package br.com.bank_document.dtos.upload;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+
+public record RequestCompleteUpload(
+        @NotBlank(message = "The sha256 field cannot be blank")
+        @Pattern(regexp = "^[0-9a-fA-F]{64}$", message = "sha256 must be 64 hexadecimal characters")
+        String sha256
+) {
+}
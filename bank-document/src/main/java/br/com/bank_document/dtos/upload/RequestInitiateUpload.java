@@ -0,0 +1,11 @@
+package br.com.bank_document.dtos.upload;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+public record RequestInitiateUpload(
+        @NotNull(message = "The size field cannot be null")
+        @Positive(message = "The size must be greater than zero")
+        Long size
+) {
+}
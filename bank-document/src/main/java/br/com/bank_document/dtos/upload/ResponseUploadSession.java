@@ -0,0 +1,8 @@
+package br.com.bank_document.dtos.upload;
+
+public record ResponseUploadSession(
+        String uploadId,
+        long offset,
+        long size
+) {
+}
@@ -0,0 +1,7 @@
+package br.com.bank_document.dtos.upload;
+
+public record ResponseUploadedFile(
+        String key,
+        long size
+) {
+}
@@ -0,0 +1,5 @@
+package br.com.bank_document.enums;
+
+public enum IdentityKind {
+    CPF, RG, PROOF
+}
@@ -0,0 +1,52 @@
+package br.com.bank_document.infra;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cria os índices parciais que o Hibernate não declara via @Index
+ * Executado na inicialização, depois que o ddl-auto criou as tabelas e colunas
+ *
+ * @component Indica que esta classe é um componente Spring gerenciado pelo container
+ *
+ * @implNote Os índices contêm apenas os documentos sinalizados com colisão de
+ *           identidade, então a fila de sinalizados não percorre os demais
+ *
+ * @author Pablo R.
+ */
+@Component
+public class PartialIndexInitializer implements ApplicationRunner {
+
+    private static final String[] INDEXES = {
+            """
+            CREATE INDEX IF NOT EXISTS idx_documents_identity_conflict
+            ON tb_documents (status, time_stamp, document_id)
+            WHERE identity_conflict
+            """,
+            """
+            CREATE INDEX IF NOT EXISTS idx_credit_documents_identity_conflict
+            ON tb_credit_documents (status, time_stamp, credit_document_id)
+            WHERE identity_conflict
+            """
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Construtor para injeção de dependências
+     *
+     * @param jdbcTemplate Template JDBC para execução do DDL
+     */
+    public PartialIndexInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        for (String index : INDEXES) {
+            this.jdbcTemplate.execute(index);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package br.com.bank_document.models;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidade do índice do arquivo morto de comprovantes
+ * Indica em qual pacote e em qual posição está o conteúdo comprimido de uma chave
+ *
+ * @entity Indica que esta classe é uma entidade JPA
+ * @table Especifica o nome da tabela no banco de dados
+ * @data Lombok - gera getters, setters, equals, hashCode e toString
+ * @noArgsConstructor Cria construtor vazio para JPA
+ *
+ * @author Pablo R.
+ */
+@Entity
+@Table(name = "tb_archived_contents")
+@Data
+@NoArgsConstructor
+public class ArchivedContent {
+
+    /**
+     * Chave de conteúdo (SHA-256) do arquivo (chave primária)
+     * A mesma chave usada quando o arquivo estava no repositório principal
+     */
+    @Id
+    @Column(name = "content_key")
+    private String contentKey;
+
+    /**
+     * Nome do arquivo de pacote onde o conteúdo foi gravado
+     */
+    private String bundle;
+
+    /**
+     * Posição, em bytes, do início do conteúdo comprimido dentro do pacote
+     */
+    @Column(name = "bundle_offset")
+    private Long bundleOffset;
+
+    /**
+     * Tamanho do conteúdo comprimido em bytes
+     */
+    @Column(name = "compressed_size")
+    private Long compressedSize;
+
+    /**
+     * Tamanho original do arquivo em bytes
+     */
+    private Long size;
+
+    /**
+     * Data e hora do arquivamento
+     * Preenchida automaticamente pelo Hibernate na criação
+     */
+    @CreationTimestamp
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+}
@@ -7,6 +7,7 @@ import lombok.Data;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 /**
  * Entidade que representa documentos para análise de crédito no sistema bancário
@@ -19,7 +20,9 @@ import java.time.LocalDate;
  * @author Pablo R.
  */
 @Entity
-@Table(name = "tb_credit_documents")
+@Table(name = "tb_credit_documents", indexes = {
+        @Index(name = "idx_credit_documents_status_time_stamp", columnList = "status, time_stamp, credit_document_id")
+})
 @Data
 public class CreditDocument {
 
@@ -69,8 +72,8 @@ public class CreditDocument {
     private Double salary;
 
     /**
-     * Caminho ou referência para o arquivo de comprovante de renda
-     * Armazena a localização do arquivo que comprova a renda declarada
+     * Chave de conteúdo (SHA-256) do arquivo de comprovante de renda
+     * Resolvida pelo DocumentStorage para localizar o arquivo que comprova a renda declarada
      */
     private String incomeFile;
 
@@ -87,4 +90,31 @@ public class CreditDocument {
      */
     @CreationTimestamp
     private LocalDate timeStamp;
+
+    /**
+     * ID do administrador que reservou o documento para revisão
+     * Nulo quando o documento está livre na fila
+     */
+    @Column(name = "leased_by")
+    private String leasedBy;
+
+    /**
+     * Data e hora em que a reserva do administrador expira
+     * Após essa data o documento volta a poder ser reservado por outro administrador
+     */
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    /**
+     * Indica se os comprovantes do documento já foram movidos para o arquivo morto
+     * Nulo em registros anteriores ao arquivamento (equivale a false)
+     */
+    private Boolean archived;
+
+    /**
+     * Indica se o CPF, o RG ou algum comprovante do documento também foi enviado por outro usuário
+     * Nulo ou false quando não há colisão; mantido pelo índice de identidades
+     */
+    @Column(name = "identity_conflict")
+    private Boolean identityConflict;
 }
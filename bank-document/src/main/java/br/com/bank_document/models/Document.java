@@ -7,6 +7,7 @@ import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 /**
  * Entidade que representa um documento submetido para análise no sistema bancário
@@ -20,7 +21,9 @@ import java.time.LocalDate;
  * @author Pablo R.
  */
 @Entity
-@Table(name = "tb_documents")
+@Table(name = "tb_documents", indexes = {
+        @Index(name = "idx_documents_status_time_stamp", columnList = "status, time_stamp, document_id")
+})
 @Data
 @NoArgsConstructor
 public class Document {
@@ -59,14 +62,14 @@ public class Document {
     private String cpf;
 
     /**
-     * Caminho ou referência para o arquivo de comprovante de endereço
-     * Armazena a localização do arquivo no sistema de arquivos ou storage
+     * Chave de conteúdo (SHA-256) do arquivo de comprovante de endereço
+     * Resolvida pelo DocumentStorage para localizar o arquivo
      */
     private String addressFile;
 
     /**
-     * Caminho ou referência para o arquivo de comprovante de renda
-     * Armazena a localização do arquivo no sistema de arquivos ou storage
+     * Chave de conteúdo (SHA-256) do arquivo de comprovante de renda
+     * Resolvida pelo DocumentStorage para localizar o arquivo
      */
     private String incomeFile;
 
@@ -83,4 +86,31 @@ public class Document {
      */
     @CreationTimestamp
     private LocalDate timeStamp;
+
+    /**
+     * ID do administrador que reservou o documento para revisão
+     * Nulo quando o documento está livre na fila
+     */
+    @Column(name = "leased_by")
+    private String leasedBy;
+
+    /**
+     * Data e hora em que a reserva do administrador expira
+     * Após essa data o documento volta a poder ser reservado por outro administrador
+     */
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    /**
+     * Indica se os comprovantes do documento já foram movidos para o arquivo morto
+     * Nulo em registros anteriores ao arquivamento (equivale a false)
+     */
+    private Boolean archived;
+
+    /**
+     * Indica se o CPF, o RG ou algum comprovante do documento também foi enviado por outro usuário
+     * Nulo ou false quando não há colisão; mantido pelo índice de identidades
+     */
+    @Column(name = "identity_conflict")
+    private Boolean identityConflict;
 }
@@ -0,0 +1,66 @@
+package br.com.bank_document.models;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidade com os dados extraídos de um comprovante para a triagem da revisão
+ * Identificada pela mesma chave de conteúdo do arquivo original, então serve tanto
+ * para documentos cadastrais quanto de crédito que apontem para o mesmo arquivo
+ *
+ * @entity Indica que esta classe é uma entidade JPA
+ * @table Especifica o nome da tabela no banco de dados
+ * @data Lombok - gera getters, setters, equals, hashCode e toString
+ * @noArgsConstructor Cria construtor vazio para JPA
+ *
+ * @author Pablo R.
+ */
+@Entity
+@Table(name = "tb_document_previews")
+@Data
+@NoArgsConstructor
+public class DocumentPreview {
+
+    /**
+     * Chave de conteúdo (SHA-256) do arquivo original (chave primária)
+     */
+    @Id
+    @Column(name = "content_key")
+    private String contentKey;
+
+    /**
+     * Tipo MIME identificado pela assinatura do arquivo
+     */
+    @Column(name = "mime_type")
+    private String mimeType;
+
+    /**
+     * Tamanho do arquivo original em bytes
+     */
+    private Long size;
+
+    /**
+     * Quantidade de páginas (1 para imagens; nulo se não foi possível ler o arquivo)
+     */
+    @Column(name = "page_count")
+    private Integer pageCount;
+
+    /**
+     * Chave de conteúdo da miniatura JPEG da primeira página
+     * Nula quando o arquivo não pôde ser renderizado
+     */
+    @Column(name = "preview_key")
+    private String previewKey;
+
+    /**
+     * Data e hora do processamento
+     * Preenchida automaticamente pelo Hibernate na criação
+     */
+    @CreationTimestamp
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+}
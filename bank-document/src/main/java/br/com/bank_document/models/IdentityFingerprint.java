@@ -0,0 +1,67 @@
+package br.com.bank_document.models;
+
+import br.com.bank_document.enums.IdentityKind;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidade do índice de identidades enviadas nos documentos
+ * Cada linha liga a impressão digital (HMAC) de um CPF, RG ou comprovante ao usuário
+ * que o enviou; a mesma impressão em usuários diferentes indica identidade duplicada
+ *
+ * @entity Indica que esta classe é uma entidade JPA
+ * @table Especifica o nome da tabela no banco de dados
+ * @data Lombok - gera getters, setters, equals, hashCode e toString
+ * @noArgsConstructor Cria construtor vazio para JPA
+ *
+ * @author Pablo R.
+ */
+@Entity
+@Table(name = "tb_identity_fingerprints", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_identity_fingerprints_fingerprint_user", columnNames = {"fingerprint", "user_id"})
+})
+@Data
+@NoArgsConstructor
+public class IdentityFingerprint {
+
+    /**
+     * Identificador único do registro (chave primária)
+     * Gerado automaticamente via estratégia IDENTITY do banco de dados
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "identity_fingerprint_id")
+    private Long identityFingerprintId;
+
+    /**
+     * HMAC-SHA256 do valor normalizado, prefixado pelo tipo
+     * O valor original (CPF, RG) não é armazenado
+     */
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    /**
+     * Tipo da identidade
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private IdentityKind kind;
+
+    /**
+     * ID do usuário que enviou o documento
+     */
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    /**
+     * Data e hora do registro
+     * Preenchida automaticamente pelo Hibernate na criação
+     */
+    @CreationTimestamp
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,61 @@
+package br.com.bank_document.models;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidade de auditoria da ingestão de comprovantes em imagem
+ * Relaciona o SHA-256 do arquivo enviado pelo usuário com a chave do arquivo
+ * realmente armazenado (reduzido e recomprimido)
+ *
+ * @entity Indica que esta classe é uma entidade JPA
+ * @table Especifica o nome da tabela no banco de dados
+ * @data Lombok - gera getters, setters, equals, hashCode e toString
+ * @noArgsConstructor Cria construtor vazio para JPA
+ *
+ * @author Pablo R.
+ */
+@Entity
+@Table(name = "tb_ingest_records")
+@Data
+@NoArgsConstructor
+public class IngestRecord {
+
+    /**
+     * SHA-256 do arquivo original enviado pelo usuário (chave primária)
+     */
+    @Id
+    @Column(name = "original_digest")
+    private String originalDigest;
+
+    /**
+     * Chave de conteúdo do arquivo armazenado
+     * Igual ao digest original quando o arquivo foi mantido sem alteração
+     */
+    @Column(name = "stored_key")
+    private String storedKey;
+
+    /**
+     * Tamanho do arquivo original em bytes
+     */
+    @Column(name = "original_size")
+    private Long originalSize;
+
+    /**
+     * Tamanho do arquivo armazenado em bytes
+     */
+    @Column(name = "stored_size")
+    private Long storedSize;
+
+    /**
+     * Data e hora da ingestão
+     * Preenchida automaticamente pelo Hibernate na criação
+     */
+    @CreationTimestamp
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+}
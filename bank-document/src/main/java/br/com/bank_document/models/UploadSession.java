@@ -0,0 +1,68 @@
+package br.com.bank_document.models;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidade que representa um upload de comprovante enviado em partes
+ * Permite retomar o envio a partir do último byte recebido após uma falha de rede
+ *
+ * @entity Indica que esta classe é uma entidade JPA
+ * @table Especifica o nome da tabela no banco de dados
+ * @data Lombok - gera getters, setters, equals, hashCode e toString
+ * @noArgsConstructor Cria construtor vazio para JPA
+ *
+ * @author Pablo R.
+ */
+@Entity
+@Table(name = "tb_upload_sessions", indexes = {
+        @Index(name = "idx_upload_sessions_user_content_key", columnList = "user_id, content_key")
+})
+@Data
+@NoArgsConstructor
+public class UploadSession {
+
+    /**
+     * Identificador único do upload (chave primária)
+     * Gerado automaticamente via estratégia UUID
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "upload_id")
+    private String uploadId;
+
+    /**
+     * ID do usuário que iniciou o upload
+     */
+    @Column(name = "user_id")
+    private String userId;
+
+    /**
+     * Tamanho total do arquivo em bytes, informado ao iniciar o upload
+     */
+    @Column(name = "expected_size")
+    private Long expectedSize;
+
+    /**
+     * Chave de conteúdo do arquivo, preenchida quando o upload é concluído
+     */
+    @Column(name = "content_key")
+    private String contentKey;
+
+    /**
+     * Indica se o upload foi concluído e verificado
+     */
+    private boolean completed;
+
+    /**
+     * Data e hora de início do upload
+     * Preenchida automaticamente pelo Hibernate na criação
+     */
+    @CreationTimestamp
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,13 @@
+package br.com.bank_document.repositories;
+
+import br.com.bank_document.models.ArchivedContent;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * Repositório para operações de persistência e consulta de entidades ArchivedContent
+ * A chave é a chave de conteúdo do arquivo arquivado
+ *
+ * @author Pablo R.
+ */
+public interface ArchivedContentRepository extends JpaRepository<ArchivedContent, String> {
+}
@@ -1,8 +1,19 @@
 package br.com.bank_document.repositories;
 
+import br.com.bank_document.dtos.review.StatusCount;
+import br.com.bank_document.enums.Status;
 import br.com.bank_document.models.CreditDocument;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -34,4 +45,184 @@ public interface CreditDocumentRepository extends JpaRepository<CreditDocument,
      * creditDocumentRepository.deleteAllByUserId("user-123");
      */
     void deleteAllByUserId(String userId);
+
+    /**
+     * Primeira página da fila de revisão de documentos de crédito com o status informado
+     *
+     * @param status Status dos documentos na fila
+     * @param limit Tamanho máximo da página
+     * @return Documentos mais antigos primeiro
+     * @implNote Percorre o índice idx_credit_documents_status_time_stamp sem ordenação em memória
+     */
+    @Query("""
+            select d from CreditDocument d
+            where d.status = :status
+            order by d.timeStamp, d.creditDocumentId
+            """)
+    List<CreditDocument> findReviewQueue(Status status, Limit limit);
+
+    /**
+     * Próxima página da fila de revisão, a partir da posição do último documento retornado
+     *
+     * @param status Status dos documentos na fila
+     * @param timeStamp Data de envio do último documento retornado
+     * @param id ID do último documento retornado
+     * @param limit Tamanho máximo da página
+     * @return Documentos posteriores ao cursor, mais antigos primeiro
+     * @implNote Paginação por chave (keyset): o custo não cresce com a profundidade da página
+     */
+    @Query("""
+            select d from CreditDocument d
+            where d.status = :status
+              and (d.timeStamp > :timeStamp or (d.timeStamp = :timeStamp and d.creditDocumentId > :id))
+            order by d.timeStamp, d.creditDocumentId
+            """)
+    List<CreditDocument> findReviewQueueAfter(Status status, LocalDate timeStamp, Long id, Limit limit);
+
+    /**
+     * Conta os documentos de crédito por status
+     *
+     * @return Total de documentos de cada status existente
+     * @implNote Lê apenas o índice idx_credit_documents_status_time_stamp
+     */
+    @Query("select new br.com.bank_document.dtos.review.StatusCount(d.status, count(d)) from CreditDocument d group by d.status")
+    List<StatusCount> countByStatus();
+
+    /**
+     * Seleciona e bloqueia os próximos documentos de crédito pendentes que não estão reservados
+     * Linhas já bloqueadas por outro administrador são puladas em vez de aguardadas
+     *
+     * @param now Data e hora atual (reservas expiradas são consideradas livres)
+     * @param limit Quantidade máxima de documentos
+     * @return Documentos bloqueados até o fim da transação, mais antigos primeiro
+     * @implNote Deve ser chamado dentro de uma transação, que grava a reserva
+     */
+    @Query(value = """
+            select * from tb_credit_documents
+            where status = 'PENDING'
+              and (lease_expires_at is null or lease_expires_at < :now)
+            order by time_stamp, credit_document_id
+            limit :limit
+            for update skip locked
+            """, nativeQuery = true)
+    List<CreditDocument> claimPending(LocalDateTime now, int limit);
+
+    /**
+     * Busca um documento bloqueando a linha até o fim da transação
+     *
+     * @param id ID do documento
+     * @return Optional contendo o documento se encontrado
+     * @implNote Impede que a reserva mude entre a validação e a aprovação/rejeição
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select d from CreditDocument d where d.creditDocumentId = :id")
+    Optional<CreditDocument> findWithLockById(Long id);
+
+    /**
+     * Libera as reservas expiradas, devolvendo os documentos à fila
+     *
+     * @param now Data e hora atual
+     * @return Quantidade de reservas liberadas
+     */
+    @Modifying
+    @Query("update CreditDocument d set d.leasedBy = null, d.leaseExpiresAt = null where d.leaseExpiresAt < :now")
+    int releaseExpiredLeases(LocalDateTime now);
+
+    /**
+     * Busca e bloqueia, entre os IDs informados, os documentos de crédito pendentes
+     * reservados pelo administrador e com reserva ainda válida
+     *
+     * @param ids IDs dos documentos
+     * @param admin ID do administrador
+     * @param now Data e hora atual
+     * @return Documentos que podem ser decididos pelo administrador
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            select d from CreditDocument d
+            where d.creditDocumentId in :ids
+              and d.status = br.com.bank_document.enums.Status.PENDING
+              and d.leasedBy = :admin
+              and d.leaseExpiresAt > :now
+            """)
+    List<CreditDocument> findDecidable(Collection<Long> ids, String admin, LocalDateTime now);
+
+    /**
+     * Atualiza o status de vários documentos em um único comando e libera suas reservas
+     *
+     * @param ids IDs dos documentos
+     * @param status Novo status
+     * @return Quantidade de documentos atualizados
+     */
+    @Modifying
+    @Query("update CreditDocument d set d.status = :status, d.leasedBy = null, d.leaseExpiresAt = null where d.creditDocumentId in :ids")
+    int updateStatus(Collection<Long> ids, Status status);
+
+    /**
+     * Busca documentos de crédito já decididos, enviados antes da data de corte e ainda não arquivados
+     *
+     * @param cutoff Data de corte
+     * @param limit Tamanho máximo do lote
+     * @return Documentos a arquivar
+     */
+    @Query("""
+            select d from CreditDocument d
+            where d.status <> br.com.bank_document.enums.Status.PENDING
+              and d.timeStamp < :cutoff
+              and (d.archived is null or d.archived = false)
+            order by d.creditDocumentId
+            """)
+    List<CreditDocument> findArchivable(LocalDate cutoff, Limit limit);
+
+    /**
+     * Marca os documentos como arquivados
+     *
+     * @param ids IDs dos documentos
+     * @return Quantidade de documentos atualizados
+     */
+    @Modifying
+    @Query("update CreditDocument d set d.archived = true where d.creditDocumentId in :ids")
+    int markArchived(Collection<Long> ids);
+
+    /**
+     * Primeira página da fila de revisão, apenas com documentos de crédito com colisão de identidade
+     *
+     * @param status Status dos documentos na fila
+     * @param limit Tamanho máximo da página
+     * @return Documentos sinalizados, mais antigos primeiro
+     * @implNote Percorre o índice parcial idx_credit_documents_identity_conflict, que contém apenas os documentos sinalizados
+     */
+    @Query("""
+            select d from CreditDocument d
+            where d.status = :status and d.identityConflict = true
+            order by d.timeStamp, d.creditDocumentId
+            """)
+    List<CreditDocument> findFlaggedReviewQueue(Status status, Limit limit);
+
+    /**
+     * Próxima página da fila de revisão de documentos sinalizados, a partir do cursor
+     *
+     * @param status Status dos documentos na fila
+     * @param timeStamp Data de envio do último documento retornado
+     * @param id ID do último documento retornado
+     * @param limit Tamanho máximo da página
+     * @return Documentos sinalizados posteriores ao cursor, mais antigos primeiro
+     */
+    @Query("""
+            select d from CreditDocument d
+            where d.status = :status and d.identityConflict = true
+              and (d.timeStamp > :timeStamp or (d.timeStamp = :timeStamp and d.creditDocumentId > :id))
+            order by d.timeStamp, d.creditDocumentId
+            """)
+    List<CreditDocument> findFlaggedReviewQueueAfter(Status status, LocalDate timeStamp, Long id, Limit limit);
+
+    /**
+     * Sinaliza com colisão de identidade os documentos dos usuários informados
+     *
+     * @param userIds IDs dos usuários que compartilham alguma identidade
+     * @return Quantidade de documentos sinalizados
+     */
+    @Modifying
+    @Query("update CreditDocument d set d.identityConflict = true where d.userId in :userIds")
+    int flagIdentityConflict(Collection<String> userIds);
 }
@@ -0,0 +1,13 @@
+package br.com.bank_document.repositories;
+
+import br.com.bank_document.models.DocumentPreview;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * Repositório para operações de persistência e consulta de entidades DocumentPreview
+ * A chave é a chave de conteúdo do arquivo original
+ *
+ * @author Pablo R.
+ */
+public interface DocumentPreviewRepository extends JpaRepository<DocumentPreview, String> {
+}
@@ -0,0 +1,75 @@
+package br.com.bank_document.repositories;
+
+import br.com.bank_document.dtos.identity.ResponseIdentityCollision;
+import br.com.bank_document.models.IdentityFingerprint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositório para operações de persistência e consulta de entidades IdentityFingerprint
+ * Todas as consultas partem da impressão digital e usam o índice único (fingerprint, user_id)
+ *
+ * @author Pablo R.
+ */
+public interface IdentityFingerprintRepository extends JpaRepository<IdentityFingerprint, Long> {
+
+    /**
+     * Registra a impressão digital para o usuário, ignorando se já estiver registrada
+     *
+     * @param fingerprint Impressão digital
+     * @param kind Tipo da identidade
+     * @param userId ID do usuário
+     * @return 1 se o registro foi criado, 0 se já existia
+     * @implNote ON CONFLICT no índice único evita a consulta prévia e a corrida entre
+     *           os consumidores de documentos cadastrais e de crédito do mesmo usuário
+     */
+    @Modifying
+    @Query(value = """
+            insert into tb_identity_fingerprints (fingerprint, kind, user_id, created_at)
+            values (:fingerprint, :kind, :userId, now())
+            on conflict (fingerprint, user_id) do nothing
+            """, nativeQuery = true)
+    int register(String fingerprint, String kind, String userId);
+
+    /**
+     * Outros usuários que enviaram alguma das impressões digitais informadas
+     *
+     * @param fingerprints Impressões digitais do documento enviado
+     * @param userId ID do usuário que enviou o documento (excluído do resultado)
+     * @return IDs dos usuários com identidade em comum
+     */
+    @Query("""
+            select distinct f.userId from IdentityFingerprint f
+            where f.fingerprint in :fingerprints and f.userId <> :userId
+            """)
+    List<String> findOtherUsers(Collection<String> fingerprints, String userId);
+
+    /**
+     * Colisões de identidade de um usuário: cada tipo de identidade que ele compartilha
+     * e com qual outro usuário
+     *
+     * @param userId ID do usuário
+     * @return Tipo e usuário de cada colisão
+     */
+    @Query("""
+            select distinct new br.com.bank_document.dtos.identity.ResponseIdentityCollision(f.kind, other.userId)
+            from IdentityFingerprint f
+            join IdentityFingerprint other on other.fingerprint = f.fingerprint
+            where f.userId = :userId and other.userId <> :userId
+            """)
+    List<ResponseIdentityCollision> findCollisions(String userId);
+
+    /**
+     * Remove as impressões digitais de um usuário
+     *
+     * @param userId ID do usuário
+     * @return Quantidade de registros removidos
+     */
+    @Modifying
+    @Query("delete from IdentityFingerprint f where f.userId = :userId")
+    int deleteAllByUserId(String userId);
+}
@@ -0,0 +1,13 @@
+package br.com.bank_document.repositories;
+
+import br.com.bank_document.models.IngestRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * Repositório para operações de persistência e consulta de entidades IngestRecord
+ * A chave é o SHA-256 do arquivo original enviado pelo usuário
+ *
+ * @author Pablo R.
+ */
+public interface IngestRecordRepository extends JpaRepository<IngestRecord, String> {
+}
@@ -0,0 +1,43 @@
+package br.com.bank_document.repositories;
+
+import br.com.bank_document.models.UploadSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositório para operações de persistência e consulta de entidades UploadSession
+ * Fornece métodos para gerenciamento dos uploads de comprovantes enviados em partes
+ *
+ * @author Pablo R.
+ */
+public interface UploadSessionRepository extends JpaRepository<UploadSession, String> {
+
+    /**
+     * Busca um upload pertencente ao usuário
+     *
+     * @param uploadId ID do upload
+     * @param userId ID do usuário dono do upload
+     * @return Optional contendo o UploadSession se encontrado, ou Optional vazio
+     */
+    Optional<UploadSession> findByUploadIdAndUserId(String uploadId, String userId);
+
+    /**
+     * Verifica se o usuário concluiu um upload com a chave de conteúdo informada
+     *
+     * @param userId ID do usuário
+     * @param contentKey Chave de conteúdo do arquivo
+     * @return true se o arquivo foi enviado pelo usuário
+     */
+    boolean existsByUserIdAndContentKeyAndCompletedTrue(String userId, String contentKey);
+
+    /**
+     * Lista uploads abandonados, iniciados antes da data limite e não concluídos
+     *
+     * @param cutoff Data e hora limite
+     * @return Lista de uploads incompletos
+     */
+    List<UploadSession> findAllByCompletedFalseAndCreatedAtBefore(LocalDateTime cutoff);
+}
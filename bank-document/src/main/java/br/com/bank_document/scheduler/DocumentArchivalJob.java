@@ -0,0 +1,82 @@
+package br.com.bank_document.scheduler;
+
+import br.com.bank_document.services.archive.ArchivalBatch;
+import br.com.bank_document.services.archive.DocumentArchivalService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * Job que move para o arquivo morto os comprovantes de documentos já decididos
+ *
+ * @component Indica que esta classe é um componente Spring gerenciado pelo container
+ *
+ * @author Pablo R.
+ */
+@Slf4j
+@Component
+public class DocumentArchivalJob {
+
+    private final DocumentArchivalService documentArchivalService;
+    private final boolean enabled;
+    private final long afterDays;
+
+    /**
+     * Construtor para injeção de dependências
+     *
+     * @param documentArchivalService Serviço de arquivamento
+     * @param enabled Se false, o job não faz nada
+     * @param afterDays Idade mínima, em dias, de um documento decidido para ser arquivado
+     */
+    public DocumentArchivalJob(
+            DocumentArchivalService documentArchivalService,
+            @Value("${document.archive.enabled:true}") boolean enabled,
+            @Value("${document.archive.after-days:30}") long afterDays) {
+
+        this.documentArchivalService = documentArchivalService;
+        this.enabled = enabled;
+        this.afterDays = afterDays;
+    }
+
+    /**
+     * Arquiva, lote a lote, os documentos cadastrais e de crédito decididos há mais de N dias
+     */
+    @Scheduled(cron = "${document.archive.cron:0 30 3 * * *}")
+    public void archiveDecidedDocuments() {
+
+        if (!this.enabled) {
+            return;
+        }
+
+        LocalDate cutoff = LocalDate.now().minusDays(this.afterDays);
+        long documents = 0;
+        long files = 0;
+
+        try {
+            ArchivalBatch batch;
+            do {
+                batch = this.documentArchivalService.archiveNextDocuments(cutoff);
+                this.documentArchivalService.removeHotCopies(batch.archivedKeys());
+                documents += batch.documents();
+                files += batch.archivedKeys().size();
+            } while (batch.documents() > 0);
+
+            do {
+                batch = this.documentArchivalService.archiveNextCreditDocuments(cutoff);
+                this.documentArchivalService.removeHotCopies(batch.archivedKeys());
+                documents += batch.documents();
+                files += batch.archivedKeys().size();
+            } while (batch.documents() > 0);
+        } catch (IOException e) {
+            log.warn("Document archival stopped: {}", e.getMessage());
+        }
+
+        if (documents > 0) {
+            log.info("Archived {} files from {} decided documents", files, documents);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package br.com.bank_document.scheduler;
+
+import br.com.bank_document.services.DocumentService;
+import br.com.bank_document.services.creditService.CreditDocumentService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Job que devolve à fila de revisão os documentos com reserva expirada
+ * Cobre administradores que reservaram documentos e não concluíram a revisão
+ *
+ * @component Indica que esta classe é um componente Spring gerenciado pelo container
+ *
+ * @author Pablo R.
+ */
+@Slf4j
+@Component
+public class LeaseReclaimJob {
+
+    private final DocumentService documentService;
+    private final CreditDocumentService creditDocumentService;
+
+    /**
+     * Construtor para injeção de dependências
+     *
+     * @param documentService Serviço de documentos cadastrais
+     * @param creditDocumentService Serviço de documentos de crédito
+     */
+    public LeaseReclaimJob(DocumentService documentService, CreditDocumentService creditDocumentService) {
+        this.documentService = documentService;
+        this.creditDocumentService = creditDocumentService;
+    }
+
+    /**
+     * Libera as reservas expiradas de documentos cadastrais e de crédito
+     */
+    @Scheduled(fixedDelayString = "${document.review.reclaim-ms:60000}")
+    public void reclaimExpiredLeases() {
+
+        int documents = this.documentService.releaseExpiredLeases();
+        int creditDocuments = this.creditDocumentService.releaseExpiredLeases();
+
+        if (documents + creditDocuments > 0) {
+            log.info("Released {} document and {} credit document leases", documents, creditDocuments);
+        }
+    }
+}
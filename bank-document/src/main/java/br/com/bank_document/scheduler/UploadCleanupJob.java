@@ -0,0 +1,52 @@
+package br.com.bank_document.scheduler;
+
+import br.com.bank_document.services.storage.ChunkedUploadService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Job que remove uploads em partes abandonados pelo usuário
+ *
+ * @component Indica que esta classe é um componente Spring gerenciado pelo container
+ *
+ * @author Pablo R.
+ */
+@Slf4j
+@Component
+public class UploadCleanupJob {
+
+    private final ChunkedUploadService chunkedUploadService;
+    private final long maxAgeHours;
+
+    /**
+     * Construtor para injeção de dependências
+     *
+     * @param chunkedUploadService Serviço de upload em partes
+     * @param maxAgeHours Tempo máximo, em horas, para um upload ser concluído
+     */
+    public UploadCleanupJob(
+            ChunkedUploadService chunkedUploadService,
+            @Value("${document.upload.max-age-hours:24}") long maxAgeHours) {
+
+        this.chunkedUploadService = chunkedUploadService;
+        this.maxAgeHours = maxAgeHours;
+    }
+
+    /**
+     * Remove os uploads não concluídos dentro do prazo e seus arquivos parciais
+     */
+    @Scheduled(fixedDelayString = "${document.upload.cleanup-ms:3600000}")
+    public void removeAbandonedUploads() {
+
+        try {
+            this.chunkedUploadService.removeAbandoned(LocalDateTime.now().minusHours(this.maxAgeHours));
+        } catch (IOException e) {
+            log.warn("Could not remove abandoned uploads: {}", e.getMessage());
+        }
+    }
+}
@@ -39,7 +39,10 @@ public class SecurityConfig {
                     CorsConfiguration configuration = new CorsConfiguration();
                     configuration.setAllowedOrigins(List.of("http://localhost:4200"));
                     configuration.setAllowedMethods(List.of("GET","POST","PUT","DELETE"));
-                    configuration.setAllowedHeaders(List.of("Content-Type","Authorization"));
+                    configuration.setAllowedHeaders(List.of("Content-Type","Authorization",
+                            "Range","If-Range","If-None-Match","If-Modified-Since"));
+                    configuration.setExposedHeaders(List.of("Accept-Ranges","Content-Range",
+                            "Content-Length","ETag","Last-Modified"));
                     return configuration;
                 }))
                 .authorizeHttpRequests(authorize -> authorize
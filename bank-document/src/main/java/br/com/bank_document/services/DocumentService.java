@@ -2,23 +2,43 @@ package br.com.bank_document.services;
 
 import br.com.bank_document.dtos.card.SendCardEvent;
 import br.com.bank_document.dtos.document.*;
+import br.com.bank_document.dtos.identity.ResponseIdentityCollision;
+import br.com.bank_document.dtos.review.RequestBulkDecision;
+import br.com.bank_document.dtos.review.ResponseBulkDecision;
+import br.com.bank_document.dtos.review.ResponseClaim;
+import br.com.bank_document.dtos.review.ResponseReviewPage;
+import br.com.bank_document.dtos.review.ReviewCursor;
+import br.com.bank_document.dtos.review.StatusCount;
 import br.com.bank_document.enums.Status;
 import br.com.bank_document.models.Document;
 import br.com.bank_document.repositories.DocumentRepository;
+import br.com.bank_document.services.identity.IdentityIndexService;
+import br.com.bank_document.services.status.DocumentStatusChanged;
+import br.com.bank_document.services.storage.ChunkedUploadService;
+import br.com.bank_document.services.storage.ImageIngestService;
+import br.com.bank_document.services.storage.StoredContent;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.stereotype.Service;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -34,19 +54,42 @@ import java.util.stream.Collectors;
 public class DocumentService {
 
     private final DocumentRepository documentRepository;
+    private final ImageIngestService imageIngestService;
+    private final ChunkedUploadService chunkedUploadService;
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final IdentityIndexService identityIndexService;
+
+    private final Duration leaseDuration;
+
+    private static final int MAX_REVIEW_PAGE_SIZE = 100;
 
     /**
      * Construtor para injeção de dependências
      * @param repository Repositório para operações de banco de dados
+     * @param imageIngestService Etapa de ingestão e armazenamento dos comprovantes
+     * @param chunkedUploadService Serviço de upload dos comprovantes em partes
      * @param kafkaTemplate Template para comunicação assíncrona via Kafka
+     * @param eventPublisher Publicador das mudanças de status para as conexões SSE
+     * @param identityIndexService Índice de identidades para consulta de duplicidade
+     * @param leaseMinutes Duração, em minutos, da reserva de um documento para revisão
      */
     @Autowired
     public DocumentService(
             DocumentRepository repository,
-            KafkaTemplate<String, Object> kafkaTemplate){
+            ImageIngestService imageIngestService,
+            ChunkedUploadService chunkedUploadService,
+            KafkaTemplate<String, Object> kafkaTemplate,
+            ApplicationEventPublisher eventPublisher,
+            IdentityIndexService identityIndexService,
+            @Value("${document.review.lease-minutes:15}") long leaseMinutes){
         this.documentRepository = repository;
+        this.imageIngestService = imageIngestService;
+        this.chunkedUploadService = chunkedUploadService;
         this.kafkaTemplate = kafkaTemplate;
+        this.eventPublisher = eventPublisher;
+        this.identityIndexService = identityIndexService;
+        this.leaseDuration = Duration.ofMinutes(leaseMinutes);
     }
 
     //*********************************** PAGE 4 - OPERAÇÕES DO USUÁRIO ***********************************
@@ -72,16 +115,16 @@ public class DocumentService {
             return ResponseEntity.badRequest().body(Map.of("error", "Both files are required."));
         }
 
-        // Define diretório para upload dos arquivos
-        String uploadDir = "C:\\Users\\rodri\\OneDrive\\Documentos\\negocios\\";
-
-        // Salva comprovante de endereço com nome único
-        File addressFile = new File(uploadDir + UUID.randomUUID() + "_" + request.proofOfAddress().getOriginalFilename());
-        request.proofOfAddress().transferTo(addressFile);
+        // Armazena os comprovantes pelo conteúdo (fotos são reduzidas; arquivos repetidos não são gravados de novo)
+        StoredContent addressFile;
+        try (InputStream content = request.proofOfAddress().getInputStream()) {
+            addressFile = this.imageIngestService.ingest(content);
+        }
 
-        // Salva comprovante de renda com nome único
-        File incomeFile = new File(uploadDir + UUID.randomUUID() + "_" + request.proofOfIncome().getOriginalFilename());
-        request.proofOfIncome().transferTo(incomeFile);
+        StoredContent incomeFile;
+        try (InputStream content = request.proofOfIncome().getInputStream()) {
+            incomeFile = this.imageIngestService.ingest(content);
+        }
 
         // Cria evento com dados para análise
         var event = new EventDocuments(
@@ -89,8 +132,8 @@ public class DocumentService {
                 request.fullName(),
                 request.rg(),
                 request.cpf(),
-                addressFile.getAbsolutePath(),
-                incomeFile.getAbsolutePath()
+                addressFile.key(),
+                incomeFile.key()
         );
 
         // Envia documentos para análise via Kafka
@@ -99,6 +142,39 @@ public class DocumentService {
         return ResponseEntity.accepted().body(Map.of("Accepted", "Your data has been sent for analysis"));
     }
 
+    /**
+     * Processa documentos para análise de conta a partir de arquivos já enviados em partes
+     *
+     * @param token Token JWT de autenticação
+     * @param request DTO com informações pessoais e as chaves dos comprovantes
+     * @return ResponseEntity com confirmação do envio para análise
+     * @apiNote As chaves devem ser de uploads concluídos pelo próprio usuário
+     */
+    public ResponseEntity<Map<String, String>> documentsFromUploadsForAnalysis(
+            JwtAuthenticationToken token,
+            RequestDocumentKeys request
+    ) {
+
+        // Valida se os comprovantes foram enviados pelo próprio usuário
+        if (!this.chunkedUploadService.isUploadedBy(token.getName(), request.proofOfAddressKey()) ||
+                !this.chunkedUploadService.isUploadedBy(token.getName(), request.proofOfIncomeKey())) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Both files are required."));
+        }
+
+        var event = new EventDocuments(
+                token.getName(),
+                request.fullName(),
+                request.rg(),
+                request.cpf(),
+                request.proofOfAddressKey(),
+                request.proofOfIncomeKey()
+        );
+
+        kafkaTemplate.send("documents-analysis-topic", event);
+
+        return ResponseEntity.accepted().body(Map.of("Accepted", "Your data has been sent for analysis"));
+    }
+
     /**
      * Verifica o status atual dos documentos do usuário para criação de cartão
      *
@@ -151,33 +227,198 @@ public class DocumentService {
                         document.getCpf(),
                         document.getAddressFile(),
                         document.getIncomeFile(),
-                        document.getStatus()
+                        document.getStatus(),
+                        Boolean.TRUE.equals(document.getIdentityConflict())
                 ))
                 .collect(Collectors.toList());
 
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Busca uma página da fila de revisão de documentos cadastrais
+     * Filtra pelo status e ordena do envio mais antigo para o mais recente
+     *
+     * @param status Status dos documentos na fila
+     * @param flagged Se true, apenas documentos com colisão de identidade
+     * @param cursor Cursor retornado na página anterior (null para a primeira página)
+     * @param size Tamanho da página (máximo {@value MAX_REVIEW_PAGE_SIZE})
+     * @return ResponseEntity com os documentos e o cursor da próxima página
+     *         (null quando não houver mais documentos); 400 se o cursor for inválido
+     * @security Acesso restrito a administradores
+     * @implNote Paginação por chave (data de envio, ID), apoiada pelo índice (status, time_stamp)
+     *           ou, para os sinalizados, pelo índice parcial de colisões de identidade
+     */
+    public ResponseEntity<ResponseReviewPage<ResponseDocuments>> reviewQueue(Status status, boolean flagged, String cursor, int size) {
+
+        Limit limit = Limit.of(Math.clamp(size, 1, MAX_REVIEW_PAGE_SIZE));
+        List<Document> documents;
+
+        if (cursor == null || cursor.isBlank()) {
+            documents = flagged
+                    ? this.documentRepository.findFlaggedReviewQueue(status, limit)
+                    : this.documentRepository.findReviewQueue(status, limit);
+        } else {
+            ReviewCursor after;
+            try {
+                after = ReviewCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+            documents = flagged
+                    ? this.documentRepository.findFlaggedReviewQueueAfter(status, after.timeStamp(), after.id(), limit)
+                    : this.documentRepository.findReviewQueueAfter(status, after.timeStamp(), after.id(), limit);
+        }
+
+        String nextCursor = null;
+        if (documents.size() == limit.max()) {
+            Document last = documents.get(documents.size() - 1);
+            nextCursor = new ReviewCursor(last.getTimeStamp(), last.getDocumentId()).encode();
+        }
+
+        List<ResponseDocuments> items = documents.stream()
+                .map(document -> new ResponseDocuments(
+                        document.getDocumentId(),
+                        document.getRg(),
+                        document.getCpf(),
+                        document.getAddressFile(),
+                        document.getIncomeFile(),
+                        document.getStatus(),
+                        Boolean.TRUE.equals(document.getIdentityConflict())
+                ))
+                .toList();
+
+        return ResponseEntity.ok(new ResponseReviewPage<>(items, nextCursor));
+    }
+
+    /**
+     * Lista as colisões de identidade do dono de um documento cadastral
+     *
+     * @param id ID do documento
+     * @return ResponseEntity com o tipo de identidade (CPF, RG ou PROOF) e o outro usuário
+     *         de cada colisão; 404 se o documento não existir
+     * @security Acesso restrito a administradores
+     */
+    public ResponseEntity<List<ResponseIdentityCollision>> identityCollisions(Long id) {
+
+        Optional<Document> document = this.documentRepository.findById(id);
+
+        if (document.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        return ResponseEntity.ok(this.identityIndexService.collisions(document.get().getUserId()));
+    }
+
+    /**
+     * Conta os documentos cadastrais de cada status
+     *
+     * @return ResponseEntity com o total por status (status sem documentos retornam zero)
+     * @security Acesso restrito a administradores
+     */
+    public ResponseEntity<Map<Status, Long>> countByStatus() {
+
+        Map<Status, Long> counts = new EnumMap<>(Status.class);
+        for (Status status : Status.values()) {
+            counts.put(status, 0L);
+        }
+
+        for (StatusCount count : this.documentRepository.countByStatus()) {
+            counts.put(count.status(), count.total());
+        }
+
+        return ResponseEntity.ok(counts);
+    }
+
+    /**
+     * Reserva os próximos documentos cadastrais pendentes para o administrador autenticado
+     * Cada documento fica reservado para um único administrador até a reserva expirar
+     *
+     * @param token Token JWT de autenticação contendo ID do administrador
+     * @param size Quantidade de documentos (máximo {@value MAX_REVIEW_PAGE_SIZE})
+     * @return ResponseEntity com os documentos reservados e a expiração da reserva
+     * @throws jakarta.transaction.Transactional Garante que a seleção e a reserva sejam atômicas
+     * @security Acesso restrito a administradores
+     * @implNote FOR UPDATE SKIP LOCKED: administradores concorrentes recebem documentos
+     *           diferentes sem esperar uns pelos outros
+     */
+    @Transactional
+    public ResponseEntity<ResponseClaim<ResponseDocuments>> claimDocuments(JwtAuthenticationToken token, int size) {
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plus(this.leaseDuration);
+
+        List<Document> documents = this.documentRepository.claimPending(now, Math.clamp(size, 1, MAX_REVIEW_PAGE_SIZE));
+
+        for (Document document : documents) {
+            document.setLeasedBy(token.getName());
+            document.setLeaseExpiresAt(expiresAt);
+        }
+
+        List<ResponseDocuments> items = documents.stream()
+                .map(document -> new ResponseDocuments(
+                        document.getDocumentId(),
+                        document.getRg(),
+                        document.getCpf(),
+                        document.getAddressFile(),
+                        document.getIncomeFile(),
+                        document.getStatus(),
+                        Boolean.TRUE.equals(document.getIdentityConflict())
+                ))
+                .toList();
+
+        return ResponseEntity.ok(new ResponseClaim<>(items, expiresAt));
+    }
+
+    /**
+     * Libera as reservas expiradas de documentos cadastrais
+     *
+     * @return Quantidade de reservas liberadas
+     * @throws jakarta.transaction.Transactional Necessário para a atualização em lote
+     */
+    @Transactional
+    public int releaseExpiredLeases() {
+        return this.documentRepository.releaseExpiredLeases(LocalDateTime.now());
+    }
+
+    private boolean holdsLease(JwtAuthenticationToken token, Document document) {
+        return token.getName().equals(document.getLeasedBy())
+                && document.getLeaseExpiresAt() != null
+                && document.getLeaseExpiresAt().isAfter(LocalDateTime.now());
+    }
+
     /**
      * Aprova um documento e dispara evento para criação de cartão
      *
+     * @param token Token JWT de autenticação contendo ID do administrador
      * @param request DTO contendo ID do documento a ser aprovado
-     * @return ResponseEntity vazio com status 200 em caso de sucesso
+     * @return ResponseEntity vazio com status 200 em caso de sucesso;
+     *         409 se o administrador não tiver uma reserva válida do documento
      * @throws jakarta.transaction.Transactional Garante atomicidade na operação
      * @security Acesso restrito a administradores
      * @kafka Dispara evento para criação de cartão no tópico "approved-card-topic"
+     * @sse Notifica o dono do documento conectado em /document-status/stream após o commit
      */
     @Transactional
-    public ResponseEntity<Void> approveDocument(RequestApproveDocument request){
+    public ResponseEntity<Void> approveDocument(JwtAuthenticationToken token, RequestApproveDocument request){
 
-        Optional<Document> document = this.documentRepository.findById(request.documentId());
+        Optional<Document> document = this.documentRepository.findWithLockById(request.documentId());
 
         if (document.isEmpty()) {
             return ResponseEntity.badRequest().build();
         }
 
+        // Só o administrador que reservou o documento pode decidir sobre ele
+        if (!holdsLease(token, document.get())) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+
         document.get().setStatus(Status.APPROVED);
+        document.get().setLeasedBy(null);
+        document.get().setLeaseExpiresAt(null);
         this.documentRepository.save(document.get());
+        this.eventPublisher.publishEvent(new DocumentStatusChanged(
+                document.get().getUserId(), DocumentStatusChanged.DOCUMENT, Status.APPROVED));
         this.kafkaTemplate.send("approved-card-topic", new SendCardEvent(
                 document.get().getUserId(),
                 document.get().getFullName(),
@@ -190,23 +431,35 @@ public class DocumentService {
     /**
      * Rejeita um documento e dispara evento de cancelamento
      *
+     * @param token Token JWT de autenticação contendo ID do administrador
      * @param request DTO contendo ID do documento a ser rejeitado
-     * @return ResponseEntity vazio com status 200 em caso de sucesso
+     * @return ResponseEntity vazio com status 200 em caso de sucesso;
+     *         409 se o administrador não tiver uma reserva válida do documento
      * @throws jakarta.transaction.Transactional Garante atomicidade na operação
      * @security Acesso restrito a administradores
      * @kafka Dispara evento de cancelamento no tópico "canceled-card-topic"
+     * @sse Notifica o dono do documento conectado em /document-status/stream após o commit
      */
     @Transactional
-    public ResponseEntity<Void> rejectDocument(RequestRejectDocument request){
+    public ResponseEntity<Void> rejectDocument(JwtAuthenticationToken token, RequestRejectDocument request){
 
-        Optional<Document> document = this.documentRepository.findById(request.documentId());
+        Optional<Document> document = this.documentRepository.findWithLockById(request.documentId());
 
         if (document.isEmpty()) {
             return ResponseEntity.badRequest().build();
         }
 
+        // Só o administrador que reservou o documento pode decidir sobre ele
+        if (!holdsLease(token, document.get())) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+
         document.get().setStatus(Status.REJECTED);
+        document.get().setLeasedBy(null);
+        document.get().setLeaseExpiresAt(null);
         this.documentRepository.save(document.get());
+        this.eventPublisher.publishEvent(new DocumentStatusChanged(
+                document.get().getUserId(), DocumentStatusChanged.DOCUMENT, Status.REJECTED));
         this.kafkaTemplate.send("canceled-card-topic", new SendCardEvent(
                 document.get().getUserId(),
                 document.get().getFullName(),
@@ -216,5 +469,89 @@ public class DocumentService {
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * Aprova vários documentos cadastrais de uma vez
+     *
+     * @param token Token JWT de autenticação contendo ID do administrador
+     * @param request DTO com os IDs dos documentos
+     * @return ResponseEntity com a quantidade aprovada e os IDs ignorados
+     *         (inexistentes, já decididos ou sem reserva válida do administrador)
+     * @throws jakarta.transaction.Transactional Garante atomicidade na operação
+     * @security Acesso restrito a administradores
+     * @kafka Dispara um evento por documento no tópico "approved-card-topic"
+     * @sse Notifica o dono do documento conectado em /document-status/stream após o commit
+     */
+    @Transactional
+    public ResponseEntity<ResponseBulkDecision> approveDocuments(JwtAuthenticationToken token, RequestBulkDecision request) {
+        return decide(token, request, Status.APPROVED, "approved-card-topic",
+                document -> new SendCardEvent(
+                        document.getUserId(),
+                        document.getFullName(),
+                        document.getRg(),
+                        document.getCpf()));
+    }
+
+    /**
+     * Rejeita vários documentos cadastrais de uma vez
+     *
+     * @param token Token JWT de autenticação contendo ID do administrador
+     * @param request DTO com os IDs dos documentos
+     * @return ResponseEntity com a quantidade rejeitada e os IDs ignorados
+     *         (inexistentes, já decididos ou sem reserva válida do administrador)
+     * @throws jakarta.transaction.Transactional Garante atomicidade na operação
+     * @security Acesso restrito a administradores
+     * @kafka Dispara um evento por documento no tópico "canceled-card-topic"
+     * @sse Notifica o dono do documento conectado em /document-status/stream após o commit
+     */
+    @Transactional
+    public ResponseEntity<ResponseBulkDecision> rejectDocuments(JwtAuthenticationToken token, RequestBulkDecision request) {
+        return decide(token, request, Status.REJECTED, "canceled-card-topic",
+                document -> new SendCardEvent(
+                        document.getUserId(),
+                        document.getFullName(),
+                        document.getRg(),
+                        document.getCpf()));
+    }
+
+    /**
+     * Decide os documentos em lote: bloqueia os que o administrador pode decidir,
+     * atualiza todos em um único UPDATE e publica os eventos em sequência
+     *
+     * @implNote Os envios são chaveados pelo userId (ordem garantida por usuário) e
+     *           agrupados pelo produtor em poucos lotes; o flush aguarda o envio do lote
+     */
+    private ResponseEntity<ResponseBulkDecision> decide(
+            JwtAuthenticationToken token,
+            RequestBulkDecision request,
+            Status status,
+            String topic,
+            Function<Document, Object> event) {
+
+        List<Document> documents = this.documentRepository
+                .findDecidable(Set.copyOf(request.ids()), token.getName(), LocalDateTime.now());
+
+        Set<Long> decided = documents.stream()
+                .map(Document::getDocumentId)
+                .collect(Collectors.toSet());
+
+        if (!decided.isEmpty()) {
+            this.documentRepository.updateStatus(decided, status);
+        }
+
+        for (Document document : documents) {
+            this.kafkaTemplate.send(topic, document.getUserId(), event.apply(document));
+            this.eventPublisher.publishEvent(new DocumentStatusChanged(
+                    document.getUserId(), DocumentStatusChanged.DOCUMENT, status));
+        }
+        this.kafkaTemplate.flush();
+
+        List<Long> skipped = request.ids().stream()
+                .distinct()
+                .filter(id -> !decided.contains(id))
+                .toList();
+
+        return ResponseEntity.ok(new ResponseBulkDecision(decided.size(), skipped));
+    }
+
     //*********************************************************************************
 }
\ No newline at end of file
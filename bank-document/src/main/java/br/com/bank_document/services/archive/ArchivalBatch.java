@@ -0,0 +1,14 @@
+package br.com.bank_document.services.archive;
+
+import java.util.Set;
+
+/**
+ * Resultado do arquivamento de um lote de documentos
+ *
+ * @param documents Quantidade de documentos processados no lote (0 quando não há mais nada a arquivar)
+ * @param archivedKeys Chaves cujos arquivos já estão no arquivo morto e podem sair do repositório principal
+ *
+ * @author Pablo R.
+ */
+public record ArchivalBatch(int documents, Set<String> archivedKeys) {
+}
@@ -0,0 +1,15 @@
+package br.com.bank_document.services.archive;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+
+/**
+ * Conteúdo descomprimido de um arquivo lido do arquivo morto
+ *
+ * @param content Bytes do arquivo (posição 0 até o tamanho original)
+ * @param archivedAt Data e hora do arquivamento
+ *
+ * @author Pablo R.
+ */
+public record ArchivedFile(ByteBuffer content, LocalDateTime archivedAt) {
+}
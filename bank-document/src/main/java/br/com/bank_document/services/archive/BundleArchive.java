@@ -0,0 +1,247 @@
+package br.com.bank_document.services.archive;
+
+import br.com.bank_document.models.ArchivedContent;
+import br.com.bank_document.repositories.ArchivedContentRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Arquivo morto dos comprovantes: pacotes grandes, somente de acréscimo, onde cada
+ * arquivo é gravado comprimido (zlib) um após o outro
+ * A posição de cada chave fica no índice {@link ArchivedContent}
+ *
+ * @component Indica que esta classe é um componente Spring gerenciado pelo container
+ *
+ * @implNote Poucos arquivos grandes no lugar de milhões de arquivos pequenos: o
+ *           repositório principal e o backup deixam de crescer com o histórico.
+ *           A leitura mapeia em memória apenas o trecho do pacote da chave pedida
+ *
+ * @author Pablo R.
+ */
+@Component
+public class BundleArchive {
+
+    private static final String PREFIX = "bundle-";
+    private static final String SUFFIX = ".zbin";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ArchivedContentRepository archivedContentRepository;
+    private final Path dir;
+    private final long maxBundleSize;
+
+    private int currentIndex;
+    private FileChannel current;
+
+    /**
+     * Construtor que prepara o diretório dos pacotes
+     *
+     * @param archivedContentRepository Índice das chaves arquivadas
+     * @param root Diretório raiz do repositório de arquivos
+     * @param maxBundleSize Tamanho a partir do qual um novo pacote é iniciado
+     * @throws IOException Se o diretório não puder ser criado ou lido
+     */
+    public BundleArchive(
+            ArchivedContentRepository archivedContentRepository,
+            @Value("${document.storage.root}") String root,
+            @Value("${document.archive.bundle-max-size:1073741824}") long maxBundleSize) throws IOException {
+
+        this.archivedContentRepository = archivedContentRepository;
+        this.dir = Path.of(root).toAbsolutePath().normalize().resolve("archive");
+        this.maxBundleSize = maxBundleSize;
+        Files.createDirectories(this.dir);
+        this.currentIndex = lastBundleIndex();
+    }
+
+    /**
+     * Verifica se a chave já está no arquivo morto
+     *
+     * @param key Chave de conteúdo
+     * @return true se a chave estiver no índice
+     */
+    public boolean contains(String key) {
+        return this.archivedContentRepository.existsById(key);
+    }
+
+    /**
+     * Acrescenta um arquivo comprimido ao pacote atual
+     * O registro retornado deve ser salvo só depois de {@link #sync()}
+     *
+     * @param key Chave de conteúdo do arquivo
+     * @param file Arquivo no repositório principal
+     * @return Registro do índice com a posição do conteúdo no pacote
+     * @throws IOException Em caso de erro de leitura ou escrita
+     */
+    public synchronized ArchivedContent append(String key, Path file) throws IOException {
+
+        FileChannel out = currentBundle();
+        long offset = out.size();
+        long size = 0;
+
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+
+            // Entrada por array: o Deflater não guarda referência ao buffer reutilizado
+            byte[] input = new byte[BUFFER_SIZE];
+            ByteBuffer inputBuffer = ByteBuffer.wrap(input);
+            ByteBuffer output = ByteBuffer.allocate(BUFFER_SIZE);
+            int read;
+
+            while ((read = in.read(inputBuffer.clear())) != -1) {
+                size += read;
+                deflater.setInput(input, 0, read);
+                while (!deflater.needsInput()) {
+                    drain(deflater, output, out);
+                }
+            }
+
+            deflater.finish();
+            while (!deflater.finished()) {
+                drain(deflater, output, out);
+            }
+        } catch (IOException e) {
+            // Descarta o trecho incompleto para o pacote continuar consistente
+            out.truncate(offset);
+            throw e;
+        } finally {
+            deflater.end();
+        }
+
+        var entry = new ArchivedContent();
+        entry.setContentKey(key);
+        entry.setBundle(bundleName(this.currentIndex));
+        entry.setBundleOffset(offset);
+        entry.setCompressedSize(out.size() - offset);
+        entry.setSize(size);
+        return entry;
+    }
+
+    /**
+     * Garante que tudo o que foi acrescentado esteja gravado no disco
+     *
+     * @throws IOException Em caso de erro de escrita
+     */
+    public synchronized void sync() throws IOException {
+        if (this.current != null) {
+            this.current.force(true);
+        }
+    }
+
+    /**
+     * Lê e descomprime o conteúdo de uma chave arquivada
+     *
+     * @param key Chave de conteúdo
+     * @return Optional com o conteúdo se a chave estiver arquivada
+     * @throws IOException Em caso de erro de leitura ou pacote corrompido
+     */
+    public Optional<ArchivedFile> read(String key) throws IOException {
+
+        Optional<ArchivedContent> entry = this.archivedContentRepository.findById(key);
+
+        if (entry.isEmpty()) {
+            return Optional.empty();
+        }
+
+        ArchivedContent archived = entry.get();
+
+        try (FileChannel channel = FileChannel.open(this.dir.resolve(archived.getBundle()), StandardOpenOption.READ)) {
+
+            MappedByteBuffer compressed = channel.map(
+                    FileChannel.MapMode.READ_ONLY, archived.getBundleOffset(), archived.getCompressedSize());
+            // Um byte extra permite ao Inflater chegar ao fim do stream e validar o checksum
+            int size = Math.toIntExact(archived.getSize());
+            ByteBuffer content = ByteBuffer.allocate(size + 1);
+
+            Inflater inflater = new Inflater();
+            boolean finished;
+            try {
+                inflater.setInput(compressed);
+                while (!inflater.finished() && content.hasRemaining()) {
+                    if (inflater.inflate(content) == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        break;
+                    }
+                }
+                finished = inflater.finished();
+            } catch (DataFormatException e) {
+                throw new IOException("Corrupted archive entry " + key, e);
+            } finally {
+                inflater.end();
+            }
+
+            if (!finished || content.position() != size) {
+                throw new IOException("Truncated archive entry " + key);
+            }
+
+            return Optional.of(new ArchivedFile(content.flip(), archived.getArchivedAt()));
+        }
+    }
+
+    /**
+     * Fecha o pacote atual
+     */
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (this.current != null) {
+            this.current.close();
+            this.current = null;
+        }
+    }
+
+    /**
+     * Obtém o pacote aberto para acréscimo, iniciando um novo quando o atual atinge o limite
+     */
+    private FileChannel currentBundle() throws IOException {
+
+        if (this.current != null && this.current.size() >= this.maxBundleSize) {
+            this.current.force(true);
+            this.current.close();
+            this.current = null;
+            this.currentIndex++;
+        }
+
+        if (this.current == null) {
+            this.current = FileChannel.open(this.dir.resolve(bundleName(this.currentIndex)),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        return this.current;
+    }
+
+    private static void drain(Deflater deflater, ByteBuffer output, FileChannel out) throws IOException {
+
+        output.clear();
+        deflater.deflate(output);
+        output.flip();
+        while (output.hasRemaining()) {
+            out.write(output);
+        }
+    }
+
+    private int lastBundleIndex() throws IOException {
+
+        int last = 0;
+        try (DirectoryStream<Path> bundles = Files.newDirectoryStream(this.dir, PREFIX + "*" + SUFFIX)) {
+            for (Path bundle : bundles) {
+                String name = bundle.getFileName().toString();
+                last = Math.max(last, Integer.parseInt(name.substring(PREFIX.length(), name.length() - SUFFIX.length())));
+            }
+        }
+        return last;
+    }
+
+    private static String bundleName(int index) {
+        return String.format("%s%06d%s", PREFIX, index, SUFFIX);
+    }
+}
@@ -0,0 +1,167 @@
+package br.com.bank_document.services.archive;
+
+import br.com.bank_document.models.ArchivedContent;
+import br.com.bank_document.models.CreditDocument;
+import br.com.bank_document.models.Document;
+import br.com.bank_document.repositories.ArchivedContentRepository;
+import br.com.bank_document.repositories.CreditDocumentRepository;
+import br.com.bank_document.repositories.DocumentRepository;
+import br.com.bank_document.services.storage.DocumentStorage;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Serviço que move os comprovantes de documentos já decididos para o arquivo morto
+ *
+ * @service Indica que esta classe é um serviço Spring gerenciado pelo container
+ *
+ * @implNote Ordem segura de cada lote: acrescenta nos pacotes, força a gravação no
+ *           disco, grava o índice e marca os documentos na mesma transação; só depois
+ *           do commit os arquivos saem do repositório principal
+ *
+ * @author Pablo R.
+ */
+@Service
+public class DocumentArchivalService {
+
+    private final DocumentRepository documentRepository;
+    private final CreditDocumentRepository creditDocumentRepository;
+    private final ArchivedContentRepository archivedContentRepository;
+    private final DocumentStorage documentStorage;
+    private final BundleArchive bundleArchive;
+    private final int batchSize;
+
+    /**
+     * Construtor para injeção de dependências
+     *
+     * @param documentRepository Repositório de documentos cadastrais
+     * @param creditDocumentRepository Repositório de documentos de crédito
+     * @param archivedContentRepository Índice das chaves arquivadas
+     * @param documentStorage Repositório principal de arquivos
+     * @param bundleArchive Arquivo morto
+     * @param batchSize Quantidade de documentos por lote (uma transação por lote)
+     */
+    public DocumentArchivalService(
+            DocumentRepository documentRepository,
+            CreditDocumentRepository creditDocumentRepository,
+            ArchivedContentRepository archivedContentRepository,
+            DocumentStorage documentStorage,
+            BundleArchive bundleArchive,
+            @Value("${document.archive.batch-size:500}") int batchSize) {
+
+        this.documentRepository = documentRepository;
+        this.creditDocumentRepository = creditDocumentRepository;
+        this.archivedContentRepository = archivedContentRepository;
+        this.documentStorage = documentStorage;
+        this.bundleArchive = bundleArchive;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Arquiva o próximo lote de documentos cadastrais decididos antes da data de corte
+     *
+     * @param cutoff Documentos enviados antes desta data são arquivados
+     * @return Lote processado e chaves que podem sair do repositório principal
+     * @throws IOException Em caso de erro na gravação dos pacotes
+     */
+    @Transactional
+    public ArchivalBatch archiveNextDocuments(LocalDate cutoff) throws IOException {
+
+        List<Document> documents = this.documentRepository.findArchivable(cutoff, Limit.of(this.batchSize));
+
+        Set<String> keys = new LinkedHashSet<>();
+        List<Long> ids = new ArrayList<>();
+        for (Document document : documents) {
+            addKey(keys, document.getAddressFile());
+            addKey(keys, document.getIncomeFile());
+            ids.add(document.getDocumentId());
+        }
+
+        Set<String> archived = archive(keys);
+        if (!ids.isEmpty()) {
+            this.documentRepository.markArchived(ids);
+        }
+        return new ArchivalBatch(documents.size(), archived);
+    }
+
+    /**
+     * Arquiva o próximo lote de documentos de crédito decididos antes da data de corte
+     *
+     * @param cutoff Documentos enviados antes desta data são arquivados
+     * @return Lote processado e chaves que podem sair do repositório principal
+     * @throws IOException Em caso de erro na gravação dos pacotes
+     */
+    @Transactional
+    public ArchivalBatch archiveNextCreditDocuments(LocalDate cutoff) throws IOException {
+
+        List<CreditDocument> documents = this.creditDocumentRepository.findArchivable(cutoff, Limit.of(this.batchSize));
+
+        Set<String> keys = new LinkedHashSet<>();
+        List<Long> ids = new ArrayList<>();
+        for (CreditDocument document : documents) {
+            addKey(keys, document.getIncomeFile());
+            ids.add(document.getCreditDocumentId());
+        }
+
+        Set<String> archived = archive(keys);
+        if (!ids.isEmpty()) {
+            this.creditDocumentRepository.markArchived(ids);
+        }
+        return new ArchivalBatch(documents.size(), archived);
+    }
+
+    /**
+     * Remove do repositório principal os arquivos que já estão no arquivo morto
+     * Deve ser chamado somente após o commit do lote
+     *
+     * @param keys Chaves arquivadas
+     * @throws IOException Em caso de erro ao remover os arquivos
+     */
+    public void removeHotCopies(Collection<String> keys) throws IOException {
+        for (String key : keys) {
+            this.documentStorage.delete(key);
+        }
+    }
+
+    private Set<String> archive(Set<String> keys) throws IOException {
+
+        Set<String> archived = new LinkedHashSet<>();
+        List<ArchivedContent> entries = new ArrayList<>();
+
+        for (String key : keys) {
+            Optional<Path> file = this.documentStorage.locate(key);
+
+            // Já arquivado por outro documento ou arquivo ausente
+            if (file.isEmpty()) {
+                continue;
+            }
+            if (!this.bundleArchive.contains(key)) {
+                entries.add(this.bundleArchive.append(key, file.get()));
+            }
+            archived.add(key);
+        }
+
+        // O índice só aponta para dados que já estão no disco
+        this.bundleArchive.sync();
+        this.archivedContentRepository.saveAll(entries);
+        return archived;
+    }
+
+    private static void addKey(Set<String> keys, String key) {
+        if (key != null) {
+            keys.add(key);
+        }
+    }
+}
@@ -1,23 +1,43 @@
 package br.com.bank_document.services.creditService;
 
 import br.com.bank_document.dtos.creditDocument.*;
+import br.com.bank_document.dtos.identity.ResponseIdentityCollision;
+import br.com.bank_document.dtos.review.RequestBulkDecision;
+import br.com.bank_document.dtos.review.ResponseBulkDecision;
+import br.com.bank_document.dtos.review.ResponseClaim;
+import br.com.bank_document.dtos.review.ResponseReviewPage;
+import br.com.bank_document.dtos.review.ReviewCursor;
+import br.com.bank_document.dtos.review.StatusCount;
 import br.com.bank_document.enums.Status;
 import br.com.bank_document.models.CreditDocument;
 import br.com.bank_document.repositories.CreditDocumentRepository;
+import br.com.bank_document.services.identity.IdentityIndexService;
+import br.com.bank_document.services.status.DocumentStatusChanged;
+import br.com.bank_document.services.storage.ChunkedUploadService;
+import br.com.bank_document.services.storage.ImageIngestService;
+import br.com.bank_document.services.storage.StoredContent;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.stereotype.Service;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -32,18 +52,41 @@ import java.util.stream.Collectors;
 public class CreditDocumentService {
 
     private final CreditDocumentRepository creditDocumentRepository;
+    private final ImageIngestService imageIngestService;
+    private final ChunkedUploadService chunkedUploadService;
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final IdentityIndexService identityIndexService;
+
+    private final Duration leaseDuration;
+
+    private static final int MAX_REVIEW_PAGE_SIZE = 100;
 
     /**
      * Construtor para injeção de dependências
      * @param repository Repositório para operações de banco de dados de crédito
+     * @param imageIngestService Etapa de ingestão e armazenamento dos comprovantes
+     * @param chunkedUploadService Serviço de upload dos comprovantes em partes
      * @param kafka Template para comunicação assíncrona via Kafka
+     * @param eventPublisher Publicador das mudanças de status para as conexões SSE
+     * @param identityIndexService Índice de identidades para consulta de duplicidade
+     * @param leaseMinutes Duração, em minutos, da reserva de um documento para revisão
      */
     @Autowired
     public CreditDocumentService(CreditDocumentRepository repository,
-                                 KafkaTemplate<String, Object> kafka){
+                                 ImageIngestService imageIngestService,
+                                 ChunkedUploadService chunkedUploadService,
+                                 KafkaTemplate<String, Object> kafka,
+                                 ApplicationEventPublisher eventPublisher,
+                                 IdentityIndexService identityIndexService,
+                                 @Value("${document.review.lease-minutes:15}") long leaseMinutes){
         this.creditDocumentRepository = repository;
+        this.imageIngestService = imageIngestService;
+        this.chunkedUploadService = chunkedUploadService;
         this.kafkaTemplate = kafka;
+        this.eventPublisher = eventPublisher;
+        this.identityIndexService = identityIndexService;
+        this.leaseDuration = Duration.ofMinutes(leaseMinutes);
     }
 
 
@@ -67,12 +110,11 @@ public class CreditDocumentService {
             return ResponseEntity.badRequest().body(Map.of("error", "Income file is required."));
         }
 
-        // Define diretório para upload do arquivo
-        String uploadDir = "C:\\Users\\rodri\\OneDrive\\Documentos\\negocios\\";
-
-        // Salva comprovante de renda com nome único
-        File incomeFile = new File(uploadDir + UUID.randomUUID() + "_" + request.proofOfIncome().getOriginalFilename());
-        request.proofOfIncome().transferTo(incomeFile);
+        // Armazena o comprovante de renda pelo conteúdo (fotos são reduzidas)
+        StoredContent incomeFile;
+        try (InputStream content = request.proofOfIncome().getInputStream()) {
+            incomeFile = this.imageIngestService.ingest(content);
+        }
 
         // Cria evento com dados para análise de crédito
         var event = new EventCreditDocuments(
@@ -82,7 +124,7 @@ public class CreditDocumentService {
                 request.date(),
                 request.occupation(),
                 request.salary(),
-                incomeFile.getAbsolutePath()
+                incomeFile.key()
         );
 
         // Envia dados para análise de crédito via Kafka
@@ -92,6 +134,40 @@ public class CreditDocumentService {
         return ResponseEntity.accepted().body(Map.of("Accepted", "Your data has been sent for analysis"));
     }
 
+    /**
+     * Processa documentos para análise de crédito a partir de um arquivo já enviado em partes
+     *
+     * @param token Token JWT de autenticação
+     * @param request DTO com informações profissionais e a chave do comprovante de renda
+     * @return ResponseEntity com confirmação do envio para análise
+     * @apiNote A chave deve ser de um upload concluído pelo próprio usuário
+     */
+    public ResponseEntity<Map<String, String>> creditDocumentsFromUploadsForAnalysis(
+            JwtAuthenticationToken token,
+            RequestCreditDocumentKeys request
+    ) {
+
+        // Valida se o comprovante foi enviado pelo próprio usuário
+        if (!this.chunkedUploadService.isUploadedBy(token.getName(), request.proofOfIncomeKey())) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Income file is required."));
+        }
+
+        var event = new EventCreditDocuments(
+                token.getName(),
+                request.fullName(),
+                request.cpf(),
+                request.date(),
+                request.occupation(),
+                request.salary(),
+                request.proofOfIncomeKey()
+        );
+
+        log.info("Request sent to Kafka: {}", event);
+        kafkaTemplate.send("credit-documents-analysis-topic", event);
+
+        return ResponseEntity.accepted().body(Map.of("Accepted", "Your data has been sent for analysis"));
+    }
+
     /**
      * Verifica o status dos documentos de crédito do usuário
      *
@@ -143,34 +219,201 @@ public class CreditDocumentService {
                         document.getOccupation(),
                         document.getSalary(),
                         document.getIncomeFile(),
-                        document.getStatus()
+                        document.getStatus(),
+                        Boolean.TRUE.equals(document.getIdentityConflict())
                 ))
                 .collect(Collectors.toList());
 
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Busca uma página da fila de revisão de documentos de crédito
+     * Filtra pelo status e ordena do envio mais antigo para o mais recente
+     *
+     * @param status Status dos documentos na fila
+     * @param flagged Se true, apenas documentos com colisão de identidade
+     * @param cursor Cursor retornado na página anterior (null para a primeira página)
+     * @param size Tamanho da página (máximo {@value MAX_REVIEW_PAGE_SIZE})
+     * @return ResponseEntity com os documentos e o cursor da próxima página
+     *         (null quando não houver mais documentos); 400 se o cursor for inválido
+     * @security Acesso restrito a administradores
+     * @implNote Paginação por chave (data de envio, ID), apoiada pelo índice (status, time_stamp)
+     *           ou, para os sinalizados, pelo índice parcial de colisões de identidade
+     */
+    public ResponseEntity<ResponseReviewPage<ResponseCreditDocuments>> reviewQueue(Status status, boolean flagged, String cursor, int size) {
+
+        Limit limit = Limit.of(Math.clamp(size, 1, MAX_REVIEW_PAGE_SIZE));
+        List<CreditDocument> documents;
+
+        if (cursor == null || cursor.isBlank()) {
+            documents = flagged
+                    ? this.creditDocumentRepository.findFlaggedReviewQueue(status, limit)
+                    : this.creditDocumentRepository.findReviewQueue(status, limit);
+        } else {
+            ReviewCursor after;
+            try {
+                after = ReviewCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+            documents = flagged
+                    ? this.creditDocumentRepository.findFlaggedReviewQueueAfter(status, after.timeStamp(), after.id(), limit)
+                    : this.creditDocumentRepository.findReviewQueueAfter(status, after.timeStamp(), after.id(), limit);
+        }
+
+        String nextCursor = null;
+        if (documents.size() == limit.max()) {
+            CreditDocument last = documents.get(documents.size() - 1);
+            nextCursor = new ReviewCursor(last.getTimeStamp(), last.getCreditDocumentId()).encode();
+        }
+
+        List<ResponseCreditDocuments> items = documents.stream()
+                .map(document -> new ResponseCreditDocuments(
+                        document.getCreditDocumentId(),
+                        document.getCpf(),
+                        document.getDate(),
+                        document.getOccupation(),
+                        document.getSalary(),
+                        document.getIncomeFile(),
+                        document.getStatus(),
+                        Boolean.TRUE.equals(document.getIdentityConflict())
+                ))
+                .toList();
+
+        return ResponseEntity.ok(new ResponseReviewPage<>(items, nextCursor));
+    }
+
+    /**
+     * Lista as colisões de identidade do dono de um documento de crédito
+     *
+     * @param id ID do documento
+     * @return ResponseEntity com o tipo de identidade (CPF, RG ou PROOF) e o outro usuário
+     *         de cada colisão; 404 se o documento não existir
+     * @security Acesso restrito a administradores
+     */
+    public ResponseEntity<List<ResponseIdentityCollision>> identityCollisions(Long id) {
+
+        Optional<CreditDocument> document = this.creditDocumentRepository.findById(id);
+
+        if (document.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        return ResponseEntity.ok(this.identityIndexService.collisions(document.get().getUserId()));
+    }
+
+    /**
+     * Conta os documentos de crédito de cada status
+     *
+     * @return ResponseEntity com o total por status (status sem documentos retornam zero)
+     * @security Acesso restrito a administradores
+     */
+    public ResponseEntity<Map<Status, Long>> countByStatus() {
+
+        Map<Status, Long> counts = new EnumMap<>(Status.class);
+        for (Status status : Status.values()) {
+            counts.put(status, 0L);
+        }
+
+        for (StatusCount count : this.creditDocumentRepository.countByStatus()) {
+            counts.put(count.status(), count.total());
+        }
+
+        return ResponseEntity.ok(counts);
+    }
+
+    /**
+     * Reserva os próximos documentos de crédito pendentes para o administrador autenticado
+     * Cada documento fica reservado para um único administrador até a reserva expirar
+     *
+     * @param token Token JWT de autenticação contendo ID do administrador
+     * @param size Quantidade de documentos (máximo {@value MAX_REVIEW_PAGE_SIZE})
+     * @return ResponseEntity com os documentos reservados e a expiração da reserva
+     * @throws jakarta.transaction.Transactional Garante que a seleção e a reserva sejam atômicas
+     * @security Acesso restrito a administradores
+     * @implNote FOR UPDATE SKIP LOCKED: administradores concorrentes recebem documentos
+     *           diferentes sem esperar uns pelos outros
+     */
+    @Transactional
+    public ResponseEntity<ResponseClaim<ResponseCreditDocuments>> claimCreditDocuments(JwtAuthenticationToken token, int size) {
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plus(this.leaseDuration);
+
+        List<CreditDocument> documents = this.creditDocumentRepository.claimPending(now, Math.clamp(size, 1, MAX_REVIEW_PAGE_SIZE));
+
+        for (CreditDocument document : documents) {
+            document.setLeasedBy(token.getName());
+            document.setLeaseExpiresAt(expiresAt);
+        }
+
+        List<ResponseCreditDocuments> items = documents.stream()
+                .map(document -> new ResponseCreditDocuments(
+                        document.getCreditDocumentId(),
+                        document.getCpf(),
+                        document.getDate(),
+                        document.getOccupation(),
+                        document.getSalary(),
+                        document.getIncomeFile(),
+                        document.getStatus(),
+                        Boolean.TRUE.equals(document.getIdentityConflict())
+                ))
+                .toList();
+
+        return ResponseEntity.ok(new ResponseClaim<>(items, expiresAt));
+    }
+
+    /**
+     * Libera as reservas expiradas de documentos de crédito
+     *
+     * @return Quantidade de reservas liberadas
+     * @throws jakarta.transaction.Transactional Necessário para a atualização em lote
+     */
+    @Transactional
+    public int releaseExpiredLeases() {
+        return this.creditDocumentRepository.releaseExpiredLeases(LocalDateTime.now());
+    }
+
+    private boolean holdsLease(JwtAuthenticationToken token, CreditDocument document) {
+        return token.getName().equals(document.getLeasedBy())
+                && document.getLeaseExpiresAt() != null
+                && document.getLeaseExpiresAt().isAfter(LocalDateTime.now());
+    }
+
     /**
      * Aprova um documento de crédito e dispara evento para liberação de limite
      *
+     * @param token Token JWT de autenticação contendo ID do administrador
      * @param request DTO contendo ID do documento de crédito a ser aprovado
-     * @return ResponseEntity vazio com status 200 em caso de sucesso
+     * @return ResponseEntity vazio com status 200 em caso de sucesso;
+     *         409 se o administrador não tiver uma reserva válida do documento
      * @throws Transactional Garante atomicidade na operação
      * @security Acesso restrito a administradores
      * @kafka Dispara evento para liberação de limite no tópico "approved-limit-card-topic"
+     * @sse Notifica o dono do documento conectado em /document-status/stream após o commit
      */
     @Transactional
-    public ResponseEntity<Void> approveCreditDocument(RequestApproveCreditDocument request){
+    public ResponseEntity<Void> approveCreditDocument(JwtAuthenticationToken token, RequestApproveCreditDocument request){
 
         Optional<CreditDocument> document = this.creditDocumentRepository
-                .findById(request.creditDocumentId());
+                .findWithLockById(request.creditDocumentId());
 
         if (document.isEmpty()) {
             return ResponseEntity.badRequest().build();
         }
 
+        // Só o administrador que reservou o documento pode decidir sobre ele
+        if (!holdsLease(token, document.get())) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+
         document.get().setStatus(Status.APPROVED);
+        document.get().setLeasedBy(null);
+        document.get().setLeaseExpiresAt(null);
         this.creditDocumentRepository.save(document.get());
+        this.eventPublisher.publishEvent(new DocumentStatusChanged(
+                document.get().getUserId(), DocumentStatusChanged.CREDIT_DOCUMENT, Status.APPROVED));
         this.kafkaTemplate.send("approved-limit-card-topic", new SendCreditLimitApproval(
                 document.get().getUserId(),
                 document.get().getSalary()
@@ -181,25 +424,37 @@ public class CreditDocumentService {
     /**
      * Rejeita um documento de crédito e dispara evento de notificação
      *
+     * @param token Token JWT de autenticação contendo ID do administrador
      * @param request DTO contendo ID do documento de crédito a ser rejeitado
-     * @return ResponseEntity vazio com status 200 em caso de sucesso
+     * @return ResponseEntity vazio com status 200 em caso de sucesso;
+     *         409 se o administrador não tiver uma reserva válida do documento
      * @throws Transactional Garante atomicidade na operação
      * @security Acesso restrito a administradores
      * @kafka Dispara evento de rejeição no tópico "rejected-limit-card-topic"
+     * @sse Notifica o dono do documento conectado em /document-status/stream após o commit
      * @note Vai direto para o serviço de notificação, não passa pelo serviço de cartão
      */
     @Transactional
-    public ResponseEntity<Void> rejectCreditDocument(RequestRejectCreditDocument request){
+    public ResponseEntity<Void> rejectCreditDocument(JwtAuthenticationToken token, RequestRejectCreditDocument request){
 
         Optional<CreditDocument> document = this.creditDocumentRepository
-                .findById(request.creditDocumentId());
+                .findWithLockById(request.creditDocumentId());
 
         if (document.isEmpty()) {
             return ResponseEntity.badRequest().build();
         }
 
+        // Só o administrador que reservou o documento pode decidir sobre ele
+        if (!holdsLease(token, document.get())) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+
         document.get().setStatus(Status.REJECTED);
+        document.get().setLeasedBy(null);
+        document.get().setLeaseExpiresAt(null);
         this.creditDocumentRepository.save(document.get());
+        this.eventPublisher.publishEvent(new DocumentStatusChanged(
+                document.get().getUserId(), DocumentStatusChanged.CREDIT_DOCUMENT, Status.REJECTED));
         this.kafkaTemplate.send("rejected-limit-card-topic", new SendCreditLimitRejected(
                 document.get().getUserId())
         );
@@ -207,6 +462,82 @@ public class CreditDocumentService {
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * Aprova vários documentos de crédito de uma vez
+     *
+     * @param token Token JWT de autenticação contendo ID do administrador
+     * @param request DTO com os IDs dos documentos
+     * @return ResponseEntity com a quantidade aprovada e os IDs ignorados
+     *         (inexistentes, já decididos ou sem reserva válida do administrador)
+     * @throws jakarta.transaction.Transactional Garante atomicidade na operação
+     * @security Acesso restrito a administradores
+     * @kafka Dispara um evento por documento no tópico "approved-limit-card-topic"
+     * @sse Notifica o dono do documento conectado em /document-status/stream após o commit
+     */
+    @Transactional
+    public ResponseEntity<ResponseBulkDecision> approveCreditDocuments(JwtAuthenticationToken token, RequestBulkDecision request) {
+        return decide(token, request, Status.APPROVED, "approved-limit-card-topic",
+                document -> new SendCreditLimitApproval(document.getUserId(), document.getSalary()));
+    }
+
+    /**
+     * Rejeita vários documentos de crédito de uma vez
+     *
+     * @param token Token JWT de autenticação contendo ID do administrador
+     * @param request DTO com os IDs dos documentos
+     * @return ResponseEntity com a quantidade rejeitada e os IDs ignorados
+     *         (inexistentes, já decididos ou sem reserva válida do administrador)
+     * @throws jakarta.transaction.Transactional Garante atomicidade na operação
+     * @security Acesso restrito a administradores
+     * @kafka Dispara um evento por documento no tópico "rejected-limit-card-topic"
+     * @sse Notifica o dono do documento conectado em /document-status/stream após o commit
+     */
+    @Transactional
+    public ResponseEntity<ResponseBulkDecision> rejectCreditDocuments(JwtAuthenticationToken token, RequestBulkDecision request) {
+        return decide(token, request, Status.REJECTED, "rejected-limit-card-topic",
+                document -> new SendCreditLimitRejected(document.getUserId()));
+    }
+
+    /**
+     * Decide os documentos em lote: bloqueia os que o administrador pode decidir,
+     * atualiza todos em um único UPDATE e publica os eventos em sequência
+     *
+     * @implNote Os envios são chaveados pelo userId (ordem garantida por usuário) e
+     *           agrupados pelo produtor em poucos lotes; o flush aguarda o envio do lote
+     */
+    private ResponseEntity<ResponseBulkDecision> decide(
+            JwtAuthenticationToken token,
+            RequestBulkDecision request,
+            Status status,
+            String topic,
+            Function<CreditDocument, Object> event) {
+
+        List<CreditDocument> documents = this.creditDocumentRepository
+                .findDecidable(Set.copyOf(request.ids()), token.getName(), LocalDateTime.now());
+
+        Set<Long> decided = documents.stream()
+                .map(CreditDocument::getCreditDocumentId)
+                .collect(Collectors.toSet());
+
+        if (!decided.isEmpty()) {
+            this.creditDocumentRepository.updateStatus(decided, status);
+        }
+
+        for (CreditDocument document : documents) {
+            this.kafkaTemplate.send(topic, document.getUserId(), event.apply(document));
+            this.eventPublisher.publishEvent(new DocumentStatusChanged(
+                    document.getUserId(), DocumentStatusChanged.CREDIT_DOCUMENT, status));
+        }
+        this.kafkaTemplate.flush();
+
+        List<Long> skipped = request.ids().stream()
+                .distinct()
+                .filter(id -> !decided.contains(id))
+                .toList();
+
+        return ResponseEntity.ok(new ResponseBulkDecision(decided.size(), skipped));
+    }
+
     /**
      * Consulta o limite de crédito baseado na renda do usuário
      *
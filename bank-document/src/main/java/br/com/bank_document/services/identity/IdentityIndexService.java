@@ -0,0 +1,154 @@
+package br.com.bank_document.services.identity;
+
+import br.com.bank_document.dtos.identity.ResponseIdentityCollision;
+import br.com.bank_document.enums.IdentityKind;
+import br.com.bank_document.repositories.CreditDocumentRepository;
+import br.com.bank_document.repositories.DocumentRepository;
+import br.com.bank_document.repositories.IdentityFingerprintRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Serviço do índice de identidades enviadas nos documentos cadastrais e de crédito
+ * Detecta o mesmo CPF, RG ou comprovante enviado por contas diferentes e sinaliza
+ * os documentos envolvidos para os revisores
+ *
+ * @service Indica que esta classe é um serviço Spring gerenciado pelo container
+ *
+ * @implNote Os valores são normalizados e guardados apenas como HMAC-SHA256 com chave
+ *           secreta: um SHA-256 simples de CPF seria revertido por força bruta.
+ *           Registro e busca usam o índice único (fingerprint, user_id), sem varrer as
+ *           tabelas de documentos. A sinalização é feita no envio; a consulta de
+ *           colisões lê o índice na hora e vê também envios simultâneos
+ *
+ * @author Pablo R.
+ */
+@Service
+public class IdentityIndexService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final IdentityFingerprintRepository identityFingerprintRepository;
+    private final DocumentRepository documentRepository;
+    private final CreditDocumentRepository creditDocumentRepository;
+    private final SecretKeySpec key;
+
+    /**
+     * Construtor para injeção de dependências
+     *
+     * @param identityFingerprintRepository Repositório do índice de identidades
+     * @param documentRepository Repositório de documentos cadastrais
+     * @param creditDocumentRepository Repositório de documentos de crédito
+     * @param hmacKey Chave secreta do HMAC, com pelo menos 32 bytes (alterá-la invalida o índice existente)
+     */
+    public IdentityIndexService(
+            IdentityFingerprintRepository identityFingerprintRepository,
+            DocumentRepository documentRepository,
+            CreditDocumentRepository creditDocumentRepository,
+            @Value("${document.identity.hmac-key}") String hmacKey) {
+
+        this.identityFingerprintRepository = identityFingerprintRepository;
+        this.documentRepository = documentRepository;
+        this.creditDocumentRepository = creditDocumentRepository;
+        if (hmacKey == null || hmacKey.getBytes(StandardCharsets.UTF_8).length < 32) {
+            throw new IllegalStateException("document.identity.hmac-key must have at least 32 bytes");
+        }
+
+        this.key = new SecretKeySpec(hmacKey.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+    }
+
+    /**
+     * Registra as identidades de um documento enviado e sinaliza as colisões
+     * Os documentos já existentes do usuário e dos outros usuários envolvidos são sinalizados
+     *
+     * @param userId ID do usuário que enviou o documento
+     * @param cpf CPF informado (com ou sem pontuação)
+     * @param rg RG informado (com ou sem pontuação), null no documento de crédito
+     * @param proofKeys Chaves de conteúdo dos comprovantes
+     * @return true se alguma identidade já foi enviada por outro usuário
+     */
+    @Transactional
+    public boolean register(String userId, String cpf, String rg, String... proofKeys) {
+
+        Map<String, IdentityKind> fingerprints = new LinkedHashMap<>();
+        add(fingerprints, IdentityKind.CPF, cpf == null ? null : cpf.replaceAll("\\D", ""));
+        add(fingerprints, IdentityKind.RG, rg == null ? null : rg.toUpperCase(Locale.ROOT).replaceAll("[^0-9A-Z]", ""));
+        for (String proofKey : proofKeys) {
+            add(fingerprints, IdentityKind.PROOF, proofKey == null ? null : proofKey.toLowerCase(Locale.ROOT));
+        }
+
+        if (fingerprints.isEmpty()) {
+            return false;
+        }
+
+        fingerprints.forEach((fingerprint, kind) ->
+                this.identityFingerprintRepository.register(fingerprint, kind.name(), userId));
+
+        List<String> others = this.identityFingerprintRepository.findOtherUsers(fingerprints.keySet(), userId);
+
+        if (others.isEmpty()) {
+            return false;
+        }
+
+        List<String> involved = new ArrayList<>(others);
+        involved.add(userId);
+        this.documentRepository.flagIdentityConflict(involved);
+        this.creditDocumentRepository.flagIdentityConflict(involved);
+        return true;
+    }
+
+    /**
+     * Lista as identidades que o usuário compartilha com outros usuários
+     *
+     * @param userId ID do usuário
+     * @return Tipo da identidade e usuário de cada colisão
+     */
+    public List<ResponseIdentityCollision> collisions(String userId) {
+        return this.identityFingerprintRepository.findCollisions(userId);
+    }
+
+    /**
+     * Remove as identidades do usuário do índice
+     *
+     * @param userId ID do usuário
+     */
+    @Transactional
+    public void remove(String userId) {
+        this.identityFingerprintRepository.deleteAllByUserId(userId);
+    }
+
+    private void add(Map<String, IdentityKind> fingerprints, IdentityKind kind, String normalized) {
+        if (normalized != null && !normalized.isBlank()) {
+            fingerprints.put(fingerprint(kind, normalized.strip()), kind);
+        }
+    }
+
+    /**
+     * Calcula a impressão digital de um valor normalizado
+     * O tipo entra no HMAC para que um RG nunca colida com um CPF de mesmos dígitos
+     */
+    private String fingerprint(IdentityKind kind, String normalized) {
+
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(this.key);
+            mac.update(kind.name().getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) ':');
+            return HexFormat.of().formatHex(mac.doFinal(normalized.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 unavailable", e);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package br.com.bank_document.services.preview;
+
+import br.com.bank_document.dtos.preview.ResponseDocumentPreview;
+import br.com.bank_document.models.DocumentPreview;
+import br.com.bank_document.repositories.DocumentPreviewRepository;
+import br.com.bank_document.services.storage.DocumentStorage;
+import br.com.bank_document.services.storage.ImageCodec;
+import br.com.bank_document.services.storage.MimeSniffer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serviço de pré-processamento dos comprovantes para a triagem da revisão
+ * Extrai tipo MIME, tamanho e quantidade de páginas e gera uma miniatura JPEG
+ * da primeira página, armazenada no próprio repositório de arquivos
+ *
+ * @service Indica que esta classe é um serviço Spring gerenciado pelo container
+ *
+ * @implNote O processamento roda em um pool limitado com fila limitada; quando a
+ *           fila enche, a tarefa roda na thread que a enviou (o consumidor Kafka),
+ *           o que desacelera o consumo em vez de acumular trabalho em memória
+ *
+ * @author Pablo R.
+ */
+@Slf4j
+@Service
+public class DocumentPreviewService {
+
+    private static final float JPEG_QUALITY = 0.7f;
+    private static final float PDF_RENDER_DPI = 72f;
+
+    private final DocumentPreviewRepository documentPreviewRepository;
+    private final DocumentStorage documentStorage;
+    private final ThreadPoolExecutor executor;
+    private final int maxDimension;
+
+    /**
+     * Construtor para injeção de dependências e configuração do pool de processamento
+     *
+     * @param documentPreviewRepository Repositório dos dados extraídos
+     * @param documentStorage Repositório de arquivos dos comprovantes
+     * @param threads Quantidade de threads de processamento
+     * @param queueCapacity Tamanho máximo da fila de arquivos aguardando processamento
+     * @param maxDimension Maior lado da miniatura em pixels
+     */
+    public DocumentPreviewService(
+            DocumentPreviewRepository documentPreviewRepository,
+            DocumentStorage documentStorage,
+            @Value("${document.preview.threads:2}") int threads,
+            @Value("${document.preview.queue-capacity:100}") int queueCapacity,
+            @Value("${document.preview.max-dimension:320}") int maxDimension) {
+
+        this.documentPreviewRepository = documentPreviewRepository;
+        this.documentStorage = documentStorage;
+        this.maxDimension = maxDimension;
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                namedThreads(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Agenda o processamento dos arquivos que ainda não foram processados
+     *
+     * @param keys Chaves de conteúdo dos arquivos
+     */
+    public void submit(String... keys) {
+
+        for (String key : keys) {
+            if (key != null && !this.documentPreviewRepository.existsById(key)) {
+                this.executor.execute(() -> process(key));
+            }
+        }
+    }
+
+    /**
+     * Busca os dados extraídos de um arquivo
+     *
+     * @param key Chave de conteúdo do arquivo original
+     * @return ResponseEntity com os dados ou 404 se o arquivo ainda não foi processado
+     */
+    public ResponseEntity<ResponseDocumentPreview> findPreview(String key) {
+
+        Optional<DocumentPreview> preview = this.documentPreviewRepository.findById(key);
+
+        if (preview.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        return ResponseEntity.ok(new ResponseDocumentPreview(
+                preview.get().getContentKey(),
+                preview.get().getMimeType(),
+                preview.get().getSize(),
+                preview.get().getPageCount(),
+                preview.get().getPreviewKey()
+        ));
+    }
+
+    /**
+     * Encerra o pool aguardando as tarefas em andamento
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        this.executor.shutdown();
+        this.executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    private void process(String key) {
+
+        try {
+            Optional<Path> located = this.documentStorage.locate(key);
+
+            if (located.isEmpty() || this.documentPreviewRepository.existsById(key)) {
+                return;
+            }
+
+            Path file = located.get();
+            var preview = new DocumentPreview();
+            preview.setContentKey(key);
+            preview.setSize(Files.size(file));
+            preview.setMimeType(MimeSniffer.sniff(file));
+
+            // 1. Primeira página renderizada e quantidade de páginas
+            BufferedImage firstPage = null;
+            try {
+                if (MimeSniffer.PDF.equals(preview.getMimeType())) {
+                    try (PDDocument pdf = Loader.loadPDF(file.toFile())) {
+                        preview.setPageCount(pdf.getNumberOfPages());
+                        if (pdf.getNumberOfPages() > 0) {
+                            firstPage = new PDFRenderer(pdf).renderImageWithDPI(0, PDF_RENDER_DPI, ImageType.RGB);
+                        }
+                    }
+                } else if (MimeSniffer.isRasterImage(preview.getMimeType())) {
+                    firstPage = ImageIO.read(file.toFile());
+                    preview.setPageCount(firstPage != null ? 1 : null);
+                }
+            } catch (IOException e) {
+                // Arquivo corrompido ou protegido: mantém apenas tipo e tamanho
+                log.warn("Could not render preview for {}: {}", key, e.getMessage());
+            }
+
+            // 2. Miniatura armazenada pelo conteúdo, servida pelo mesmo endpoint de download
+            if (firstPage != null) {
+                byte[] thumbnail = ImageCodec.toJpeg(
+                        ImageCodec.fit(firstPage, this.maxDimension, BufferedImage.TYPE_INT_RGB), JPEG_QUALITY);
+                preview.setPreviewKey(this.documentStorage.store(new ByteArrayInputStream(thumbnail)).key());
+            }
+
+            this.documentPreviewRepository.save(preview);
+        } catch (Exception e) {
+            log.warn("Could not process document {}: {}", key, e.getMessage());
+        }
+    }
+
+    private static ThreadFactory namedThreads() {
+
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "document-preview-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
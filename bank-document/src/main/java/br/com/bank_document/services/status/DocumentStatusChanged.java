@@ -0,0 +1,19 @@
+package br.com.bank_document.services.status;
+
+import br.com.bank_document.enums.Status;
+
+/**
+ * Evento interno publicado quando a análise de um documento é decidida
+ * Entregue aos usuários conectados somente após o commit da transação
+ *
+ * @param userId ID do dono do documento
+ * @param type Tipo do documento ({@link #DOCUMENT} ou {@link #CREDIT_DOCUMENT}), usado como nome do evento SSE
+ * @param status Novo status do documento
+ *
+ * @author Pablo R.
+ */
+public record DocumentStatusChanged(String userId, String type, Status status) {
+
+    public static final String DOCUMENT = "document";
+    public static final String CREDIT_DOCUMENT = "credit-document";
+}
@@ -0,0 +1,169 @@
+package br.com.bank_document.services.status;
+
+import br.com.bank_document.repositories.CreditDocumentRepository;
+import br.com.bank_document.repositories.DocumentRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serviço que transmite, via Server-Sent Events, as mudanças de status dos
+ * documentos para os usuários conectados, no lugar das consultas periódicas em
+ * /check-document-status e /check-credit-document-status
+ *
+ * @service Indica que esta classe é um serviço Spring gerenciado pelo container
+ *
+ * @implNote As conexões abertas ficam apenas no registro em memória, sem thread
+ *           presa a cada uma; o banco só é consultado uma vez, ao conectar.
+ *           Os envios rodam em threads virtuais para que um cliente lento não
+ *           atrase a requisição do administrador que decidiu o documento
+ *
+ * @author Pablo R.
+ */
+@Service
+public class DocumentStatusStream {
+
+    private static final String STATUS = "STATUS";
+    private static final String SEND = "SEND";
+
+    private final DocumentRepository documentRepository;
+    private final CreditDocumentRepository creditDocumentRepository;
+    private final Map<String, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private final ExecutorService dispatcher = Executors.newVirtualThreadPerTaskExecutor();
+    private final long timeoutMs;
+    private final int maxPerUser;
+
+    /**
+     * Construtor para injeção de dependências
+     *
+     * @param documentRepository Repositório de documentos cadastrais
+     * @param creditDocumentRepository Repositório de documentos de crédito
+     * @param timeoutMs Tempo máximo de uma conexão; depois dele o cliente reconecta
+     * @param maxPerUser Quantidade máxima de conexões abertas por usuário
+     */
+    public DocumentStatusStream(
+            DocumentRepository documentRepository,
+            CreditDocumentRepository creditDocumentRepository,
+            @Value("${document.status-stream.timeout-ms:1800000}") long timeoutMs,
+            @Value("${document.status-stream.max-per-user:5}") int maxPerUser) {
+
+        this.documentRepository = documentRepository;
+        this.creditDocumentRepository = creditDocumentRepository;
+        this.timeoutMs = timeoutMs;
+        this.maxPerUser = maxPerUser;
+    }
+
+    /**
+     * Abre uma conexão para o usuário e envia o status atual dos seus documentos
+     *
+     * @param userId ID do usuário autenticado
+     * @return Emitter da conexão SSE
+     */
+    public SseEmitter subscribe(String userId) {
+
+        SseEmitter emitter = new SseEmitter(this.timeoutMs);
+        List<SseEmitter> userEmitters = this.emitters.compute(userId, (id, current) -> {
+            List<SseEmitter> list = current != null ? current : new CopyOnWriteArrayList<>();
+            list.add(emitter);
+            return list;
+        });
+
+        emitter.onCompletion(() -> remove(userId, emitter));
+        emitter.onTimeout(() -> remove(userId, emitter));
+        emitter.onError(e -> remove(userId, emitter));
+
+        // Abas esquecidas abertas: a conexão mais antiga dá lugar à nova
+        while (userEmitters.size() > this.maxPerUser) {
+            userEmitters.remove(0).complete();
+        }
+
+        // Estado inicial, o mesmo que as consultas de status retornariam
+        String document = this.documentRepository.findByUserId(userId)
+                .map(found -> found.getStatus().name())
+                .orElse(SEND);
+        String creditDocument = this.creditDocumentRepository.findByUserId(userId)
+                .map(found -> found.getStatus().name())
+                .orElse(SEND);
+
+        send(userId, emitter, SseEmitter.event().name(DocumentStatusChanged.DOCUMENT).data(Map.of(STATUS, document)));
+        send(userId, emitter, SseEmitter.event().name(DocumentStatusChanged.CREDIT_DOCUMENT).data(Map.of(STATUS, creditDocument)));
+        return emitter;
+    }
+
+    /**
+     * Entrega a mudança de status às conexões do dono do documento
+     * Chamado somente após o commit, então o cliente nunca vê uma decisão desfeita
+     *
+     * @param event Mudança de status publicada pelos serviços de documentos
+     */
+    @TransactionalEventListener
+    public void onStatusChanged(DocumentStatusChanged event) {
+
+        List<SseEmitter> userEmitters = this.emitters.get(event.userId());
+
+        if (userEmitters == null || userEmitters.isEmpty()) {
+            return;
+        }
+
+        Map<String, String> data = Map.of(STATUS, event.status().name());
+        this.dispatcher.execute(() -> {
+            for (SseEmitter emitter : userEmitters) {
+                send(event.userId(), emitter, SseEmitter.event().name(event.type()).data(data));
+            }
+        });
+    }
+
+    /**
+     * Envia um comentário a todas as conexões para mantê-las abertas em proxies e
+     * balanceadores e para descobrir as que o cliente já fechou
+     */
+    @Scheduled(fixedRateString = "${document.status-stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+
+        this.emitters.forEach((userId, userEmitters) -> {
+            for (SseEmitter emitter : userEmitters) {
+                this.dispatcher.execute(() -> send(userId, emitter, SseEmitter.event().comment("heartbeat")));
+            }
+        });
+    }
+
+    /**
+     * Encerra as conexões abertas
+     */
+    @PreDestroy
+    public void shutdown() {
+        this.emitters.values().forEach(userEmitters -> userEmitters.forEach(SseEmitter::complete));
+        this.emitters.clear();
+        this.dispatcher.shutdown();
+    }
+
+    private void send(String userId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            // Cliente desconectado: a conexão sai do registro
+            remove(userId, emitter);
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void remove(String userId, SseEmitter emitter) {
+
+        this.emitters.computeIfPresent(userId, (id, userEmitters) -> {
+            userEmitters.remove(emitter);
+            return userEmitters.isEmpty() ? null : userEmitters;
+        });
+    }
+}
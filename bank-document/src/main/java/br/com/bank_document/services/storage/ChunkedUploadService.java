@@ -0,0 +1,287 @@
+package br.com.bank_document.services.storage;
+
+import br.com.bank_document.dtos.upload.RequestCompleteUpload;
+import br.com.bank_document.dtos.upload.RequestInitiateUpload;
+import br.com.bank_document.dtos.upload.ResponseUploadSession;
+import br.com.bank_document.dtos.upload.ResponseUploadedFile;
+import br.com.bank_document.models.UploadSession;
+import br.com.bank_document.repositories.UploadSessionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serviço de upload de comprovantes em partes, com retomada
+ * Protocolo: iniciar (tamanho total), enviar partes com o offset e concluir
+ * informando o SHA-256 esperado
+ *
+ * @service Indica que esta classe é um serviço Spring gerenciado pelo container
+ *
+ * @implNote O offset atual é o próprio tamanho do arquivo parcial em disco, então
+ *           após uma falha o cliente consulta o offset e continua de onde parou.
+ *           Cada parte é anexada via NIO e cada requisição ocupa a thread só
+ *           pelo tempo da parte. Partes simultâneas do mesmo upload (um reenvio do
+ *           cliente, por exemplo) são serializadas em memória nesta instância e pelo
+ *           lock do arquivo entre instâncias; a que chega depois recebe 409.
+ *
+ * @author Pablo R.
+ */
+@Service
+public class ChunkedUploadService {
+
+    private final UploadSessionRepository uploadSessionRepository;
+    private final DocumentStorage documentStorage;
+    private final ImageIngestService imageIngestService;
+    private final Path uploadDir;
+    private final long maxSize;
+    private final Set<String> uploadsInProgress = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Construtor para injeção de dependências e configuração dos uploads
+     *
+     * @param uploadSessionRepository Repositório dos uploads em andamento
+     * @param documentStorage Repositório de arquivos dos comprovantes
+     * @param imageIngestService Etapa de ingestão e armazenamento dos comprovantes
+     * @param uploadDir Diretório dos arquivos parciais (de preferência no mesmo disco do repositório)
+     * @param maxSize Tamanho máximo de um arquivo em bytes
+     * @throws IOException Se o diretório não puder ser criado
+     */
+    @Autowired
+    public ChunkedUploadService(
+            UploadSessionRepository uploadSessionRepository,
+            DocumentStorage documentStorage,
+            ImageIngestService imageIngestService,
+            @Value("${document.upload.dir}") String uploadDir,
+            @Value("${document.upload.max-size:20971520}") long maxSize) throws IOException {
+
+        this.uploadSessionRepository = uploadSessionRepository;
+        this.documentStorage = documentStorage;
+        this.imageIngestService = imageIngestService;
+        this.uploadDir = Path.of(uploadDir).toAbsolutePath().normalize();
+        this.maxSize = maxSize;
+        Files.createDirectories(this.uploadDir);
+    }
+
+    /**
+     * Inicia um novo upload
+     *
+     * @param token Token JWT de autenticação contendo ID do usuário
+     * @param request DTO com o tamanho total do arquivo
+     * @return ResponseEntity com o ID do upload e offset zero
+     * @throws IOException Em caso de erro ao criar o arquivo parcial
+     */
+    public ResponseEntity<ResponseUploadSession> initiate(
+            JwtAuthenticationToken token,
+            RequestInitiateUpload request) throws IOException {
+
+        if (request.size() > this.maxSize) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+
+        var session = new UploadSession();
+        session.setUserId(token.getName());
+        session.setExpectedSize(request.size());
+        session.setCompleted(false);
+        this.uploadSessionRepository.save(session);
+
+        Files.createFile(partFile(session.getUploadId()));
+
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(new ResponseUploadSession(session.getUploadId(), 0, request.size()));
+    }
+
+    /**
+     * Consulta o offset atual de um upload, para retomada
+     *
+     * @param token Token JWT de autenticação contendo ID do usuário
+     * @param uploadId ID do upload
+     * @return ResponseEntity com o offset atual ou 404 se o upload não existir
+     * @throws IOException Em caso de erro ao ler o arquivo parcial
+     */
+    public ResponseEntity<ResponseUploadSession> status(JwtAuthenticationToken token, String uploadId) throws IOException {
+
+        Optional<UploadSession> session = findOpenSession(token, uploadId);
+
+        if (session.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+
+        return ResponseEntity.ok(toResponse(session.get()));
+    }
+
+    /**
+     * Anexa uma parte ao arquivo parcial
+     * A parte só é aceita se começar exatamente no offset atual
+     *
+     * @param token Token JWT de autenticação contendo ID do usuário
+     * @param uploadId ID do upload
+     * @param offset Posição do primeiro byte da parte no arquivo
+     * @param body Conteúdo da parte
+     * @return ResponseEntity com o novo offset; 409 com o offset atual se o offset
+     *         não corresponder ou se outra parte estiver sendo gravada
+     * @throws IOException Em caso de erro de leitura ou escrita
+     */
+    public ResponseEntity<ResponseUploadSession> appendChunk(
+            JwtAuthenticationToken token,
+            String uploadId,
+            long offset,
+            InputStream body) throws IOException {
+
+        Optional<UploadSession> session = findOpenSession(token, uploadId);
+
+        if (session.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+
+        // Outra parte deste upload está sendo gravada nesta instância
+        if (!this.uploadsInProgress.add(uploadId)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(toResponse(session.get()));
+        }
+
+        try {
+            return append(session.get(), offset, body);
+        } finally {
+            this.uploadsInProgress.remove(uploadId);
+        }
+    }
+
+    /**
+     * Conclui o upload: confere tamanho e SHA-256 e move o arquivo para o repositório
+     *
+     * @param token Token JWT de autenticação contendo ID do usuário
+     * @param uploadId ID do upload
+     * @param request DTO com o SHA-256 esperado do arquivo
+     * @return ResponseEntity com a chave de conteúdo do arquivo armazenado (difere do
+     *         SHA-256 enviado quando uma foto é reduzida na ingestão);
+     *         409 se o arquivo estiver incompleto; 422 se o SHA-256 não conferir
+     * @throws IOException Em caso de erro de leitura ou escrita
+     */
+    public ResponseEntity<ResponseUploadedFile> complete(
+            JwtAuthenticationToken token,
+            String uploadId,
+            RequestCompleteUpload request) throws IOException {
+
+        Optional<UploadSession> session = findOpenSession(token, uploadId);
+
+        if (session.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+
+        Path part = partFile(uploadId);
+
+        if (Files.size(part) != session.get().getExpectedSize()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+
+        // Arquivo corrompido: descarta para o cliente reiniciar o envio
+        if (!this.documentStorage.digest(part).equalsIgnoreCase(request.sha256())) {
+            Files.deleteIfExists(part);
+            this.uploadSessionRepository.delete(session.get());
+            return ResponseEntity.unprocessableEntity().build();
+        }
+
+        StoredContent stored = this.imageIngestService.ingest(part);
+
+        session.get().setContentKey(stored.key());
+        session.get().setCompleted(true);
+        this.uploadSessionRepository.save(session.get());
+
+        return ResponseEntity.ok(new ResponseUploadedFile(stored.key(), stored.size()));
+    }
+
+    /**
+     * Verifica se o arquivo com a chave informada foi enviado pelo usuário
+     *
+     * @param userId ID do usuário
+     * @param key Chave de conteúdo do arquivo
+     * @return true se o usuário concluiu um upload com essa chave
+     */
+    public boolean isUploadedBy(String userId, String key) {
+        return this.uploadSessionRepository.existsByUserIdAndContentKeyAndCompletedTrue(userId, key)
+                && this.documentStorage.exists(key);
+    }
+
+    /**
+     * Remove uploads abandonados e seus arquivos parciais
+     *
+     * @param cutoff Uploads iniciados antes desta data e não concluídos são removidos
+     * @throws IOException Em caso de erro ao remover os arquivos
+     */
+    public void removeAbandoned(LocalDateTime cutoff) throws IOException {
+
+        for (UploadSession session : this.uploadSessionRepository.findAllByCompletedFalseAndCreatedAtBefore(cutoff)) {
+            Files.deleteIfExists(partFile(session.getUploadId()));
+            this.uploadSessionRepository.delete(session);
+        }
+    }
+
+    /**
+     * Grava a parte com o upload já reservado nesta instância
+     * O lock do arquivo cobre outra instância com o mesmo diretório de uploads
+     */
+    private ResponseEntity<ResponseUploadSession> append(UploadSession session, long offset, InputStream body)
+            throws IOException {
+
+        String uploadId = session.getUploadId();
+        long expectedSize = session.getExpectedSize();
+
+        try (FileChannel out = FileChannel.open(partFile(uploadId), StandardOpenOption.WRITE);
+             FileLock lock = out.tryLock()) {
+
+            if (lock == null || out.size() != offset) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(toResponse(session));
+            }
+
+            // Grava no máximo o que falta para completar o arquivo
+            ReadableByteChannel in = Channels.newChannel(body);
+            long remaining = expectedSize - offset;
+            long position = offset;
+            long written;
+
+            while (remaining > 0 && (written = out.transferFrom(in, position, remaining)) > 0) {
+                position += written;
+                remaining -= written;
+            }
+
+            if (remaining == 0 && body.read() != -1) {
+                out.truncate(offset);
+                return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(toResponse(session));
+            }
+
+            return ResponseEntity.ok(new ResponseUploadSession(uploadId, position, expectedSize));
+        }
+    }
+
+    private Optional<UploadSession> findOpenSession(JwtAuthenticationToken token, String uploadId) {
+        return this.uploadSessionRepository.findByUploadIdAndUserId(uploadId, token.getName())
+                .filter(session -> !session.isCompleted());
+    }
+
+    private ResponseUploadSession toResponse(UploadSession session) throws IOException {
+        return new ResponseUploadSession(
+                session.getUploadId(),
+                Files.size(partFile(session.getUploadId())),
+                session.getExpectedSize());
+    }
+
+    private Path partFile(String uploadId) {
+        return this.uploadDir.resolve(uploadId + ".part");
+    }
+}
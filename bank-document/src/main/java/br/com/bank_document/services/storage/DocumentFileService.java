@@ -0,0 +1,191 @@
+package br.com.bank_document.services.storage;
+
+import br.com.bank_document.services.archive.ArchivedFile;
+import br.com.bank_document.services.archive.BundleArchive;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Serviço de download dos comprovantes armazenados para revisão administrativa
+ * Suporta requisições parciais (Range), ETag/Last-Modified e GET condicional
+ *
+ * @service Indica que esta classe é um serviço Spring gerenciado pelo container
+ *
+ * @implNote Quando o conector do Tomcat suporta sendfile, o arquivo é enviado pelo
+ *           próprio kernel sem passar pela heap; caso contrário é usado
+ *           FileChannel.transferTo direto para o stream da resposta. Arquivos que
+ *           já foram para o arquivo morto são lidos do pacote e enviados da memória
+ *
+ * @author Pablo R.
+ */
+@Service
+public class DocumentFileService {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // As chaves são o SHA-256 do conteúdo, então o arquivo de uma chave nunca muda
+    private static final String CACHE_CONTROL = "private, max-age=31536000, immutable";
+
+    private final DocumentStorage documentStorage;
+    private final BundleArchive bundleArchive;
+
+    /**
+     * Construtor para injeção de dependências
+     * @param documentStorage Repositório de arquivos dos comprovantes
+     * @param bundleArchive Arquivo morto dos comprovantes de documentos já decididos
+     */
+    @Autowired
+    public DocumentFileService(DocumentStorage documentStorage, BundleArchive bundleArchive) {
+        this.documentStorage = documentStorage;
+        this.bundleArchive = bundleArchive;
+    }
+
+    /**
+     * Envia o arquivo de um comprovante na resposta HTTP
+     *
+     * @param key Chave de conteúdo do arquivo
+     * @param request Requisição HTTP (cabeçalhos Range e condicionais)
+     * @param response Resposta HTTP onde o arquivo é escrito
+     * @throws IOException Em caso de erro de leitura ou escrita
+     */
+    public void serve(String key, HttpServletRequest request, HttpServletResponse response) throws IOException {
+
+        // Repositório principal primeiro; depois o arquivo morto
+        Path file = this.documentStorage.locate(key).orElse(null);
+        ArchivedFile archived = null;
+
+        if (file == null) {
+            Optional<ArchivedFile> fromArchive = this.bundleArchive.read(key);
+            if (fromArchive.isEmpty()) {
+                response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+            archived = fromArchive.get();
+        }
+
+        long length = file != null ? Files.size(file) : archived.content().remaining();
+        long lastModified = file != null
+                ? Files.getLastModifiedTime(file).toMillis()
+                : archived.archivedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        String etag = "\"" + key + "\"";
+
+        // 1. GET condicional: responde 304 se o cliente já tem o arquivo
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setContentType(file != null ? MimeSniffer.sniff(file) : MimeSniffer.sniff(header(archived)));
+
+        // 2. Requisição parcial (apenas um intervalo; múltiplos intervalos recebem o arquivo inteiro)
+        long start = 0;
+        long end = length - 1;
+        HttpRange range = singleRange(request, etag);
+
+        if (range != null) {
+            try {
+                start = range.getRangeStart(length);
+                end = range.getRangeEnd(length);
+            } catch (IllegalArgumentException e) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+
+        if ("HEAD".equals(request.getMethod()) || count == 0) {
+            return;
+        }
+
+        // 3. Arquivo morto: conteúdo já descomprimido em memória
+        if (archived != null) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            ByteBuffer slice = archived.content().slice(Math.toIntExact(start), Math.toIntExact(count));
+            while (slice.hasRemaining()) {
+                out.write(slice);
+            }
+            return;
+        }
+
+        // 4. Envio sem cópia pela heap
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    private static byte[] header(ArchivedFile archived) {
+        ByteBuffer content = archived.content().duplicate();
+        byte[] header = new byte[Math.min(8, content.remaining())];
+        content.get(header);
+        return header;
+    }
+
+    /**
+     * Obtém o intervalo solicitado, respeitando o If-Range
+     *
+     * @return Intervalo único solicitado ou null para enviar o arquivo inteiro
+     */
+    private static HttpRange singleRange(HttpServletRequest request, String etag) {
+
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+
+        if (rangeHeader == null) {
+            return null;
+        }
+
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(etag)) {
+            return null;
+        }
+
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            // Cabeçalho Range inválido é ignorado
+            return null;
+        }
+    }
+}
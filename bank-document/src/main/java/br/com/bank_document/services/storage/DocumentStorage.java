@@ -0,0 +1,69 @@
+package br.com.bank_document.services.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Repositório de arquivos dos comprovantes enviados pelos usuários
+ * Os arquivos são endereçados pelo conteúdo: a chave é o SHA-256 dos bytes,
+ * então arquivos idênticos são armazenados uma única vez
+ *
+ * @author Pablo R.
+ */
+public interface DocumentStorage {
+
+    /**
+     * Armazena o conteúdo lido do stream, calculando a chave durante a leitura
+     *
+     * @param content Stream com o conteúdo do arquivo
+     * @return Chave de conteúdo e tamanho do arquivo armazenado
+     * @throws IOException Em caso de erro de leitura ou escrita
+     */
+    StoredContent store(InputStream content) throws IOException;
+
+    /**
+     * Armazena um arquivo já gravado em disco (ex.: upload enviado em partes)
+     * O arquivo é movido para o repositório, sem cópia quando estiver no mesmo disco
+     *
+     * @param file Arquivo a ser armazenado; deixa de existir no caminho original
+     * @return Chave de conteúdo e tamanho do arquivo armazenado
+     * @throws IOException Em caso de erro de leitura ou escrita
+     */
+    StoredContent store(Path file) throws IOException;
+
+    /**
+     * Calcula a chave de conteúdo (SHA-256) de um arquivo sem armazená-lo
+     *
+     * @param file Arquivo a ser lido
+     * @return Chave de conteúdo em hexadecimal
+     * @throws IOException Em caso de erro de leitura
+     */
+    String digest(Path file) throws IOException;
+
+    /**
+     * Verifica se existe um arquivo armazenado com a chave informada
+     *
+     * @param key Chave de conteúdo do arquivo
+     * @return true se o arquivo existir
+     */
+    boolean exists(String key);
+
+    /**
+     * Localiza o arquivo armazenado com a chave informada
+     *
+     * @param key Chave de conteúdo do arquivo
+     * @return Optional com o caminho do arquivo se ele existir
+     */
+    Optional<Path> locate(String key);
+
+    /**
+     * Remove o arquivo armazenado com a chave informada, se existir
+     * Usado apenas quando o conteúdo já está preservado em outro lugar (arquivo morto)
+     *
+     * @param key Chave de conteúdo do arquivo
+     * @throws IOException Em caso de erro ao remover o arquivo
+     */
+    void delete(String key) throws IOException;
+}
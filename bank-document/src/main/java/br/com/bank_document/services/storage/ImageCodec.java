@@ -0,0 +1,75 @@
+package br.com.bank_document.services.storage;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Operações de imagem compartilhadas pela ingestão e pelas miniaturas dos comprovantes
+ *
+ * @author Pablo R.
+ */
+public final class ImageCodec {
+
+    private ImageCodec() {
+    }
+
+    /**
+     * Redimensiona a imagem para caber na dimensão máxima, mantendo a proporção
+     * Transparências são preenchidas com branco
+     *
+     * @param source Imagem original
+     * @param maxDimension Maior lado permitido em pixels
+     * @param imageType Tipo da imagem resultante (ex.: TYPE_INT_RGB, TYPE_BYTE_GRAY)
+     * @return Nova imagem no tamanho e tipo informados (nunca maior que a original)
+     */
+    public static BufferedImage fit(BufferedImage source, int maxDimension, int imageType) {
+
+        double ratio = Math.min(1.0, (double) maxDimension / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+
+        BufferedImage scaled = new BufferedImage(width, height, imageType);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(source, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    /**
+     * Codifica a imagem em JPEG
+     *
+     * @param image Imagem a ser codificada
+     * @param quality Qualidade entre 0 e 1
+     * @return Bytes do JPEG
+     * @throws IOException Em caso de erro na codificação
+     */
+    public static byte[] toJpeg(BufferedImage image, float quality) throws IOException {
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(quality);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(stream);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,199 @@
+package br.com.bank_document.services.storage;
+
+import br.com.bank_document.models.IngestRecord;
+import br.com.bank_document.repositories.IngestRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Optional;
+
+/**
+ * Etapa de ingestão dos comprovantes enviados pelos usuários
+ * Fotos são reduzidas para a resolução máxima configurada e recomprimidas em JPEG
+ * (opcionalmente em tons de cinza) antes de irem para o repositório de arquivos;
+ * PDFs e demais arquivos são armazenados sem alteração
+ *
+ * @service Indica que esta classe é um serviço Spring gerenciado pelo container
+ *
+ * @implNote A imagem é decodificada já subamostrada (apenas 1 a cada N pixels),
+ *           então uma foto de 12 megapixels não é carregada inteira na heap.
+ *           O SHA-256 do original fica registrado em {@link IngestRecord}
+ *
+ * @author Pablo R.
+ */
+@Slf4j
+@Service
+public class ImageIngestService {
+
+    private static final int HEADER_SIZE = 8;
+
+    private final DocumentStorage documentStorage;
+    private final IngestRecordRepository ingestRecordRepository;
+    private final Path tempDir;
+    private final boolean enabled;
+    private final int maxDimension;
+    private final float quality;
+    private final boolean grayscale;
+
+    /**
+     * Construtor para injeção de dependências e configuração da ingestão
+     *
+     * @param documentStorage Repositório de arquivos dos comprovantes
+     * @param ingestRecordRepository Repositório de auditoria da ingestão
+     * @param tempDir Diretório dos arquivos temporários (o mesmo dos uploads em partes)
+     * @param enabled Se false, os arquivos são armazenados sem alteração
+     * @param maxDimension Maior lado permitido em pixels
+     * @param quality Qualidade do JPEG entre 0 e 1
+     * @param grayscale Se true, converte as imagens para tons de cinza
+     * @throws IOException Se o diretório temporário não puder ser criado
+     */
+    public ImageIngestService(
+            DocumentStorage documentStorage,
+            IngestRecordRepository ingestRecordRepository,
+            @Value("${document.upload.dir}") String tempDir,
+            @Value("${document.ingest.enabled:true}") boolean enabled,
+            @Value("${document.ingest.max-dimension:2000}") int maxDimension,
+            @Value("${document.ingest.quality:0.8}") float quality,
+            @Value("${document.ingest.grayscale:false}") boolean grayscale) throws IOException {
+
+        this.documentStorage = documentStorage;
+        this.ingestRecordRepository = ingestRecordRepository;
+        this.tempDir = Path.of(tempDir).toAbsolutePath().normalize();
+        this.enabled = enabled;
+        this.maxDimension = maxDimension;
+        this.quality = quality;
+        this.grayscale = grayscale;
+        Files.createDirectories(this.tempDir);
+    }
+
+    /**
+     * Armazena um comprovante recebido em streaming (upload multipart)
+     *
+     * @param content Stream com o conteúdo do arquivo
+     * @return Chave de conteúdo e tamanho do arquivo armazenado
+     * @throws IOException Em caso de erro de leitura ou escrita
+     */
+    public StoredContent ingest(InputStream content) throws IOException {
+
+        if (!this.enabled) {
+            return this.documentStorage.store(content);
+        }
+
+        BufferedInputStream in = new BufferedInputStream(content);
+        in.mark(HEADER_SIZE);
+        byte[] header = in.readNBytes(HEADER_SIZE);
+        in.reset();
+
+        // Não é imagem: segue em streaming direto para o repositório
+        if (!MimeSniffer.isRasterImage(MimeSniffer.sniff(header))) {
+            return this.documentStorage.store(in);
+        }
+
+        Path temp = Files.createTempFile(this.tempDir, "ingest-", ".part");
+        try {
+            Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            return ingest(temp);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Armazena um comprovante já gravado em disco (upload em partes)
+     * O arquivo deixa de existir no caminho original
+     *
+     * @param file Arquivo a ser armazenado
+     * @return Chave de conteúdo e tamanho do arquivo armazenado
+     * @throws IOException Em caso de erro de leitura ou escrita
+     */
+    public StoredContent ingest(Path file) throws IOException {
+
+        if (!this.enabled || !MimeSniffer.isRasterImage(MimeSniffer.sniff(file))) {
+            return this.documentStorage.store(file);
+        }
+
+        String originalDigest = this.documentStorage.digest(file);
+        long originalSize = Files.size(file);
+
+        // Mesma foto enviada de novo: reaproveita o resultado anterior
+        Optional<IngestRecord> previous = this.ingestRecordRepository.findById(originalDigest);
+        if (previous.isPresent() && this.documentStorage.exists(previous.get().getStoredKey())) {
+            Files.deleteIfExists(file);
+            return new StoredContent(previous.get().getStoredKey(), previous.get().getStoredSize());
+        }
+
+        byte[] optimized = optimize(file);
+        StoredContent stored;
+
+        if (optimized != null && optimized.length < originalSize) {
+            stored = this.documentStorage.store(new ByteArrayInputStream(optimized));
+            Files.deleteIfExists(file);
+        } else {
+            stored = this.documentStorage.store(file);
+        }
+
+        var record = new IngestRecord();
+        record.setOriginalDigest(originalDigest);
+        record.setStoredKey(stored.key());
+        record.setOriginalSize(originalSize);
+        record.setStoredSize(stored.size());
+        this.ingestRecordRepository.save(record);
+
+        return stored;
+    }
+
+    /**
+     * Reduz e recomprime a imagem
+     *
+     * @return JPEG resultante ou null se a imagem não precisar (ou não puder) ser alterada
+     */
+    private byte[] optimize(Path file) {
+
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int longest = Math.max(reader.getWidth(0), reader.getHeight(0));
+
+                if (longest <= this.maxDimension && !this.grayscale) {
+                    return null;
+                }
+
+                // Decodifica só os pixels necessários para a resolução final
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, longest / this.maxDimension);
+                param.setSourceSubsampling(step, step, 0, 0);
+                BufferedImage decoded = reader.read(0, param);
+
+                int type = this.grayscale ? BufferedImage.TYPE_BYTE_GRAY : BufferedImage.TYPE_INT_RGB;
+                return ImageCodec.toJpeg(ImageCodec.fit(decoded, this.maxDimension, type), this.quality);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            // Formato não suportado pelo ImageIO (ex.: JPEG CMYK): mantém o original
+            log.warn("Could not optimize image {}: {}", file.getFileName(), e.getMessage());
+            return null;
+        }
+    }
+}
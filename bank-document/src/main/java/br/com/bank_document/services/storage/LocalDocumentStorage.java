@@ -0,0 +1,188 @@
+package br.com.bank_document.services.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Implementação do repositório de documentos no sistema de arquivos local
+ * Os arquivos ficam em diretórios fragmentados pelos primeiros caracteres da chave
+ * (ex.: ab/cd/abcd...), evitando diretórios com milhões de entradas
+ *
+ * @component Indica que esta classe é um componente Spring gerenciado pelo container
+ *
+ * @implNote O upload é gravado em streaming em um arquivo temporário enquanto o
+ *           SHA-256 é calculado; no final o arquivo é movido para a sua chave, ou
+ *           descartado se o mesmo conteúdo já estiver armazenado
+ *
+ * @author Pablo R.
+ */
+@Component
+public class LocalDocumentStorage implements DocumentStorage {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Pattern KEY_PATTERN = Pattern.compile("^[0-9a-f]{64}$");
+
+    private final Path root;
+    private final Path tempDir;
+
+    /**
+     * Construtor que prepara os diretórios do repositório
+     *
+     * @param root Diretório raiz onde os arquivos são armazenados
+     * @throws IOException Se os diretórios não puderem ser criados
+     */
+    public LocalDocumentStorage(@Value("${document.storage.root}") String root) throws IOException {
+        this.root = Path.of(root).toAbsolutePath().normalize();
+        this.tempDir = this.root.resolve("tmp");
+        Files.createDirectories(this.tempDir);
+    }
+
+    @Override
+    public StoredContent store(InputStream content) throws IOException {
+
+        MessageDigest digest = sha256();
+        Path temp = Files.createTempFile(this.tempDir, "upload-", ".part");
+        long size = 0;
+
+        try (ReadableByteChannel in = Channels.newChannel(content);
+             FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+            while (in.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer.array(), 0, buffer.limit());
+                while (buffer.hasRemaining()) {
+                    size += out.write(buffer);
+                }
+                buffer.clear();
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        return commit(temp, HexFormat.of().formatHex(digest.digest()), size);
+    }
+
+    @Override
+    public StoredContent store(Path file) throws IOException {
+        return commit(file, digest(file), Files.size(file));
+    }
+
+    @Override
+    public String digest(Path file) throws IOException {
+
+        MessageDigest digest = sha256();
+
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            while (in.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer.array(), 0, buffer.limit());
+                buffer.clear();
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return isValidKey(key) && Files.exists(resolve(key));
+    }
+
+    @Override
+    public Optional<Path> locate(String key) {
+
+        if (!isValidKey(key)) {
+            return Optional.empty();
+        }
+
+        Path file = resolve(key);
+        return Files.isRegularFile(file) ? Optional.of(file) : Optional.empty();
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        if (isValidKey(key)) {
+            Files.deleteIfExists(resolve(key));
+        }
+    }
+
+    /**
+     * Move o arquivo temporário para o caminho da sua chave
+     * Se o conteúdo já existir, o temporário é descartado (deduplicação)
+     */
+    private StoredContent commit(Path temp, String key, long size) throws IOException {
+
+        Path target = resolve(key);
+
+        if (Files.exists(target)) {
+            Files.delete(temp);
+            return new StoredContent(key, size);
+        }
+
+        Files.createDirectories(target.getParent());
+
+        try {
+            moveInto(temp, target);
+        } catch (FileAlreadyExistsException e) {
+            // Outro upload com o mesmo conteúdo terminou primeiro
+            Files.deleteIfExists(temp);
+        }
+        return new StoredContent(key, size);
+    }
+
+    private static void moveInto(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            // Arquivo em outro disco: copia e remove o original
+            Files.move(source, target);
+        }
+    }
+
+    /**
+     * Resolve o caminho do arquivo a partir da sua chave de conteúdo
+     *
+     * @param key Chave de conteúdo (SHA-256 em hexadecimal)
+     * @return Caminho fragmentado do arquivo dentro do diretório raiz
+     */
+    Path resolve(String key) {
+
+        if (!isValidKey(key)) {
+            throw new IllegalArgumentException("Invalid content key");
+        }
+        return this.root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+    }
+
+    private static boolean isValidKey(String key) {
+        return key != null && KEY_PATTERN.matcher(key).matches();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+}
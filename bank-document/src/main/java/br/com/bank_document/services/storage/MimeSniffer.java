@@ -0,0 +1,85 @@
+package br.com.bank_document.services.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Identifica o tipo MIME de um arquivo pelos primeiros bytes (assinatura)
+ * Os comprovantes são armazenados sem extensão, então o nome do arquivo não ajuda
+ *
+ * @author Pablo R.
+ */
+public final class MimeSniffer {
+
+    public static final String PDF = "application/pdf";
+    public static final String PNG = "image/png";
+    public static final String JPEG = "image/jpeg";
+    public static final String GIF = "image/gif";
+    public static final String BMP = "image/bmp";
+    public static final String OCTET_STREAM = "application/octet-stream";
+
+    private static final int HEADER_SIZE = 8;
+
+    private MimeSniffer() {
+    }
+
+    /**
+     * Identifica o tipo MIME de um arquivo
+     *
+     * @param file Caminho do arquivo
+     * @return Tipo MIME identificado ou application/octet-stream
+     * @throws IOException Em caso de erro de leitura
+     */
+    public static String sniff(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return sniff(in.readNBytes(HEADER_SIZE));
+        }
+    }
+
+    /**
+     * Identifica o tipo MIME a partir do cabeçalho do arquivo
+     *
+     * @param header Primeiros bytes do arquivo
+     * @return Tipo MIME identificado ou application/octet-stream
+     */
+    public static String sniff(byte[] header) {
+
+        if (startsWith(header, 0x25, 0x50, 0x44, 0x46)) {
+            return PDF;
+        } else if (startsWith(header, 0x89, 0x50, 0x4E, 0x47, 0x0D, 0x0A, 0x1A, 0x0A)) {
+            return PNG;
+        } else if (startsWith(header, 0xFF, 0xD8, 0xFF)) {
+            return JPEG;
+        } else if (startsWith(header, 0x47, 0x49, 0x46, 0x38)) {
+            return GIF;
+        } else if (startsWith(header, 0x42, 0x4D)) {
+            return BMP;
+        }
+        return OCTET_STREAM;
+    }
+
+    /**
+     * Indica se o tipo MIME é de uma imagem raster suportada pelo ImageIO
+     *
+     * @param mimeType Tipo MIME identificado
+     * @return true para PNG, JPEG, GIF e BMP
+     */
+    public static boolean isRasterImage(String mimeType) {
+        return PNG.equals(mimeType) || JPEG.equals(mimeType) || GIF.equals(mimeType) || BMP.equals(mimeType);
+    }
+
+    private static boolean startsWith(byte[] header, int... signature) {
+
+        if (header.length < signature.length) {
+            return false;
+        }
+        for (int i = 0; i < signature.length; i++) {
+            if ((header[i] & 0xFF) != signature[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,12 @@
+package br.com.bank_document.services.storage;
+
+/**
+ * Resultado do armazenamento de um arquivo no repositório de documentos
+ *
+ * @param key Chave de conteúdo (SHA-256 em hexadecimal) do arquivo armazenado
+ * @param size Tamanho do arquivo em bytes
+ */
+public record StoredContent(
+        String key,
+        long size) {
+}
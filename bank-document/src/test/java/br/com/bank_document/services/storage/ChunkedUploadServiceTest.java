@@ -0,0 +1,130 @@
+package br.com.bank_document.services.storage;
+
+import br.com.bank_document.dtos.upload.ResponseUploadSession;
+import br.com.bank_document.models.UploadSession;
+import br.com.bank_document.repositories.UploadSessionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ChunkedUploadServiceTest {
+
+    private static final String UPLOAD_ID = "upload-1";
+
+    @TempDir
+    Path uploadDir;
+
+    private final UploadSessionRepository uploadSessionRepository = mock(UploadSessionRepository.class);
+    private final JwtAuthenticationToken token = mock(JwtAuthenticationToken.class);
+    private ChunkedUploadService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+
+        var session = new UploadSession();
+        session.setUploadId(UPLOAD_ID);
+        session.setUserId("user-1");
+        session.setExpectedSize(6L);
+
+        when(this.token.getName()).thenReturn("user-1");
+        when(this.uploadSessionRepository.findByUploadIdAndUserId(UPLOAD_ID, "user-1")).thenReturn(Optional.of(session));
+        Files.createFile(this.uploadDir.resolve(UPLOAD_ID + ".part"));
+
+        this.service = new ChunkedUploadService(this.uploadSessionRepository, mock(DocumentStorage.class),
+                mock(ImageIngestService.class), this.uploadDir.toString(), 1024);
+    }
+
+    @Test
+    void appendsChunksInOrder() throws IOException {
+
+        assertEquals(3, append(0, "abc").getBody().offset());
+        assertEquals(6, append(3, "def").getBody().offset());
+        assertEquals("abcdef", Files.readString(this.uploadDir.resolve(UPLOAD_ID + ".part")));
+    }
+
+    @Test
+    void rejectsOutOfOrderOffsetWithCurrentOffset() throws IOException {
+
+        append(0, "abc");
+
+        var skipped = append(5, "f");
+        var repeated = append(0, "abc");
+
+        assertEquals(HttpStatus.CONFLICT, skipped.getStatusCode());
+        assertEquals(3, skipped.getBody().offset());
+        assertEquals(HttpStatus.CONFLICT, repeated.getStatusCode());
+        assertEquals("abc", Files.readString(this.uploadDir.resolve(UPLOAD_ID + ".part")));
+    }
+
+    @Test
+    void concurrentChunkOfSameUploadGetsConflict() throws Exception {
+
+        var reading = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        InputStream slowBody = new InputStream() {
+            private final InputStream content = new ByteArrayInputStream("abc".getBytes());
+
+            @Override
+            public int read() throws IOException {
+                return content.read();
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                reading.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return content.read(buffer, offset, length);
+            }
+        };
+
+        var first = CompletableFuture.supplyAsync(() -> {
+            try {
+                return this.service.appendChunk(this.token, UPLOAD_ID, 0, slowBody);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        assertTrue(reading.await(1, TimeUnit.SECONDS));
+
+        // Reenvio da mesma parte enquanto a primeira ainda está sendo gravada
+        var retry = append(0, "abc");
+
+        release.countDown();
+        assertEquals(HttpStatus.CONFLICT, retry.getStatusCode());
+        assertEquals(HttpStatus.OK, first.get(1, TimeUnit.SECONDS).getStatusCode());
+        assertEquals(6, append(3, "def").getBody().offset());
+    }
+
+    @Test
+    void rejectsChunkBeyondExpectedSize() throws IOException {
+
+        var response = append(0, "abcdefg");
+
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, response.getStatusCode());
+        assertEquals(0, Files.size(this.uploadDir.resolve(UPLOAD_ID + ".part")));
+    }
+
+    private ResponseEntity<ResponseUploadSession> append(long offset, String content) throws IOException {
+        return this.service.appendChunk(this.token, UPLOAD_ID, offset, new ByteArrayInputStream(content.getBytes()));
+    }
+}
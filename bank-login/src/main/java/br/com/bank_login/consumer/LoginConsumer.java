@@ -1,7 +1,10 @@
 package br.com.bank_login.consumer;
 
 import br.com.bank_login.dtos.consumer.ConsumerDeleteUser;
+import br.com.bank_login.dtos.credential.ConsumerUserCredential;
 import br.com.bank_login.repository.LoginRepository;
+import br.com.bank_login.services.credential.CredentialCache;
+import br.com.bank_login.services.credential.CredentialService;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.kafka.annotation.KafkaListener;
@@ -9,8 +12,9 @@ import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Service;
 
 /**
- * Consumidor Kafka para processamento de eventos de exclusão de usuários
+ * Consumidor Kafka para processamento de eventos de usuários
  * Responsável por limpar registros de login quando usuários são excluídos do sistema
+ * e por manter a projeção local de credenciais usada no login
  *
  * @service Indica que esta classe é um serviço Spring gerenciado pelo container
  *
@@ -20,20 +24,43 @@ import org.springframework.stereotype.Service;
 public class LoginConsumer {
 
     private final LoginRepository loginRepository;
+    private final CredentialService credentialService;
+    private final CredentialCache credentialCache;
 
     /**
      * Construtor para injeção de dependências do repositório de logins
      *
      * @param repository Repositório para operações de banco de dados
+     * @param credentialService Serviço da projeção local de credenciais
+     * @param credentialCache Cache das credenciais desta instância
      */
     @Autowired
-    public LoginConsumer(LoginRepository repository) {
+    public LoginConsumer(LoginRepository repository, CredentialService credentialService,
+                         CredentialCache credentialCache) {
         this.loginRepository = repository;
+        this.credentialService = credentialService;
+        this.credentialCache = credentialCache;
+    }
+
+    /**
+     * Listener para alterações de credenciais no bank-user
+     * Cadastro, verificação de e-mail, troca de senha, bloqueio e desbloqueio
+     *
+     * @param consumer Estado atual das credenciais do usuário
+     * @param ack Objeto para confirmação manual do offset Kafka
+     */
+    @KafkaListener(topics = "user-credential-topic",
+            groupId = "login-credential-group",
+            containerFactory = "kafkaListenerUserCredentialFactory")
+    public void updateCredential(ConsumerUserCredential consumer, Acknowledgment ack){
+
+        this.credentialService.apply(consumer);
+        ack.acknowledge();
     }
 
     /**
      * Listener para eventos de exclusão de usuário
-     * Remove todos os registros de login associados ao usuário excluído
+     * Remove todos os registros de login e as credenciais do usuário excluído
      *
      * @param consumer DTO contendo ID do usuário a ser excluído
      * @param ack Objeto para confirmação manual do offset Kafka
@@ -45,6 +72,38 @@ public class LoginConsumer {
     public void deleteUserId(ConsumerDeleteUser consumer, Acknowledgment ack){
 
         this.loginRepository.deleteAllByUserId(consumer.userId());
+        this.credentialService.remove(consumer.userId());
         ack.acknowledge();
     }
+
+    /**
+     * Listener de difusão das alterações de credenciais
+     * Cada instância usa um grupo próprio, a partir do fim do tópico, e apenas limpa o
+     * seu cache; a projeção é gravada pelo grupo compartilhado em updateCredential
+     *
+     * @param consumer Estado atual das credenciais do usuário
+     *
+     * @implNote Sem acknowledge: o grupo é descartável e nunca grava offsets
+     */
+    @KafkaListener(topics = "user-credential-topic",
+            groupId = "login-credential-cache-#{T(java.util.UUID).randomUUID()}",
+            properties = "auto.offset.reset=latest",
+            containerFactory = "kafkaListenerUserCredentialFactory")
+    public void evictCredential(ConsumerUserCredential consumer){
+        this.credentialCache.invalidate(consumer.cpf());
+    }
+
+    /**
+     * Listener de difusão das exclusões de usuário
+     * Limpa o cache desta instância, como em evictCredential
+     *
+     * @param consumer DTO contendo ID do usuário excluído
+     */
+    @KafkaListener(topics = "delete-user-topic",
+            groupId = "login-user-cache-#{T(java.util.UUID).randomUUID()}",
+            properties = "auto.offset.reset=latest",
+            containerFactory = "kafkaListenerDeleteUserFactory")
+    public void evictUser(ConsumerDeleteUser consumer){
+        this.credentialCache.invalidateUser(consumer.userId());
+    }
 }
\ No newline at end of file
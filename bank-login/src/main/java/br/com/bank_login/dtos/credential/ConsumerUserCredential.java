@@ -0,0 +1,11 @@
+package br.com.bank_login.dtos.credential;
+
+public record ConsumerUserCredential(
+        String userId,
+        String cpf,
+        String password,
+        String role,
+        String status,
+        Boolean verifyEmail
+) {
+}
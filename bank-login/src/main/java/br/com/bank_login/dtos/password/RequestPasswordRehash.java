@@ -0,0 +1,7 @@
+package br.com.bank_login.dtos.password;
+
+public record RequestPasswordRehash(
+        String userId,
+        String password
+) {
+}
@@ -1,6 +1,7 @@
 package br.com.bank_login.kafkaConfig;
 
 import br.com.bank_login.dtos.consumer.ConsumerDeleteUser;
+import br.com.bank_login.dtos.credential.ConsumerUserCredential;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
 import org.springframework.context.annotation.Bean;
@@ -15,7 +16,7 @@ import java.util.Map;
 
 /**
  * Configuração do consumidor Kafka para o sistema de login bancário
- * Define factories para consumo de eventos de exclusão de usuários
+ * Define factories para consumo de eventos de exclusão de usuários e de credenciais
  *
  * @configuration Indica que esta classe é uma configuração Spring
  * @author Pablo R.
@@ -74,4 +75,45 @@ public class KafkaConsumerConfig {
         factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
         return factory;
     }
+
+    /**
+     * Factory para consumir eventos de credenciais do bank-user
+     * Configura desserializador JSON para mensagens do tipo ConsumerUserCredential
+     *
+     * @return ConsumerFactory configurado para mensagens ConsumerUserCredential
+     */
+    @Bean
+    public ConsumerFactory<String, ConsumerUserCredential> consumerUserCredential() {
+
+        Map<String, Object> props = this.kafkaProperties.buildConsumerProperties();
+
+        JsonDeserializer<ConsumerUserCredential> valueDeserializer =
+                new JsonDeserializer<>(ConsumerUserCredential.class, false);
+
+        valueDeserializer.addTrustedPackages("br.com.bank_login.dtos.credential");
+        valueDeserializer.setUseTypeMapperForKey(false);
+        valueDeserializer.setRemoveTypeHeaders(false);
+
+        return new DefaultKafkaConsumerFactory<>(
+                props,
+                new StringDeserializer(),
+                valueDeserializer
+        );
+    }
+
+    /**
+     * Container factory para listeners de eventos de credenciais
+     * Configura acknowledgment manual para controle explícito de commits
+     *
+     * @return ContainerFactory configurado para ConsumerUserCredential
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, ConsumerUserCredential> kafkaListenerUserCredentialFactory(){
+        ConcurrentKafkaListenerContainerFactory<String, ConsumerUserCredential> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+
+        factory.setConsumerFactory(consumerUserCredential());
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        return factory;
+    }
 }
\ No newline at end of file
@@ -1,9 +1,13 @@
 package br.com.bank_login.microservices;
 
+import br.com.bank_login.dtos.credential.ConsumerUserCredential;
+import br.com.bank_login.dtos.password.RequestPasswordRehash;
 import br.com.bank_login.dtos.user.ResponseUser;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * Cliente Feign para comunicação com o microserviço de usuários
  * Realiza chamadas HTTP para operações de consulta e verificação de usuários
@@ -42,4 +46,30 @@ public interface UserClient {
      */
     @GetMapping("/microservice/bank_user/get-user-with-cpf")
     ResponseUser findUserWithCpf(@RequestParam String cpf);
+
+    /**
+     * Endpoint da carga inicial da projeção de credenciais
+     * Retorna as credenciais dos usuários em páginas ordenadas por ID
+     *
+     * @param after ID do último usuário da página anterior ("" na primeira página)
+     * @param size Tamanho da página
+     * @return Credenciais dos usuários seguintes ao cursor (vazia na última página)
+     *
+     * @example
+     * GET /microservice/bank_user/credentials?after=&size=500
+     */
+    @GetMapping("/microservice/bank_user/credentials")
+    List<ConsumerUserCredential> findCredentials(@RequestParam String after, @RequestParam int size);
+
+    /**
+     * Endpoint para refazer o hash da senha com o custo atual do BCrypt
+     * O bank-user confere a senha e gera o novo hash; exige o token de serviço
+     *
+     * @param request DTO com ID do usuário e a senha verificada no login
+     *
+     * @example
+     * PUT /microservice/bank_user/rehash-password
+     */
+    @PutMapping("/microservice/bank_user/rehash-password")
+    void rehashPassword(@RequestBody RequestPasswordRehash request);
 }
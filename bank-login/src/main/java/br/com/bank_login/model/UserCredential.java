@@ -0,0 +1,55 @@
+package br.com.bank_login.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * Projeção local das credenciais dos usuários do bank-user
+ * Contém apenas o necessário para o login, mantida pelos eventos de user-credential-topic
+ *
+ * @entity Indica que esta classe é uma entidade JPA
+ * @table Especifica o nome da tabela no banco de dados
+ * @data Lombok - gera getters, setters, equals, hashCode e toString
+ *
+ * @author Pablo R.
+ */
+@Entity
+@Table(name = "tb_user_credentials")
+@Data
+public class UserCredential {
+
+    /**
+     * ID do usuário no bank-user (chave primária)
+     */
+    @Id
+    @Column(name = "user_id")
+    private String userId;
+
+    /**
+     * CPF do usuário, usado como login
+     */
+    @Column(unique = true, nullable = false)
+    private String cpf;
+
+    /**
+     * Hash BCrypt da senha
+     */
+    @Column(nullable = false)
+    private String password;
+
+    /**
+     * Perfil do usuário (USER ou ADMIN), enviado como scope no token
+     */
+    private String role;
+
+    /**
+     * Status da conta (ACTIVE ou BLOCKED)
+     */
+    private String status;
+
+    /**
+     * Indica se o e-mail do usuário foi verificado
+     */
+    @Column(name = "verify_email")
+    private Boolean verifyEmail;
+}
@@ -0,0 +1,92 @@
+package br.com.bank_login.repository;
+
+import br.com.bank_login.model.UserCredential;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositório da projeção local de credenciais
+ * A chave é o ID do usuário; o CPF tem índice único para a busca do login
+ *
+ * @repository Interface de repositório Spring Data JPA
+ *
+ * @author Pablo R.
+ */
+public interface UserCredentialRepository extends JpaRepository<UserCredential, String> {
+
+    /**
+     * Busca as credenciais pelo CPF
+     *
+     * @param cpf CPF informado no login
+     * @return Credenciais do usuário ou Optional vazio
+     */
+    Optional<UserCredential> findByCpf(String cpf);
+
+    /**
+     * Grava ou substitui as credenciais do usuário
+     *
+     * @implNote Um único comando, sem leitura prévia
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            insert into tb_user_credentials (user_id, cpf, password, role, status, verify_email)
+            values (:userId, :cpf, :password, :role, :status, :verifyEmail)
+            on conflict (user_id) do update set
+                cpf = excluded.cpf,
+                password = excluded.password,
+                role = excluded.role,
+                status = excluded.status,
+                verify_email = excluded.verify_email
+            """, nativeQuery = true)
+    void upsert(String userId, String cpf, String password, String role, String status, Boolean verifyEmail);
+
+    /**
+     * Grava as credenciais somente se o usuário (ou o CPF) ainda não estiver na projeção
+     * Usado pela carga inicial e pelas buscas no bank-user, que nunca sobrescrevem um evento
+     *
+     * @return 1 se gravou, 0 se já existia
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            insert into tb_user_credentials (user_id, cpf, password, role, status, verify_email)
+            values (:userId, :cpf, :password, :role, :status, :verifyEmail)
+            on conflict do nothing
+            """, nativeQuery = true)
+    int insertIfAbsent(String userId, String cpf, String password, String role, String status, Boolean verifyEmail);
+
+    /**
+     * Remove credenciais de outro usuário com o mesmo CPF
+     * Acontece quando um cadastro não verificado é removido e o CPF é cadastrado de novo
+     *
+     * @param cpf CPF do novo cadastro
+     * @param userId ID do novo cadastro
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from UserCredential c where c.cpf = :cpf and c.userId <> :userId")
+    void deleteOtherWithCpf(String cpf, String userId);
+
+    /**
+     * Credenciais com ID no intervalo (after, last], usado pela reconciliação
+     *
+     * @param after ID do último usuário da página anterior
+     * @param last ID do último usuário da página atual
+     * @return Credenciais da projeção no intervalo
+     */
+    List<UserCredential> findByUserIdGreaterThanAndUserIdLessThanEqual(String after, String last);
+
+    /**
+     * Credenciais com ID maior que o cursor, usado na última página da reconciliação
+     *
+     * @param after ID do último usuário da página anterior
+     * @return Credenciais da projeção após o cursor
+     */
+    List<UserCredential> findByUserIdGreaterThan(String after);
+}
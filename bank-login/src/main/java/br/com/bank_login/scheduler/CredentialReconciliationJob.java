@@ -0,0 +1,90 @@
+package br.com.bank_login.scheduler;
+
+import br.com.bank_login.dtos.credential.ConsumerUserCredential;
+import br.com.bank_login.microservices.UserClient;
+import br.com.bank_login.services.credential.CredentialService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Reconciliação periódica da projeção de credenciais com o bank-user
+ * Percorre as credenciais do bank-user em páginas e corrige o que um evento perdido
+ * deixou divergente ou sem remover
+ *
+ * @component Indica que esta classe é um componente Spring gerenciado pelo container
+ *
+ * @implNote Usa o mesmo endpoint paginado da carga inicial. Uma falha interrompe só a
+ *           execução atual; a próxima recomeça do início
+ *
+ * @author Pablo R.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "login.credential-reconcile.enabled", havingValue = "true", matchIfMissing = true)
+public class CredentialReconciliationJob {
+
+    private final CredentialService credentialService;
+    private final UserClient userClient;
+    private final int pageSize;
+
+    /**
+     * Construtor para injeção de dependências
+     *
+     * @param credentialService Serviço da projeção de credenciais
+     * @param userClient Cliente Feign do bank-user
+     * @param pageSize Quantidade de usuários por página
+     */
+    public CredentialReconciliationJob(
+            CredentialService credentialService,
+            UserClient userClient,
+            @Value("${login.credential-bootstrap.page-size:500}") int pageSize) {
+        this.credentialService = credentialService;
+        this.userClient = userClient;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Compara toda a projeção com o bank-user
+     *
+     * @scheduled Intervalo em login.credential-reconcile.interval-ms (15 minutos por padrão)
+     */
+    @Scheduled(initialDelayString = "${login.credential-reconcile.interval-ms:900000}",
+            fixedDelayString = "${login.credential-reconcile.interval-ms:900000}")
+    public void reconcile() {
+
+        String after = "";
+        long checked = 0;
+        int repaired = 0;
+
+        try {
+            List<ConsumerUserCredential> page;
+            boolean lastPage;
+            do {
+                page = this.userClient.findCredentials(after, this.pageSize);
+                lastPage = page == null || page.size() < this.pageSize;
+
+                if (page == null) {
+                    page = List.of();
+                }
+
+                repaired += this.credentialService.reconcile(page, after, lastPage);
+                checked += page.size();
+
+                if (!page.isEmpty()) {
+                    after = page.get(page.size() - 1).userId();
+                }
+            } while (!lastPage);
+
+            if (repaired > 0) {
+                log.warn("Credential reconciliation repaired {} of {} users", repaired, checked);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Credential reconciliation stopped after {} users", checked, e);
+        }
+    }
+}
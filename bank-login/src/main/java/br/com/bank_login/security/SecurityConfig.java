@@ -32,6 +32,8 @@ public class SecurityConfig {
     private RSAPublicKey publicKey;
     @Value("${private.key}")
     private RSAPrivateKey privateKey;
+    @Value("${security.bcrypt.strength:10}")
+    private int bcryptStrength;
 
 
     @Bean
@@ -60,7 +62,7 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder(){
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(this.bcryptStrength);
     }
 
     @Bean
@@ -0,0 +1,75 @@
+package br.com.bank_login.security;
+
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Autenticação das chamadas Feign do bank-login aos outros microserviços
+ * Envia um JWT de serviço, assinado com a mesma chave dos tokens de usuário, com o
+ * escopo SERVICE exigido pelas rotas internas do bank-user (credenciais e rehash)
+ *
+ * @component Indica que esta classe é um componente Spring gerenciado pelo container
+ *
+ * @implNote O escopo SERVICE nunca é dado a um usuário (os papéis são USER e ADMIN).
+ *           O token tem vida curta e é reaproveitado até faltar um quinto da validade
+ *
+ * @author Pablo R.
+ */
+@Component
+public class ServiceTokenInterceptor implements RequestInterceptor {
+
+    public static final String SERVICE_SCOPE = "SERVICE";
+
+    private final JwtEncoder jwtEncoder;
+    private final Duration ttl;
+    private String token;
+    private Instant renewAt = Instant.MIN;
+
+    /**
+     * Construtor para injeção de dependências
+     *
+     * @param jwtEncoder Encoder dos tokens JWT
+     * @param ttlMs Validade do token de serviço em milissegundos
+     */
+    public ServiceTokenInterceptor(
+            JwtEncoder jwtEncoder,
+            @Value("${login.service-token.ttl-ms:300000}") long ttlMs) {
+        this.jwtEncoder = jwtEncoder;
+        this.ttl = Duration.ofMillis(ttlMs);
+    }
+
+    @Override
+    public void apply(RequestTemplate template) {
+        template.header(HttpHeaders.AUTHORIZATION, "Bearer " + token());
+    }
+
+    private synchronized String token() {
+
+        Instant now = Instant.now();
+
+        if (now.isBefore(this.renewAt)) {
+            return this.token;
+        }
+
+        var claims = JwtClaimsSet.builder()
+                .issuer("MYBANK")
+                .issuedAt(now)
+                .subject("bank-login")
+                .expiresAt(now.plus(this.ttl))
+                .claim("scope", SERVICE_SCOPE)
+                .build();
+
+        this.token = this.jwtEncoder.encode(JwtEncoderParameters.from(claims)).getTokenValue();
+        this.renewAt = now.plus(this.ttl.multipliedBy(4).dividedBy(5));
+        return this.token;
+    }
+}
@@ -1,19 +1,22 @@
 package br.com.bank_login.services;
 
+import br.com.bank_login.dtos.credential.ConsumerUserCredential;
 import br.com.bank_login.dtos.login.RequestLoginDto;
 import br.com.bank_login.dtos.login.RequestTokensDto;
 import br.com.bank_login.dtos.login.ResponseLoginHistory;
 import br.com.bank_login.dtos.login.ResponseTokens;
-import br.com.bank_login.microservices.user.UserClient;
+import br.com.bank_login.microservices.UserClient;
 import br.com.bank_login.model.Login;
 import br.com.bank_login.repository.LoginRepository;
+import br.com.bank_login.services.credential.CredentialService;
+import br.com.bank_login.services.password.PasswordHashingRejectedException;
+import br.com.bank_login.services.password.PasswordHashingService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cloud.client.circuitbreaker.CircuitBreakerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.jwt.JwtClaimsSet;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
@@ -42,33 +45,38 @@ public class LoginService {
 
     private static final Logger log = LoggerFactory.getLogger(LoginService.class);
     private final UserClient userClient;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final LoginRepository loginRepository;
     private final JwtEncoder jwtEncoder;
     private final JwtDecoder jwtDecoder;
     private final CircuitBreakerFactory<?,?> circuitBreakerFactory;
+    private final CredentialService credentialService;
 
     /**
      * Construtor para injeção de dependências do serviço de login
      *
      * @param client Cliente Feign para comunicação com microserviço de usuários
      * @param repository Repositório para operações de banco de dados de logins
+     * @param passwordHashing Verificação das senhas no executor limitado de BCrypt
      * @param jwt Encoder para geração de tokens JWT
      * @param jwtD Decoder para validação de tokens JWT
      * @param circuit Factory para pattern Circuit Breaker
+     * @param credentials Projeção local das credenciais dos usuários
      */
     public LoginService(UserClient client,
                         LoginRepository repository,
-                        PasswordEncoder passwordEncoder,
+                        PasswordHashingService passwordHashing,
                         JwtEncoder jwt,
                         JwtDecoder jwtD,
-                        CircuitBreakerFactory<?,?> circuit){
+                        CircuitBreakerFactory<?,?> circuit,
+                        CredentialService credentials){
         this.userClient = client;
         this.loginRepository = repository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashing;
         this.jwtEncoder = jwt;
         this.jwtDecoder = jwtD;
         this.circuitBreakerFactory = circuit;
+        this.credentialService = credentials;
     }
 
     /**
@@ -84,37 +92,46 @@ public class LoginService {
      * 3. Valida senha criptografada
      * 4. Gera tokens JWT com expiração
      * 5. Registra acesso no histórico
+     *
+     * @implNote As credenciais vêm da projeção local (cache e tb_user_credentials), sem
+     *           chamada ao bank-user no caminho comum; ele só é consultado para CPFs ainda
+     *           ausentes da projeção ou para confirmar qualquer negação (bloqueio, e-mail
+     *           ou senha), que é reavaliada se o bank-user divergir da projeção.
+     *           Com o executor de BCrypt saturado, a requisição é recusada com 429 e
+     *           Retry-After (PasswordHashingRejectedException), sem abrir o circuito
      */
     public ResponseEntity<Map<String, String>> login(@Valid RequestLoginDto request) {
 
         return circuitBreakerFactory.create("loginCB").run(
                 () -> {
-                    var user = this.userClient.findUserWithCpf(request.cpf());
-
-                    //Verifico se o usuário foi banido
-                    if (Objects.equals(user.status(),"BLOCKED")) {
-                        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                                .body(Map.of("unauthorized", "The user has been banned! send an email to the bank to find out why."));
-                    }
+                    var user = this.credentialService.findByCpf(request.cpf());
 
-                    //Verifico se o usuário não tem o e-mail verificado.
-                    if (!user.verifyEmail()){
-                        return ResponseEntity.status(HttpStatus.CONFLICT)
-                                .body(Map.of("message", "Unverified user"));
-                    }
-
-                    //Verifico se o cpf está incorreto
-                    if (!user.cpf().equals(request.cpf())) {
+                    //Verifico se o cpf não está cadastrado
+                    if (user == null) {
                         return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                                 .body(Map.of("message", "Cpf or password is incorrect"));
                     }
 
-                    // Verifico se a senha está incorreta
-                    if (!this.passwordEncoder.matches(request.password(), user.password())){
-                        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                                .body(Map.of("message", "Cpf or password is incorrect"));
+                    var denied = denial(user, request);
+
+                    //A projeção pode estar atrás do bank-user: confirmo antes de negar
+                    if (denied != null) {
+                        var current = this.credentialService.confirm(user);
+
+                        if (current.equals(user)) {
+                            return denied;
+                        }
+
+                        user = current;
+                        denied = denial(user, request);
+                        if (denied != null) {
+                            return denied;
+                        }
                     }
 
+                    //Hash gerado com um custo antigo: refeito em segundo plano
+                    this.passwordHashingService.upgradeIfNeeded(user.userId(), request.password(), user.password());
+
                     var expireToken = LocalDateTime.now().plusHours(1).toInstant(ZoneOffset.of("-03:00"));
                     var now = Instant.now();
 
@@ -151,6 +168,10 @@ public class LoginService {
                     return ResponseEntity.ok().body(Map.of("accessToken", accessToken, "refreshToken", accessRefreshToken));
                 },
                 throwable -> {
+                    //Sobrecarga local, não falha do serviço: vira 429 no GlobalExceptionHandler
+                    if (throwable instanceof PasswordHashingRejectedException rejected) {
+                        throw rejected;
+                    }
                     log.error("Login service is down, please try again later");
                     return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
                             .body(Map.of("error", "login service is down, please try again later"));
@@ -158,6 +179,41 @@ public class LoginService {
         );
     }
 
+    /**
+     * Motivo para negar o login com as credenciais informadas
+     *
+     * @param user Credenciais do usuário (projeção ou bank-user)
+     * @param request DTO com CPF e senha do login
+     * @return Resposta de erro ou null se o acesso for permitido
+     */
+    private ResponseEntity<Map<String, String>> denial(ConsumerUserCredential user, RequestLoginDto request) {
+
+        //Verifico se o usuário foi banido
+        if (Objects.equals(user.status(),"BLOCKED")) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("unauthorized", "The user has been banned! send an email to the bank to find out why."));
+        }
+
+        //Verifico se o usuário não tem o e-mail verificado.
+        if (!Boolean.TRUE.equals(user.verifyEmail())){
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("message", "Unverified user"));
+        }
+
+        //Verifico se o cpf está incorreto
+        if (!user.cpf().equals(request.cpf())) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("message", "Cpf or password is incorrect"));
+        }
+
+        // Verifico se a senha está incorreta
+        if (!this.passwordHashingService.matches(request.password(), user.password())){
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("message", "Cpf or password is incorrect"));
+        }
+        return null;
+    }
+
     /**
      * Renova os tokens de acesso usando o refresh token válido
      * Gera novos tokens quando o access token expira mas o refresh token ainda é válido
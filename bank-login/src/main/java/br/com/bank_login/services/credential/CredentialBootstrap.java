@@ -0,0 +1,78 @@
+package br.com.bank_login.services.credential;
+
+import br.com.bank_login.dtos.credential.ConsumerUserCredential;
+import br.com.bank_login.microservices.UserClient;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Carga inicial da projeção de credenciais
+ * Na primeira inicialização (projeção vazia), copia as credenciais de todos os usuários
+ * do bank-user em páginas; depois disso a projeção é mantida pelos eventos
+ *
+ * @component Indica que esta classe é um componente Spring gerenciado pelo container
+ *
+ * @implNote Uma falha não impede a inicialização: os CPFs ainda ausentes são buscados
+ *           no bank-user no primeiro login e gravados na projeção
+ *
+ * @author Pablo R.
+ */
+@Slf4j
+@Component
+public class CredentialBootstrap implements ApplicationRunner {
+
+    private final CredentialService credentialService;
+    private final UserClient userClient;
+    private final int pageSize;
+
+    /**
+     * Construtor para injeção de dependências
+     *
+     * @param credentialService Serviço da projeção de credenciais
+     * @param userClient Cliente Feign do bank-user
+     * @param pageSize Quantidade de usuários por página
+     */
+    public CredentialBootstrap(
+            CredentialService credentialService,
+            UserClient userClient,
+            @Value("${login.credential-bootstrap.page-size:500}") int pageSize) {
+        this.credentialService = credentialService;
+        this.userClient = userClient;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+
+        if (!this.credentialService.isEmpty()) {
+            return;
+        }
+
+        String after = "";
+        long loaded = 0;
+
+        try {
+            List<ConsumerUserCredential> page;
+            do {
+                page = this.userClient.findCredentials(after, this.pageSize);
+
+                if (page == null || page.isEmpty()) {
+                    break;
+                }
+
+                this.credentialService.insertMissing(page);
+                loaded += page.size();
+                after = page.get(page.size() - 1).userId();
+            } while (page.size() == this.pageSize);
+
+            log.info("Credential projection bootstrapped with {} users", loaded);
+        } catch (RuntimeException e) {
+            log.warn("Credential bootstrap stopped after {} users; missing users will be fetched on login", loaded, e);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package br.com.bank_login.services.credential;
+
+import br.com.bank_login.dtos.credential.ConsumerUserCredential;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache limitado e com expiração das credenciais, por CPF
+ * Atende os logins repetidos sem acessar o banco
+ *
+ * @component Indica que esta classe é um componente Spring gerenciado pelo container
+ *
+ * @implNote LRU por ordem de acesso. Cada instância consome os eventos de credencial e
+ *           de exclusão num grupo próprio só para limpar o cache (LoginConsumer); a
+ *           expiração curta limita a defasagem se o cache for relido antes da projeção
+ *           ser gravada pelo grupo compartilhado
+ *
+ * @author Pablo R.
+ */
+@Component
+public class CredentialCache {
+
+    private final long ttlMillis;
+    private final Map<String, Entry> entries;
+
+    /**
+     * Construtor com os limites do cache
+     *
+     * @param maxSize Número máximo de CPFs mantidos em memória
+     * @param ttlMillis Tempo de vida de cada entrada em milissegundos
+     */
+    public CredentialCache(
+            @Value("${login.credential-cache.size:20000}") int maxSize,
+            @Value("${login.credential-cache.ttl-ms:30000}") long ttlMillis) {
+
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Busca as credenciais de um CPF
+     *
+     * @param cpf CPF informado no login
+     * @return Credenciais ou null se ausente ou expirado
+     */
+    public synchronized ConsumerUserCredential get(String cpf) {
+
+        Entry entry = this.entries.get(cpf);
+
+        if (entry == null) {
+            return null;
+        } else if (entry.expiresAt() <= System.currentTimeMillis()) {
+            this.entries.remove(cpf);
+            return null;
+        }
+        return entry.credential();
+    }
+
+    /**
+     * Armazena as credenciais de um CPF
+     *
+     * @param credential Credenciais do usuário
+     */
+    public synchronized void put(ConsumerUserCredential credential) {
+        this.entries.put(credential.cpf(), new Entry(credential, System.currentTimeMillis() + this.ttlMillis));
+    }
+
+    /**
+     * Remove um CPF do cache
+     *
+     * @param cpf CPF alterado
+     */
+    public synchronized void invalidate(String cpf) {
+        this.entries.remove(cpf);
+    }
+
+    /**
+     * Remove do cache as credenciais de um usuário
+     *
+     * @param userId ID do usuário excluído
+     */
+    public synchronized void invalidateUser(String userId) {
+        this.entries.values().removeIf(entry -> entry.credential().userId().equals(userId));
+    }
+
+    private record Entry(ConsumerUserCredential credential, long expiresAt) {
+    }
+}
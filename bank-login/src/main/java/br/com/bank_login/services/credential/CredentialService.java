@@ -0,0 +1,258 @@
+package br.com.bank_login.services.credential;
+
+import br.com.bank_login.dtos.credential.ConsumerUserCredential;
+import br.com.bank_login.dtos.user.ResponseUser;
+import br.com.bank_login.microservices.UserClient;
+import br.com.bank_login.model.UserCredential;
+import br.com.bank_login.repository.UserCredentialRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Serviço da projeção local de credenciais usada pelo login
+ * Evita a chamada síncrona ao bank-user a cada login: a projeção é atualizada pelos
+ * eventos de credencial e consultada pelo CPF (cache, depois banco local)
+ *
+ * @service Indica que esta classe é um serviço Spring gerenciado pelo container
+ *
+ * @implNote O bank-user só é consultado quando o CPF não está na projeção ou quando
+ *           ela nega o acesso (bloqueio, e-mail não verificado ou senha incorreta), para
+ *           cobrir um evento ainda não consumido ou perdido. A busca de um CPF ausente e a
+ *           carga inicial apenas inserem; a confirmação de uma negação e a reconciliação
+ *           periódica sobrescrevem com o estado lido do bank-user, além dos eventos
+ *
+ * @author Pablo R.
+ */
+@Service
+public class CredentialService {
+
+    private final UserCredentialRepository userCredentialRepository;
+    private final CredentialCache credentialCache;
+    private final UserClient userClient;
+
+    /**
+     * Construtor para injeção de dependências
+     *
+     * @param userCredentialRepository Repositório da projeção
+     * @param credentialCache Cache das credenciais em memória
+     * @param userClient Cliente Feign do bank-user (fallback e carga inicial)
+     */
+    public CredentialService(
+            UserCredentialRepository userCredentialRepository,
+            CredentialCache credentialCache,
+            UserClient userClient) {
+        this.userCredentialRepository = userCredentialRepository;
+        this.credentialCache = credentialCache;
+        this.userClient = userClient;
+    }
+
+    /**
+     * Credenciais do usuário pelo CPF
+     *
+     * @param cpf CPF informado no login
+     * @return Credenciais ou null se o CPF não estiver cadastrado
+     */
+    public ConsumerUserCredential findByCpf(String cpf) {
+
+        ConsumerUserCredential cached = this.credentialCache.get(cpf);
+        if (cached != null) {
+            return cached;
+        }
+
+        ConsumerUserCredential credential = this.userCredentialRepository.findByCpf(cpf)
+                .map(CredentialService::toCredential)
+                .orElseGet(() -> fetch(cpf));
+
+        if (credential != null) {
+            this.credentialCache.put(credential);
+        }
+        return credential;
+    }
+
+    /**
+     * Confirma no bank-user credenciais que negariam o acesso
+     * Cobre o intervalo entre a alteração no bank-user e o consumo do evento, ou um
+     * evento perdido; se o bank-user divergir, a projeção e o cache são corrigidos
+     *
+     * @param credential Credenciais da projeção
+     * @return Credenciais atuais do bank-user ou as da projeção se ele não responder
+     */
+    public ConsumerUserCredential confirm(ConsumerUserCredential credential) {
+
+        ConsumerUserCredential current;
+        try {
+            current = read(credential.cpf());
+        } catch (RuntimeException e) {
+            return credential;
+        }
+
+        if (current == null) {
+            return credential;
+        } else if (!current.equals(credential)) {
+            overwrite(current);
+        }
+        return current;
+    }
+
+    /**
+     * Aplica um evento de credencial do bank-user
+     *
+     * @param event Estado atual das credenciais do usuário
+     */
+    @Transactional
+    public void apply(ConsumerUserCredential event) {
+        overwrite(event);
+    }
+
+    /**
+     * Compara uma página de credenciais do bank-user com a projeção no mesmo intervalo
+     * de IDs e corrige as divergências
+     *
+     * @param page Página lida do bank-user, ordenada por ID
+     * @param after ID do último usuário da página anterior ("" na primeira página)
+     * @param lastPage Indica se é a última página (o intervalo vai até o fim da projeção)
+     * @return Quantidade de credenciais divergentes, relidas no bank-user
+     *
+     * @implNote A página pode ter sido lida antes de um evento já aplicado; por isso cada
+     *           divergência é relida pelo CPF antes de sobrescrever ou remover
+     */
+    public int reconcile(List<ConsumerUserCredential> page, String after, boolean lastPage) {
+
+        List<UserCredential> local = lastPage
+                ? this.userCredentialRepository.findByUserIdGreaterThan(after)
+                : this.userCredentialRepository.findByUserIdGreaterThanAndUserIdLessThanEqual(
+                        after, page.get(page.size() - 1).userId());
+
+        Map<String, ConsumerUserCredential> localById = local.stream()
+                .map(CredentialService::toCredential)
+                .collect(Collectors.toMap(ConsumerUserCredential::userId, Function.identity()));
+
+        int repaired = 0;
+
+        for (ConsumerUserCredential remote : page) {
+            ConsumerUserCredential current = localById.remove(remote.userId());
+
+            if (!remote.equals(current)) {
+                refresh(remote.userId(), remote.cpf());
+                repaired++;
+            }
+        }
+
+        //Na projeção, mas não no bank-user: excluído com o evento perdido
+        for (ConsumerUserCredential orphan : localById.values()) {
+            refresh(orphan.userId(), orphan.cpf());
+            repaired++;
+        }
+        return repaired;
+    }
+
+    /**
+     * Insere credenciais que ainda não estão na projeção
+     *
+     * @param credentials Credenciais lidas do bank-user
+     */
+    @Transactional
+    public void insertMissing(List<ConsumerUserCredential> credentials) {
+        credentials.forEach(this::insertIfAbsent);
+    }
+
+    /**
+     * Remove as credenciais do usuário excluído
+     *
+     * @param userId ID do usuário
+     */
+    @Transactional
+    public void remove(String userId) {
+
+        this.userCredentialRepository.findById(userId).ifPresent(credential -> {
+            this.userCredentialRepository.delete(credential);
+            this.credentialCache.invalidate(credential.getCpf());
+        });
+    }
+
+    /**
+     * Indica se a projeção ainda não recebeu nenhuma credencial
+     *
+     * @return true na primeira inicialização
+     */
+    public boolean isEmpty() {
+        return this.userCredentialRepository.count() == 0;
+    }
+
+    /**
+     * Busca no bank-user e grava na projeção o que ainda não existir
+     */
+    private ConsumerUserCredential fetch(String cpf) {
+
+        ConsumerUserCredential credential = read(cpf);
+
+        if (credential != null) {
+            insertIfAbsent(credential);
+        }
+        return credential;
+    }
+
+    /**
+     * Credenciais atuais do bank-user pelo CPF, sem gravar na projeção
+     */
+    private ConsumerUserCredential read(String cpf) {
+
+        ResponseUser user = this.userClient.findUserWithCpf(cpf);
+
+        if (user == null || !Objects.equals(user.cpf(), cpf)) {
+            return null;
+        }
+
+        return new ConsumerUserCredential(
+                user.userId(), user.cpf(), user.password(), user.role(), user.status(), user.verifyEmail());
+    }
+
+    /**
+     * Relê um usuário divergente no bank-user e grava o estado atual na projeção
+     * Sem usuário com o CPF, as credenciais do ID são removidas
+     */
+    private void refresh(String userId, String cpf) {
+
+        ConsumerUserCredential current = read(cpf);
+
+        if (current != null) {
+            overwrite(current);
+        } else {
+            remove(userId);
+        }
+    }
+
+    /**
+     * Grava o estado do bank-user, mesmo sobre uma versão anterior, e limpa o cache
+     */
+    private void overwrite(ConsumerUserCredential credential) {
+
+        this.userCredentialRepository.deleteOtherWithCpf(credential.cpf(), credential.userId());
+        this.userCredentialRepository.upsert(
+                credential.userId(), credential.cpf(), credential.password(),
+                credential.role(), credential.status(), credential.verifyEmail());
+        this.credentialCache.invalidate(credential.cpf());
+    }
+
+    private void insertIfAbsent(ConsumerUserCredential credential) {
+        this.userCredentialRepository.insertIfAbsent(
+                credential.userId(), credential.cpf(), credential.password(),
+                credential.role(), credential.status(), credential.verifyEmail());
+    }
+
+    private static ConsumerUserCredential toCredential(UserCredential credential) {
+        return new ConsumerUserCredential(
+                credential.getUserId(),
+                credential.getCpf(),
+                credential.getPassword(),
+                credential.getRole(),
+                credential.getStatus(),
+                credential.getVerifyEmail());
+    }
+}
@@ -0,0 +1,29 @@
+package br.com.bank_login.services.password;
+
+/**
+ * Lançada quando o executor de hashing de senhas está saturado
+ * Convertida em 429 (Too Many Requests) com Retry-After pelo GlobalExceptionHandler
+ *
+ * @author Pablo R.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    /**
+     * @param retryAfterSeconds Tempo estimado, em segundos, até a fila esvaziar
+     */
+    public PasswordHashingRejectedException(long retryAfterSeconds) {
+        super("Password hashing capacity exhausted");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Tempo sugerido ao cliente antes de tentar de novo
+     *
+     * @return Segundos para o cabeçalho Retry-After
+     */
+    public long getRetryAfterSeconds() {
+        return this.retryAfterSeconds;
+    }
+}
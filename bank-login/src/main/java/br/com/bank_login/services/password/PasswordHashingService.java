@@ -0,0 +1,242 @@
+package br.com.bank_login.services.password;
+
+import br.com.bank_login.dtos.password.RequestPasswordRehash;
+import br.com.bank_login.microservices.UserClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serviço de verificação de senhas BCrypt com controle de admissão
+ * Os hashes rodam em um executor próprio, com uma thread por núcleo e fila limitada,
+ * em vez de um por requisição: em uma rajada de logins a CPU atende a fila em ordem
+ * e o excedente recebe 429 na hora, em vez de todos os logins expirarem juntos
+ *
+ * - login.hash.latency: duração de cada verificação
+ * - login.hash.wait: tempo de espera na fila
+ * - login.hash.queue.depth: hashes aguardando na fila
+ * - login.hash.rejected: verificações recusadas por fila cheia ou espera excedida
+ *
+ * @service Indica que esta classe é um serviço Spring gerenciado pelo container
+ *
+ * @implNote O custo do BCrypt é definido por security.bcrypt.strength. Após um login
+ *           válido com um hash de custo menor, o bank-user é chamado (com o token de
+ *           serviço) para refazer o hash ele mesmo; o bank-login nunca envia um hash.
+ *           As chamadas rodam em thread virtual, limitadas por max-rehash-in-flight.
+ *           O login roda no time limiter do loginCB e pode verificar a senha duas vezes
+ *           (projeção e credenciais confirmadas no bank-user): cada verificação tem no
+ *           máximo metade do timeout do loginCB, e max-wait-ms precisa caber nela
+ *
+ * @author Pablo R.
+ */
+@Slf4j
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final UserClient userClient;
+    private final ThreadPoolExecutor executor;
+    private final ExecutorService rehashDispatcher = Executors.newVirtualThreadPerTaskExecutor();
+    private final long maxWaitMs;
+    private final long budgetMs;
+    private final Semaphore rehashPermits;
+    private final Timer matchesLatency;
+    private final Timer queueWait;
+    private final Counter rejected;
+
+    /**
+     * Construtor para injeção de dependências
+     *
+     * @param passwordEncoder Encoder BCrypt com o custo configurado
+     * @param userClient Cliente Feign do bank-user (gravação do hash refeito)
+     * @param meterRegistry Registro de métricas do Micrometer
+     * @param threads Threads de hashing (0 para o número de núcleos)
+     * @param queueCapacity Hashes aguardando além dos que estão em execução
+     * @param maxWaitMs Tempo máximo de espera por uma verificação antes de recusá-la
+     * @param maxRehashInFlight Chamadas de rehash simultâneas ao bank-user
+     * @param loginTimeout Timeout do time limiter do loginCB
+     */
+    public PasswordHashingService(
+            PasswordEncoder passwordEncoder,
+            UserClient userClient,
+            MeterRegistry meterRegistry,
+            @Value("${login.hashing.threads:0}") int threads,
+            @Value("${login.hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${login.hashing.max-wait-ms:800}") long maxWaitMs,
+            @Value("${login.hashing.max-rehash-in-flight:4}") int maxRehashInFlight,
+            @Value("${resilience4j.timelimiter.instances.loginCB.timeoutDuration:1s}") Duration loginTimeout) {
+
+        this.budgetMs = loginTimeout.toMillis() / 2;
+        if (maxWaitMs >= this.budgetMs) {
+            throw new IllegalStateException("login.hashing.max-wait-ms (" + maxWaitMs
+                    + ") must be below half of the loginCB timeout (" + loginTimeout.toMillis() + " ms)");
+        }
+
+
+        this.passwordEncoder = passwordEncoder;
+        this.userClient = userClient;
+        this.maxWaitMs = maxWaitMs;
+        this.rehashPermits = new Semaphore(maxRehashInFlight);
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.matchesLatency = Timer.builder("login.hash.latency")
+                .description("Time spent verifying a BCrypt hash")
+                .register(meterRegistry);
+        this.queueWait = Timer.builder("login.hash.wait")
+                .description("Time a password hash waited in the queue")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("login.hash.rejected")
+                .description("Password verifications rejected because the hashing queue was full")
+                .register(meterRegistry);
+        Gauge.builder("login.hash.queue.depth", this.executor, pool -> pool.getQueue().size())
+                .description("Password hashes waiting in the queue")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Verifica a senha informada contra o hash BCrypt
+     *
+     * @param rawPassword Senha informada no login
+     * @param encodedPassword Hash gravado
+     * @return true se a senha confere
+     * @throws PasswordHashingRejectedException Se a fila estiver cheia ou a espera na fila exceder max-wait-ms
+     *
+     * @implNote Após max-wait-ms, o hash só é recusado se ainda estiver na fila. Se já
+     *           estiver em execução, o resultado é aguardado até o fim da parte do
+     *           timeout do loginCB reservada a esta verificação
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+
+        long queuedAt = System.nanoTime();
+        Future<Boolean> result;
+
+        try {
+            result = this.executor.submit(() -> {
+                this.queueWait.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return this.matchesLatency.record(() -> this.passwordEncoder.matches(rawPassword, encodedPassword));
+            });
+        } catch (RejectedExecutionException e) {
+            throw reject();
+        }
+
+        try {
+            return result.get(this.maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Ainda na fila: sai dela sem gastar CPU com um cliente que vai receber 429
+            if (this.executor.remove((Runnable) result)) {
+                throw reject();
+            }
+            // Já em execução: o hash termina de qualquer forma, então aproveito o resultado
+            return awaitRunning(result);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.cancel(true);
+            throw reject();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password verification failed", e.getCause());
+        }
+    }
+
+    /**
+     * Pede ao bank-user, em segundo plano, que refaça um hash com custo menor que o configurado
+     * Ignorado se o hash já estiver no custo atual ou se o limite de chamadas simultâneas
+     * foi atingido (o rehash fica para um próximo login)
+     *
+     * @param userId ID do usuário
+     * @param rawPassword Senha já verificada no login
+     * @param encodedPassword Hash verificado
+     */
+    public void upgradeIfNeeded(String userId, String rawPassword, String encodedPassword) {
+
+        if (!this.passwordEncoder.upgradeEncoding(encodedPassword) || !this.rehashPermits.tryAcquire()) {
+            return;
+        }
+
+        try {
+            this.rehashDispatcher.execute(() -> {
+                try {
+                    this.userClient.rehashPassword(new RequestPasswordRehash(userId, rawPassword));
+                } catch (RuntimeException e) {
+                    log.warn("Password rehash for user {} failed", userId, e);
+                } finally {
+                    this.rehashPermits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Serviço parando
+            this.rehashPermits.release();
+        }
+    }
+
+    /**
+     * Encerra os executores
+     */
+    @PreDestroy
+    public void shutdown() {
+        this.executor.shutdown();
+        this.rehashDispatcher.shutdown();
+    }
+
+    /**
+     * Aguarda um hash já em execução pelo restante do orçamento da verificação
+     */
+    private boolean awaitRunning(Future<Boolean> result) {
+
+        try {
+            return result.get(this.budgetMs - this.maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            throw reject();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.cancel(true);
+            throw reject();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password verification failed", e.getCause());
+        }
+    }
+
+    /**
+     * Recusa a verificação e estima quando a fila terá esvaziado
+     */
+    private PasswordHashingRejectedException reject() {
+
+        this.rejected.increment();
+
+        double meanMs = this.matchesLatency.mean(TimeUnit.MILLISECONDS);
+        double drainMs = (this.executor.getQueue().size() + this.executor.getActiveCount())
+                * meanMs / this.executor.getMaximumPoolSize();
+
+        return new PasswordHashingRejectedException(Math.max(1, (long) Math.ceil(drainMs / 1000)));
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.bank_login.security;
+
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import feign.RequestTemplate;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ServiceTokenInterceptorTest {
+
+    @Test
+    void signsShortLivedServiceScopedToken() throws Exception {
+
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        var keyPair = generator.generateKeyPair();
+        var publicKey = (RSAPublicKey) keyPair.getPublic();
+        var encoder = new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(
+                new RSAKey.Builder(publicKey).privateKey((RSAPrivateKey) keyPair.getPrivate()).build())));
+
+        var interceptor = new ServiceTokenInterceptor(encoder, 300000);
+        RequestTemplate first = new RequestTemplate();
+        RequestTemplate second = new RequestTemplate();
+        interceptor.apply(first);
+        interceptor.apply(second);
+
+        String header = first.headers().get(HttpHeaders.AUTHORIZATION).iterator().next();
+        Jwt jwt = NimbusJwtDecoder.withPublicKey(publicKey).build().decode(header.substring("Bearer ".length()));
+
+        assertEquals(ServiceTokenInterceptor.SERVICE_SCOPE, jwt.getClaimAsString("scope"));
+        assertEquals("bank-login", jwt.getSubject());
+        assertEquals(300, jwt.getExpiresAt().getEpochSecond() - jwt.getIssuedAt().getEpochSecond());
+        // Reaproveitado enquanto válido
+        assertEquals(header, second.headers().get(HttpHeaders.AUTHORIZATION).iterator().next());
+    }
+}
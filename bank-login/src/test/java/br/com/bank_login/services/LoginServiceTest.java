@@ -0,0 +1,90 @@
+package br.com.bank_login.services;
+
+import br.com.bank_login.dtos.credential.ConsumerUserCredential;
+import br.com.bank_login.dtos.login.RequestLoginDto;
+import br.com.bank_login.microservices.UserClient;
+import br.com.bank_login.repository.LoginRepository;
+import br.com.bank_login.services.credential.CredentialService;
+import br.com.bank_login.services.password.PasswordHashingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.circuitbreaker.CircuitBreaker;
+import org.springframework.cloud.client.circuitbreaker.CircuitBreakerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class LoginServiceTest {
+
+    private final PasswordHashingService passwordHashing = mock(PasswordHashingService.class);
+    private final CredentialService credentialService = mock(CredentialService.class);
+    private final JwtEncoder jwtEncoder = mock(JwtEncoder.class);
+    private final CircuitBreakerFactory<?, ?> circuitBreakerFactory = mock(CircuitBreakerFactory.class);
+    private LoginService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+
+        CircuitBreaker circuitBreaker = mock(CircuitBreaker.class);
+        when(circuitBreakerFactory.create("loginCB")).thenReturn(circuitBreaker);
+        when(circuitBreaker.run(any(Supplier.class), any(Function.class)))
+                .thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(0)).get());
+        when(jwtEncoder.encode(any())).thenReturn(
+                Jwt.withTokenValue("token").header("alg", "RS256").subject("u1").build());
+
+        service = new LoginService(mock(UserClient.class), mock(LoginRepository.class), passwordHashing,
+                jwtEncoder, mock(JwtDecoder.class), circuitBreakerFactory, credentialService);
+    }
+
+    @Test
+    void staleProjectionPasswordIsConfirmedWithBankUser() {
+
+        var stale = new ConsumerUserCredential("u1", "111", "old-hash", "USER", "ACTIVE", true);
+        var current = new ConsumerUserCredential("u1", "111", "new-hash", "USER", "ACTIVE", true);
+        when(credentialService.findByCpf("111")).thenReturn(stale);
+        when(credentialService.confirm(stale)).thenReturn(current);
+        when(passwordHashing.matches("new-password", "old-hash")).thenReturn(false);
+        when(passwordHashing.matches("new-password", "new-hash")).thenReturn(true);
+
+        var response = service.login(new RequestLoginDto("111", "new-password"));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(passwordHashing).upgradeIfNeeded("u1", "new-password", "new-hash");
+    }
+
+    @Test
+    void wrongPasswordIsDeniedWhenBankUserAgrees() {
+
+        var credential = new ConsumerUserCredential("u1", "111", "hash", "USER", "ACTIVE", true);
+        when(credentialService.findByCpf("111")).thenReturn(credential);
+        when(credentialService.confirm(credential)).thenReturn(credential);
+        when(passwordHashing.matches("wrong", "hash")).thenReturn(false);
+
+        var response = service.login(new RequestLoginDto("111", "wrong"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verify(passwordHashing, times(1)).matches("wrong", "hash");
+        verifyNoInteractions(jwtEncoder);
+    }
+
+    @Test
+    void blockedInProjectionButUnblockedInBankUserLogsIn() {
+
+        var stale = new ConsumerUserCredential("u1", "111", "hash", "USER", "BLOCKED", true);
+        var current = new ConsumerUserCredential("u1", "111", "hash", "USER", "ACTIVE", true);
+        when(credentialService.findByCpf("111")).thenReturn(stale);
+        when(credentialService.confirm(stale)).thenReturn(current);
+        when(passwordHashing.matches("password", "hash")).thenReturn(true);
+
+        assertEquals(HttpStatus.OK, service.login(new RequestLoginDto("111", "password")).getStatusCode());
+    }
+}
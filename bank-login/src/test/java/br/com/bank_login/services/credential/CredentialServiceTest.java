@@ -0,0 +1,96 @@
+package br.com.bank_login.services.credential;
+
+import br.com.bank_login.dtos.credential.ConsumerUserCredential;
+import br.com.bank_login.dtos.user.ResponseUser;
+import br.com.bank_login.microservices.UserClient;
+import br.com.bank_login.model.UserCredential;
+import br.com.bank_login.repository.UserCredentialRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+class CredentialServiceTest {
+
+    private final UserCredentialRepository repository = mock(UserCredentialRepository.class);
+    private final CredentialCache cache = mock(CredentialCache.class);
+    private final UserClient userClient = mock(UserClient.class);
+    private final CredentialService service = new CredentialService(repository, cache, userClient);
+
+    @Test
+    void confirmOverwritesProjectionWhenBankUserDiffers() {
+
+        var stale = new ConsumerUserCredential("u1", "111", "old-hash", "USER", "ACTIVE", true);
+        when(userClient.findUserWithCpf("111")).thenReturn(user("u1", "111", "new-hash"));
+
+        var current = service.confirm(stale);
+
+        assertEquals("new-hash", current.password());
+        verify(repository).upsert("u1", "111", "new-hash", "USER", "ACTIVE", true);
+        verify(cache).invalidate("111");
+    }
+
+    @Test
+    void confirmKeepsProjectionWhenBankUserIsDown() {
+
+        var credential = new ConsumerUserCredential("u1", "111", "hash", "USER", "ACTIVE", true);
+        when(userClient.findUserWithCpf("111")).thenThrow(new RuntimeException("down"));
+
+        assertEquals(credential, service.confirm(credential));
+        verify(repository, never()).upsert(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void reconcileRepairsDivergentAndRemovesDeletedUsers() {
+
+        var page = List.of(
+                new ConsumerUserCredential("u1", "111", "hash", "USER", "ACTIVE", true),
+                new ConsumerUserCredential("u2", "222", "new-hash", "USER", "ACTIVE", true));
+        when(repository.findByUserIdGreaterThan("")).thenReturn(List.of(
+                local("u1", "111", "hash"),
+                local("u2", "222", "old-hash"),
+                local("u3", "333", "hash")));
+        when(userClient.findUserWithCpf("222")).thenReturn(user("u2", "222", "new-hash"));
+        var orphan = local("u3", "333", "hash");
+        when(repository.findById("u3")).thenReturn(Optional.of(orphan));
+
+        int repaired = service.reconcile(page, "", true);
+
+        assertEquals(2, repaired);
+        verify(repository).upsert("u2", "222", "new-hash", "USER", "ACTIVE", true);
+        verify(repository, never()).upsert(eq("u1"), any(), any(), any(), any(), any());
+        verify(repository).delete(orphan);
+        verify(cache).invalidate("333");
+    }
+
+    @Test
+    void reconcileLimitsLocalRowsToPageRange() {
+
+        var page = List.of(new ConsumerUserCredential("u5", "555", "hash", "USER", "ACTIVE", true));
+        when(repository.findByUserIdGreaterThanAndUserIdLessThanEqual("u4", "u5"))
+                .thenReturn(List.of(local("u5", "555", "hash")));
+
+        assertEquals(0, service.reconcile(page, "u4", false));
+        verify(repository, never()).findByUserIdGreaterThan(any());
+        verifyNoInteractions(userClient);
+    }
+
+    private static ResponseUser user(String userId, String cpf, String password) {
+        return new ResponseUser(userId, cpf, "Name", "mail@bank.com", password, "119", null,
+                "USER", "ACTIVE", true, true);
+    }
+
+    private static UserCredential local(String userId, String cpf, String password) {
+        var credential = new UserCredential();
+        credential.setUserId(userId);
+        credential.setCpf(cpf);
+        credential.setPassword(password);
+        credential.setRole("USER");
+        credential.setStatus("ACTIVE");
+        credential.setVerifyEmail(true);
+        return credential;
+    }
+}
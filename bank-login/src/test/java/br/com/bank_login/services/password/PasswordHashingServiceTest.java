@@ -0,0 +1,96 @@
+package br.com.bank_login.services.password;
+
+import br.com.bank_login.microservices.UserClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PasswordHashingServiceTest {
+
+    private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+    private PasswordHashingService service;
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void rejectsWhenQueueIsFull() throws Exception {
+
+        var release = new CountDownLatch(1);
+        var started = new CountDownLatch(1);
+        when(passwordEncoder.matches(any(), any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return true;
+        });
+        service = service(1, 1, 500, Duration.ofSeconds(2));
+
+        var running = CompletableFuture.supplyAsync(() -> service.matches("a", "hash"));
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        var queued = CompletableFuture.supplyAsync(() -> service.matches("b", "hash"));
+        Thread.sleep(100);
+
+        assertThrows(PasswordHashingRejectedException.class, () -> service.matches("c", "hash"));
+
+        release.countDown();
+        assertTrue(running.get(1, TimeUnit.SECONDS));
+        assertTrue(queued.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void queuedVerificationIsDroppedAfterMaxWait() throws Exception {
+
+        var release = new CountDownLatch(1);
+        var started = new CountDownLatch(1);
+        when(passwordEncoder.matches(eq("a"), any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return true;
+        });
+        service = service(1, 4, 50, Duration.ofSeconds(2));
+
+        var running = CompletableFuture.supplyAsync(() -> service.matches("a", "hash"));
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+
+        assertThrows(PasswordHashingRejectedException.class, () -> service.matches("b", "hash"));
+
+        release.countDown();
+        assertTrue(running.get(1, TimeUnit.SECONDS));
+        verify(passwordEncoder, never()).matches(eq("b"), any());
+    }
+
+    @Test
+    void runningVerificationIsAwaitedAfterMaxWait() {
+
+        when(passwordEncoder.matches(any(), any())).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return true;
+        });
+        service = service(1, 4, 50, Duration.ofSeconds(2));
+
+        assertTrue(service.matches("a", "hash"));
+    }
+
+    @Test
+    void maxWaitMustFitTheLoginTimeout() {
+
+        service = service(1, 4, 50, Duration.ofSeconds(2));
+        assertThrows(IllegalStateException.class, () -> service(1, 4, 800, Duration.ofSeconds(1)));
+    }
+
+    private PasswordHashingService service(int threads, int queueCapacity, long maxWaitMs, Duration loginTimeout) {
+        return new PasswordHashingService(passwordEncoder, mock(UserClient.class), new SimpleMeterRegistry(),
+                threads, queueCapacity, maxWaitMs, 4, loginTimeout);
+    }
+}
@@ -1,15 +1,25 @@
 package br.com.bank_notification.consumer;
 
+import br.com.bank_notification.dtos.notification.ConsumerNotification;
 import br.com.bank_notification.dtos.user.ConsumerDeleteUser;
-import br.com.bank_notification.dtos.notification.ConsumerNotificationEvent;
-import br.com.bank_notification.dtos.notification.ConsumerNotificationReceivePayment;
+import br.com.bank_notification.kafkaConfig.LegacyOffsetMigration;
 import br.com.bank_notification.model.Notification;
-import br.com.bank_notification.repository.NotificationRepository;
+import br.com.bank_notification.model.PaymentReceipt;
+import br.com.bank_notification.service.NotificationService;
+import br.com.bank_notification.service.digest.PaymentDigestBuffer;
+import br.com.bank_notification.service.digest.PaymentDigestService;
+import br.com.bank_notification.template.NotificationTemplate;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Consumidor Kafka para processamento de eventos de notificação do sistema bancário
  * Responsável por escutar múltiplos tópicos e criar notificações no banco de dados
@@ -18,100 +28,103 @@ import org.springframework.stereotype.Service;
  *
  * @author Pablo R.
  */
+@Slf4j
 @Service
 public class NotificationConsumer {
 
-    private final NotificationRepository notificationRepository;
+    private final NotificationService notificationService;
+    private final NotificationIngestMetrics notificationIngestMetrics;
+    private final PaymentDigestBuffer paymentDigestBuffer;
+    private final PaymentDigestService paymentDigestService;
 
     /**
-     * Construtor para injeção de dependências do repositório de notificações
+     * Construtor para injeção de dependências do serviço de notificações
      *
-     * @param notificationRepository Repositório para operações de banco de dados
+     * @param notificationService Serviço que grava as notificações e mantém o contador de não visualizadas
+     * @param notificationIngestMetrics Métricas de vazão e atraso por tópico
+     * @param paymentDigestBuffer Janela de agrupamento dos pagamentos recebidos
+     * @param paymentDigestService Serviço dos pagamentos recebidos
      */
     @Autowired
-    public NotificationConsumer(NotificationRepository notificationRepository) {
-        this.notificationRepository = notificationRepository;
-    }
-
-    /**
-     * Listener para eventos de aprovação de cartão
-     * Cria notificação informando que o cartão foi aprovado
-     *
-     * @param event DTO contendo dados do evento de aprovação
-     * @param ack Objeto para confirmação manual do offset Kafka
-     */
-    @KafkaListener(topics = "notification-card-approved-topic",
-            groupId = "notification-approved-group",
-            containerFactory = "kafkaListenerNotificationFactory")
-    public void createNotificationApproved(ConsumerNotificationEvent event, Acknowledgment ack){
-
-        var notification = new Notification();
-        notification.setUserId(event.userId());
-        notification.setMessage("Your card was approved");
-        this.notificationRepository.save(notification);
-        ack.acknowledge();
-    }
-
-    /**
-     * Listener para eventos de recebimento de pagamento
-     * Cria notificação informando sobre valores recebidos
-     *
-     * @param event DTO contendo dados da transação recebida
-     * @param ack Objeto para confirmação manual do offset Kafka
-     */
-    @KafkaListener(topics = "notification-receive-payment-topic",
-            groupId = "notification-receive-payment-group",
-            containerFactory = "kafkaListenerNotificationReceivePaymentsFactory")
-    public void createNotificationReceivePayment(ConsumerNotificationReceivePayment event, Acknowledgment ack){
-
-        var notification = new Notification();
-        notification.setUserId(event.userId());
-        notification.setMessage("you received R$"+event.money()+" from "+event.fullName());
-        this.notificationRepository.save(notification);
-        ack.acknowledge();
+    public NotificationConsumer(
+            NotificationService notificationService,
+            NotificationIngestMetrics notificationIngestMetrics,
+            PaymentDigestBuffer paymentDigestBuffer,
+            PaymentDigestService paymentDigestService) {
+        this.notificationService = notificationService;
+        this.notificationIngestMetrics = notificationIngestMetrics;
+        this.paymentDigestBuffer = paymentDigestBuffer;
+        this.paymentDigestService = paymentDigestService;
     }
 
     /**
-     * Listener para eventos de cancelamento de cartão
-     * Cria notificação informando que o cartão foi rejeitado
+     * Listener em lote para todos os tópicos de notificação (cartão, limite, pagamento e boas-vindas)
+     * Cada registro vira uma notificação com o modelo do seu tópico e os parâmetros do evento;
+     * pagamentos recebidos são gravados e agrupados em uma notificação de resumo por usuário
      *
-     * @param event DTO contendo dados do evento de cancelamento
-     * @param ack Objeto para confirmação manual do offset Kafka
+     * @param records Registros recebidos em um poll
+     * @param consumer Consumidor Kafka (leitura do atraso das partições)
+     * @param ack Objeto para confirmação manual do offset Kafka, uma vez por lote
+     * @implNote Os pagamentos e as demais notificações são gravados em duas transações,
+     *           cada uma com inserts em batch JDBC, e o ack só vem depois das duas. Um lote
+     *           reentregue (ack perdido ou falha entre as transações) não grava de novo o
+     *           que já foi gravado: pagamentos e notificações guardam o tópico, a partição
+     *           e o offset de origem. Os tópicos assinados vêm de
+     *           {@link NotificationTemplate#topics()}; os offsets iniciais do grupo vêm dos
+     *           grupos antigos, via {@link LegacyOffsetMigration}
      */
-    @KafkaListener(topics = "notification-card-canceled-topic",
-            groupId = "notification-canceled-group",
-            containerFactory = "kafkaListenerNotificationFactory")
-    public void createNotificationRejected(ConsumerNotificationEvent event, Acknowledgment ack){
-
-        var notification = new Notification();
-        notification.setUserId(event.userId());
-        notification.setMessage("Your card was rejected");
-        this.notificationRepository.save(notification);
-        ack.acknowledge();
-    }
-
-    /**
-     * Listener para eventos de boas-vindas
-     * Cria notificação de welcome para novos usuários
-     *
-     * @param event DTO contendo dados do usuário novo
-     * @param ack Objeto para confirmação manual do offset Kafka
-     */
-    @KafkaListener(topics = "welcome-topic",
-            groupId = "welcome-group",
-            containerFactory = "kafkaListenerNotificationFactory")
-    public void consumerEventWelcomeUser(ConsumerNotificationEvent event, Acknowledgment ack){
-
-        var notification = new Notification();
-        notification.setUserId(event.userId());
-        notification.setMessage("Welcome to the My-Bank website!");
-        this.notificationRepository.save(notification);
+    @KafkaListener(topics = "#{T(br.com.bank_notification.template.NotificationTemplate).topics()}",
+            groupId = LegacyOffsetMigration.BATCH_GROUP_ID,
+            containerFactory = "kafkaListenerNotificationBatchFactory")
+    public void createNotifications(
+            List<ConsumerRecord<String, ConsumerNotification>> records,
+            Consumer<?, ?> consumer,
+            Acknowledgment ack) {
+
+        List<Notification> notifications = new ArrayList<>(records.size());
+        List<PaymentReceipt> receipts = new ArrayList<>();
+
+        for (ConsumerRecord<String, ConsumerNotification> record : records) {
+
+            NotificationTemplate template = NotificationTemplate.fromTopic(record.topic());
+
+            // Registro ilegível ou sem destinatário: não há o que notificar
+            if (template == null || record.value() == null || record.value().userId() == null) {
+                log.warn("Skipping notification record {}-{}@{}", record.topic(), record.partition(), record.offset());
+                continue;
+            }
+
+            if (template == NotificationTemplate.RECEIVE_PAYMENT) {
+                var receipt = new PaymentReceipt();
+                receipt.setUserId(record.value().userId());
+                receipt.setAmount(NotificationTemplate.amount(record.value().money()));
+                receipt.setPayerName(record.value().fullName());
+                receipt.setSourceTopic(record.topic());
+                receipt.setSourcePartition(record.partition());
+                receipt.setSourceOffset(record.offset());
+                receipts.add(receipt);
+                continue;
+            }
+
+            var notification = new Notification();
+            notification.setUserId(record.value().userId());
+            notification.setTemplateId(template.getCode());
+            notification.setParams(template.params(record.value()));
+            notification.setSourceTopic(record.topic());
+            notification.setSourcePartition(record.partition());
+            notification.setSourceOffset(record.offset());
+            notifications.add(notification);
+        }
+
+        this.paymentDigestBuffer.receive(receipts);
+        this.notificationService.createNotifications(notifications);
         ack.acknowledge();
+        this.notificationIngestMetrics.record(records, consumer);
     }
 
     /**
      * Listener para eventos de exclusão de usuário
-     * Remove todas as notificações associadas ao usuário excluído
+     * Remove todas as notificações e pagamentos recebidos associados ao usuário excluído
      *
      * @param consumer DTO contendo ID do usuário a ser excluído
      * @param ack Objeto para confirmação manual do offset Kafka
@@ -121,45 +134,8 @@ public class NotificationConsumer {
             containerFactory = "kafkaListenerConsumerDeleteUser")
     public void deleteUserId(ConsumerDeleteUser consumer, Acknowledgment ack){
 
-        this.notificationRepository.deleteAllByUserId(consumer.userId());
-        ack.acknowledge();
-    }
-
-    /**
-     * Listener para eventos de aprovação de limite de cartão
-     * Cria notificação informando que o limite foi aprovado
-     *
-     * @param event DTO contendo dados do evento de aprovação de limite
-     * @param ack Objeto para confirmação manual do offset Kafka
-     */
-    @KafkaListener(topics = "notification-limit-card-approved-topic",
-            groupId = "notification-limit-card-approved-group",
-            containerFactory = "kafkaListenerNotificationFactory")
-    public void createNotificationLimitCreditApproved(ConsumerNotificationEvent event, Acknowledgment ack){
-
-        var notification = new Notification();
-        notification.setUserId(event.userId());
-        notification.setMessage("Your credit limit was approved");
-        this.notificationRepository.save(notification);
-        ack.acknowledge();
-    }
-
-    /**
-     * Listener para eventos de rejeição de limite de cartão
-     * Cria notificação informando que o limite foi rejeitado
-     *
-     * @param event DTO contendo dados do evento de rejeição de limite
-     * @param ack Objeto para confirmação manual do offset Kafka
-     */
-    @KafkaListener(topics = "notification-limit-card-rejected-topic",
-            groupId = "notification-limit-card-rejected-group",
-            containerFactory = "kafkaListenerNotificationFactory")
-    public void createNotificationLimitCreditRejected(ConsumerNotificationEvent event, Acknowledgment ack){
-
-        var notification = new Notification();
-        notification.setUserId(event.userId());
-        notification.setMessage("Your credit limit was rejected");
-        this.notificationRepository.save(notification);
+        this.notificationService.deleteUser(consumer.userId());
+        this.paymentDigestService.remove(consumer.userId());
         ack.acknowledge();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,96 @@
+package br.com.bank_notification.consumer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Métricas da ingestão de notificações, por tópico
+ *
+ * - notification.ingest.records: registros gravados (vazão)
+ * - notification.ingest.lag: registros ainda não consumidos nas partições desta instância
+ * - notification.ingest.batch.size: tamanho dos lotes recebidos do Kafka
+ *
+ * @component Indica que esta classe é um componente Spring gerenciado pelo container
+ *
+ * @author Pablo R.
+ */
+@Component
+public class NotificationIngestMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary batchSize;
+    private final Map<String, Counter> records = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> lag = new ConcurrentHashMap<>();
+
+    /**
+     * Construtor para injeção de dependências
+     *
+     * @param meterRegistry Registro de métricas do Micrometer
+     */
+    public NotificationIngestMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.batchSize = DistributionSummary.builder("notification.ingest.batch.size")
+                .description("Records per poll of the notification consumer")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registra um lote consumido: quantidade por tópico e atraso das partições atribuídas
+     *
+     * @param batch Registros do lote
+     * @param consumer Consumidor Kafka da thread do listener
+     */
+    public void record(List<? extends ConsumerRecord<?, ?>> batch, Consumer<?, ?> consumer) {
+
+        this.batchSize.record(batch.size());
+
+        Map<String, Long> perTopic = new HashMap<>();
+        for (ConsumerRecord<?, ?> record : batch) {
+            perTopic.merge(record.topic(), 1L, Long::sum);
+        }
+        perTopic.forEach((topic, total) -> counter(topic).increment(total));
+
+        // Atraso conhecido pelo cliente após o poll, sem chamada extra ao broker
+        Map<String, Long> lagPerTopic = new HashMap<>();
+        for (TopicPartition partition : consumer.assignment()) {
+            OptionalLong partitionLag = consumer.currentLag(partition);
+            if (partitionLag.isPresent()) {
+                lagPerTopic.merge(partition.topic(), partitionLag.getAsLong(), Long::sum);
+            }
+        }
+        // Tópicos sem partição nesta instância após um rebalanceamento deixam de ter atraso aqui
+        this.lag.keySet().forEach(topic -> lagPerTopic.putIfAbsent(topic, 0L));
+        lagPerTopic.forEach((topic, total) -> gauge(topic).set(total));
+    }
+
+    private Counter counter(String topic) {
+        return this.records.computeIfAbsent(topic, key -> Counter.builder("notification.ingest.records")
+                .description("Notifications ingested")
+                .tag("topic", key)
+                .register(this.meterRegistry));
+    }
+
+    private AtomicLong gauge(String topic) {
+        return this.lag.computeIfAbsent(topic, key -> {
+            AtomicLong value = new AtomicLong();
+            Gauge.builder("notification.ingest.lag", value, AtomicLong::get)
+                    .description("Records not yet consumed in the partitions assigned to this instance")
+                    .tag("topic", key)
+                    .register(this.meterRegistry);
+            return value;
+        });
+    }
+}
@@ -1,14 +1,19 @@
 package br.com.bank_notification.controller;
 
 import br.com.bank_notification.dtos.notification.RequestNotificationId;
-import br.com.bank_notification.dtos.notification.ResponseNotifications;
+import br.com.bank_notification.dtos.notification.ResponseNotificationPage;
+import br.com.bank_notification.dtos.payment.ResponsePaymentReceiptPage;
 import br.com.bank_notification.service.NotificationService;
+import br.com.bank_notification.service.digest.PaymentDigestService;
+import br.com.bank_notification.service.stream.NotificationStream;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.List;
+import java.util.Locale;
 
 /**
  * Controlador REST para gerenciamento de notificações do sistema bancário
@@ -24,39 +29,84 @@ import java.util.List;
 public class NotificationController {
 
     private final NotificationService notificationService;
+    private final NotificationStream notificationStream;
+    private final PaymentDigestService paymentDigestService;
 
     /**
      * Construtor para injeção de dependências do serviço de notificações
      *
      * @param notificationService Serviço com lógica de negócio para notificações
+     * @param notificationStream Serviço de entrega das notificações em tempo real
+     * @param paymentDigestService Serviço dos pagamentos recebidos
      */
     @Autowired
-    public NotificationController(NotificationService notificationService) {
+    public NotificationController(
+            NotificationService notificationService,
+            NotificationStream notificationStream,
+            PaymentDigestService paymentDigestService) {
         this.notificationService = notificationService;
+        this.notificationStream = notificationStream;
+        this.paymentDigestService = paymentDigestService;
     }
 
     /**
-     * Endpoint para recuperar todas as notificações visíveis do usuário
-     * Retorna apenas notificações marcadas para exibição na tela inicial
+     * Endpoint do feed de notificações visíveis do usuário, paginado por cursor
+     * Retorna apenas notificações marcadas para exibição na tela inicial, mais novas primeiro
      *
      * @param token Token JWT de autenticação contendo ID do usuário
-     * @return ResponseEntity com lista de notificações visíveis
+     * @param cursor Cursor retornado em nextCursor na página anterior
+     * @param size Tamanho da página (padrão 20, máximo 100)
+     * @param locale Idioma das mensagens, resolvido pelo cabeçalho Accept-Language
+     * @return ResponseEntity com uma página de notificações visíveis e o cursor da próxima
      */
     @GetMapping("/notifications")
-    public ResponseEntity<List<ResponseNotifications>> allNotifications(JwtAuthenticationToken token){
-        return this.notificationService.allNotifications(token);
+    public ResponseEntity<ResponseNotificationPage> allNotifications(
+            JwtAuthenticationToken token,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Locale locale
+    ) {
+        return this.notificationService.allNotifications(token, cursor, size, locale);
     }
 
     /**
-     * Endpoint para recuperar todas as notificações ocultas do usuário
-     * Retorna notificações que foram removidas da visualização principal
+     * Endpoint do feed de notificações ocultas do usuário, paginado por cursor
+     * Retorna notificações que foram removidas da visualização principal, mais novas primeiro
      *
      * @param token Token JWT de autenticação contendo ID do usuário
-     * @return ResponseEntity com lista de notificações ocultas
+     * @param cursor Cursor retornado em nextCursor na página anterior
+     * @param size Tamanho da página (padrão 20, máximo 100)
+     * @param locale Idioma das mensagens, resolvido pelo cabeçalho Accept-Language
+     * @return ResponseEntity com uma página de notificações ocultas e o cursor da próxima
      */
     @GetMapping("/notifications-occult")
-    public ResponseEntity<List<ResponseNotifications>> allNotificationsOccult(JwtAuthenticationToken token){
-        return this.notificationService.allNotificationsOccult(token);
+    public ResponseEntity<ResponseNotificationPage> allNotificationsOccult(
+            JwtAuthenticationToken token,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Locale locale
+    ) {
+        return this.notificationService.allNotificationsOccult(token, cursor, size, locale);
+    }
+
+    /**
+     * Endpoint dos pagamentos recebidos pelo usuário, paginado por cursor
+     * Lista os pagamentos individuais por trás das notificações de resumo
+     *
+     * @param token Token JWT de autenticação contendo ID do usuário
+     * @param notificationId ID da notificação de resumo (omitido para todos os pagamentos)
+     * @param cursor Cursor retornado em nextCursor na página anterior
+     * @param size Tamanho da página (padrão 20, máximo 100)
+     * @return ResponseEntity com uma página de pagamentos e o cursor da próxima
+     */
+    @GetMapping("/payment-receipts")
+    public ResponseEntity<ResponsePaymentReceiptPage> paymentReceipts(
+            JwtAuthenticationToken token,
+            @RequestParam(required = false) Long notificationId,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return this.paymentDigestService.receipts(token, notificationId, cursor, size);
     }
 
     /**
@@ -75,10 +125,10 @@ public class NotificationController {
      * Atualiza o status de visualização em lote para o usuário
      *
      * @param token Token JWT de autenticação contendo ID do usuário
-     * @return ResponseEntity vazio com status 200
+     * @return ResponseEntity com a quantidade de notificações alteradas
      */
     @PutMapping("/visualisation-notification")
-    public ResponseEntity<Void> visualisation(JwtAuthenticationToken token) {
+    public ResponseEntity<Integer> visualisation(JwtAuthenticationToken token) {
         return this.notificationService.visualisation(token);
     }
 
@@ -93,4 +143,24 @@ public class NotificationController {
     public int countNotifications(JwtAuthenticationToken token){
         return this.notificationService.countNotifications(token);
     }
-}
\ No newline at end of file
+
+    /**
+     * Endpoint SSE que entrega as novas notificações do usuário assim que são criadas
+     * Cada evento "notification" traz a notificação no mesmo formato de /notifications
+     * e o seu ID como ID do evento; um comentário periódico mantém a conexão aberta
+     *
+     * @param token Token JWT de autenticação contendo ID do usuário
+     * @param lastEventId ID da última notificação recebida, enviado pelo navegador ao
+     *                    reconectar; as notificações posteriores são reenviadas
+     * @param locale Idioma das mensagens, resolvido pelo cabeçalho Accept-Language
+     * @return Conexão SSE do usuário
+     * @produces TEXT_EVENT_STREAM Para transmissão contínua dos eventos
+     */
+    @GetMapping(value = "/notifications/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotifications(
+            JwtAuthenticationToken token,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            Locale locale) {
+        return this.notificationStream.subscribe(token.getName(), lastEventId, locale);
+    }
+}
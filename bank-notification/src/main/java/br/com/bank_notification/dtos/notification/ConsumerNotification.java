@@ -0,0 +1,13 @@
+package br.com.bank_notification.dtos.notification;
+
+/**
+ * Evento recebido nos tópicos de notificação
+ * União dos formatos de todos os tópicos: eventos de cartão, limite e boas-vindas
+ * trazem apenas userId; o recebimento de pagamento também traz fullName e money
+ */
+public record ConsumerNotification(
+        String userId,
+        String fullName,
+        Double money
+) {
+}
@@ -1,5 +0,0 @@
-package br.com.bank_notification.dtos.notification;
-
-public record ConsumerNotificationEvent(
-        String userId) {
-}
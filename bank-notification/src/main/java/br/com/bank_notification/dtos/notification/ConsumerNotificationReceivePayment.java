@@ -1,8 +0,0 @@
-package br.com.bank_notification.dtos.notification;
-
-public record ConsumerNotificationReceivePayment(
-        String userId,
-        String fullName,
-        Double money
-) {
-}
@@ -0,0 +1,9 @@
+package br.com.bank_notification.dtos.notification;
+
+import java.util.List;
+
+public record ResponseNotificationPage(
+        List<ResponseNotifications> items,
+        Long nextCursor
+) {
+}
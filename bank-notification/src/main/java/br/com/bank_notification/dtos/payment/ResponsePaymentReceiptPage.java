@@ -0,0 +1,9 @@
+package br.com.bank_notification.dtos.payment;
+
+import java.util.List;
+
+public record ResponsePaymentReceiptPage(
+        List<ResponsePaymentReceipts> items,
+        Long nextCursor
+) {
+}
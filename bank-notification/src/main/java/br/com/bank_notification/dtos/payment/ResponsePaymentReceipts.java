@@ -0,0 +1,13 @@
+package br.com.bank_notification.dtos.payment;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record ResponsePaymentReceipts(
+        Long receiptId,
+        BigDecimal amount,
+        String payerName,
+        Long notificationId,
+        LocalDateTime receivedAt
+) {
+}
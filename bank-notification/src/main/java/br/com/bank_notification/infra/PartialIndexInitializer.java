@@ -0,0 +1,53 @@
+package br.com.bank_notification.infra;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cria os índices parciais que o Hibernate não declara via @Index
+ * Executado na inicialização, depois que o ddl-auto criou as tabelas e colunas
+ *
+ * @component Indica que esta classe é um componente Spring gerenciado pelo container
+ *
+ * @implNote O índice de não visualizadas contém apenas as notificações pendentes de
+ *           leitura, então continua pequeno mesmo com históricos longos; o de pagamentos
+ *           pendentes contém apenas os que aguardam a notificação de resumo
+ *
+ * @author Pablo R.
+ */
+@Component
+public class PartialIndexInitializer implements ApplicationRunner {
+
+    private static final String[] INDEXES = {
+            """
+            CREATE INDEX IF NOT EXISTS idx_notifications_unread
+            ON tb_notifications (user_id)
+            WHERE visualisation = false
+            """,
+            """
+            CREATE INDEX IF NOT EXISTS idx_payment_receipts_pending
+            ON tb_payment_receipts (user_id, receipt_id)
+            WHERE notification_id IS NULL
+            """
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Construtor para injeção de dependências
+     *
+     * @param jdbcTemplate Template JDBC para execução do DDL
+     */
+    public PartialIndexInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        for (String index : INDEXES) {
+            this.jdbcTemplate.execute(index);
+        }
+    }
+}
@@ -1,17 +1,21 @@
 package br.com.bank_notification.kafkaConfig;
 
 import br.com.bank_notification.dtos.user.ConsumerDeleteUser;
-import br.com.bank_notification.dtos.notification.ConsumerNotificationEvent;
-import br.com.bank_notification.dtos.notification.ConsumerNotificationReceivePayment;
+import br.com.bank_notification.dtos.notification.ConsumerNotification;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.MicrometerConsumerListener;
 import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 
 import java.util.Map;
@@ -28,97 +32,73 @@ import java.util.Map;
 public class KafkaConsumerConfig {
 
     private final KafkaProperties kafkaProperties;
+    private final MeterRegistry meterRegistry;
+    private final int maxPollRecords;
 
     /**
      * Construtor para injeção de dependências das propriedades Kafka
      *
      * @param kafka Propriedades de configuração do Kafka providas pelo Spring Boot
+     * @param meterRegistry Registro de métricas (métricas do cliente Kafka, incluindo atraso por partição)
+     * @param maxPollRecords Tamanho máximo de cada lote de notificações
      */
     @Autowired
-    public KafkaConsumerConfig(KafkaProperties kafka) {
+    public KafkaConsumerConfig(
+            KafkaProperties kafka,
+            MeterRegistry meterRegistry,
+            @Value("${notification.ingest.max-poll-records:500}") int maxPollRecords) {
         this.kafkaProperties = kafka;
+        this.meterRegistry = meterRegistry;
+        this.maxPollRecords = maxPollRecords;
     }
 
     /**
-     * Factory para consumir eventos de notificação genéricos
-     * Configura desserializador JSON para mensagens do tipo ConsumerNotificationEvent
+     * Factory para consumir, em lote, os eventos de todos os tópicos de notificação
+     * Todos os formatos são lidos como ConsumerNotification (união dos campos)
      *
-     * @return ConsumerFactory configurado para mensagens ConsumerNotificationEvent
+     * @return ConsumerFactory configurado para mensagens ConsumerNotification
+     * @implNote Um registro que não puder ser desserializado chega ao listener com valor
+     *           nulo em vez de interromper o lote inteiro
      */
     @Bean
-    public ConsumerFactory<String, ConsumerNotificationEvent> consumerNotification() {
+    public ConsumerFactory<String, ConsumerNotification> consumerNotification() {
         Map<String, Object> props = this.kafkaProperties.buildConsumerProperties();
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, this.maxPollRecords);
 
-        JsonDeserializer<ConsumerNotificationEvent> valueDeserializer =
-                new JsonDeserializer<>(ConsumerNotificationEvent.class, false);
+        JsonDeserializer<ConsumerNotification> valueDeserializer =
+                new JsonDeserializer<>(ConsumerNotification.class, false);
 
         valueDeserializer.addTrustedPackages("br.com.bank_notification.dtos.notification");
         valueDeserializer.setRemoveTypeHeaders(false);
         valueDeserializer.setUseTypeMapperForKey(false);
 
-        return new DefaultKafkaConsumerFactory<>(
+        DefaultKafkaConsumerFactory<String, ConsumerNotification> factory = new DefaultKafkaConsumerFactory<>(
                 props,
                 new StringDeserializer(),
-                valueDeserializer
+                new ErrorHandlingDeserializer<>(valueDeserializer)
         );
+        factory.addListener(new MicrometerConsumerListener<>(this.meterRegistry));
+        return factory;
     }
 
     /**
-     * Container factory para listeners de eventos de notificação
-     * Configura acknowledgment manual para controle explícito de commits
+     * Container factory do listener em lote de notificações
+     * Entrega ao listener todos os registros de cada poll, com acknowledgment manual por lote
      *
-     * @return ContainerFactory configurado para ConsumerNotificationEvent
+     * @return ContainerFactory configurado para lotes de ConsumerNotification
      */
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, ConsumerNotificationEvent> kafkaListenerNotificationFactory() {
-        ConcurrentKafkaListenerContainerFactory<String, ConsumerNotificationEvent> factory =
+    public ConcurrentKafkaListenerContainerFactory<String, ConsumerNotification> kafkaListenerNotificationBatchFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, ConsumerNotification> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
 
         factory.setConsumerFactory(consumerNotification());
+        factory.setBatchListener(true);
         factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
         return factory;
     }
     //*************************
 
-    /**
-     * Factory para consumir eventos de recebimento de pagamento
-     * Especializado em processar notificações de transações financeiras
-     *
-     * @return ConsumerFactory configurado para ConsumerNotificationReceivePayment
-     */
-    @Bean
-    public ConsumerFactory<String, ConsumerNotificationReceivePayment> consumerNotificationReceivePayments() {
-        Map<String, Object> props = this.kafkaProperties.buildConsumerProperties();
-
-        JsonDeserializer<ConsumerNotificationReceivePayment> valueDeserializer =
-                new JsonDeserializer<>(ConsumerNotificationReceivePayment.class, false);
-
-        valueDeserializer.addTrustedPackages("br.com.bank_notification.dtos.notification");
-        valueDeserializer.setRemoveTypeHeaders(false);
-        valueDeserializer.setUseTypeMapperForKey(false);
-
-        return new DefaultKafkaConsumerFactory<>(
-                props,
-                new StringDeserializer(),
-                valueDeserializer
-        );
-    }
-
-    /**
-     * Container factory para listeners de recebimento de pagamento
-     *
-     * @return ContainerFactory configurado para ConsumerNotificationReceivePayment
-     */
-    @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, ConsumerNotificationReceivePayment> kafkaListenerNotificationReceivePaymentsFactory() {
-        ConcurrentKafkaListenerContainerFactory<String, ConsumerNotificationReceivePayment> factory =
-                new ConcurrentKafkaListenerContainerFactory<>();
-
-        factory.setConsumerFactory(consumerNotificationReceivePayments());
-        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
-        return factory;
-    }
-
     /**
      * Factory para consumir eventos de exclusão de usuário
      * Processa mensagens relacionadas à exclusão de usuários do sistema
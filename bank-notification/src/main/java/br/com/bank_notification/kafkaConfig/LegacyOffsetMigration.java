@@ -0,0 +1,137 @@
+package br.com.bank_notification.kafkaConfig;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.GroupNotEmptyException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.listener.AbstractMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Migração dos offsets dos antigos grupos por tópico para o grupo do listener em lote
+ * Sem ela, o novo grupo começaria pelo auto-offset-reset (earliest) e reprocessaria
+ * todos os eventos retidos, duplicando notificações e contadores
+ *
+ * @component Indica que esta classe é um componente Spring gerenciado pelo container
+ *
+ * @implNote Executada antes dos containers Kafka (fase menor que a deles). Só copia os
+ *           offsets se o novo grupo ainda não tiver nenhum; tópicos sem offset no grupo
+ *           antigo ficam com o earliest, como em uma instalação nova. Se o Kafka não
+ *           responder, a inicialização falha em vez de arriscar o reprocessamento.
+ *           Depois da migração, pode ser desligada com
+ *           notification.ingest.migrate-legacy-offsets=false
+ *
+ * @author Pablo R.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "notification.ingest.migrate-legacy-offsets", havingValue = "true", matchIfMissing = true)
+public class LegacyOffsetMigration implements SmartLifecycle {
+
+    public static final String BATCH_GROUP_ID = "notification-batch-group";
+
+    /**
+     * Grupo antigo de cada tópico, quando havia um listener por tópico
+     */
+    private static final Map<String, String> LEGACY_GROUPS = Map.of(
+            "notification-card-approved-topic", "notification-approved-group",
+            "notification-receive-payment-topic", "notification-receive-payment-group",
+            "notification-card-canceled-topic", "notification-canceled-group",
+            "welcome-topic", "welcome-group",
+            "notification-limit-card-approved-topic", "notification-limit-card-approved-group",
+            "notification-limit-card-rejected-topic", "notification-limit-card-rejected-group");
+
+    private final KafkaProperties kafkaProperties;
+    private final long timeoutMs;
+    private volatile boolean running = false;
+
+    /**
+     * Construtor para injeção de dependências
+     *
+     * @param kafkaProperties Propriedades do Kafka (conexão do cliente administrativo)
+     * @param timeoutMs Tempo máximo de cada chamada ao Kafka
+     */
+    public LegacyOffsetMigration(
+            KafkaProperties kafkaProperties,
+            @Value("${notification.ingest.migration-timeout-ms:30000}") long timeoutMs) {
+        this.kafkaProperties = kafkaProperties;
+        this.timeoutMs = timeoutMs;
+    }
+
+    @Override
+    public void start() {
+        migrate();
+        this.running = true;
+    }
+
+    @Override
+    public void stop() {
+        this.running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    @Override
+    public int getPhase() {
+        return AbstractMessageListenerContainer.DEFAULT_PHASE - 1;
+    }
+
+    private void migrate() {
+
+        try (Admin admin = Admin.create(this.kafkaProperties.buildAdminProperties(null))) {
+
+            if (!offsets(admin, BATCH_GROUP_ID).isEmpty()) {
+                return;
+            }
+
+            Map<TopicPartition, OffsetAndMetadata> seeded = new HashMap<>();
+            for (Map.Entry<String, String> legacy : LEGACY_GROUPS.entrySet()) {
+                offsets(admin, legacy.getValue()).forEach((partition, offset) -> {
+                    if (offset != null && partition.topic().equals(legacy.getKey())) {
+                        seeded.put(partition, new OffsetAndMetadata(offset.offset()));
+                    }
+                });
+            }
+
+            if (seeded.isEmpty()) {
+                return;
+            }
+
+            admin.alterConsumerGroupOffsets(BATCH_GROUP_ID, seeded).all().get(this.timeoutMs, TimeUnit.MILLISECONDS);
+            log.info("Seeded {} with {} partition offsets from the legacy notification groups", BATCH_GROUP_ID, seeded.size());
+
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof GroupNotEmptyException) {
+                // Outra instância migrou e já começou a consumir
+                return;
+            }
+            throw new IllegalStateException("Could not migrate legacy notification consumer offsets", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Could not migrate legacy notification consumer offsets", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while migrating legacy notification consumer offsets", e);
+        }
+    }
+
+    private Map<TopicPartition, OffsetAndMetadata> offsets(Admin admin, String groupId)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        return admin.listConsumerGroupOffsets(groupId)
+                .partitionsToOffsetAndMetadata()
+                .get(this.timeoutMs, TimeUnit.MILLISECONDS);
+    }
+}
@@ -17,16 +17,22 @@ import java.time.LocalDate;
  * @author Pablo R.
  */
 @Entity
-@Table(name = "tb_notifications")
+@Table(name = "tb_notifications", indexes = {
+        @Index(name = "idx_notifications_user_id_notification_id", columnList = "user_id, notification_id"),
+        @Index(name = "idx_notifications_feed", columnList = "user_id, show_notification, notification_id"),
+        @Index(name = "idx_notifications_source", columnList = "source_topic, source_partition, source_offset")
+})
 @Data
 public class Notification {
 
     /**
      * Identificador único da notificação (chave primária)
-     * Gerado automaticamente via estratégia AUTO do banco de dados
+     * Gerado pela sequência tb_notifications_seq, reservada em blocos de 50 IDs
+     * para que os inserts em lote não consultem a sequência a cada linha
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tb_notifications_seq")
+    @SequenceGenerator(name = "tb_notifications_seq", sequenceName = "tb_notifications_seq", allocationSize = 50)
     private Long notificationId;
 
     /**
@@ -36,11 +42,24 @@ public class Notification {
     private String userId;
 
     /**
-     * Conteúdo da mensagem da notificação
-     * Texto que será exibido para o usuário
+     * Conteúdo completo da mensagem das notificações anteriores aos modelos
+     * Nulo nas novas notificações, que gravam apenas templateId e params
      */
     private String message;
 
+    /**
+     * Código do modelo da mensagem (ver NotificationTemplate)
+     * O texto é montado na leitura, no idioma do usuário
+     */
+    @Column(name = "template_id")
+    private Short templateId;
+
+    /**
+     * Parâmetros do modelo (ex.: valor e remetente de um pagamento)
+     * Separados pelo caractere de controle US; nulo em modelos sem parâmetros
+     */
+    private String params;
+
     /**
      * Indica se a notificação foi visualizada pelo usuário
      * Valor padrão: false (não visualizada)
@@ -60,4 +79,18 @@ public class Notification {
      */
     @CreationTimestamp
     private LocalDate timestamp;
+
+    /**
+     * Tópico, partição e offset do registro Kafka de origem (nulo nos resumos)
+     * Um lote reentregue não grava a mesma notificação de novo. Índice comum, não
+     * único: na tabela particionada uma restrição única precisaria incluir "timestamp"
+     */
+    @Column(name = "source_topic")
+    private String sourceTopic;
+
+    @Column(name = "source_partition")
+    private Integer sourcePartition;
+
+    @Column(name = "source_offset")
+    private Long sourceOffset;
 }
\ No newline at end of file
@@ -0,0 +1,85 @@
+package br.com.bank_notification.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Entidade que representa um pagamento recebido, como chegou no tópico de pagamentos
+ * Os pagamentos de um usuário em uma mesma janela geram uma única notificação
+ * (resumo); cada um continua consultável por aqui
+ *
+ * @entity Indica que esta classe é uma entidade JPA
+ * @table Especifica o nome da tabela no banco de dados
+ * @data Lombok - gera getters, setters, equals, hashCode e toString
+ *
+ * @author Pablo R.
+ */
+@Entity
+@Table(name = "tb_payment_receipts", indexes = {
+        @Index(name = "idx_payment_receipts_user_id_receipt_id", columnList = "user_id, receipt_id"),
+        @Index(name = "idx_payment_receipts_notification_id", columnList = "notification_id")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_payment_receipts_source", columnNames = {"source_topic", "source_partition", "source_offset"})
+})
+@Data
+public class PaymentReceipt {
+
+    /**
+     * Identificador único do pagamento recebido (chave primária)
+     * Gerado pela sequência tb_payment_receipts_seq, reservada em blocos de 50 IDs
+     * para que os inserts em lote não consultem a sequência a cada linha
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tb_payment_receipts_seq")
+    @SequenceGenerator(name = "tb_payment_receipts_seq", sequenceName = "tb_payment_receipts_seq", allocationSize = 50)
+    @Column(name = "receipt_id")
+    private Long receiptId;
+
+    /**
+     * ID do usuário que recebeu o pagamento
+     */
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    /**
+     * Valor recebido
+     */
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    /**
+     * Nome de quem enviou o pagamento
+     */
+    private String payerName;
+
+    /**
+     * Notificação que resumiu o pagamento
+     * Nulo enquanto o pagamento aguarda o fim da janela
+     */
+    @Column(name = "notification_id")
+    private Long notificationId;
+
+    /**
+     * Data e hora do recebimento
+     * Preenchida automaticamente pelo Hibernate na criação
+     */
+    @CreationTimestamp
+    private LocalDateTime receivedAt;
+
+    /**
+     * Tópico, partição e offset do registro Kafka de origem
+     * Identificam o pagamento: um lote reentregue não grava o mesmo pagamento de novo
+     */
+    @Column(name = "source_topic")
+    private String sourceTopic;
+
+    @Column(name = "source_partition")
+    private Integer sourcePartition;
+
+    @Column(name = "source_offset")
+    private Long sourceOffset;
+}
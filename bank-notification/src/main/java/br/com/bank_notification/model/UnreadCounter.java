@@ -0,0 +1,34 @@
+package br.com.bank_notification.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * Entidade com a quantidade de notificações não visualizadas de cada usuário
+ * Mantida junto com as inserções e marcações de leitura, para que o contador do
+ * sino seja uma leitura por chave primária em vez de uma contagem
+ *
+ * @entity Indica que esta classe é uma entidade JPA
+ * @table Especifica o nome da tabela no banco de dados
+ * @data Lombok - gera getters, setters, equals, hashCode e toString
+ *
+ * @author Pablo R.
+ */
+@Entity
+@Table(name = "tb_unread_counters")
+@Data
+public class UnreadCounter {
+
+    /**
+     * ID do usuário dono do contador (chave primária)
+     */
+    @Id
+    @Column(name = "user_id")
+    private String userId;
+
+    /**
+     * Quantidade de notificações não visualizadas
+     */
+    @Column(nullable = false)
+    private Integer unread;
+}
@@ -1,8 +1,12 @@
 package br.com.bank_notification.repository;
 
 import br.com.bank_notification.model.Notification;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -14,12 +18,48 @@ import java.util.List;
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
 
     /**
-     * Busca todas as notificações de um usuário específico
+     * Primeira página do feed do usuário, das mais novas para as mais antigas
      *
-     * @param userId ID do usuário para busca
-     * @return Lista de notificações do usuário (pode estar vazia)
+     * @param userId ID do usuário
+     * @param show true para as notificações visíveis, false para as ocultas
+     * @param limit Tamanho da página
+     * @return Notificações mais recentes com a visibilidade informada
+     * @implNote Percorre o índice idx_notifications_feed de trás para frente e para
+     *           no limite; o custo não depende do tamanho do histórico
      */
-    List<Notification> findAllByUserId(String userId);
+    @Query("""
+            select n from Notification n
+            where n.userId = :userId and n.showNotification = :show
+            order by n.notificationId desc""")
+    List<Notification> findFeed(String userId, Boolean show, Limit limit);
+
+    /**
+     * Página seguinte do feed do usuário, a partir do cursor
+     *
+     * @param userId ID do usuário
+     * @param show true para as notificações visíveis, false para as ocultas
+     * @param before ID da última notificação da página anterior
+     * @param limit Tamanho da página
+     * @return Notificações mais antigas que o cursor com a visibilidade informada
+     * @implNote Busca por faixa no índice idx_notifications_feed, sem OFFSET
+     */
+    @Query("""
+            select n from Notification n
+            where n.userId = :userId and n.showNotification = :show and n.notificationId < :before
+            order by n.notificationId desc""")
+    List<Notification> findFeedBefore(String userId, Boolean show, Long before, Limit limit);
+
+    /**
+     * Busca as notificações do usuário posteriores a um ID, em ordem de criação
+     *
+     * @param userId ID do usuário
+     * @param notificationId ID da última notificação já recebida
+     * @param limit Quantidade máxima de notificações
+     * @return Notificações mais novas que o ID informado, mais antigas primeiro
+     * @implNote Percorre o índice idx_notifications_user_id_notification_id
+     */
+    List<Notification> findByUserIdAndNotificationIdGreaterThanOrderByNotificationId(
+            String userId, Long notificationId, Limit limit);
 
     /**
      * Conta o número de notificações não visualizadas de um usuário
@@ -29,6 +69,71 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
      */
     int countByUserIdAndVisualisationFalse(String userId);
 
+    /**
+     * Marca como visualizadas, em um único comando, as notificações não visualizadas de um usuário
+     *
+     * @param userId ID do usuário
+     * @return Quantidade de notificações alteradas
+     * @implNote Localiza as linhas pelo índice parcial idx_notifications_unread, que contém
+     *           apenas as não visualizadas; o custo não depende do tamanho do histórico
+     */
+    @Modifying
+    @Query("update Notification n set n.visualisation = true where n.userId = :userId and n.visualisation = false")
+    int markAllAsRead(String userId);
+
+    /**
+     * Maior ID entre as notificações criadas antes da data de corte
+     * Limite superior da varredura da retenção
+     *
+     * @param cutoff Data de corte
+     * @return Maior ID anterior ao corte ou null se não houver notificações antigas
+     */
+    @Query("select max(n.notificationId) from Notification n where n.timestamp < :cutoff")
+    Long findRetentionBoundary(LocalDate cutoff);
+
+    /**
+     * Próximo lote de notificações lidas anteriores à data de corte, por ordem de ID
+     *
+     * @param after ID da última notificação do lote anterior (0 no primeiro lote)
+     * @param upTo Limite superior da varredura
+     * @param cutoff Data de corte
+     * @param limit Tamanho do lote
+     * @return IDs das notificações a remover
+     * @implNote Busca por faixa na chave primária a partir do cursor, sem OFFSET; cada
+     *           lote lê apenas as linhas entre o cursor e o último ID retornado
+     */
+    @Query("""
+            select n.notificationId from Notification n
+            where n.notificationId > :after and n.notificationId <= :upTo
+            and n.timestamp < :cutoff and n.visualisation = true
+            order by n.notificationId""")
+    List<Long> findRetentionChunk(Long after, Long upTo, LocalDate cutoff, Limit limit);
+
+    /**
+     * Remove as notificações informadas
+     *
+     * @param ids IDs das notificações
+     * @return Quantidade de notificações removidas
+     */
+    @Modifying
+    @Query("delete from Notification n where n.notificationId in :ids")
+    int deleteAllByNotificationIdIn(List<Long> ids);
+
+    /**
+     * Offsets de uma partição já gravados como notificações
+     * Usado para descartar os registros de um lote reentregue pelo Kafka
+     *
+     * @param topic Tópico de origem
+     * @param partition Partição de origem
+     * @param from Menor offset do lote
+     * @param to Maior offset do lote
+     * @return Offsets do intervalo que já existem
+     */
+    @Query("""
+            select n.sourceOffset from Notification n
+            where n.sourceTopic = :topic and n.sourcePartition = :partition and n.sourceOffset between :from and :to""")
+    List<Long> findSourceOffsets(String topic, Integer partition, Long from, Long to);
+
     /**
      * Remove todas as notificações associadas a um usuário
      *
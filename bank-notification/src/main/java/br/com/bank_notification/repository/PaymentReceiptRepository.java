@@ -0,0 +1,146 @@
+package br.com.bank_notification.repository;
+
+import br.com.bank_notification.model.PaymentReceipt;
+import br.com.bank_notification.service.digest.PendingDigest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repositório para operações de persistência e consulta de entidades PaymentReceipt
+ * Fornece a ligação dos pagamentos ao resumo e as consultas dos pagamentos recebidos
+ *
+ * @author Pablo R.
+ */
+public interface PaymentReceiptRepository extends JpaRepository<PaymentReceipt, Long> {
+
+    /**
+     * Liga ao resumo os pagamentos do usuário que ainda não têm notificação
+     *
+     * @param userId ID do usuário
+     * @param upToReceiptId Maior ID de pagamento a incluir
+     * @param notificationId ID da notificação de resumo
+     * @return Quantidade de pagamentos ligados (0 se outro processo já os resumiu)
+     * @implNote Localiza as linhas pelo índice parcial idx_payment_receipts_pending
+     */
+    @Modifying
+    @Query("""
+            update PaymentReceipt r set r.notificationId = :notificationId
+            where r.userId = :userId and r.notificationId is null and r.receiptId <= :upToReceiptId""")
+    int link(String userId, Long upToReceiptId, Long notificationId);
+
+    /**
+     * Offsets de uma partição já gravados como pagamentos recebidos
+     * Usado para descartar os registros de um lote reentregue pelo Kafka
+     *
+     * @param topic Tópico de origem
+     * @param partition Partição de origem
+     * @param from Menor offset do lote
+     * @param to Maior offset do lote
+     * @return Offsets do intervalo que já existem
+     */
+    @Query("""
+            select r.sourceOffset from PaymentReceipt r
+            where r.sourceTopic = :topic and r.sourcePartition = :partition and r.sourceOffset between :from and :to""")
+    List<Long> findSourceOffsets(String topic, Integer partition, Long from, Long to);
+
+    /**
+     * Soma os valores dos pagamentos de um resumo
+     *
+     * @param notificationId ID da notificação de resumo
+     * @return Total recebido
+     */
+    @Query("select coalesce(sum(r.amount), 0) from PaymentReceipt r where r.notificationId = :notificationId")
+    BigDecimal totalByNotificationId(Long notificationId);
+
+    /**
+     * Busca um pagamento de um resumo (usado quando o resumo tem um único pagamento)
+     *
+     * @param notificationId ID da notificação de resumo
+     * @return Pagamento ligado ao resumo
+     */
+    PaymentReceipt findFirstByNotificationId(Long notificationId);
+
+    /**
+     * Usuários com pagamentos sem resumo recebidos antes do instante informado
+     * Recupera o que ficou fora do buffer em memória (buffer cheio ou reinício do serviço)
+     *
+     * @param before Pagamentos recebidos antes deste instante
+     * @param limit Quantidade máxima de usuários
+     * @return Usuário e maior ID de pagamento pendente de cada um
+     * @implNote Percorre apenas o índice parcial idx_payment_receipts_pending
+     */
+    @Query("""
+            select new br.com.bank_notification.service.digest.PendingDigest(r.userId, max(r.receiptId))
+            from PaymentReceipt r
+            where r.notificationId is null
+            group by r.userId
+            having min(r.receivedAt) < :before""")
+    List<PendingDigest> findStale(LocalDateTime before, Limit limit);
+
+    /**
+     * Primeira página dos pagamentos recebidos pelo usuário, mais novos primeiro
+     *
+     * @param userId ID do usuário
+     * @param limit Tamanho da página
+     * @return Pagamentos mais recentes
+     */
+    List<PaymentReceipt> findByUserIdOrderByReceiptIdDesc(String userId, Limit limit);
+
+    /**
+     * Página seguinte dos pagamentos recebidos pelo usuário, a partir do cursor
+     *
+     * @param userId ID do usuário
+     * @param before ID do último pagamento da página anterior
+     * @param limit Tamanho da página
+     * @return Pagamentos mais antigos que o cursor
+     */
+    List<PaymentReceipt> findByUserIdAndReceiptIdLessThanOrderByReceiptIdDesc(String userId, Long before, Limit limit);
+
+    /**
+     * Primeira página dos pagamentos de um resumo, mais novos primeiro
+     *
+     * @param userId ID do usuário (garante que o resumo é do usuário)
+     * @param notificationId ID da notificação de resumo
+     * @param limit Tamanho da página
+     * @return Pagamentos do resumo
+     */
+    List<PaymentReceipt> findByUserIdAndNotificationIdOrderByReceiptIdDesc(String userId, Long notificationId, Limit limit);
+
+    /**
+     * Página seguinte dos pagamentos de um resumo, a partir do cursor
+     *
+     * @param userId ID do usuário (garante que o resumo é do usuário)
+     * @param notificationId ID da notificação de resumo
+     * @param before ID do último pagamento da página anterior
+     * @param limit Tamanho da página
+     * @return Pagamentos do resumo mais antigos que o cursor
+     */
+    List<PaymentReceipt> findByUserIdAndNotificationIdAndReceiptIdLessThanOrderByReceiptIdDesc(
+            String userId, Long notificationId, Long before, Limit limit);
+
+    /**
+     * Remove os pagamentos ligados às notificações informadas
+     *
+     * @param notificationIds IDs das notificações de resumo removidas
+     * @return Quantidade de registros removidos
+     */
+    @Modifying
+    @Query("delete from PaymentReceipt r where r.notificationId in :notificationIds")
+    int deleteAllByNotificationIdIn(List<Long> notificationIds);
+
+    /**
+     * Remove todos os pagamentos recebidos por um usuário
+     *
+     * @param userId ID do usuário
+     * @return Quantidade de registros removidos
+     */
+    @Modifying
+    @Query("delete from PaymentReceipt r where r.userId = :userId")
+    int deleteAllByUserId(String userId);
+}
@@ -0,0 +1,58 @@
+package br.com.bank_notification.repository;
+
+import br.com.bank_notification.model.UnreadCounter;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+/**
+ * Repositório para operações de persistência e consulta de entidades UnreadCounter
+ * A chave é o ID do usuário
+ *
+ * @author Pablo R.
+ */
+public interface UnreadCounterRepository extends JpaRepository<UnreadCounter, String> {
+
+    /**
+     * Soma um valor ao contador do usuário
+     *
+     * @param userId ID do usuário
+     * @param delta Valor a somar
+     * @return 1 se o contador existe, 0 se ainda não foi criado
+     */
+    @Modifying
+    @Query("update UnreadCounter c set c.unread = c.unread + :delta where c.userId = :userId")
+    int increment(String userId, int delta);
+
+    /**
+     * Cria o contador a partir das notificações não visualizadas já gravadas
+     * Se outro processo criou o contador antes, apenas soma o valor informado
+     *
+     * @param userId ID do usuário
+     * @param delta Valor a somar caso o contador já exista (0 para apenas criar)
+     * @return Quantidade de linhas inseridas ou atualizadas
+     * @implNote Executado uma única vez por usuário; a contagem usa o índice parcial
+     *           idx_notifications_unread e inclui as inserções da transação atual
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            insert into tb_unread_counters (user_id, unread)
+            select :userId, count(*) from tb_notifications
+            where user_id = :userId and visualisation = false
+            on conflict (user_id) do update set unread = tb_unread_counters.unread + :delta
+            """, nativeQuery = true)
+    int seed(String userId, int delta);
+
+    /**
+     * Subtrai do contador do usuário as notificações visualizadas, sem ficar negativo
+     *
+     * @param userId ID do usuário
+     * @param count Quantidade de notificações marcadas como visualizadas
+     * @return Quantidade de contadores atualizados
+     */
+    @Modifying
+    @Query("update UnreadCounter c set c.unread = greatest(c.unread - :count, 0) where c.userId = :userId")
+    int decrement(String userId, int count);
+}
@@ -0,0 +1,188 @@
+package br.com.bank_notification.scheduler;
+
+import br.com.bank_notification.service.retention.NotificationRetentionService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Job diário de retenção de tb_notifications
+ * Remove as notificações lidas mais antigas que o prazo configurado
+ *
+ * - notification.retention.purged: notificações removidas (total, por modo)
+ * - notification.retention.run.purged: notificações removidas em cada execução
+ * - notification.retention.run.duration: duração de cada execução
+ *
+ * @component Indica que esta classe é um componente Spring gerenciado pelo container
+ *
+ * @implNote Sem partições, remove em lotes pequenos percorrendo a chave primária, com
+ *           uma transação e uma pausa por lote, para não gerar um pico de WAL nem segurar
+ *           locks; a execução para ao atingir max-duration-ms e continua na seguinte.
+ *           Com a tabela particionada, cria as partições dos próximos meses e remove as
+ *           expiradas sem notificações não lidas; se alguma expirada ainda tiver não lidas,
+ *           as lidas dela saem pelos lotes, como sem partições. Os dois modos removem
+ *           apenas notificações lidas. Roda em thread virtual do agendador, então as
+ *           pausas não atrasam os outros jobs
+ *
+ * @author Pablo R.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "notification.retention.enabled", havingValue = "true", matchIfMissing = true)
+public class NotificationRetentionJob {
+
+    private final NotificationRetentionService notificationRetentionService;
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary runPurged;
+    private final Timer runDuration;
+    private final int retentionDays;
+    private final int chunkSize;
+    private final long pauseMs;
+    private final long maxDurationMs;
+    private final int partitionsAhead;
+
+    /**
+     * Construtor para injeção de dependências
+     *
+     * @param notificationRetentionService Serviço de retenção
+     * @param meterRegistry Registro de métricas do Micrometer
+     * @param retentionDays Idade, em dias, a partir da qual as notificações são removidas
+     * @param chunkSize Notificações removidas por transação
+     * @param pauseMs Pausa entre os lotes
+     * @param maxDurationMs Duração máxima de uma execução
+     * @param partitionsAhead Meses futuros com partição criada antecipadamente
+     */
+    public NotificationRetentionJob(
+            NotificationRetentionService notificationRetentionService,
+            MeterRegistry meterRegistry,
+            @Value("${notification.retention.days:90}") int retentionDays,
+            @Value("${notification.retention.chunk-size:1000}") int chunkSize,
+            @Value("${notification.retention.pause-ms:200}") long pauseMs,
+            @Value("${notification.retention.max-duration-ms:1800000}") long maxDurationMs,
+            @Value("${notification.retention.partitions-ahead:2}") int partitionsAhead) {
+
+        this.notificationRetentionService = notificationRetentionService;
+        this.meterRegistry = meterRegistry;
+        this.retentionDays = retentionDays;
+        this.chunkSize = chunkSize;
+        this.pauseMs = pauseMs;
+        this.maxDurationMs = maxDurationMs;
+        this.partitionsAhead = partitionsAhead;
+        this.runPurged = DistributionSummary.builder("notification.retention.run.purged")
+                .description("Notifications purged per retention run")
+                .register(meterRegistry);
+        this.runDuration = Timer.builder("notification.retention.run.duration")
+                .description("Duration of each retention run")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Executa a retenção no horário configurado (padrão 03:30)
+     */
+    @Scheduled(cron = "${notification.retention.cron:0 30 3 * * *}")
+    public void run() {
+
+        long start = System.nanoTime();
+        LocalDate cutoff = LocalDate.now().minusDays(this.retentionDays);
+        boolean partitioned = this.notificationRetentionService.partitioned();
+
+        long purged;
+        try {
+            purged = partitioned ? dropPartitions(cutoff, start) : purgeChunks(cutoff, start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        Duration duration = Duration.ofNanos(System.nanoTime() - start);
+        this.runPurged.record(purged);
+        this.runDuration.record(duration);
+        log.info("Notification retention removed {} rows older than {} in {} ms", purged, cutoff, duration.toMillis());
+    }
+
+    private long purgeChunks(LocalDate cutoff, long start) throws InterruptedException {
+
+        Long upTo = this.notificationRetentionService.boundary(cutoff);
+
+        if (upTo == null) {
+            return 0;
+        }
+
+        Counter purgedCounter = purgedCounter("delete");
+        long deadline = start + Duration.ofMillis(this.maxDurationMs).toNanos();
+        long after = 0;
+        long purged = 0;
+
+        while (System.nanoTime() < deadline) {
+
+            List<Long> ids = this.notificationRetentionService.nextChunk(after, upTo, cutoff, this.chunkSize);
+
+            if (ids.isEmpty()) {
+                break;
+            }
+
+            int deleted = this.notificationRetentionService.purge(ids);
+            purged += deleted;
+            purgedCounter.increment(deleted);
+            after = ids.get(ids.size() - 1);
+
+            if (ids.size() < this.chunkSize) {
+                break;
+            }
+            Thread.sleep(this.pauseMs);
+        }
+        return purged;
+    }
+
+    private long dropPartitions(LocalDate cutoff, long start) throws InterruptedException {
+
+        this.notificationRetentionService.createPartitions(this.partitionsAhead);
+
+        Counter purgedCounter = purgedCounter("partition");
+        long purged = 0;
+        boolean kept = false;
+
+        for (String partition : this.notificationRetentionService.expiredPartitions(cutoff)) {
+            long rows;
+            try {
+                rows = this.notificationRetentionService.dropPartition(partition);
+            } catch (PessimisticLockingFailureException e) {
+                kept = true;
+                log.info("Kept notification partition {}: tb_notifications is busy", partition);
+                continue;
+            }
+
+            if (rows < 0) {
+                kept = true;
+                log.info("Kept notification partition {}: it still has unread notifications", partition);
+                continue;
+            }
+
+            purged += rows;
+            purgedCounter.increment(rows);
+            log.info("Dropped notification partition {} ({} rows)", partition, rows);
+            Thread.sleep(this.pauseMs);
+        }
+
+        // Partições mantidas: as lidas saem em lotes, como na tabela sem partições
+        return kept ? purged + purgeChunks(cutoff, start) : purged;
+    }
+
+    private Counter purgedCounter(String mode) {
+        return Counter.builder("notification.retention.purged")
+                .description("Notifications removed by the retention job")
+                .tag("mode", mode)
+                .register(this.meterRegistry);
+    }
+}
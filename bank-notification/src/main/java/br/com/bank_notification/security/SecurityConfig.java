@@ -38,7 +38,7 @@ public class SecurityConfig {
                     CorsConfiguration configuration = new CorsConfiguration();
                     configuration.setAllowedOrigins(List.of("http://localhost:4200"));
                     configuration.setAllowedMethods(List.of("GET","POST","PUT","DELETE"));
-                    configuration.setAllowedHeaders(List.of("Content-Type","Authorization"));
+                    configuration.setAllowedHeaders(List.of("Content-Type","Authorization","Last-Event-ID"));
                     return configuration;
                 }))
                 .authorizeHttpRequests(authorize -> authorize
@@ -1,16 +1,31 @@
 package br.com.bank_notification.service;
 
+import br.com.bank_notification.dtos.notification.ConsumerNotification;
 import br.com.bank_notification.dtos.notification.RequestNotificationId;
+import br.com.bank_notification.dtos.notification.ResponseNotificationPage;
 import br.com.bank_notification.dtos.notification.ResponseNotifications;
 import br.com.bank_notification.model.Notification;
 import br.com.bank_notification.repository.NotificationRepository;
+import br.com.bank_notification.service.counter.UnreadCounterService;
+import br.com.bank_notification.service.stream.NotificationCreated;
+import br.com.bank_notification.template.NotificationRenderer;
+import br.com.bank_notification.template.NotificationTemplate;
+import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Serviço para gerenciamento de notificações do sistema bancário
@@ -23,66 +38,191 @@ import java.util.stream.Collectors;
 @Service
 public class NotificationService {
 
+    private static final int MAX_FEED_PAGE_SIZE = 100;
+
     private final NotificationRepository notificationRepository;
+    private final UnreadCounterService unreadCounterService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final NotificationRenderer notificationRenderer;
 
     /**
      * Construtor para injeção de dependências do repositório de notificações
      *
      * @param notificationRepository Repositório para operações de banco de dados
+     * @param unreadCounterService Contador de notificações não visualizadas
+     * @param eventPublisher Publicador das novas notificações para as conexões SSE
+     * @param notificationRenderer Montagem do texto das notificações a partir do modelo
      */
     @Autowired
-    public NotificationService(NotificationRepository notificationRepository) {
+    public NotificationService(
+            NotificationRepository notificationRepository,
+            UnreadCounterService unreadCounterService,
+            ApplicationEventPublisher eventPublisher,
+            NotificationRenderer notificationRenderer) {
         this.notificationRepository = notificationRepository;
+        this.unreadCounterService = unreadCounterService;
+        this.eventPublisher = eventPublisher;
+        this.notificationRenderer = notificationRenderer;
+    }
+
+    /**
+     * Cria uma notificação para o usuário e atualiza seu contador de não visualizadas
+     * Após o commit, a notificação é enviada às conexões abertas do usuário
+     *
+     * @param userId ID do usuário destinatário
+     * @param template Modelo da mensagem
+     * @param event Evento com os parâmetros do modelo
+     * @return Notificação gravada
+     */
+    @Transactional
+    public Notification createNotification(String userId, NotificationTemplate template, ConsumerNotification event) {
+
+        var notification = new Notification();
+        notification.setUserId(userId);
+        notification.setTemplateId(template.getCode());
+        notification.setParams(template.params(event));
+        createNotifications(List.of(notification));
+        return notification;
     }
 
     /**
-     * Retorna todas as notificações visíveis do usuário
-     * Filtra notificações que devem ser exibidas na tela inicial
+     * Grava um lote de notificações e atualiza os contadores de não visualizadas
+     * Após o commit, cada notificação é enviada às conexões abertas do destinatário
+     *
+     * @param notifications Notificações a gravar
+     * @implNote Os inserts são enviados em batch JDBC (IDs reservados em blocos pela
+     *           sequência) e cada contador recebe um único UPDATE com o total do usuário.
+     *           Notificações com registro Kafka de origem já gravado em uma entrega
+     *           anterior são descartadas, sem contar de novo
+     */
+    @Transactional
+    public void createNotifications(List<Notification> notifications) {
+
+        notifications = withoutRedelivered(notifications);
+
+        if (notifications.isEmpty()) {
+            return;
+        }
+
+        this.notificationRepository.saveAll(notifications);
+
+        Map<String, Integer> perUser = new HashMap<>();
+        for (Notification notification : notifications) {
+            perUser.merge(notification.getUserId(), 1, Integer::sum);
+        }
+        perUser.forEach(this.unreadCounterService::increment);
+
+        for (Notification notification : notifications) {
+            this.eventPublisher.publishEvent(new NotificationCreated(notification.getUserId(), notification));
+        }
+    }
+
+    /**
+     * Descarta as notificações cujo registro de origem (tópico, partição e offset) já foi gravado
+     * Uma consulta por partição do lote, pelo intervalo de offsets
+     */
+    private List<Notification> withoutRedelivered(List<Notification> notifications) {
+
+        Map<String, List<Notification>> byPartition = new LinkedHashMap<>();
+        List<Notification> fresh = new ArrayList<>(notifications.size());
+
+        for (Notification notification : notifications) {
+            if (notification.getSourceTopic() == null) {
+                fresh.add(notification);
+            } else {
+                byPartition.computeIfAbsent(notification.getSourceTopic() + "-" + notification.getSourcePartition(),
+                        key -> new ArrayList<>()).add(notification);
+            }
+        }
+
+        for (List<Notification> partition : byPartition.values()) {
+
+            Notification first = partition.get(0);
+            long from = partition.stream().mapToLong(Notification::getSourceOffset).min().orElseThrow();
+            long to = partition.stream().mapToLong(Notification::getSourceOffset).max().orElseThrow();
+            Set<Long> stored = new HashSet<>(this.notificationRepository.findSourceOffsets(
+                    first.getSourceTopic(), first.getSourcePartition(), from, to));
+
+            for (Notification notification : partition) {
+                if (stored.add(notification.getSourceOffset())) {
+                    fresh.add(notification);
+                }
+            }
+        }
+        return fresh;
+    }
+
+    /**
+     * Remove todas as notificações e o contador do usuário
+     *
+     * @param userId ID do usuário excluído
+     */
+    @Transactional
+    public void deleteUser(String userId) {
+        this.notificationRepository.deleteAllByUserId(userId);
+        this.unreadCounterService.remove(userId);
+    }
+
+    /**
+     * Retorna uma página das notificações visíveis do usuário, mais novas primeiro
+     * Notificações que devem ser exibidas na tela inicial
      *
      * @param token Token JWT de autenticação contendo ID do usuário
-     * @return ResponseEntity com lista de notificações visíveis
+     * @param cursor ID da última notificação da página anterior (null na primeira página)
+     * @param size Tamanho da página (limitado a MAX_FEED_PAGE_SIZE)
+     * @param locale Idioma das mensagens
+     * @return ResponseEntity com a página e o cursor da próxima (null na última)
      */
-    public ResponseEntity<List<ResponseNotifications>> allNotifications(JwtAuthenticationToken token) {
-
-        List<ResponseNotifications> notifications = this.notificationRepository.findAllByUserId(token.getName()).stream()
-                .filter(notification -> Boolean.TRUE.equals(notification.getShowNotification()))
-                .map(notification -> new ResponseNotifications(
-                        notification.getNotificationId(),
-                        notification.getMessage(),
-                        notification.getShowNotification(),
-                        notification.getTimestamp()))
-                .collect(Collectors.toList());
-
-        return ResponseEntity.ok(notifications);
+    public ResponseEntity<ResponseNotificationPage> allNotifications(JwtAuthenticationToken token, Long cursor, int size, Locale locale) {
+        return ResponseEntity.ok(feed(token.getName(), true, cursor, size, locale));
     }
 
     /**
-     * Retorna todas as notificações ocultas do usuário
-     * Filtra notificações que foram removidas da tela inicial
+     * Retorna uma página das notificações ocultas do usuário, mais novas primeiro
+     * Notificações que foram removidas da tela inicial
      *
      * @param token Token JWT de autenticação contendo ID do usuário
-     * @return ResponseEntity com lista de notificações ocultas
+     * @param cursor ID da última notificação da página anterior (null na primeira página)
+     * @param size Tamanho da página (limitado a MAX_FEED_PAGE_SIZE)
+     * @param locale Idioma das mensagens
+     * @return ResponseEntity com a página e o cursor da próxima (null na última)
      */
-    public ResponseEntity<List<ResponseNotifications>> allNotificationsOccult(JwtAuthenticationToken token) {
-
-        List<ResponseNotifications> notifications = this.notificationRepository.findAllByUserId(token.getName()).stream()
-                .filter(notification -> Boolean.FALSE.equals(notification.getShowNotification()))
-                .map(notification -> new ResponseNotifications(
-                        notification.getNotificationId(),
-                        notification.getMessage(),
-                        notification.getShowNotification(),
-                        notification.getTimestamp()))
-                .collect(Collectors.toList());
-
-        return ResponseEntity.ok(notifications);
+    public ResponseEntity<ResponseNotificationPage> allNotificationsOccult(JwtAuthenticationToken token, Long cursor, int size, Locale locale) {
+        return ResponseEntity.ok(feed(token.getName(), false, cursor, size, locale));
+    }
+
+    /**
+     * Monta uma página do feed por keyset sobre o ID da notificação
+     * O filtro de visibilidade e a ordenação ficam no banco, sobre o índice idx_notifications_feed;
+     * o texto de cada notificação é montado a partir do modelo no idioma informado
+     */
+    private ResponseNotificationPage feed(String userId, boolean show, Long cursor, int size, Locale locale) {
+
+        Limit limit = Limit.of(Math.clamp(size, 1, MAX_FEED_PAGE_SIZE));
+
+        List<Notification> notifications = cursor == null
+                ? this.notificationRepository.findFeed(userId, show, limit)
+                : this.notificationRepository.findFeedBefore(userId, show, cursor, limit);
+
+        Long nextCursor = notifications.size() == limit.max()
+                ? notifications.get(notifications.size() - 1).getNotificationId()
+                : null;
+
+        List<ResponseNotifications> items = notifications.stream()
+                .map(notification -> this.notificationRenderer.toResponse(notification, locale))
+                .toList();
+
+        return new ResponseNotificationPage(items, nextCursor);
     }
 
     /**
      * Oculta uma notificação específica da tela inicial
-     * Altera o flag showNotification para false
+     * Altera o flag showNotification para false; uma notificação ainda não visualizada
+     * passa a contar como visualizada
      *
      * @param request DTO contendo o ID da notificação a ser ocultada
      */
+    @Transactional
     public void occultNotification(RequestNotificationId request) {
 
         var notification = this.notificationRepository.findById(request.notificationId());
@@ -92,26 +232,30 @@ public class NotificationService {
         }
 
         notification.get().setShowNotification(false);
+
+        if (Boolean.FALSE.equals(notification.get().getVisualisation())) {
+            notification.get().setVisualisation(true);
+            this.unreadCounterService.decrement(notification.get().getUserId(), 1);
+        }
         this.notificationRepository.save(notification.get());
     }
 
     /**
      * Marca todas as notificações do usuário como visualizadas
-     * Altera o flag visualisation para true em todas as notificações
+     * Altera o flag visualisation para true nas notificações ainda não visualizadas
      *
      * @param token Token JWT de autenticação contendo ID do usuário
-     * @return ResponseEntity vazio com status 200
+     * @return ResponseEntity com a quantidade de notificações alteradas
+     * @implNote Um único UPDATE, independente da quantidade de notificações do usuário.
+     *           O contador é reduzido pelas linhas alteradas, não zerado, para não
+     *           descontar uma notificação que o UPDATE não chegou a marcar
      */
-    public ResponseEntity<Void> visualisation(JwtAuthenticationToken token) {
-
-        List<Notification> notifications = this.notificationRepository.findAllByUserId(token.getName());
-
-        for (var notification : notifications) {
-            notification.setVisualisation(true);
-            this.notificationRepository.save(notification);
-        }
+    @Transactional
+    public ResponseEntity<Integer> visualisation(JwtAuthenticationToken token) {
 
-        return ResponseEntity.ok().build();
+        int updated = this.notificationRepository.markAllAsRead(token.getName());
+        this.unreadCounterService.decrement(token.getName(), updated);
+        return ResponseEntity.ok(updated);
     }
 
     /**
@@ -120,8 +264,9 @@ public class NotificationService {
      *
      * @param token Token JWT de autenticação contendo ID do usuário
      * @return Número inteiro representando notificações não visualizadas
+     * @implNote Lido do cache ou do contador mantido por usuário, sem contar as linhas
      */
     public int countNotifications(JwtAuthenticationToken token) {
-        return this.notificationRepository.countByUserIdAndVisualisationFalse(token.getName());
+        return this.unreadCounterService.current(token.getName());
     }
 }
\ No newline at end of file
@@ -0,0 +1,104 @@
+package br.com.bank_notification.service.counter;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache limitado e com expiração para o contador de notificações não visualizadas
+ * Atende as consultas frequentes do sino sem acessar o banco
+ *
+ * @component Indica que esta classe é um componente Spring gerenciado pelo container
+ *
+ * @implNote LRU por ordem de acesso. A invalidação acontece após o commit para que uma
+ *           leitura concorrente não recoloque o valor antigo; a expiração limita a
+ *           defasagem entre instâncias diferentes do serviço
+ *
+ * @author Pablo R.
+ */
+@Component
+public class UnreadCountCache {
+
+    private final long ttlMillis;
+    private final Map<String, Entry> entries;
+
+    /**
+     * Construtor com os limites do cache
+     *
+     * @param maxSize Número máximo de usuários mantidos em memória
+     * @param ttlMillis Tempo de vida de cada entrada em milissegundos
+     */
+    public UnreadCountCache(
+            @Value("${notification.unread-cache.size:50000}") int maxSize,
+            @Value("${notification.unread-cache.ttl-ms:5000}") long ttlMillis) {
+
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Busca o contador de um usuário
+     *
+     * @param userId ID do usuário
+     * @return Quantidade de não visualizadas ou null se ausente ou expirado
+     */
+    public synchronized Integer get(String userId) {
+
+        Entry entry = this.entries.get(userId);
+
+        if (entry == null) {
+            return null;
+        } else if (entry.expiresAt() <= System.currentTimeMillis()) {
+            this.entries.remove(userId);
+            return null;
+        }
+        return entry.unread();
+    }
+
+    /**
+     * Armazena o contador de um usuário
+     *
+     * @param userId ID do usuário
+     * @param unread Quantidade de não visualizadas
+     */
+    public synchronized void put(String userId, int unread) {
+        this.entries.put(userId, new Entry(unread, System.currentTimeMillis() + this.ttlMillis));
+    }
+
+    /**
+     * Remove o contador do usuário do cache ao fim da transação atual
+     * Fora de uma transação, remove imediatamente
+     *
+     * @param userId ID do usuário
+     */
+    public void invalidateAfterCommit(String userId) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(userId);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                invalidate(userId);
+            }
+        });
+    }
+
+    private synchronized void invalidate(String userId) {
+        this.entries.remove(userId);
+    }
+
+    private record Entry(int unread, long expiresAt) {
+    }
+}
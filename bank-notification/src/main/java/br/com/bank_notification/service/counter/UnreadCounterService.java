@@ -0,0 +1,105 @@
+package br.com.bank_notification.service.counter;
+
+import br.com.bank_notification.model.UnreadCounter;
+import br.com.bank_notification.repository.UnreadCounterRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.stereotype.Service;
+
+/**
+ * Serviço do contador de notificações não visualizadas por usuário
+ * As alterações participam da transação de quem as chama (inserção, leitura ou
+ * ocultação das notificações), então o contador nunca diverge das linhas gravadas
+ *
+ * @service Indica que esta classe é um serviço Spring gerenciado pelo container
+ *
+ * @implNote Usuários anteriores ao contador têm a linha criada na primeira leitura
+ *           ou inserção, a partir de uma única contagem das não visualizadas
+ *
+ * @author Pablo R.
+ */
+@Service
+public class UnreadCounterService {
+
+    private final UnreadCounterRepository unreadCounterRepository;
+    private final UnreadCountCache unreadCountCache;
+
+    /**
+     * Construtor para injeção de dependências
+     *
+     * @param unreadCounterRepository Repositório dos contadores
+     * @param unreadCountCache Cache dos contadores em memória
+     */
+    public UnreadCounterService(UnreadCounterRepository unreadCounterRepository, UnreadCountCache unreadCountCache) {
+        this.unreadCounterRepository = unreadCounterRepository;
+        this.unreadCountCache = unreadCountCache;
+    }
+
+    /**
+     * Quantidade de notificações não visualizadas do usuário
+     *
+     * @param userId ID do usuário
+     * @return Valor do cache ou, na ausência, lido pela chave primária do contador
+     */
+    public int current(String userId) {
+
+        Integer cached = this.unreadCountCache.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+
+        int unread = this.unreadCounterRepository.findById(userId)
+                .map(UnreadCounter::getUnread)
+                .orElseGet(() -> {
+                    this.unreadCounterRepository.seed(userId, 0);
+                    return this.unreadCounterRepository.findById(userId).map(UnreadCounter::getUnread).orElse(0);
+                });
+
+        this.unreadCountCache.put(userId, unread);
+        return unread;
+    }
+
+    /**
+     * Soma novas notificações ao contador do usuário
+     *
+     * @param userId ID do usuário
+     * @param delta Quantidade de notificações inseridas
+     */
+    @Transactional
+    public void increment(String userId, int delta) {
+
+        if (this.unreadCounterRepository.increment(userId, delta) == 0) {
+            this.unreadCounterRepository.seed(userId, delta);
+        }
+        this.unreadCountCache.invalidateAfterCommit(userId);
+    }
+
+    /**
+     * Subtrai do contador do usuário as notificações marcadas como visualizadas
+     *
+     * @param userId ID do usuário
+     * @param count Quantidade de linhas alteradas pelo UPDATE que as marcou
+     *
+     * @implNote Nunca zera o contador: uma notificação gravada em paralelo e ainda não
+     *           vista pelo UPDATE continua contada
+     */
+    @Transactional
+    public void decrement(String userId, int count) {
+
+        if (count <= 0) {
+            return;
+        }
+        this.unreadCounterRepository.decrement(userId, count);
+        this.unreadCountCache.invalidateAfterCommit(userId);
+    }
+
+    /**
+     * Remove o contador do usuário
+     *
+     * @param userId ID do usuário
+     */
+    @Transactional
+    public void remove(String userId) {
+        this.unreadCounterRepository.deleteById(userId);
+        this.unreadCountCache.invalidateAfterCommit(userId);
+    }
+}
@@ -0,0 +1,179 @@
+package br.com.bank_notification.service.digest;
+
+import br.com.bank_notification.model.PaymentReceipt;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Janela de agrupamento dos pagamentos recebidos, por usuário
+ * O primeiro pagamento de um usuário abre a janela; ao fim dela, todos os pagamentos
+ * recebidos no período viram uma única notificação de resumo
+ *
+ * @component Indica que esta classe é um componente Spring gerenciado pelo container
+ *
+ * @implNote Os pagamentos são gravados antes de entrar na janela, então a memória guarda
+ *           apenas o prazo e o maior ID pendente de cada usuário, com limite de usuários.
+ *           Pagamentos de um lote reentregue que já estavam gravados não entram de novo.
+ *           Usuários que não cabem no buffer, ou que ficaram pendentes por um reinício,
+ *           são resumidos pela varredura periódica das linhas sem notificação
+ *
+ * @author Pablo R.
+ */
+@Slf4j
+@Component
+public class PaymentDigestBuffer {
+
+    private final PaymentDigestService paymentDigestService;
+    private final Map<String, Window> windows = new LinkedHashMap<>();
+    private final long windowMs;
+    private final int maxUsers;
+    private final long sweepAfterMs;
+    private final int sweepBatch;
+
+    /**
+     * Construtor para injeção de dependências
+     *
+     * @param paymentDigestService Serviço dos pagamentos e dos resumos
+     * @param windowMs Duração da janela de agrupamento de cada usuário
+     * @param maxUsers Quantidade máxima de usuários com janela aberta em memória
+     * @param sweepAfterMs Idade a partir da qual um pagamento sem resumo é recuperado pela varredura
+     * @param sweepBatch Quantidade máxima de usuários resumidos por varredura
+     */
+    public PaymentDigestBuffer(
+            PaymentDigestService paymentDigestService,
+            @Value("${notification.payment-digest.window-ms:30000}") long windowMs,
+            @Value("${notification.payment-digest.max-users:10000}") int maxUsers,
+            @Value("${notification.payment-digest.sweep-after-ms:120000}") long sweepAfterMs,
+            @Value("${notification.payment-digest.sweep-batch:500}") int sweepBatch) {
+
+        this.paymentDigestService = paymentDigestService;
+        this.windowMs = windowMs;
+        this.maxUsers = maxUsers;
+        this.sweepAfterMs = sweepAfterMs;
+        this.sweepBatch = sweepBatch;
+    }
+
+    /**
+     * Grava os pagamentos recebidos e os coloca na janela dos destinatários
+     *
+     * @param receipts Pagamentos do lote consumido
+     */
+    public void receive(List<PaymentReceipt> receipts) {
+
+        if (receipts.isEmpty()) {
+            return;
+        }
+
+        List<PaymentReceipt> saved = this.paymentDigestService.save(receipts);
+
+        long dueAt = System.currentTimeMillis() + this.windowMs;
+
+        synchronized (this) {
+            for (PaymentReceipt receipt : saved) {
+
+                Window window = this.windows.get(receipt.getUserId());
+
+                if (window != null) {
+                    window.upToReceiptId = Math.max(window.upToReceiptId, receipt.getReceiptId());
+                } else if (this.windows.size() < this.maxUsers) {
+                    this.windows.put(receipt.getUserId(), new Window(dueAt, receipt.getReceiptId()));
+                }
+                // Buffer cheio: o pagamento já está gravado e será resumido pela varredura
+            }
+        }
+    }
+
+    /**
+     * Resume os usuários cuja janela terminou
+     * As janelas estão em ordem de abertura, então a busca para na primeira ainda aberta
+     */
+    @Scheduled(fixedDelayString = "${notification.payment-digest.flush-ms:1000}")
+    public void flushDue() {
+
+        long now = System.currentTimeMillis();
+        List<PendingDigest> due = new ArrayList<>();
+
+        synchronized (this) {
+            Iterator<Map.Entry<String, Window>> iterator = this.windows.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<String, Window> entry = iterator.next();
+                if (entry.getValue().dueAt > now) {
+                    break;
+                }
+                due.add(new PendingDigest(entry.getKey(), entry.getValue().upToReceiptId));
+                iterator.remove();
+            }
+        }
+
+        due.forEach(this::flush);
+    }
+
+    /**
+     * Resume os pagamentos que ficaram sem notificação fora do buffer
+     * Também recupera, na inicialização, as janelas perdidas no desligamento anterior
+     */
+    @Scheduled(fixedDelayString = "${notification.payment-digest.sweep-ms:60000}")
+    public void sweep() {
+
+        LocalDateTime before = LocalDateTime.now().minusNanos(this.sweepAfterMs * 1_000_000);
+
+        for (PendingDigest digest : this.paymentDigestService.stale(before, this.sweepBatch)) {
+
+            boolean buffered;
+            synchronized (this) {
+                buffered = this.windows.containsKey(digest.userId());
+            }
+
+            if (!buffered) {
+                flush(digest);
+            }
+        }
+    }
+
+    /**
+     * Resume todas as janelas abertas antes de o serviço parar
+     */
+    @PreDestroy
+    public void shutdown() {
+
+        List<PendingDigest> pending = new ArrayList<>();
+
+        synchronized (this) {
+            this.windows.forEach((userId, window) -> pending.add(new PendingDigest(userId, window.upToReceiptId)));
+            this.windows.clear();
+        }
+
+        pending.forEach(this::flush);
+    }
+
+    private void flush(PendingDigest digest) {
+
+        try {
+            this.paymentDigestService.flush(digest.userId(), digest.upToReceiptId());
+        } catch (RuntimeException e) {
+            // Os pagamentos continuam sem resumo e voltam na próxima varredura
+            log.error("Failed to flush payment digest for user {}", digest.userId(), e);
+        }
+    }
+
+    private static final class Window {
+
+        private final long dueAt;
+        private long upToReceiptId;
+
+        private Window(long dueAt, long upToReceiptId) {
+            this.dueAt = dueAt;
+            this.upToReceiptId = upToReceiptId;
+        }
+    }
+}
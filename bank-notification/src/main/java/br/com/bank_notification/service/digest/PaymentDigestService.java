@@ -0,0 +1,199 @@
+package br.com.bank_notification.service.digest;
+
+import br.com.bank_notification.dtos.payment.ResponsePaymentReceiptPage;
+import br.com.bank_notification.dtos.payment.ResponsePaymentReceipts;
+import br.com.bank_notification.model.Notification;
+import br.com.bank_notification.model.PaymentReceipt;
+import br.com.bank_notification.repository.NotificationRepository;
+import br.com.bank_notification.repository.PaymentReceiptRepository;
+import br.com.bank_notification.service.NotificationService;
+import br.com.bank_notification.template.NotificationTemplate;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Serviço dos pagamentos recebidos e das notificações de resumo
+ * Grava cada pagamento e, ao fim da janela do usuário, cria uma única notificação
+ * para todos os pagamentos ainda sem resumo
+ *
+ * @service Indica que esta classe é um serviço Spring gerenciado pelo container
+ *
+ * @implNote Os pagamentos são ligados ao resumo antes de o texto ser montado: a
+ *           quantidade e o total vêm das linhas efetivamente ligadas, então dois
+ *           processos resumindo o mesmo usuário nunca contam um pagamento duas vezes.
+ *           Cada pagamento guarda o tópico, a partição e o offset de origem (chave
+ *           única), então um lote reentregue pelo Kafka não o grava de novo
+ *
+ * @author Pablo R.
+ */
+@Service
+public class PaymentDigestService {
+
+    private static final int MAX_RECEIPT_PAGE_SIZE = 100;
+
+    private final PaymentReceiptRepository paymentReceiptRepository;
+    private final NotificationRepository notificationRepository;
+    private final NotificationService notificationService;
+
+    /**
+     * Construtor para injeção de dependências
+     *
+     * @param paymentReceiptRepository Repositório dos pagamentos recebidos
+     * @param notificationRepository Repositório de notificações
+     * @param notificationService Serviço que grava as notificações, o contador e o evento SSE
+     */
+    public PaymentDigestService(
+            PaymentReceiptRepository paymentReceiptRepository,
+            NotificationRepository notificationRepository,
+            NotificationService notificationService) {
+        this.paymentReceiptRepository = paymentReceiptRepository;
+        this.notificationRepository = notificationRepository;
+        this.notificationService = notificationService;
+    }
+
+    /**
+     * Grava um lote de pagamentos recebidos, ainda sem resumo
+     * Registros já gravados em uma entrega anterior do mesmo lote são descartados
+     *
+     * @param receipts Pagamentos do lote consumido, com o registro Kafka de origem
+     * @return Pagamentos efetivamente gravados
+     */
+    @Transactional
+    public List<PaymentReceipt> save(List<PaymentReceipt> receipts) {
+
+        Map<String, List<PaymentReceipt>> byPartition = new LinkedHashMap<>();
+        for (PaymentReceipt receipt : receipts) {
+            byPartition.computeIfAbsent(receipt.getSourceTopic() + "-" + receipt.getSourcePartition(),
+                    key -> new ArrayList<>()).add(receipt);
+        }
+
+        List<PaymentReceipt> fresh = new ArrayList<>(receipts.size());
+        for (List<PaymentReceipt> partition : byPartition.values()) {
+
+            PaymentReceipt first = partition.get(0);
+            long from = partition.stream().mapToLong(PaymentReceipt::getSourceOffset).min().orElseThrow();
+            long to = partition.stream().mapToLong(PaymentReceipt::getSourceOffset).max().orElseThrow();
+            Set<Long> stored = new HashSet<>(this.paymentReceiptRepository.findSourceOffsets(
+                    first.getSourceTopic(), first.getSourcePartition(), from, to));
+
+            for (PaymentReceipt receipt : partition) {
+                if (stored.add(receipt.getSourceOffset())) {
+                    fresh.add(receipt);
+                }
+            }
+        }
+
+        return this.paymentReceiptRepository.saveAll(fresh);
+    }
+
+    /**
+     * Cria a notificação de resumo dos pagamentos pendentes do usuário
+     * Um único pagamento gera a notificação comum de pagamento recebido
+     *
+     * @param userId ID do usuário que recebeu os pagamentos
+     * @param upToReceiptId Maior ID de pagamento a incluir
+     */
+    @Transactional
+    public void flush(String userId, Long upToReceiptId) {
+
+        var notification = new Notification();
+        notification.setUserId(userId);
+        notification.setTemplateId(NotificationTemplate.PAYMENT_DIGEST.getCode());
+        this.notificationRepository.save(notification);
+
+        int linked = this.paymentReceiptRepository.link(userId, upToReceiptId, notification.getNotificationId());
+
+        // Já resumidos por outro processo (ou usuário excluído)
+        if (linked == 0) {
+            this.notificationRepository.delete(notification);
+            return;
+        }
+
+        if (linked == 1) {
+            PaymentReceipt receipt = this.paymentReceiptRepository.findFirstByNotificationId(notification.getNotificationId());
+            notification.setTemplateId(NotificationTemplate.RECEIVE_PAYMENT.getCode());
+            notification.setParams(NotificationTemplate.encode(receipt.getAmount().toPlainString(), receipt.getPayerName()));
+        } else {
+            notification.setParams(NotificationTemplate.encode(
+                    String.valueOf(linked),
+                    this.paymentReceiptRepository.totalByNotificationId(notification.getNotificationId()).toPlainString()));
+        }
+
+        this.notificationService.createNotifications(List.of(notification));
+    }
+
+    /**
+     * Usuários com pagamentos sem resumo recebidos antes do instante informado
+     *
+     * @param before Pagamentos recebidos antes deste instante
+     * @param limit Quantidade máxima de usuários
+     * @return Usuário e maior ID de pagamento pendente de cada um
+     */
+    public List<PendingDigest> stale(LocalDateTime before, int limit) {
+        return this.paymentReceiptRepository.findStale(before, Limit.of(limit));
+    }
+
+    /**
+     * Retorna uma página dos pagamentos recebidos pelo usuário, mais novos primeiro
+     *
+     * @param token Token JWT de autenticação contendo ID do usuário
+     * @param notificationId ID da notificação de resumo (null para todos os pagamentos)
+     * @param cursor ID do último pagamento da página anterior (null na primeira página)
+     * @param size Tamanho da página (limitado a MAX_RECEIPT_PAGE_SIZE)
+     * @return ResponseEntity com a página e o cursor da próxima (null na última)
+     */
+    public ResponseEntity<ResponsePaymentReceiptPage> receipts(
+            JwtAuthenticationToken token, Long notificationId, Long cursor, int size) {
+
+        String userId = token.getName();
+        Limit limit = Limit.of(Math.clamp(size, 1, MAX_RECEIPT_PAGE_SIZE));
+        List<PaymentReceipt> receipts;
+
+        if (notificationId == null) {
+            receipts = cursor == null
+                    ? this.paymentReceiptRepository.findByUserIdOrderByReceiptIdDesc(userId, limit)
+                    : this.paymentReceiptRepository.findByUserIdAndReceiptIdLessThanOrderByReceiptIdDesc(userId, cursor, limit);
+        } else {
+            receipts = cursor == null
+                    ? this.paymentReceiptRepository.findByUserIdAndNotificationIdOrderByReceiptIdDesc(userId, notificationId, limit)
+                    : this.paymentReceiptRepository.findByUserIdAndNotificationIdAndReceiptIdLessThanOrderByReceiptIdDesc(
+                            userId, notificationId, cursor, limit);
+        }
+
+        Long nextCursor = receipts.size() == limit.max()
+                ? receipts.get(receipts.size() - 1).getReceiptId()
+                : null;
+
+        List<ResponsePaymentReceipts> items = receipts.stream()
+                .map(receipt -> new ResponsePaymentReceipts(
+                        receipt.getReceiptId(),
+                        receipt.getAmount(),
+                        receipt.getPayerName(),
+                        receipt.getNotificationId(),
+                        receipt.getReceivedAt()))
+                .toList();
+
+        return ResponseEntity.ok(new ResponsePaymentReceiptPage(items, nextCursor));
+    }
+
+    /**
+     * Remove todos os pagamentos recebidos pelo usuário
+     *
+     * @param userId ID do usuário excluído
+     */
+    @Transactional
+    public void remove(String userId) {
+        this.paymentReceiptRepository.deleteAllByUserId(userId);
+    }
+}
@@ -0,0 +1,12 @@
+package br.com.bank_notification.service.digest;
+
+/**
+ * Pagamentos de um usuário que ainda aguardam o resumo
+ *
+ * @param userId ID do usuário que recebeu os pagamentos
+ * @param upToReceiptId Maior ID de pagamento a incluir no resumo
+ *
+ * @author Pablo R.
+ */
+public record PendingDigest(String userId, Long upToReceiptId) {
+}
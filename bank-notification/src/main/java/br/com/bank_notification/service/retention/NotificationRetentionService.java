@@ -0,0 +1,208 @@
+package br.com.bank_notification.service.retention;
+
+import br.com.bank_notification.repository.NotificationRepository;
+import br.com.bank_notification.repository.PaymentReceiptRepository;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Serviço de retenção das notificações
+ * Cada método é uma transação curta; o ritmo (tamanho dos lotes e pausas) fica com
+ * o NotificationRetentionJob
+ *
+ * @service Indica que esta classe é um serviço Spring gerenciado pelo container
+ *
+ * @implNote Em tb_notifications comum, remove em lotes as notificações lidas (as ocultas
+ *           são marcadas como lidas ao ocultar). Se a tabela foi convertida em particionada
+ *           por mês (db/partition-tb_notifications.sql), a retenção vira a remoção das
+ *           partições expiradas, sem DELETE linha a linha. Uma partição só é removida
+ *           quando não tem mais notificações não lidas: os dois modos removem apenas
+ *           as lidas, e as partições com não lidas passam pela remoção em lotes
+ *
+ * @author Pablo R.
+ */
+@Slf4j
+@Service
+public class NotificationRetentionService {
+
+    private static final Pattern PARTITION = Pattern.compile("tb_notifications_p(\\d{6})");
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final NotificationRepository notificationRepository;
+    private final PaymentReceiptRepository paymentReceiptRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final long lockTimeoutMs;
+
+    /**
+     * Construtor para injeção de dependências
+     *
+     * @param notificationRepository Repositório de notificações
+     * @param paymentReceiptRepository Repositório dos pagamentos ligados aos resumos
+     * @param jdbcTemplate Template JDBC para a manutenção das partições
+     * @param lockTimeoutMs Espera máxima pelo lock de tb_notifications antes de manter a partição
+     */
+    public NotificationRetentionService(
+            NotificationRepository notificationRepository,
+            PaymentReceiptRepository paymentReceiptRepository,
+            JdbcTemplate jdbcTemplate,
+            @Value("${notification.retention.lock-timeout-ms:2000}") long lockTimeoutMs) {
+        this.notificationRepository = notificationRepository;
+        this.paymentReceiptRepository = paymentReceiptRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.lockTimeoutMs = lockTimeoutMs;
+    }
+
+    /**
+     * Maior ID entre as notificações anteriores à data de corte
+     *
+     * @param cutoff Data de corte
+     * @return Limite superior da varredura ou null se não houver o que remover
+     */
+    public Long boundary(LocalDate cutoff) {
+        return this.notificationRepository.findRetentionBoundary(cutoff);
+    }
+
+    /**
+     * Próximo lote de notificações lidas anteriores à data de corte
+     *
+     * @param after Cursor (ID da última notificação do lote anterior)
+     * @param upTo Limite superior da varredura
+     * @param cutoff Data de corte
+     * @param size Tamanho do lote
+     * @return IDs em ordem crescente
+     */
+    public List<Long> nextChunk(long after, long upTo, LocalDate cutoff, int size) {
+        return this.notificationRepository.findRetentionChunk(after, upTo, cutoff, Limit.of(size));
+    }
+
+    /**
+     * Remove um lote de notificações e os pagamentos ligados a elas
+     *
+     * @param ids IDs das notificações
+     * @return Quantidade de notificações removidas
+     */
+    @Transactional
+    public int purge(List<Long> ids) {
+        this.paymentReceiptRepository.deleteAllByNotificationIdIn(ids);
+        return this.notificationRepository.deleteAllByNotificationIdIn(ids);
+    }
+
+    /**
+     * Indica se tb_notifications é uma tabela particionada
+     *
+     * @return true se a retenção deve remover partições
+     */
+    public boolean partitioned() {
+        return Boolean.TRUE.equals(this.jdbcTemplate.queryForObject("""
+                SELECT EXISTS (
+                    SELECT 1 FROM pg_partitioned_table p
+                    JOIN pg_class c ON c.oid = p.partrelid
+                    WHERE c.relname = 'tb_notifications')
+                """, Boolean.class));
+    }
+
+    /**
+     * Cria as partições mensais do mês atual e dos próximos meses, se ainda não existirem
+     * Um mês que já tem linhas na partição DEFAULT não pode ganhar partição própria e é ignorado
+     *
+     * @param monthsAhead Quantidade de meses futuros
+     */
+    public void createPartitions(int monthsAhead) {
+
+        YearMonth current = YearMonth.now();
+
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            try {
+                this.jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(month)
+                        + " PARTITION OF tb_notifications FOR VALUES FROM ('" + month.atDay(1)
+                        + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+            } catch (DataAccessException e) {
+                log.warn("Could not create notification partition for {}", month, e);
+            }
+        }
+    }
+
+    /**
+     * Partições mensais cujo mês inteiro é anterior à data de corte
+     *
+     * @param cutoff Data de corte
+     * @return Nomes das partições expiradas, mais antigas primeiro
+     */
+    public List<String> expiredPartitions(LocalDate cutoff) {
+
+        return this.jdbcTemplate.queryForList("""
+                        SELECT c.relname FROM pg_inherits i
+                        JOIN pg_class c ON c.oid = i.inhrelid
+                        JOIN pg_class p ON p.oid = i.inhparent
+                        WHERE p.relname = 'tb_notifications'
+                        ORDER BY c.relname
+                        """, String.class).stream()
+                .filter(name -> {
+                    Matcher matcher = PARTITION.matcher(name);
+                    return matcher.matches()
+                            && !YearMonth.parse(matcher.group(1), PARTITION_MONTH).plusMonths(1).atDay(1).isAfter(cutoff);
+                })
+                .toList();
+    }
+
+    /**
+     * Remove uma partição expirada, se todas as notificações dela já foram lidas
+     * Remove os pagamentos ligados aos resumos da partição antes do DROP
+     *
+     * @param partition Nome da partição (de {@link #expiredPartitions})
+     * @return Quantidade de notificações removidas, ou -1 se a partição ainda tem não lidas
+     * @throws org.springframework.dao.PessimisticLockingFailureException Se o lock não
+     *         for obtido em lock-timeout-ms; a transação é desfeita e a partição mantida
+     * @implNote O DROP exige ACCESS EXCLUSIVE na tabela pai. O lock é pedido primeiro no
+     *           pai (o LOCK desce às partições na mesma ordem de um UPDATE ou DELETE sem
+     *           filtro de data, como markAllAsRead), o que evita o deadlock, e antes da
+     *           contagem, então nenhuma notificação muda até o DROP. O lock_timeout
+     *           limita quanto tempo as requisições ficam enfileiradas atrás dele; as
+     *           lidas de uma partição mantida são removidas pelos lotes comuns
+     */
+    @Transactional
+    public long dropPartition(String partition) {
+
+        if (!PARTITION.matcher(partition).matches()) {
+            throw new IllegalArgumentException("Not a notification partition: " + partition);
+        }
+
+        this.jdbcTemplate.execute("SET LOCAL lock_timeout = '" + this.lockTimeoutMs + "ms'");
+        this.jdbcTemplate.execute("LOCK TABLE tb_notifications IN ACCESS EXCLUSIVE MODE");
+
+        Boolean unread = this.jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM " + partition + " WHERE visualisation = false)", Boolean.class);
+
+        if (Boolean.TRUE.equals(unread)) {
+            return -1;
+        }
+
+        Long rows = this.jdbcTemplate.queryForObject("SELECT count(*) FROM " + partition, Long.class);
+
+        this.jdbcTemplate.update("""
+                DELETE FROM tb_payment_receipts r
+                USING %s n
+                WHERE r.notification_id = n.notification_id
+                """.formatted(partition));
+
+        this.jdbcTemplate.execute("DROP TABLE " + partition);
+        return rows == null ? 0 : rows;
+    }
+
+    private static String partitionName(YearMonth month) {
+        return "tb_notifications_p" + month.format(PARTITION_MONTH);
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.bank_notification.service.stream;
+
+import br.com.bank_notification.model.Notification;
+
+/**
+ * Evento interno publicado quando uma notificação é gravada
+ * Entregue aos usuários conectados somente após o commit da transação
+ *
+ * @param userId ID do usuário destinatário
+ * @param notification Notificação gravada; o texto é montado no idioma de cada conexão
+ *
+ * @author Pablo R.
+ */
+public record NotificationCreated(String userId, Notification notification) {
+}
@@ -0,0 +1,260 @@
+package br.com.bank_notification.service.stream;
+
+import br.com.bank_notification.dtos.notification.ResponseNotifications;
+import br.com.bank_notification.repository.NotificationRepository;
+import br.com.bank_notification.template.NotificationRenderer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serviço que entrega as novas notificações, via Server-Sent Events, aos usuários
+ * conectados nesta instância, no lugar das consultas periódicas em /notifications
+ * e /count-notification
+ *
+ * @service Indica que esta classe é um serviço Spring gerenciado pelo container
+ *
+ * @implNote O ID de cada evento é o ID da notificação: ao reconectar, o navegador
+ *           envia o último recebido em Last-Event-ID e as notificações perdidas são
+ *           reenviadas antes das novas. Os envios rodam em threads virtuais para que
+ *           um cliente lento não atrase o consumidor Kafka. Cada conexão guarda o idioma
+ *           da requisição que a abriu, usado para montar o texto das notificações.
+ *           Durante o reenvio, as notificações novas ficam retidas na conexão e são
+ *           entregues depois dele, sem as que o reenvio já incluiu: cada notificação
+ *           chega uma única vez. Limite conhecido: os IDs vêm de uma sequência com
+ *           alocação em blocos (allocationSize = 50), então não seguem a ordem de commit
+ *           entre instâncias ou transações concorrentes. Uma notificação com ID menor que
+ *           o Last-Event-ID, gravada depois dele, não é reenviada na reconexão; ela
+ *           continua disponível em /notifications e no contador
+ *
+ * @author Pablo R.
+ */
+@Service
+public class NotificationStream {
+
+    private static final String EVENT_NAME = "notification";
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationRenderer notificationRenderer;
+    private final Map<String, List<Subscriber>> emitters = new ConcurrentHashMap<>();
+    private final ExecutorService dispatcher = Executors.newVirtualThreadPerTaskExecutor();
+    private final long timeoutMs;
+    private final int maxPerUser;
+    private final int replayLimit;
+
+    /**
+     * Construtor para injeção de dependências
+     *
+     * @param notificationRepository Repositório de notificações (reenvio após reconexão)
+     * @param notificationRenderer Montagem do texto das notificações a partir do modelo
+     * @param timeoutMs Tempo máximo de uma conexão; depois dele o cliente reconecta
+     * @param maxPerUser Quantidade máxima de conexões abertas por usuário
+     * @param replayLimit Quantidade máxima de notificações reenviadas ao reconectar
+     */
+    public NotificationStream(
+            NotificationRepository notificationRepository,
+            NotificationRenderer notificationRenderer,
+            @Value("${notification.stream.timeout-ms:1800000}") long timeoutMs,
+            @Value("${notification.stream.max-per-user:5}") int maxPerUser,
+            @Value("${notification.stream.replay-limit:100}") int replayLimit) {
+
+        this.notificationRepository = notificationRepository;
+        this.notificationRenderer = notificationRenderer;
+        this.timeoutMs = timeoutMs;
+        this.maxPerUser = maxPerUser;
+        this.replayLimit = replayLimit;
+    }
+
+    /**
+     * Abre uma conexão para o usuário
+     *
+     * @param userId ID do usuário autenticado
+     * @param lastEventId ID da última notificação recebida (null na primeira conexão)
+     * @param locale Idioma das mensagens enviadas nesta conexão
+     * @return Emitter da conexão SSE
+     */
+    public SseEmitter subscribe(String userId, Long lastEventId, Locale locale) {
+
+        SseEmitter emitter = new SseEmitter(this.timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, locale, lastEventId != null);
+        List<Subscriber> userEmitters = this.emitters.compute(userId, (id, current) -> {
+            List<Subscriber> list = current != null ? current : new CopyOnWriteArrayList<>();
+            list.add(subscriber);
+            return list;
+        });
+
+        emitter.onCompletion(() -> remove(userId, emitter));
+        emitter.onTimeout(() -> remove(userId, emitter));
+        emitter.onError(e -> remove(userId, emitter));
+
+        // Abas esquecidas abertas: a conexão mais antiga dá lugar à nova
+        while (userEmitters.size() > this.maxPerUser) {
+            userEmitters.remove(0).emitter().complete();
+        }
+
+        // Reenvia o que chegou enquanto o cliente estava desconectado; a conexão já está
+        // registrada, então o que for gravado durante a consulta fica retido nela
+        if (lastEventId != null) {
+            Set<Long> replayed = new HashSet<>();
+
+            this.notificationRepository
+                    .findByUserIdAndNotificationIdGreaterThanOrderByNotificationId(
+                            userId, lastEventId, Limit.of(this.replayLimit))
+                    .forEach(notification -> {
+                        replayed.add(notification.getNotificationId());
+                        send(userId, emitter, event(this.notificationRenderer.toResponse(notification, locale)));
+                    });
+
+            synchronized (subscriber) {
+                for (NotificationCreated held : subscriber.release(replayed)) {
+                    if (!replayed.contains(held.notification().getNotificationId())) {
+                        send(userId, emitter, event(this.notificationRenderer.toResponse(held.notification(), locale)));
+                    }
+                }
+            }
+        }
+
+        return emitter;
+    }
+
+    /**
+     * Entrega a notificação às conexões do destinatário
+     * Chamado somente após o commit, então o cliente nunca recebe uma notificação desfeita
+     *
+     * @param event Notificação gravada pelo serviço de notificações
+     */
+    @TransactionalEventListener
+    public void onNotificationCreated(NotificationCreated event) {
+
+        List<Subscriber> userEmitters = this.emitters.get(event.userId());
+
+        if (userEmitters == null || userEmitters.isEmpty()) {
+            return;
+        }
+
+        this.dispatcher.execute(() -> {
+            for (Subscriber subscriber : userEmitters) {
+                synchronized (subscriber) {
+                    if (subscriber.accept(event)) {
+                        send(event.userId(), subscriber.emitter(),
+                                event(this.notificationRenderer.toResponse(event.notification(), subscriber.locale())));
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Envia um comentário a todas as conexões para mantê-las abertas em proxies e
+     * balanceadores e para descobrir as que o cliente já fechou
+     */
+    @Scheduled(fixedRateString = "${notification.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+
+        this.emitters.forEach((userId, userEmitters) -> {
+            for (Subscriber subscriber : userEmitters) {
+                this.dispatcher.execute(() -> send(userId, subscriber.emitter(), SseEmitter.event().comment("heartbeat")));
+            }
+        });
+    }
+
+    /**
+     * Encerra as conexões abertas
+     */
+    @PreDestroy
+    public void shutdown() {
+        this.emitters.values().forEach(userEmitters -> userEmitters.forEach(subscriber -> subscriber.emitter().complete()));
+        this.emitters.clear();
+        this.dispatcher.shutdown();
+    }
+
+    private static SseEmitter.SseEventBuilder event(ResponseNotifications notification) {
+        return SseEmitter.event()
+                .id(String.valueOf(notification.notificationId()))
+                .name(EVENT_NAME)
+                .data(notification);
+    }
+
+    private void send(String userId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            // Cliente desconectado: a conexão sai do registro
+            remove(userId, emitter);
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void remove(String userId, SseEmitter emitter) {
+
+        this.emitters.computeIfPresent(userId, (id, userEmitters) -> {
+            userEmitters.removeIf(subscriber -> subscriber.emitter() == emitter);
+            return userEmitters.isEmpty() ? null : userEmitters;
+        });
+    }
+
+    /**
+     * Conexão de um usuário
+     * Enquanto o reenvio não termina, as notificações novas ficam retidas; depois dele,
+     * as já reenviadas são descartadas se o evento ao vivo chegar atrasado. O acesso é
+     * feito sob o monitor da própria conexão
+     */
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Locale locale;
+        private List<NotificationCreated> held;
+        private Set<Long> replayed = Set.of();
+
+        private Subscriber(SseEmitter emitter, Locale locale, boolean replaying) {
+            this.emitter = emitter;
+            this.locale = locale;
+            this.held = replaying ? new ArrayList<>() : null;
+        }
+
+        private SseEmitter emitter() {
+            return this.emitter;
+        }
+
+        private Locale locale() {
+            return this.locale;
+        }
+
+        /**
+         * @return true se a notificação deve ser enviada agora
+         */
+        private boolean accept(NotificationCreated event) {
+
+            if (this.held != null) {
+                this.held.add(event);
+                return false;
+            }
+            return !this.replayed.contains(event.notification().getNotificationId());
+        }
+
+        private List<NotificationCreated> release(Set<Long> replayed) {
+
+            List<NotificationCreated> released = this.held;
+            this.held = null;
+            this.replayed = replayed;
+            return released;
+        }
+    }
+}
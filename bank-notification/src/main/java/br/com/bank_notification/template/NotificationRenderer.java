@@ -0,0 +1,69 @@
+package br.com.bank_notification.template;
+
+import br.com.bank_notification.dtos.notification.ResponseNotifications;
+import br.com.bank_notification.model.Notification;
+import org.springframework.context.MessageSource;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * Monta o texto das notificações a partir do modelo e dos parâmetros gravados
+ *
+ * @component Indica que esta classe é um componente Spring gerenciado pelo container
+ *
+ * @implNote Os textos vêm do MessageSource (i18n/notifications*.properties), carregado
+ *           uma vez e mantido em memória; idiomas sem arquivo próprio usam o inglês.
+ *           Notificações gravadas antes dos modelos não têm template_id e exibem a
+ *           mensagem completa da coluna message
+ *
+ * @author Pablo R.
+ */
+@Component
+public class NotificationRenderer {
+
+    private final MessageSource messageSource;
+
+    /**
+     * Construtor para injeção de dependências
+     *
+     * @param messageSource Textos dos modelos de notificação
+     */
+    public NotificationRenderer(MessageSource messageSource) {
+        this.messageSource = messageSource;
+    }
+
+    /**
+     * Texto da notificação no idioma informado
+     *
+     * @param notification Notificação gravada
+     * @param locale Idioma do usuário
+     * @return Mensagem exibida ao usuário
+     */
+    public String render(Notification notification, Locale locale) {
+
+        NotificationTemplate template = NotificationTemplate.fromCode(notification.getTemplateId());
+
+        if (template == null) {
+            return notification.getMessage();
+        }
+
+        return this.messageSource.getMessage(
+                template.messageKey(), template.arguments(notification.getParams()), template.name(), locale);
+    }
+
+    /**
+     * Converte a notificação para o formato de resposta, com o texto já montado
+     *
+     * @param notification Notificação gravada
+     * @param locale Idioma do usuário
+     * @return Notificação no formato de /notifications
+     */
+    public ResponseNotifications toResponse(Notification notification, Locale locale) {
+        return new ResponseNotifications(
+                notification.getNotificationId(),
+                render(notification, locale),
+                notification.getShowNotification(),
+                notification.getTimestamp());
+    }
+}
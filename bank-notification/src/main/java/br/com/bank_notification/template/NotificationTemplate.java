@@ -0,0 +1,191 @@
+package br.com.bank_notification.template;
+
+import br.com.bank_notification.dtos.notification.ConsumerNotification;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Tabela de tópicos de notificação e do modelo de mensagem de cada um
+ * Única fonte dos tópicos assinados pelo consumidor em lote
+ *
+ * @implNote Cada notificação grava apenas o código do modelo e os parâmetros do
+ *           evento; o texto fica em i18n/notifications*.properties, sob a chave
+ *           notification.NOME_DO_MODELO, e é montado na leitura pelo {@link NotificationRenderer}.
+ *           Os códigos são persistidos: nunca reutilize nem altere um código existente
+ *
+ * @author Pablo R.
+ */
+public enum NotificationTemplate {
+
+    CARD_APPROVED(1, "notification-card-approved-topic"),
+
+    CARD_REJECTED(2, "notification-card-canceled-topic"),
+
+    RECEIVE_PAYMENT(3, "notification-receive-payment-topic",
+            event -> new String[] { amount(event.money()).toPlainString(), event.fullName() },
+            params -> new Object[] { new BigDecimal(params[0]), params[1] }),
+
+    WELCOME(4, "welcome-topic"),
+
+    LIMIT_APPROVED(5, "notification-limit-card-approved-topic"),
+
+    LIMIT_REJECTED(6, "notification-limit-card-rejected-topic"),
+
+    /**
+     * Resumo de vários pagamentos recebidos na mesma janela (quantidade e total)
+     * Gerado pelo PaymentDigestBuffer, não vem de um tópico
+     */
+    PAYMENT_DIGEST(7, null,
+            event -> new String[0],
+            params -> new Object[] { Long.valueOf(params[0]), new BigDecimal(params[1]) });
+
+    /**
+     * Separador dos parâmetros gravados na coluna params (caractere de controle US)
+     */
+    private static final char SEPARATOR = '\u001F';
+
+    private static final Map<String, NotificationTemplate> BY_TOPIC = Arrays.stream(values())
+            .filter(template -> template.getTopic() != null)
+            .collect(Collectors.toUnmodifiableMap(NotificationTemplate::getTopic, Function.identity()));
+
+    private static final Map<Short, NotificationTemplate> BY_CODE = Arrays.stream(values())
+            .collect(Collectors.toUnmodifiableMap(NotificationTemplate::getCode, Function.identity()));
+
+    private final short code;
+    private final String topic;
+    private final Function<ConsumerNotification, String[]> params;
+    private final Function<String[], Object[]> arguments;
+
+    NotificationTemplate(int code, String topic) {
+        this(code, topic, event -> new String[0], params -> params);
+    }
+
+    NotificationTemplate(int code, String topic,
+                         Function<ConsumerNotification, String[]> params,
+                         Function<String[], Object[]> arguments) {
+        this.code = (short) code;
+        this.topic = topic;
+        this.params = params;
+        this.arguments = arguments;
+    }
+
+    /**
+     * Código persistido do modelo
+     *
+     * @return Código gravado em template_id
+     */
+    public short getCode() {
+        return this.code;
+    }
+
+    /**
+     * Tópico Kafka do evento
+     *
+     * @return Nome do tópico ou null se o modelo não vem de um tópico
+     */
+    public String getTopic() {
+        return this.topic;
+    }
+
+    /**
+     * Chave da mensagem do modelo no MessageSource
+     *
+     * @return Chave notification.NOME_DO_MODELO
+     */
+    public String messageKey() {
+        return "notification." + name();
+    }
+
+    /**
+     * Extrai e codifica os parâmetros do evento para gravação
+     *
+     * @param event Evento recebido
+     * @return Parâmetros separados por SEPARATOR ou null se o modelo não tiver parâmetros
+     */
+    public String params(ConsumerNotification event) {
+        return encode(this.params.apply(event));
+    }
+
+    /**
+     * Codifica parâmetros já extraídos para gravação
+     *
+     * @param values Parâmetros na ordem dos argumentos da mensagem
+     * @return Parâmetros separados por SEPARATOR ou null se não houver parâmetros
+     */
+    public static String encode(String... values) {
+
+        if (values.length == 0) {
+            return null;
+        }
+
+        StringBuilder encoded = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                encoded.append(SEPARATOR);
+            }
+            encoded.append(values[i] == null ? "" : values[i].replace(SEPARATOR, ' '));
+        }
+        return encoded.toString();
+    }
+
+    /**
+     * Decodifica os parâmetros gravados nos argumentos da mensagem
+     *
+     * @param params Parâmetros gravados (pode ser null)
+     * @return Argumentos para o MessageFormat, já com os tipos do modelo (ex.: valores numéricos)
+     */
+    public Object[] arguments(String params) {
+
+        if (params == null) {
+            return new Object[0];
+        }
+        return this.arguments.apply(params.split(String.valueOf(SEPARATOR), -1));
+    }
+
+    /**
+     * Busca o modelo de um tópico
+     *
+     * @param topic Nome do tópico
+     * @return Modelo do tópico ou null se o tópico não for de notificação
+     */
+    public static NotificationTemplate fromTopic(String topic) {
+        return BY_TOPIC.get(topic);
+    }
+
+    /**
+     * Busca o modelo pelo código persistido
+     *
+     * @param code Código gravado em template_id
+     * @return Modelo do código ou null se desconhecido
+     */
+    public static NotificationTemplate fromCode(Short code) {
+        return code == null ? null : BY_CODE.get(code);
+    }
+
+    /**
+     * Todos os tópicos de notificação
+     *
+     * @return Nomes dos tópicos, usados na assinatura do consumidor
+     */
+    public static String[] topics() {
+        return Arrays.stream(values())
+                .map(NotificationTemplate::getTopic)
+                .filter(topic -> topic != null)
+                .toArray(String[]::new);
+    }
+
+    /**
+     * Normaliza um valor monetário para gravação nos parâmetros
+     *
+     * @param money Valor recebido no evento (pode ser null)
+     * @return Valor com duas casas decimais
+     */
+    public static BigDecimal amount(Double money) {
+        return BigDecimal.valueOf(money == null ? 0 : money).setScale(2, RoundingMode.HALF_EVEN);
+    }
+}
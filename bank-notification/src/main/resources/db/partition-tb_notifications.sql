@@ -0,0 +1,44 @@
+-- Converte tb_notifications em tabela particionada por mês ("timestamp")
+-- Opcional: com a tabela particionada, o NotificationRetentionJob remove partições
+-- expiradas em vez de apagar linhas em lotes.
+--
+-- Executar com o bank-notification parado. Na próxima inicialização o Hibernate
+-- (ddl-auto update) e o PartialIndexInitializer recriam os índices na tabela nova,
+-- e o job cria as partições dos meses seguintes.
+
+BEGIN;
+
+ALTER TABLE tb_notifications RENAME TO tb_notifications_legacy;
+
+CREATE TABLE tb_notifications (LIKE tb_notifications_legacy INCLUDING DEFAULTS)
+    PARTITION BY RANGE ("timestamp");
+
+-- A chave de partição precisa fazer parte da chave primária
+ALTER TABLE tb_notifications ALTER COLUMN "timestamp" SET NOT NULL;
+ALTER TABLE tb_notifications ADD PRIMARY KEY (notification_id, "timestamp");
+
+-- Uma partição por mês, do mês da notificação mais antiga até dois meses à frente
+DO $$
+DECLARE
+    month date;
+BEGIN
+    FOR month IN
+        SELECT generate_series(
+                       date_trunc('month', coalesce(min("timestamp"), current_date)),
+                       date_trunc('month', current_date) + interval '2 month',
+                       interval '1 month')::date
+        FROM tb_notifications_legacy
+    LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF tb_notifications FOR VALUES FROM (%L) TO (%L)',
+                       'tb_notifications_p' || to_char(month, 'YYYYMM'), month, (month + interval '1 month')::date);
+    END LOOP;
+END $$;
+
+-- Segurança para linhas fora dos meses criados (não deve receber linhas em operação normal)
+CREATE TABLE tb_notifications_default PARTITION OF tb_notifications DEFAULT;
+
+INSERT INTO tb_notifications SELECT * FROM tb_notifications_legacy;
+
+DROP TABLE tb_notifications_legacy;
+
+COMMIT;
@@ -0,0 +1,60 @@
+package br.com.bank_notification.service;
+
+import br.com.bank_notification.model.Notification;
+import br.com.bank_notification.repository.NotificationRepository;
+import br.com.bank_notification.service.counter.UnreadCounterService;
+import br.com.bank_notification.template.NotificationRenderer;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+class NotificationServiceTest {
+
+    private static final String TOPIC = "notification-card-topic";
+
+    private final NotificationRepository notificationRepository = mock(NotificationRepository.class);
+    private final UnreadCounterService unreadCounterService = mock(UnreadCounterService.class);
+    private final NotificationService service = new NotificationService(this.notificationRepository,
+            this.unreadCounterService, mock(ApplicationEventPublisher.class), mock(NotificationRenderer.class));
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void redeliveredBatchDoesNotStoreOrCountNotificationsTwice() {
+
+        // Offsets 5 e 6 foram gravados na entrega anterior, antes do ack se perder
+        when(this.notificationRepository.findSourceOffsets(TOPIC, 1, 5L, 7L)).thenReturn(List.of(5L, 6L));
+
+        this.service.createNotifications(List.of(
+                notification("user-1", 5), notification("user-1", 6), notification("user-1", 7)));
+
+        ArgumentCaptor<List<Notification>> saved = ArgumentCaptor.forClass(List.class);
+        verify(this.notificationRepository).saveAll(saved.capture());
+        assertEquals(List.of(7L), saved.getValue().stream().map(Notification::getSourceOffset).toList());
+        verify(this.unreadCounterService).increment("user-1", 1);
+    }
+
+    @Test
+    void fullyRedeliveredBatchWritesNothing() {
+
+        when(this.notificationRepository.findSourceOffsets(TOPIC, 1, 5L, 5L)).thenReturn(List.of(5L));
+
+        this.service.createNotifications(List.of(notification("user-1", 5)));
+
+        verify(this.notificationRepository, never()).saveAll(any());
+        verifyNoInteractions(this.unreadCounterService);
+    }
+
+    private static Notification notification(String userId, long offset) {
+        var notification = new Notification();
+        notification.setUserId(userId);
+        notification.setSourceTopic(TOPIC);
+        notification.setSourcePartition(1);
+        notification.setSourceOffset(offset);
+        return notification;
+    }
+}
@@ -0,0 +1,106 @@
+package br.com.bank_notification.service.digest;
+
+import br.com.bank_notification.model.Notification;
+import br.com.bank_notification.model.PaymentReceipt;
+import br.com.bank_notification.repository.NotificationRepository;
+import br.com.bank_notification.repository.PaymentReceiptRepository;
+import br.com.bank_notification.service.NotificationService;
+import br.com.bank_notification.template.NotificationTemplate;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PaymentDigestServiceTest {
+
+    private static final String TOPIC = "notification-receive-payment-topic";
+
+    private final PaymentReceiptRepository paymentReceiptRepository = mock(PaymentReceiptRepository.class);
+    private final NotificationRepository notificationRepository = mock(NotificationRepository.class);
+    private final NotificationService notificationService = mock(NotificationService.class);
+    private final PaymentDigestService service = new PaymentDigestService(
+            this.paymentReceiptRepository, this.notificationRepository, this.notificationService);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void redeliveredBatchDoesNotStoreReceiptsTwice() {
+
+        // Offsets 10 e 11 foram gravados na entrega anterior, antes da falha do lote
+        when(this.paymentReceiptRepository.findSourceOffsets(TOPIC, 0, 10L, 12L)).thenReturn(List.of(10L, 11L));
+        when(this.paymentReceiptRepository.findSourceOffsets(TOPIC, 1, 4L, 4L)).thenReturn(List.of());
+        when(this.paymentReceiptRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<PaymentReceipt> saved = this.service.save(List.of(
+                receipt(0, 10), receipt(0, 11), receipt(0, 12), receipt(1, 4)));
+
+        ArgumentCaptor<List<PaymentReceipt>> captor = ArgumentCaptor.forClass(List.class);
+        verify(this.paymentReceiptRepository).saveAll(captor.capture());
+        assertEquals(List.of(12L, 4L), captor.getValue().stream().map(PaymentReceipt::getSourceOffset).toList());
+        assertEquals(2, saved.size());
+    }
+
+    @Test
+    void duplicateOffsetsInsideOneBatchAreStoredOnce() {
+
+        when(this.paymentReceiptRepository.findSourceOffsets(TOPIC, 0, 7L, 7L)).thenReturn(List.of());
+        when(this.paymentReceiptRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertEquals(1, this.service.save(List.of(receipt(0, 7), receipt(0, 7))).size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void digestCountsOnlyLinkedReceipts() {
+
+        when(this.notificationRepository.save(any(Notification.class))).thenAnswer(invocation -> {
+            Notification notification = invocation.getArgument(0);
+            notification.setNotificationId(99L);
+            return notification;
+        });
+        when(this.paymentReceiptRepository.link("user-1", 20L, 99L)).thenReturn(3);
+        when(this.paymentReceiptRepository.totalByNotificationId(99L)).thenReturn(new BigDecimal("30.50"));
+
+        this.service.flush("user-1", 20L);
+
+        ArgumentCaptor<List<Notification>> captor = ArgumentCaptor.forClass(List.class);
+        verify(this.notificationService).createNotifications(captor.capture());
+        Notification digest = captor.getValue().get(0);
+        assertEquals(Short.valueOf(NotificationTemplate.PAYMENT_DIGEST.getCode()), digest.getTemplateId());
+        assertEquals(NotificationTemplate.encode("3", "30.50"), digest.getParams());
+    }
+
+    @Test
+    void alreadyDigestedReceiptsCreateNoNotification() {
+
+        when(this.notificationRepository.save(any(Notification.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(this.paymentReceiptRepository.link(eq("user-1"), eq(20L), any())).thenReturn(0);
+
+        this.service.flush("user-1", 20L);
+
+        verify(this.notificationRepository).delete(any(Notification.class));
+        verify(this.notificationService, never()).createNotifications(anyList());
+        verify(this.paymentReceiptRepository, never()).totalByNotificationId(anyLong());
+    }
+
+    private static PaymentReceipt receipt(int partition, long offset) {
+
+        PaymentReceipt receipt = new PaymentReceipt();
+        receipt.setUserId("user-1");
+        receipt.setAmount(new BigDecimal("10.00"));
+        receipt.setSourceTopic(TOPIC);
+        receipt.setSourcePartition(partition);
+        receipt.setSourceOffset(offset);
+        return receipt;
+    }
+}
@@ -0,0 +1,7 @@
+package br.com.bank_user.dtos.credential;
+
+public record RequestPasswordRehash(
+        String userId,
+        String password
+) {
+}
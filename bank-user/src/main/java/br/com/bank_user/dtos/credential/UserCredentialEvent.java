@@ -0,0 +1,11 @@
+package br.com.bank_user.dtos.credential;
+
+public record UserCredentialEvent(
+        String userId,
+        String cpf,
+        String password,
+        String role,
+        String status,
+        Boolean verifyEmail
+) {
+}
@@ -1,14 +1,21 @@
 package br.com.bank_user.microservice;
 
+import br.com.bank_user.dtos.credential.RequestPasswordRehash;
+import br.com.bank_user.dtos.credential.UserCredentialEvent;
 import br.com.bank_user.dtos.user.ResponseUser;
 import br.com.bank_user.model.User;
 import br.com.bank_user.repository.UserRepository;
+import br.com.bank_user.service.credential.CredentialEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -24,18 +31,24 @@ import java.util.Optional;
 @RequestMapping("/microservice/bank_user")
 public class ServicesOfMicroservices {
 
+    private static final int MAX_CREDENTIAL_PAGE_SIZE = 1000;
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final CredentialEventPublisher credentialEventPublisher;
 
     /**
      * Construtor para injeção de dependências do microserviço de usuários
      *
      * @param repository Repositório para operações de banco de dados de usuários
      * @param password Encoder de senhas para validação de credenciais
+     * @param credentialEventPublisher Publicador das credenciais para a projeção do bank-login
      */
-    public ServicesOfMicroservices(UserRepository repository, PasswordEncoder password) {
+    public ServicesOfMicroservices(UserRepository repository, PasswordEncoder password,
+                                   CredentialEventPublisher credentialEventPublisher) {
         this.userRepository = repository;
         this.passwordEncoder = password;
+        this.credentialEventPublisher = credentialEventPublisher;
     }
 
 
@@ -90,4 +103,60 @@ public class ServicesOfMicroservices {
                 value.getVerifyEmail()
         )).orElse(null);
     }
+
+    /**
+     * Endpoint da carga inicial da projeção de credenciais do bank-login
+     * Retorna as credenciais em páginas ordenadas por ID, paginadas por cursor
+     * Exige o token de serviço (escopo SERVICE), configurado no SecurityConfig
+     *
+     * @param after ID do último usuário da página anterior (omitido na primeira página)
+     * @param size Tamanho da página (máximo 1000)
+     * @return Credenciais dos usuários seguintes ao cursor (vazia na última página)
+     */
+    @GetMapping("/credentials")
+    public List<UserCredentialEvent> findCredentials(
+            @RequestParam(defaultValue = "") String after,
+            @RequestParam(defaultValue = "500") int size) {
+
+        return this.userRepository
+                .findByUserIdGreaterThanOrderByUserId(after, Limit.of(Math.clamp(size, 1, MAX_CREDENTIAL_PAGE_SIZE)))
+                .stream()
+                .map(CredentialEventPublisher::toEvent)
+                .toList();
+    }
+
+    /**
+     * Endpoint para refazer o hash da senha com o custo atual do BCrypt
+     * Chamado pelo bank-login após um login válido com um hash de custo antigo; o novo
+     * hash é gerado aqui, nunca recebido de quem chama
+     *
+     * @param request DTO com ID do usuário e a senha verificada no login
+     *
+     * @implNote Exige o token de serviço (escopo SERVICE). A senha é conferida com o
+     *           hash gravado antes da troca, e a troca só acontece se o hash ainda for o
+     *           conferido, então uma troca de senha concorrente nunca é sobrescrita
+     */
+    @PutMapping("/rehash-password")
+    public void rehashPassword(@RequestBody RequestPasswordRehash request) {
+
+        if (request.userId() == null || request.password() == null) {
+            return;
+        }
+
+        Optional<User> user = this.userRepository.findById(request.userId());
+
+        if (user.isEmpty()) {
+            return;
+        }
+
+        String current = user.get().getPassword();
+
+        if (!this.passwordEncoder.upgradeEncoding(current) || !this.passwordEncoder.matches(request.password(), current)) {
+            return;
+        }
+
+        if (this.userRepository.rehashPassword(request.userId(), current, this.passwordEncoder.encode(request.password())) == 1) {
+            this.userRepository.findById(request.userId()).ifPresent(this.credentialEventPublisher::publish);
+        }
+    }
 }
\ No newline at end of file
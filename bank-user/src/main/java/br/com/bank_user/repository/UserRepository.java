@@ -2,11 +2,14 @@ package br.com.bank_user.repository;
 
 import br.com.bank_user.model.User;
 import feign.Param;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -63,6 +66,31 @@ public interface UserRepository extends JpaRepository<User, String> {
      */
     Optional<User> findByPhone(String phone);
 
+    /**
+     * Página de usuários em ordem de ID, a partir do cursor
+     * Usada na carga inicial da projeção de credenciais do bank-login
+     *
+     * @param userId ID do último usuário da página anterior ("" na primeira página)
+     * @param limit Tamanho da página
+     * @return Usuários com ID maior que o cursor
+     */
+    List<User> findByUserIdGreaterThanOrderByUserId(String userId, Limit limit);
+
+    /**
+     * Troca o hash da senha somente se o gravado ainda for o informado
+     * Usada ao refazer um hash com o custo atual do BCrypt; uma troca de senha feita
+     * nesse meio tempo nunca é sobrescrita
+     *
+     * @param userId ID do usuário
+     * @param oldHash Hash conferido com a senha
+     * @param newHash Hash refeito pelo bank-user
+     * @return 1 se trocado, 0 se a senha mudou desde o login
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE User u SET u.password = :newHash WHERE u.userId = :userId AND u.password = :oldHash")
+    int rehashPassword(@Param("userId") String userId, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
+
     /**
      * Remove usuários não verificados criados antes da data limite
      * Operação de limpeza para manter a base de dados otimizada
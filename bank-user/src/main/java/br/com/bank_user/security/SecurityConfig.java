@@ -26,6 +26,8 @@ public class SecurityConfig {
 
     @Value("${public.key}")
     private RSAPublicKey publicKey;
+    @Value("${security.bcrypt.strength:10}")
+    private int bcryptStrength;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -51,6 +53,9 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.POST,"/api/verify-email").permitAll()
                         .requestMatchers(HttpMethod.GET,"/api/get-id-with-cpf").permitAll()
                         .requestMatchers(HttpMethod.GET,"/api/get-user-with-id").permitAll()
+                        // Rotas internas com senhas: só com o token de serviço do bank-login
+                        .requestMatchers("/microservice/bank_user/credentials",
+                                "/microservice/bank_user/rehash-password").hasAuthority("SCOPE_SERVICE")
                         .requestMatchers("/microservice/bank_user/**").permitAll()
                         .requestMatchers("/api/adm/role").permitAll()
                         .requestMatchers("/api/adm/get-all-users").permitAll()
@@ -64,7 +69,7 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder(){
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(this.bcryptStrength);
     }
 
     @Bean
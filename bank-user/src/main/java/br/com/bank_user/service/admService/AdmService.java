@@ -6,6 +6,7 @@ import br.com.bank_user.dtos.register_user.ResponseUsersDto;
 import br.com.bank_user.enums.UserStatus;
 import br.com.bank_user.model.User;
 import br.com.bank_user.repository.UserRepository;
+import br.com.bank_user.service.credential.CredentialEventPublisher;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -26,14 +27,17 @@ import java.util.stream.Collectors;
 public class AdmService {
 
     private final UserRepository userRepository;
+    private final CredentialEventPublisher credentialEventPublisher;
 
     /**
      * Construtor com injeção de dependência do UserRepository
      * @param repository Repositório para operações de persistência de usuários
+     * @param credentialPublisher Publicador das credenciais para a projeção do bank-login
      */
     @Autowired
-    public AdmService(UserRepository repository){
+    public AdmService(UserRepository repository, CredentialEventPublisher credentialPublisher){
         this.userRepository = repository;
+        this.credentialEventPublisher = credentialPublisher;
     }
 
     /**
@@ -100,6 +104,7 @@ public class AdmService {
         // Altera status do usuário para ATIVO
         user.get().setStatus(UserStatus.ACTIVE);
         this.userRepository.save(user.get());
+        this.credentialEventPublisher.publish(user.get());
         return ResponseEntity.ok().build();
     }
 
@@ -128,6 +133,7 @@ public class AdmService {
         // Altera status do usuário para BLOQUEADO
         user.get().setStatus(UserStatus.BLOCKED);
         this.userRepository.save(user.get());
+        this.credentialEventPublisher.publish(user.get());
         return ResponseEntity.ok().build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,91 @@
+package br.com.bank_user.service.credential;
+
+import br.com.bank_user.dtos.credential.UserCredentialEvent;
+import br.com.bank_user.model.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Publica as credenciais do usuário (CPF, hash da senha, perfil, status e verificação
+ * de e-mail) a cada alteração, para a projeção local do bank-login
+ *
+ * @component Indica que esta classe é um componente Spring gerenciado pelo container
+ *
+ * @implNote A chave da mensagem é o ID do usuário: as alterações de um mesmo usuário
+ *           caem na mesma partição e chegam em ordem. Dentro de uma transação, o envio
+ *           acontece somente após o commit. As retentativas ficam com o producer
+ *           idempotente (delivery.timeout.ms), que preserva essa ordem; aqui nenhum
+ *           evento é reenviado, pois um reenvio tardio sobrescreveria um estado mais
+ *           novo. Um envio que falha de vez é registrado em log e a reconciliação
+ *           periódica do bank-login corrige a projeção
+ *
+ * @author Pablo R.
+ */
+@Slf4j
+@Component
+public class CredentialEventPublisher {
+
+    public static final String TOPIC = "user-credential-topic";
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+
+    /**
+     * Construtor para injeção de dependências
+     *
+     * @param kafkaTemplate Template para comunicação assíncrona via Kafka
+     */
+    public CredentialEventPublisher(KafkaTemplate<String, Object> kafkaTemplate) {
+        this.kafkaTemplate = kafkaTemplate;
+    }
+
+    /**
+     * Publica o estado atual das credenciais do usuário
+     *
+     * @param user Usuário gravado
+     */
+    public void publish(User user) {
+
+        UserCredentialEvent event = toEvent(user);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            send(event);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                send(event);
+            }
+        });
+    }
+
+    private void send(UserCredentialEvent event) {
+
+        this.kafkaTemplate.send(TOPIC, event.userId(), event).whenComplete((result, e) -> {
+            if (e != null) {
+                log.error("Credential event for user {} was not delivered; reconciliation will repair it",
+                        event.userId(), e);
+            }
+        });
+    }
+
+    /**
+     * Converte o usuário para o formato da projeção de credenciais
+     *
+     * @param user Usuário
+     * @return Credenciais do usuário
+     */
+    public static UserCredentialEvent toEvent(User user) {
+        return new UserCredentialEvent(
+                user.getUserId(),
+                user.getCpf(),
+                user.getPassword(),
+                user.getRole().toString(),
+                user.getStatus().toString(),
+                user.getVerifyEmail());
+    }
+}
@@ -14,6 +14,7 @@ import br.com.bank_user.enums.Role;
 import br.com.bank_user.mapper.UserMapper;
 import br.com.bank_user.model.User;
 import br.com.bank_user.repository.UserRepository;
+import br.com.bank_user.service.credential.CredentialEventPublisher;
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
@@ -47,6 +48,7 @@ public class UserService {
     private final PasswordEncoder passwordEncoder;
     private final CircuitBreakerFactory<?, ?> circuitBreakerFactory;
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final CredentialEventPublisher credentialEventPublisher;
 
     /**
      * Construtor para injeção de dependências do serviço de usuário
@@ -56,18 +58,21 @@ public class UserService {
      * @param encoder Encoder para criptografia de senhas
      * @param circuitBreaker Factory para pattern Circuit Breaker
      * @param kafka Template para comunicação assíncrona via Kafka
+     * @param credentialPublisher Publicador das credenciais para a projeção do bank-login
      */
     @Autowired
     public UserService(UserRepository repository,
                        UserMapper mapper,
                        PasswordEncoder encoder,
                        CircuitBreakerFactory<?, ?> circuitBreaker,
-                       KafkaTemplate<String, Object> kafka){
+                       KafkaTemplate<String, Object> kafka,
+                       CredentialEventPublisher credentialPublisher){
         this.userRepository = repository;
         this.userMapper = mapper;
         this.passwordEncoder = encoder;
         this.circuitBreakerFactory = circuitBreaker;
         this.kafkaTemplate = kafka;
+        this.credentialEventPublisher = credentialPublisher;
     }
 
     /**
@@ -137,6 +142,7 @@ public class UserService {
 
                     // Salva usuário no banco de dados
                     this.userRepository.save(userEntity);
+                    this.credentialEventPublisher.publish(userEntity);
                     return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of(
                             "message", "Verification email sent. Check your inbox!"
                     ));
@@ -228,6 +234,7 @@ public class UserService {
         user.get().setExpireCode(null);
         user.get().setVerifyEmail(true);
         this.userRepository.save(user.get());
+        this.credentialEventPublisher.publish(user.get());
 
         // Dispara eventos para criação de carteira e email de boas-vindas
         this.kafkaTemplate.send("creation-wallet-topic",
@@ -373,6 +380,7 @@ public class UserService {
         // Criptografa e salva nova senha
         user.setPassword(this.passwordEncoder.encode(request.password()));
         this.userRepository.save(user);
+        this.credentialEventPublisher.publish(user);
         return ResponseEntity.ok().build();
     }
 
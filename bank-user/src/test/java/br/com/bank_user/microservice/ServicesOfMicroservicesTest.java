@@ -0,0 +1,77 @@
+package br.com.bank_user.microservice;
+
+import br.com.bank_user.dtos.credential.RequestPasswordRehash;
+import br.com.bank_user.model.User;
+import br.com.bank_user.repository.UserRepository;
+import br.com.bank_user.service.credential.CredentialEventPublisher;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ServicesOfMicroservicesTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final CredentialEventPublisher credentialEventPublisher = mock(CredentialEventPublisher.class);
+    private final BCryptPasswordEncoder currentEncoder = new BCryptPasswordEncoder(6);
+    private final ServicesOfMicroservices services = new ServicesOfMicroservices(
+            this.userRepository, this.currentEncoder, this.credentialEventPublisher);
+
+    private final String oldHash = new BCryptPasswordEncoder(4).encode("secret");
+
+    @Test
+    void rehashesOldCostHashItself() {
+
+        User user = user(this.oldHash);
+        when(this.userRepository.findById("user-1")).thenReturn(Optional.of(user));
+        when(this.userRepository.rehashPassword(eq("user-1"), eq(this.oldHash), anyString())).thenReturn(1);
+
+        this.services.rehashPassword(new RequestPasswordRehash("user-1", "secret"));
+
+        ArgumentCaptor<String> newHash = ArgumentCaptor.forClass(String.class);
+        verify(this.userRepository).rehashPassword(eq("user-1"), eq(this.oldHash), newHash.capture());
+        assertTrue(this.currentEncoder.matches("secret", newHash.getValue()));
+        assertFalse(this.currentEncoder.upgradeEncoding(newHash.getValue()));
+        verify(this.credentialEventPublisher).publish(user);
+    }
+
+    @Test
+    void ignoresWrongPassword() {
+
+        when(this.userRepository.findById("user-1")).thenReturn(Optional.of(user(this.oldHash)));
+
+        this.services.rehashPassword(new RequestPasswordRehash("user-1", "attacker-password"));
+
+        verify(this.userRepository, never()).rehashPassword(anyString(), anyString(), anyString());
+        verify(this.credentialEventPublisher, never()).publish(any());
+    }
+
+    @Test
+    void ignoresHashAlreadyAtCurrentCost() {
+
+        when(this.userRepository.findById("user-1")).thenReturn(Optional.of(user(this.currentEncoder.encode("secret"))));
+
+        this.services.rehashPassword(new RequestPasswordRehash("user-1", "secret"));
+
+        verify(this.userRepository, never()).rehashPassword(anyString(), anyString(), anyString());
+    }
+
+    private static User user(String password) {
+
+        User user = new User();
+        user.setUserId("user-1");
+        user.setPassword(password);
+        return user;
+    }
+}
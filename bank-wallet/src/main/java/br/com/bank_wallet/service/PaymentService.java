@@ -113,6 +113,12 @@ public class PaymentService {
                 ));
             }
 
+            if (response.equals("BLOQUEADO")) {
+                return ResponseEntity.badRequest().body(Map.of(
+                        "Bad request","card blocked"
+                ));
+            }
+
             this.kafkaTemplate.send("receive-payment-topic", new
                     EventSendPayment(token.getName(), user.userId(), request.money(), request.pixOrCredit()));
 